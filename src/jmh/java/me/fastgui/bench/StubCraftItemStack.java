@@ -0,0 +1,110 @@
+package me.fastgui.bench;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 反射NBT方案使用的CraftItemStack桩
+ * <p>提供与CraftBukkit相同签名的 {@code asNMSCopy}/{@code asBukkitCopy} 以及NMS ItemStack和NBT标签类，
+ * 使 {@code NBTManager} 的反射方案可以在没有服务器的环境中初始化。与真实实现一样，
+ * {@code asNMSCopy} 每次都会复制物品和标签。</p>
+ */
+public final class StubCraftItemStack {
+
+    // Bukkit物品 -> NBT标签，只在基准测试的单个线程中使用
+    private static final Map<ItemStack, Tag> TAGS = new IdentityHashMap<>();
+
+    private StubCraftItemStack() {
+    }
+
+    /**
+     * 为物品写入字符串标签
+     */
+    public static void putString(ItemStack item, String key, String value) {
+        TAGS.computeIfAbsent(item, k -> new Tag()).setString(key, value);
+    }
+
+    /**
+     * 为物品写入布尔标签
+     */
+    public static void putBoolean(ItemStack item, String key, boolean value) {
+        TAGS.computeIfAbsent(item, k -> new Tag()).setBoolean(key, value);
+    }
+
+    public static Item asNMSCopy(ItemStack item) {
+        Tag tag = TAGS.get(item);
+        return new Item(item, tag != null ? tag.copy() : null);
+    }
+
+    public static ItemStack asBukkitCopy(Item item) {
+        ItemStack copy = item.bukkit.clone();
+        if (item.tag != null) {
+            TAGS.put(copy, item.tag.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * NMS ItemStack桩
+     */
+    public static final class Item {
+        private final ItemStack bukkit;
+        private Tag tag;
+
+        Item(ItemStack bukkit, Tag tag) {
+            this.bukkit = bukkit;
+            this.tag = tag;
+        }
+
+        public Tag getTag() {
+            return tag;
+        }
+
+        public void setTag(Tag tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * NBT标签桩
+     */
+    public static final class Tag {
+        private final Map<String, Object> values;
+
+        public Tag() {
+            this(new HashMap<>());
+        }
+
+        private Tag(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        Tag copy() {
+            return new Tag(new HashMap<>(values));
+        }
+
+        public boolean hasKey(String key) {
+            return values.containsKey(key);
+        }
+
+        public String getString(String key) {
+            Object value = values.get(key);
+            return value instanceof String ? (String) value : "";
+        }
+
+        public void setString(String key, String value) {
+            values.put(key, value);
+        }
+
+        public boolean getBoolean(String key) {
+            return Boolean.TRUE.equals(values.get(key));
+        }
+
+        public void setBoolean(String key, boolean value) {
+            values.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package me.fastgui.bench;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * 基准测试用的Bukkit服务器桩
+ * <p>用动态代理实现 {@link Server} 及其返回的接口，使基准测试不需要运行中的服务器：
+ * 物品序列化返回固定大小的合成字节数据，反序列化返回新的物品，ItemFactory提供基于HashMap的PDC的ItemMeta，
+ * 控制台命令总是执行成功。未单独处理的方法返回默认值，返回接口类型时递归返回同样的桩。</p>
+ */
+public final class StubServer {
+
+    private static final Logger LOGGER = Logger.getLogger("FastGUI-Benchmark");
+    private static final Map<Class<?>, Object> STUBS = new ConcurrentHashMap<>();
+    private static volatile byte[] itemPayload = new byte[0];
+    private static volatile Material deserializedType = Material.STONE;
+
+    private StubServer() {
+    }
+
+    /**
+     * 安装服务器桩，重复调用只更新物品序列化数据
+     * @param payloadBytes 每个物品序列化后的字节数
+     */
+    public static synchronized void install(int payloadBytes) {
+        itemPayload = syntheticPayload(payloadBytes);
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(stub(Server.class));
+        }
+    }
+
+    /**
+     * 设置反序列化物品的类型
+     */
+    public static void setDeserializedType(Material type) {
+        deserializedType = type;
+    }
+
+    /**
+     * 生成固定内容的合成物品数据
+     * @param size 字节数
+     */
+    public static byte[] syntheticPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random(size).nextBytes(payload);
+        return payload;
+    }
+
+    /**
+     * 创建插件桩，名称用作NamespacedKey的命名空间
+     * @param name 插件名称
+     */
+    public static Plugin plugin(String name) {
+        return instance(Plugin.class, Map.of(
+                "getName", args -> name,
+                "getServer", args -> Bukkit.getServer(),
+                "getLogger", args -> LOGGER,
+                "isEnabled", args -> true));
+    }
+
+    /**
+     * 创建玩家桩
+     * @param name 玩家名称
+     * @param op 是否为OP
+     */
+    public static Player player(String name, boolean op) {
+        UUID uuid = UUID.nameUUIDFromBytes(name.getBytes());
+        World world = instance(World.class, Map.of("getName", args -> "world"));
+        Location location = new Location(world, 12.5, 64, -7.25);
+        return instance(Player.class, Map.of(
+                "getName", args -> name,
+                "getUniqueId", args -> uuid,
+                "getLocation", args -> location.clone(),
+                "getWorld", args -> world,
+                "isOp", args -> op,
+                "getServer", args -> Bukkit.getServer(),
+                "performCommand", args -> true));
+    }
+
+    /**
+     * 创建带PDC数据的实体桩
+     * @param type 实体类型
+     * @param data PDC中的数据
+     */
+    public static Entity entity(EntityType type, Map<NamespacedKey, Object> data) {
+        UUID uuid = UUID.randomUUID();
+        PersistentDataContainer container = dataContainer(new HashMap<>(data));
+        return instance(Entity.class, Map.of(
+                "getType", args -> type,
+                "getUniqueId", args -> uuid,
+                "getPersistentDataContainer", args -> container));
+    }
+
+    /**
+     * 创建固定内容的容器桩
+     * @param contents 容器内容，长度即容器大小
+     */
+    public static Inventory inventory(ItemStack[] contents) {
+        return instance(Inventory.class, Map.of(
+                "getSize", args -> contents.length,
+                "getItem", args -> contents[(Integer) args[0]],
+                "getContents", args -> contents.clone()));
+    }
+
+    /**
+     * 创建ItemMeta桩，clone时复制PDC数据，与CraftMetaItem的行为一致
+     */
+    private static ItemMeta itemMeta(Map<NamespacedKey, Object> data) {
+        PersistentDataContainer container = dataContainer(data);
+        return instance(ItemMeta.class, Map.of(
+                "getPersistentDataContainer", args -> container,
+                "clone", args -> itemMeta(new HashMap<>(data))));
+    }
+
+    private static PersistentDataContainer dataContainer(Map<NamespacedKey, Object> data) {
+        return instance(PersistentDataContainer.class, Map.of(
+                "set", args -> data.put((NamespacedKey) args[0], args[2]),
+                "has", args -> data.containsKey(args[0]),
+                "get", args -> data.get(args[0]),
+                "getOrDefault", args -> data.getOrDefault(args[0], args[2]),
+                "remove", args -> data.remove(args[0]),
+                "getKeys", args -> new HashSet<>(data.keySet()),
+                "isEmpty", args -> data.isEmpty()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) STUBS.computeIfAbsent(type, t -> instance(t, answers(t)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T instance(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(StubServer.class.getClassLoader(), new Class<?>[]{type}, handler(type, answers));
+    }
+
+    private static Map<String, Function<Object[], Object>> answers(Class<?> type) {
+        if (type == Server.class) {
+            return Map.of(
+                    "getLogger", args -> LOGGER,
+                    "getUnsafe", args -> stub(UnsafeValues.class),
+                    "getItemFactory", args -> stub(ItemFactory.class),
+                    "dispatchCommand", args -> true,
+                    "isPrimaryThread", args -> true);
+        } else if (type == UnsafeValues.class) {
+            return Map.of(
+                    "serializeItem", args -> itemPayload,
+                    "deserializeItem", args -> new ItemStack(deserializedType));
+        } else if (type == ItemFactory.class) {
+            return Map.of(
+                    "getItemMeta", args -> itemMeta(new HashMap<>()),
+                    "asMetaFor", args -> args[0],
+                    "updateMaterial", args -> args[1],
+                    "isApplicable", args -> true,
+                    "equals", args -> args.length == 2 && args[0] == args[1]);
+        }
+        return Map.of();
+    }
+
+    private static InvocationHandler handler(Class<?> type, Map<String, Function<Object[], Object>> answers) {
+        return (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "Stub" + type.getSimpleName();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            return defaultValue(method.getReturnType());
+        };
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        if (returnType == float.class) {
+            return 0.0f;
+        }
+        if (returnType == char.class) {
+            return '\0';
+        }
+        if (returnType == String.class) {
+            return "FastGUI-Benchmark";
+        }
+        if (returnType == List.class || returnType == Collection.class) {
+            return Collections.emptyList();
+        }
+        if (returnType == Set.class) {
+            return Collections.emptySet();
+        }
+        if (returnType == Map.class) {
+            return Collections.emptyMap();
+        }
+        if (returnType == Logger.class) {
+            return LOGGER;
+        }
+        if (returnType.isInterface()) {
+            return stub(returnType);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package me.fastgui.listeners;
+
+import me.fastgui.bench.StubServer;
+import me.fastgui.managers.BenchmarkFixtures;
+import me.fastgui.managers.LogManager;
+import me.fastgui.managers.NBTManager;
+import me.fastgui.managers.PermissionManager;
+import me.fastgui.managers.UIOpener;
+import me.fastgui.utils.ErrorHandler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 物品栏点击基准测试
+ * <p>foreignClick 是服务器上最常见的情况：点击其他插件或原版的容器，只经过标题检查就返回；
+ * buttonClick 走完整的按钮处理：读取NBT命令、检查权限、替换变量并分发控制台命令。
+ * 容器没有在UIOpener中登记，通过标题中的"FastGUI"识别。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryClickBenchmark {
+
+    private static final int BUTTON_SLOT = 13;
+
+    private InventoryClickListener listener;
+    private InventoryClickEvent foreignEvent;
+    private InventoryClickEvent buttonEvent;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer.install(0);
+        LogManager logManager = BenchmarkFixtures.logManager();
+        NBTManager nbtManager = BenchmarkFixtures.nbtManager(false);
+        PermissionManager permissionManager = new PermissionManager(null, nbtManager, null);
+        listener = new InventoryClickListener(new UIOpener(null, null, null, null), new ErrorHandler(null, logManager),
+                null, null, nbtManager, logManager, permissionManager, null);
+
+        player = StubServer.player("Steve", true);
+        ItemStack[] contents = new ItemStack[54];
+        ItemStack button = new ItemStack(Material.OAK_BUTTON);
+        nbtManager.addButtonAttribute(button, "give {player} diamond 1", false, "op");
+        nbtManager.addButtonItemAttribute(button, "give {player} diamond 1", "op", "console");
+        contents[BUTTON_SLOT] = button;
+        Inventory inventory = StubServer.inventory(contents);
+
+        foreignEvent = click(new View(inventory, player, "Chest"));
+        buttonEvent = click(new View(inventory, player, "FastGUI Shop"));
+    }
+
+    private static InventoryClickEvent click(InventoryView view) {
+        return new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER, BUTTON_SLOT, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    @Benchmark
+    public InventoryClickEvent foreignClick() {
+        listener.onInventoryClick(foreignEvent);
+        return foreignEvent;
+    }
+
+    @Benchmark
+    public InventoryClickEvent buttonClick() {
+        listener.onInventoryClick(buttonEvent);
+        return buttonEvent;
+    }
+
+    @Benchmark
+    public String commandVariables() {
+        return listener.processCommandVariables(player, "tp {player} {x} {y} {z} {world}");
+    }
+
+    /**
+     * 固定标题的箱子界面
+     */
+    private static final class View extends InventoryView {
+        private final Inventory top;
+        private final Player player;
+        private final String title;
+        private final Component titleComponent;
+
+        View(Inventory top, Player player, String title) {
+            this.top = top;
+            this.player = player;
+            this.title = title;
+            this.titleComponent = Component.text(title);
+        }
+
+        @Override
+        public Inventory getTopInventory() {
+            return top;
+        }
+
+        @Override
+        public Inventory getBottomInventory() {
+            return top;
+        }
+
+        @Override
+        public HumanEntity getPlayer() {
+            return player;
+        }
+
+        @Override
+        public InventoryType getType() {
+            return InventoryType.CHEST;
+        }
+
+        @Override
+        public Component title() {
+            return titleComponent;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getOriginalTitle() {
+            return title;
+        }
+
+        @Override
+        public void setTitle(String title) {
+        }
+    }
+}
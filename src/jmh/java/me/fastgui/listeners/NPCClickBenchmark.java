@@ -0,0 +1,76 @@
+package me.fastgui.listeners;
+
+import me.fastgui.bench.StubServer;
+import me.fastgui.managers.BenchmarkFixtures;
+import me.fastgui.managers.NBTManager;
+import me.fastgui.managers.PermissionManager;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NPC点击基准测试
+ * <p>interact 轮流让不同玩家点击同一个NPC：同一玩家100毫秒内的重复点击走防抖返回，其余走完整流程
+ * （读取实体PDC、检查权限、替换变量、调度命令）。玩家数超过100时防抖表会在每次完整流程中触发清理，
+ * 可以观察防抖表大小对耗时的影响。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NPCClickBenchmark {
+
+    /** 轮流点击NPC的玩家数 */
+    @Param({"1", "100", "1000"})
+    public int players;
+
+    private NPCClickListener listener;
+    private PlayerInteractEntityEvent[] events;
+    private Player player;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer.install(0);
+        NBTManager nbtManager = BenchmarkFixtures.nbtManager(false);
+        listener = new NPCClickListener(null, nbtManager, new PermissionManager(null, nbtManager, null));
+
+        Plugin owner = StubServer.plugin("FastGUI");
+        Entity npc = StubServer.entity(EntityType.VILLAGER, Map.of(
+                new NamespacedKey(owner, "npc_command"), "warp {player} shop",
+                new NamespacedKey(owner, "npc_permission"), "np",
+                new NamespacedKey(owner, "npc_executor"), "console"));
+        events = new PlayerInteractEntityEvent[players];
+        for (int i = 0; i < players; i++) {
+            events[i] = new PlayerInteractEntityEvent(StubServer.player("Player" + i, false), npc);
+        }
+        player = events[0].getPlayer();
+    }
+
+    @Benchmark
+    public PlayerInteractEntityEvent interact() {
+        PlayerInteractEntityEvent event = events[next];
+        next = next + 1 == events.length ? 0 : next + 1;
+        listener.onPlayerInteractEntity(event);
+        return event;
+    }
+
+    @Benchmark
+    public String commandVariables() {
+        return listener.processCommand("tp {player} {x} {y} {z}", player);
+    }
+}
@@ -0,0 +1,37 @@
+package me.fastgui.managers;
+
+import me.fastgui.bench.StubCraftItemStack;
+import me.fastgui.bench.StubServer;
+
+import java.util.logging.Logger;
+
+/**
+ * 基准测试共用的管理器实例
+ * <p>位于managers包中，以便其他包的基准测试使用管理器的包级构造器。调用前需要先安装 {@link StubServer}。</p>
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 创建关闭调试模式的日志管理器
+     */
+    public static LogManager logManager() {
+        LogManager.setDebugEnabled(false);
+        return new LogManager(Logger.getLogger("FastGUI-Benchmark"));
+    }
+
+    /**
+     * 创建NBT管理器
+     * @param reflection 为true时使用 {@link StubCraftItemStack} 初始化反射方案，否则使用PDC方案
+     */
+    public static NBTManager nbtManager(boolean reflection) {
+        NBTManager nbtManager = new NBTManager(StubServer.plugin("FastGUI"), logManager());
+        if (reflection && !nbtManager.initializeReflection(
+                StubCraftItemStack.class, StubCraftItemStack.Item.class, StubCraftItemStack.Tag.class)) {
+            throw new IllegalStateException("反射方案初始化失败");
+        }
+        return nbtManager;
+    }
+}
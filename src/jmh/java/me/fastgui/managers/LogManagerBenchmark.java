@@ -0,0 +1,60 @@
+package me.fastgui.managers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * 调试日志基准测试
+ * <p>调试模式关闭时，参数化（两个和三个参数）和Supplier形式的debug调用在gc分析器下应为 0 B/op，
+ * 而直接拼接字符串的写法每次调用都会分配。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogManagerBenchmark {
+
+    private LogManager logManager;
+    private int slot;
+    private String command;
+    private boolean closeOnClick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LogManager.setDebugEnabled(false);
+        logManager = new LogManager(Logger.getLogger("LogManagerBenchmark"));
+        slot = 13;
+        command = "open:shop";
+        closeOnClick = true;
+    }
+
+    @Benchmark
+    public void concatenated() {
+        // 修改前的写法：无论是否启用调试都会拼接字符串
+        logManager.debugLog("加载按钮交互数据 (槽位 " + slot + "): 命令=" + command);
+    }
+
+    @Benchmark
+    public void parameterized() {
+        logManager.debug("加载按钮交互数据 (槽位 {}): 命令={}", slot, command);
+    }
+
+    @Benchmark
+    public void parameterizedThreeArgs() {
+        // 三个参数使用固定参数的重载，不创建可变参数数组
+        logManager.debug("从NBT中识别到按钮定义 (槽位 {}): 命令='{}', CloseOnClick={}", slot, command, closeOnClick);
+    }
+
+    @Benchmark
+    public void supplier() {
+        logManager.debug(() -> "加载按钮交互数据 (槽位 " + slot + "): 命令=" + command);
+    }
+}
@@ -0,0 +1,82 @@
+package me.fastgui.managers;
+
+import me.fastgui.bench.StubCraftItemStack;
+import me.fastgui.bench.StubServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NBT读取基准测试
+ * <p>每次点击都会读取按钮的命令、权限和点击关闭设置。分别测量PDC方案和反射方案，
+ * 反射方案的NMS类由 {@link StubCraftItemStack} 代替，和真实实现一样每次读取都复制物品和标签。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NBTManagerBenchmark {
+
+    private static final String COMMAND = "warp {player} spawn";
+
+    @Param({"pdc", "reflection"})
+    public String backend;
+
+    private NBTManager nbtManager;
+    private ItemStack button;
+    private ItemStack plain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer.install(0);
+        boolean reflection = "reflection".equals(backend);
+        nbtManager = BenchmarkFixtures.nbtManager(reflection);
+        button = new ItemStack(Material.OAK_BUTTON);
+        plain = new ItemStack(Material.STONE);
+        if (reflection) {
+            StubCraftItemStack.putString(button, NBTManager.BUTTON_TAG, "true");
+            StubCraftItemStack.putString(button, NBTManager.BUTTON_ITEM_TAG, "true");
+            StubCraftItemStack.putString(button, NBTManager.COMMAND_TAG, COMMAND);
+            StubCraftItemStack.putString(button, NBTManager.PERMISSION_TAG, "op");
+            StubCraftItemStack.putBoolean(button, NBTManager.CLOSE_ON_CLICK_TAG, false);
+        } else {
+            nbtManager.addButtonAttribute(button, COMMAND, false, "op");
+            nbtManager.addButtonItemAttribute(button, COMMAND, "op", "console");
+        }
+    }
+
+    @Benchmark
+    public String getButtonCommand() {
+        return nbtManager.getButtonCommand(button);
+    }
+
+    @Benchmark
+    public String getButtonPermission() {
+        return nbtManager.getButtonPermission(button);
+    }
+
+    @Benchmark
+    public boolean isButtonItem() {
+        return nbtManager.isButtonItem(button);
+    }
+
+    @Benchmark
+    public boolean isButtonItemMiss() {
+        // 普通物品：没有任何FastGUI标签
+        return nbtManager.isButtonItem(plain);
+    }
+
+    @Benchmark
+    public Boolean getCloseOnClick() {
+        return nbtManager.getCloseOnClick(button);
+    }
+}
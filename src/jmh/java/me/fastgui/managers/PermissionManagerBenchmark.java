@@ -0,0 +1,70 @@
+package me.fastgui.managers;
+
+import me.fastgui.bench.StubServer;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按钮和NPC权限检查基准测试
+ * <p>使用PDC方案：按钮权限检查需要读取两次物品NBT，NPC权限检查读取实体的PDC。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionManagerBenchmark {
+
+    private PermissionManager permissionManager;
+    private Player player;
+    private ItemStack button;
+    private ItemStack plain;
+    private Entity npc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubServer.install(0);
+        NBTManager nbtManager = BenchmarkFixtures.nbtManager(false);
+        permissionManager = new PermissionManager(null, nbtManager, null);
+        player = StubServer.player("Steve", true);
+
+        button = new ItemStack(Material.OAK_BUTTON);
+        nbtManager.addButtonItemAttribute(button, "spawn", "op", "console");
+        nbtManager.addButtonAttribute(button, "spawn", false, "op");
+        plain = new ItemStack(Material.STONE);
+
+        Plugin owner = StubServer.plugin("FastGUI");
+        npc = StubServer.entity(EntityType.VILLAGER, Map.of(
+                new NamespacedKey(owner, "npc_command"), "warp {player} shop",
+                new NamespacedKey(owner, "npc_permission"), "op"));
+    }
+
+    @Benchmark
+    public boolean buttonPermission() {
+        return permissionManager.hasButtonPermission(player, button);
+    }
+
+    @Benchmark
+    public boolean plainItemPermission() {
+        return permissionManager.hasButtonPermission(player, plain);
+    }
+
+    @Benchmark
+    public boolean npcPermission() {
+        return permissionManager.hasNPCPermission(player, npc);
+    }
+}
@@ -0,0 +1,113 @@
+package me.fastgui.managers;
+
+import me.fastgui.bench.StubServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * UI文件读写基准测试
+ * <p>物品序列化由 {@link StubServer} 返回固定大小的合成数据，测得的是FastGUI自身的文件格式和I/O开销：
+ * UIManager保存/加载一个54格的UI、UISerializer保存旧版本格式、BookUIParser加载书籍UI。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UIStorageBenchmark {
+
+    private static final int SLOTS = 54;
+    private static final String UI_ID = "bench_ui";
+
+    /** 每个物品序列化后的字节数 */
+    @Param({"128", "1024"})
+    public int payloadBytes;
+
+    /** 非空槽位的比例（百分比） */
+    @Param({"50", "100"})
+    public int fillPercent;
+
+    private Path dataFolder;
+    private UIManager uiManager;
+    private UISerializer uiSerializer;
+    private BookUIParser bookUIParser;
+    private UIManager.InventoryData data;
+    private UIManager.InventorySlotData[] slotData;
+    private String fileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StubServer.install(payloadBytes);
+        LogManager.setDebugEnabled(false);
+        LogManager logManager = new LogManager(Logger.getLogger("UIStorageBenchmark"));
+        dataFolder = Files.createTempDirectory("fastgui-bench");
+        File folder = dataFolder.toFile();
+
+        uiManager = new UIManager(null, null, null, logManager, folder);
+        uiSerializer = new UISerializer(null, null, logManager, folder);
+        bookUIParser = new BookUIParser(null, null, logManager, folder);
+
+        ItemStack[] contents = new ItemStack[SLOTS];
+        slotData = new UIManager.InventorySlotData[SLOTS];
+        int filled = SLOTS * fillPercent / 100;
+        for (int i = 0; i < SLOTS; i++) {
+            if (i < filled) {
+                contents[i] = new ItemStack(Material.STONE);
+                slotData[i] = new UIManager.InventorySlotData(false, contents[i], "button", "open:shop", false, "");
+            } else {
+                slotData[i] = new UIManager.InventorySlotData(true, null, "air", null, false, null);
+            }
+        }
+        data = new UIManager.InventoryData("world", contents, slotData, "CHEST", "np");
+        data.setDisplayName("Benchmark UI");
+        fileName = UI_ID + ".dat";
+
+        // 预先写好要加载的文件
+        uiManager.addUI(UI_ID, contents, "world");
+        bookUIParser.saveBookUI(UI_ID, data, new ItemStack(Material.WRITABLE_BOOK));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void uiManagerSave() {
+        uiManager.saveUIData(fileName, data);
+    }
+
+    @Benchmark
+    public UIManager.InventoryData uiManagerLoad() {
+        return uiManager.loadUI(UI_ID);
+    }
+
+    @Benchmark
+    public void uiSerializerSave() {
+        uiSerializer.saveUIData(fileName, data.getContents(), "world", slotData, "Benchmark UI", "CHEST", "np");
+    }
+
+    @Benchmark
+    public UIManager.InventoryData bookUILoad() {
+        return bookUIParser.loadBookUI(UI_ID);
+    }
+}
@@ -0,0 +1,80 @@
+package me.fastgui.managers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * UI表（Table.dat）读写基准测试
+ * <p>插件启动和每次增删UI时都会整表读写，用不同的条目数观察耗时随UI数量的增长。</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UITableBenchmark {
+
+    /** UI表中的条目数 */
+    @Param({"10", "1000", "10000"})
+    public int entries;
+
+    private Path dataFolder;
+    private UIManager uiManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LogManager.setDebugEnabled(false);
+        dataFolder = Files.createTempDirectory("fastgui-bench");
+        File folder = dataFolder.toFile();
+
+        // 按UIManager的表格式写入：条目数，然后是每个条目的ID和文件名
+        File tableFile = new File(folder, "Table.dat");
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(tableFile))) {
+            dos.writeInt(entries);
+            for (int i = 0; i < entries; i++) {
+                String id = "ui_" + i;
+                dos.writeUTF(id);
+                dos.writeUTF(id + ".dat");
+            }
+        }
+
+        uiManager = new UIManager(null, null, null, new LogManager(Logger.getLogger("UITableBenchmark")), folder);
+        uiManager.loadTable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public UIManager loadTable() {
+        uiManager.loadTable();
+        return uiManager;
+    }
+
+    @Benchmark
+    public UIManager saveTable() {
+        uiManager.saveTable();
+        return uiManager;
+    }
+}
@@ -0,0 +1,183 @@
+package me.fastgui.loadtest;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import me.fastgui.FastGUI;
+import me.fastgui.managers.NBTManager;
+import me.fastgui.managers.UIOpener;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * FastGUI负载测试
+ * <p>在MockBukkit上加载插件，模拟多个玩家按配置的频率打开UI、点击按钮、点击NPC和进入世界，
+ * 每个tick的操作和调度器任务一起计时。结束后输出tick耗时分布、堆增长和命令吞吐量，
+ * 任一指标超过阈值时以非零状态退出，使Gradle任务失败。</p>
+ */
+public final class LoadTest {
+
+    private static final String UI_ID = "loadtest_shop";
+    private static final String WORLD = "world";
+    private static final int[] BUTTON_SLOTS = {10, 11, 12, 13, 14, 15, 16};
+
+    private final LoadTestConfig config;
+    private final LoadTestReport report;
+    private final Random random;
+    private LoadTestServer server;
+    private FastGUI plugin;
+    private WorldMock world;
+    private PlayerMock[] players;
+    private Entity[] npcs;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.report = new LoadTestReport(config);
+        this.random = new Random(config.seed());
+    }
+
+    public static void main(String[] args) {
+        LoadTest test = new LoadTest(LoadTestConfig.fromSystemProperties());
+        List<String> failures;
+        try {
+            failures = test.run();
+        } finally {
+            MockBukkit.unmock();
+        }
+        if (!failures.isEmpty()) {
+            System.out.println("负载测试未通过:");
+            for (String failure : failures) {
+                System.out.println("  - " + failure);
+            }
+            System.exit(1);
+        }
+        System.out.println("负载测试通过");
+    }
+
+    private List<String> run() {
+        server = MockBukkit.mock(new LoadTestServer(config.itemBytes()));
+        server.registerCountingCommand();
+        world = server.addSimpleWorld(WORLD);
+        plugin = MockBukkit.load(FastGUI.class);
+
+        createUI();
+        createNPCs();
+        server.dispatchCommand(server.getConsoleSender(), "fgcd add " + WORLD + " " + LoadTestServer.COMMAND + " join {player} console");
+
+        players = new PlayerMock[config.players()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = server.addPlayer("LoadTest" + i);
+        }
+
+        for (int tick = 0; tick < config.warmupTicks(); tick++) {
+            runTick(null);
+        }
+
+        long heapBefore = usedHeap();
+        long commandsBefore = server.getCommands();
+        for (int tick = 0; tick < config.ticks(); tick++) {
+            long start = System.nanoTime();
+            runTick(report);
+            report.recordTick(System.nanoTime() - start);
+        }
+        report.setCommands(server.getCommands() - commandsBefore);
+        report.setHeap(heapBefore, usedHeap());
+
+        report.print();
+        return report.check();
+    }
+
+    /**
+     * 创建一个带按钮的UI
+     */
+    private void createUI() {
+        NBTManager nbtManager = plugin.getNBTManager();
+        ItemStack[] contents = new ItemStack[27];
+        for (int slot : BUTTON_SLOTS) {
+            ItemStack button = new ItemStack(Material.EMERALD);
+            nbtManager.addButtonAttribute(button, LoadTestServer.COMMAND + " click {player} " + slot, false, "np");
+            contents[slot] = button;
+        }
+        contents[0] = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+        plugin.getUIManager().addUI(UI_ID, contents, WORLD);
+    }
+
+    private void createNPCs() {
+        NBTManager nbtManager = plugin.getNBTManager();
+        npcs = new Entity[config.npcs()];
+        for (int i = 0; i < npcs.length; i++) {
+            npcs[i] = world.spawnEntity(new Location(world, i * 2, 64, 0), EntityType.ZOMBIE);
+            nbtManager.addNPCAttributeToEntity(npcs[i], LoadTestServer.COMMAND + " npc {player}", "np", null, "console");
+        }
+    }
+
+    /**
+     * 执行一个tick：按概率为每个玩家产生操作，然后运行调度器
+     * @param report 统计报告，预热时为null
+     */
+    private void runTick(LoadTestReport report) {
+        double open = LoadTestConfig.perTick(config.opensPerMinute());
+        double click = LoadTestConfig.perTick(config.clicksPerMinute());
+        double npc = LoadTestConfig.perTick(config.npcInteractionsPerMinute());
+        double join = LoadTestConfig.perTick(config.worldJoinsPerMinute());
+        for (PlayerMock player : players) {
+            if (random.nextDouble() < open) {
+                perform(report, LoadTestReport.Action.OPEN, () -> openUI(player));
+            }
+            if (random.nextDouble() < click) {
+                perform(report, LoadTestReport.Action.CLICK, () -> click(player));
+            }
+            if (npcs.length > 0 && random.nextDouble() < npc) {
+                Entity target = npcs[random.nextInt(npcs.length)];
+                perform(report, LoadTestReport.Action.NPC, () ->
+                        server.getPluginManager().callEvent(new PlayerInteractEntityEvent(player, target)));
+            }
+            if (random.nextDouble() < join) {
+                perform(report, LoadTestReport.Action.WORLD_JOIN, () ->
+                        server.getPluginManager().callEvent(new PlayerChangedWorldEvent(player, world)));
+            }
+        }
+        server.getScheduler().performOneTick();
+    }
+
+    private void openUI(PlayerMock player) {
+        plugin.getUIOpener().openUI(player, UI_ID);
+    }
+
+    private void click(PlayerMock player) {
+        UIOpener uiOpener = plugin.getUIOpener();
+        if (!uiOpener.isFastGUI(player.getOpenInventory().getTopInventory())) {
+            openUI(player);
+        }
+        player.simulateInventoryClick(BUTTON_SLOTS[random.nextInt(BUTTON_SLOTS.length)]);
+    }
+
+    private static void perform(LoadTestReport report, LoadTestReport.Action action, Runnable operation) {
+        try {
+            operation.run();
+            if (report != null) {
+                report.recordAction(action);
+            }
+        } catch (RuntimeException e) {
+            if (report != null) {
+                report.recordError(action, e);
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
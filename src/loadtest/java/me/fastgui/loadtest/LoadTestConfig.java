@@ -0,0 +1,92 @@
+package me.fastgui.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 负载测试参数
+ * <p>从 {@code loadtest.*} 系统属性读取，Gradle任务把 {@code -Ploadtest.*} 项目属性原样传入。
+ * 频率均为每个玩家每分钟的次数，按20 tps换算为每tick的概率。</p>
+ *
+ * @param players 模拟玩家数
+ * @param npcs NPC实体数
+ * @param warmupTicks 预热tick数，不计入统计
+ * @param ticks 统计的tick数
+ * @param opensPerMinute 每个玩家每分钟打开UI的次数
+ * @param clicksPerMinute 每个玩家每分钟点击按钮的次数
+ * @param npcInteractionsPerMinute 每个玩家每分钟点击NPC的次数
+ * @param worldJoinsPerMinute 每个玩家每分钟进入世界的次数
+ * @param itemBytes 每个物品序列化后的字节数
+ * @param seed 随机数种子，相同种子产生相同的操作序列
+ * @param maxP99TickMs tick耗时P99上限（毫秒）
+ * @param maxTickMs 单个tick耗时上限（毫秒）
+ * @param maxHeapGrowthMb 统计期间堆增长上限（MB）
+ * @param minCommandsPerSecond 命令吞吐量下限（每秒tick耗时内执行的命令数）
+ * @param maxErrors 允许的操作异常数
+ */
+record LoadTestConfig(
+        int players,
+        int npcs,
+        int warmupTicks,
+        int ticks,
+        double opensPerMinute,
+        double clicksPerMinute,
+        double npcInteractionsPerMinute,
+        double worldJoinsPerMinute,
+        int itemBytes,
+        long seed,
+        double maxP99TickMs,
+        double maxTickMs,
+        double maxHeapGrowthMb,
+        double minCommandsPerSecond,
+        int maxErrors) {
+
+    private static final String PREFIX = "loadtest.";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                intProperty("players", 200),
+                intProperty("npcs", 20),
+                intProperty("warmupTicks", 200),
+                intProperty("ticks", 1200),
+                doubleProperty("opensPerMinute", 4),
+                doubleProperty("clicksPerMinute", 20),
+                doubleProperty("npcInteractionsPerMinute", 3),
+                doubleProperty("worldJoinsPerMinute", 0.5),
+                intProperty("itemBytes", 256),
+                longProperty("seed", 42),
+                doubleProperty("maxP99TickMs", 10),
+                doubleProperty("maxTickMs", 50),
+                doubleProperty("maxHeapGrowthMb", 64),
+                doubleProperty("minCommandsPerSecond", 2000),
+                intProperty("maxErrors", 0));
+    }
+
+    /**
+     * 把每分钟的次数换算为每tick发生的概率
+     */
+    static double perTick(double perMinute) {
+        return Math.min(1.0, perMinute / 1200.0);
+    }
+
+    String describe() {
+        return String.format(Locale.ROOT,
+                "玩家=%d NPC=%d 预热=%d tick 统计=%d tick | 每玩家每分钟: 打开UI=%.1f 点击=%.1f NPC=%.1f 进入世界=%.1f | 种子=%d",
+                players, npcs, warmupTicks, ticks, opensPerMinute, clicksPerMinute,
+                npcInteractionsPerMinute, worldJoinsPerMinute, seed);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+    }
+}
@@ -0,0 +1,155 @@
+package me.fastgui.loadtest;
+
+import me.fastgui.managers.TickProfiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 负载测试结果
+ * <p>汇总每tick的耗时分布、堆增长和命令吞吐量，与配置的阈值比较，返回所有未通过的检查。</p>
+ */
+final class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final long[] tickNanos;
+    private int recordedTicks;
+    private long heapBeforeBytes;
+    private long heapAfterBytes;
+    private long commands;
+    private final long[] actions = new long[Action.values().length];
+    private long errors;
+    private final List<String> errorSamples = new ArrayList<>();
+
+    /**
+     * 模拟玩家的操作
+     */
+    enum Action {
+        OPEN("打开UI"),
+        CLICK("点击按钮"),
+        NPC("点击NPC"),
+        WORLD_JOIN("进入世界");
+
+        private final String displayName;
+
+        Action(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    LoadTestReport(LoadTestConfig config) {
+        this.config = config;
+        this.tickNanos = new long[config.ticks()];
+    }
+
+    void recordTick(long nanos) {
+        tickNanos[recordedTicks++] = nanos;
+    }
+
+    void recordAction(Action action) {
+        actions[action.ordinal()]++;
+    }
+
+    void recordError(Action action, RuntimeException e) {
+        errors++;
+        if (errorSamples.size() < 5) {
+            errorSamples.add(action.displayName + ": " + e);
+        }
+    }
+
+    void setHeap(long beforeBytes, long afterBytes) {
+        this.heapBeforeBytes = beforeBytes;
+        this.heapAfterBytes = afterBytes;
+    }
+
+    void setCommands(long commands) {
+        this.commands = commands;
+    }
+
+    double percentileMillis(double percentile) {
+        if (recordedTicks == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(tickNanos, recordedTicks);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * recordedTicks) - 1;
+        return sorted[Math.max(0, Math.min(index, recordedTicks - 1))] / 1_000_000.0;
+    }
+
+    double heapGrowthMb() {
+        return (heapAfterBytes - heapBeforeBytes) / (1024.0 * 1024.0);
+    }
+
+    /**
+     * 每秒tick耗时内执行的命令数
+     */
+    double commandsPerSecond() {
+        long busyNanos = 0;
+        for (int i = 0; i < recordedTicks; i++) {
+            busyNanos += tickNanos[i];
+        }
+        return busyNanos > 0 ? commands / (busyNanos / 1_000_000_000.0) : 0;
+    }
+
+    /**
+     * 检查阈值
+     * @return 未通过的检查，全部通过时为空
+     */
+    List<String> check() {
+        List<String> failures = new ArrayList<>();
+        double p99 = percentileMillis(99);
+        if (p99 > config.maxP99TickMs()) {
+            failures.add(format("tick耗时P99 %.2fms 超过阈值 %.2fms", p99, config.maxP99TickMs()));
+        }
+        double max = percentileMillis(100);
+        if (max > config.maxTickMs()) {
+            failures.add(format("最慢tick %.2fms 超过阈值 %.2fms", max, config.maxTickMs()));
+        }
+        if (heapGrowthMb() > config.maxHeapGrowthMb()) {
+            failures.add(format("堆增长 %.1fMB 超过阈值 %.1fMB", heapGrowthMb(), config.maxHeapGrowthMb()));
+        }
+        if (commandsPerSecond() < config.minCommandsPerSecond()) {
+            failures.add(format("命令吞吐量 %.0f/s 低于阈值 %.0f/s", commandsPerSecond(), config.minCommandsPerSecond()));
+        }
+        if (errors > config.maxErrors()) {
+            failures.add(format("操作异常 %d 次，允许 %d 次", errors, config.maxErrors()));
+        }
+        return failures;
+    }
+
+    void print() {
+        System.out.println("==== FastGUI 负载测试 ====");
+        System.out.println(config.describe());
+        StringBuilder line = new StringBuilder("操作次数:");
+        for (Action action : Action.values()) {
+            line.append(' ').append(action.displayName).append('=').append(actions[action.ordinal()]);
+        }
+        System.out.println(line);
+        System.out.println(format("tick耗时: P50=%.3fms P90=%.3fms P99=%.3fms P99.9=%.3fms 最大=%.3fms",
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9), percentileMillis(100)));
+        System.out.println(format("堆: %.1fMB -> %.1fMB (增长 %.1fMB)",
+                heapBeforeBytes / (1024.0 * 1024.0), heapAfterBytes / (1024.0 * 1024.0), heapGrowthMb()));
+        System.out.println(format("命令: %d 条, %.0f 条/秒tick耗时", commands, commandsPerSecond()));
+
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (profiler.isEnabled()) {
+            System.out.println("各监听器每tick平均/最差 (最近 " + profiler.getWindowTicks() + " tick):");
+            for (TickProfiler.Source source : TickProfiler.Source.values()) {
+                TickProfiler.Stats stats = profiler.getStats(source);
+                System.out.println(format("  %-24s %.3fms / %.3fms", source.getDisplayName(),
+                        stats.averageNanos() / 1_000_000.0, stats.windowWorstNanos() / 1_000_000.0));
+            }
+        }
+
+        System.out.println("操作异常: " + errors);
+        for (String sample : errorSamples) {
+            System.out.println("  " + sample);
+        }
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+}
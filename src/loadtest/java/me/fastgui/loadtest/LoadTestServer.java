@@ -0,0 +1,78 @@
+package me.fastgui.loadtest;
+
+import be.seeseemelk.mockbukkit.MockUnsafeValues;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 负载测试使用的MockBukkit服务器
+ * <p>MockBukkit没有实现物品的NBT序列化，这里用登记表代替：序列化时保存物品副本并返回
+ * 固定大小、开头为登记序号的字节数据，反序列化时按序号返回副本，UI文件的大小和读写路径与真实服务器一致。
+ * 另外注册 {@code /lt} 命令，按钮、NPC和世界命令都分发到这里，用于统计命令吞吐量。</p>
+ */
+class LoadTestServer extends ServerMock {
+
+    /** 负载测试命令名 */
+    static final String COMMAND = "lt";
+
+    private final ItemRegistry unsafe;
+    private long commands;
+
+    LoadTestServer(int itemBytes) {
+        this.unsafe = new ItemRegistry(itemBytes);
+    }
+
+    /**
+     * 注册统计用的命令，需要在 {@code MockBukkit.mock} 之后调用
+     */
+    void registerCountingCommand() {
+        getCommandMap().register("loadtest", new Command(COMMAND) {
+            @Override
+            public boolean execute(@NotNull CommandSender sender, @NotNull String label, @NotNull String[] args) {
+                commands++;
+                return true;
+            }
+        });
+    }
+
+    long getCommands() {
+        return commands;
+    }
+
+    @Override
+    public @NotNull MockUnsafeValues getUnsafe() {
+        return unsafe;
+    }
+
+    /**
+     * 以登记表代替NBT序列化的UnsafeValues
+     */
+    private static final class ItemRegistry extends MockUnsafeValues {
+        private final int itemBytes;
+        private final List<ItemStack> items = new ArrayList<>();
+
+        ItemRegistry(int itemBytes) {
+            this.itemBytes = Math.max(Integer.BYTES, itemBytes);
+        }
+
+        @Override
+        public byte @NotNull [] serializeItem(ItemStack item) {
+            byte[] data = new byte[itemBytes];
+            ByteBuffer.wrap(data).putInt(items.size());
+            items.add(item.clone());
+            return data;
+        }
+
+        @Override
+        public @NotNull ItemStack deserializeItem(byte @NotNull [] data) {
+            return items.get(ByteBuffer.wrap(data).getInt()).clone();
+        }
+    }
+}
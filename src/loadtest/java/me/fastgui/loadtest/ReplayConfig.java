@@ -0,0 +1,57 @@
+package me.fastgui.loadtest;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * 交互记录回放参数
+ * <p>从 {@code replay.*} 系统属性读取，Gradle任务把 {@code -Preplay.*} 项目属性原样传入。</p>
+ *
+ * @param trace 要回放的 .fgtrace 文件
+ * @param data 复制到插件数据目录的目录（通常是服务器的 plugins/FastGUI），为null时不复制
+ * @param realtime 是否按记录的时间间隔1倍速回放，否则尽快回放
+ * @param itemBytes 每个物品序列化后的字节数
+ * @param output 回放结果写入的文件，为null时不写入
+ * @param baseline 用于对比的上一次回放结果，为null时不对比
+ * @param maxRegressionPercent 与基线相比tick耗时P99或每事件分配量允许增长的百分比，小于0时不检查
+ */
+record ReplayConfig(
+        File trace,
+        File data,
+        boolean realtime,
+        int itemBytes,
+        File output,
+        File baseline,
+        double maxRegressionPercent) {
+
+    private static final String PREFIX = "replay.";
+
+    static ReplayConfig fromSystemProperties() {
+        String trace = System.getProperty(PREFIX + "trace");
+        if (trace == null || trace.isBlank()) {
+            throw new IllegalArgumentException("需要通过 -Preplay.trace=<文件> 指定交互记录");
+        }
+        String mode = System.getProperty(PREFIX + "mode", "fast").trim().toLowerCase(Locale.ROOT);
+        if (!mode.equals("fast") && !mode.equals("realtime")) {
+            throw new IllegalArgumentException("replay.mode 只能是 fast 或 realtime: " + mode);
+        }
+        return new ReplayConfig(
+                new File(trace.trim()),
+                fileProperty("data"),
+                mode.equals("realtime"),
+                Integer.parseInt(System.getProperty(PREFIX + "itemBytes", "256").trim()),
+                fileProperty("output"),
+                fileProperty("baseline"),
+                Double.parseDouble(System.getProperty(PREFIX + "maxRegressionPercent", "-1").trim()));
+    }
+
+    String describe() {
+        return "记录=" + trace.getName() + " 模式=" + (realtime ? "1倍速" : "尽快")
+                + " 数据目录=" + (data != null ? data.getPath() : "无");
+    }
+
+    private static File fileProperty(String name) {
+        String value = System.getProperty(PREFIX + name);
+        return value != null && !value.isBlank() ? new File(value.trim()) : null;
+    }
+}
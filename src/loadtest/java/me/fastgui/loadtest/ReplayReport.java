@@ -0,0 +1,209 @@
+package me.fastgui.loadtest;
+
+import me.fastgui.trace.TraceEvent;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * 交互记录回放结果
+ * <p>按事件类型汇总处理耗时分布和主线程分配的字节数，并统计每tick（事件加调度器任务）的耗时。
+ * 结果可以写入properties文件，下一次回放时作为基线对比，用于比较两个版本在同一段流量下的延迟和分配量。</p>
+ */
+final class ReplayReport {
+
+    private static final TraceEvent.Type[] TYPES = TraceEvent.Type.values();
+
+    private final ReplayConfig config;
+    private final LongList[] eventNanos = new LongList[TYPES.length];
+    private final long[] allocatedBytes = new long[TYPES.length];
+    private final LongList tickNanos = new LongList();
+    private long tickAllocatedBytes;
+    private long wallNanos;
+    private long traceNanos;
+    private long commands;
+    private long errors;
+    private final List<String> errorSamples = new ArrayList<>();
+
+    ReplayReport(ReplayConfig config) {
+        this.config = config;
+        for (int i = 0; i < TYPES.length; i++) {
+            eventNanos[i] = new LongList();
+        }
+    }
+
+    void recordEvent(TraceEvent.Type type, long nanos, long allocated) {
+        eventNanos[type.ordinal()].add(nanos);
+        allocatedBytes[type.ordinal()] += allocated;
+    }
+
+    void recordTick(long nanos, long allocated) {
+        tickNanos.add(nanos);
+        tickAllocatedBytes += allocated;
+    }
+
+    void recordError(TraceEvent event, RuntimeException e) {
+        errors++;
+        if (errorSamples.size() < 5) {
+            errorSamples.add(event.type() + " @" + event.nanos() / 1_000_000 + "ms: " + e);
+        }
+    }
+
+    void setDuration(long wallNanos, long traceNanos) {
+        this.wallNanos = wallNanos;
+        this.traceNanos = traceNanos;
+    }
+
+    void setCommands(long commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * 汇总为可写入文件和对比的指标
+     */
+    Properties toProperties() {
+        Properties properties = new Properties();
+        long events = 0;
+        long allocated = 0;
+        for (TraceEvent.Type type : TYPES) {
+            LongList nanos = eventNanos[type.ordinal()];
+            String prefix = "event." + type.name().toLowerCase(Locale.ROOT) + ".";
+            properties.setProperty(prefix + "count", String.valueOf(nanos.size()));
+            properties.setProperty(prefix + "p50.us", micros(nanos.percentile(50)));
+            properties.setProperty(prefix + "p99.us", micros(nanos.percentile(99)));
+            properties.setProperty(prefix + "max.us", micros(nanos.percentile(100)));
+            properties.setProperty(prefix + "alloc.bytes", String.valueOf(
+                    nanos.size() > 0 ? allocatedBytes[type.ordinal()] / nanos.size() : 0));
+            events += nanos.size();
+            allocated += allocatedBytes[type.ordinal()];
+        }
+        properties.setProperty("events", String.valueOf(events));
+        properties.setProperty("alloc.bytes.per.event", String.valueOf(events > 0 ? allocated / events : 0));
+        properties.setProperty("alloc.bytes.per.tick", String.valueOf(
+                tickNanos.size() > 0 ? tickAllocatedBytes / tickNanos.size() : 0));
+        properties.setProperty("ticks", String.valueOf(tickNanos.size()));
+        properties.setProperty("tick.p50.ms", millis(tickNanos.percentile(50)));
+        properties.setProperty("tick.p99.ms", millis(tickNanos.percentile(99)));
+        properties.setProperty("tick.max.ms", millis(tickNanos.percentile(100)));
+        properties.setProperty("commands", String.valueOf(commands));
+        properties.setProperty("errors", String.valueOf(errors));
+        properties.setProperty("wall.seconds", format("%.1f", wallNanos / 1_000_000_000.0));
+        properties.setProperty("trace.seconds", format("%.1f", traceNanos / 1_000_000_000.0));
+        return properties;
+    }
+
+    void write(File file) throws IOException {
+        try (Writer writer = new FileWriter(file, StandardCharsets.UTF_8)) {
+            toProperties().store(writer, "FastGUI replay " + config.trace().getName());
+        }
+    }
+
+    static Properties read(File file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    void print() {
+        Properties current = toProperties();
+        System.out.println("==== FastGUI 交互记录回放 ====");
+        System.out.println(config.describe());
+        System.out.println("记录时长 " + current.getProperty("trace.seconds") + " 秒，回放用时 "
+                + current.getProperty("wall.seconds") + " 秒，命令 " + commands + " 条");
+        for (TraceEvent.Type type : TYPES) {
+            String prefix = "event." + type.name().toLowerCase(Locale.ROOT) + ".";
+            System.out.println(format("  %-10s 次数=%s P50=%sµs P99=%sµs 最大=%sµs 分配=%s字节/次", type.name(),
+                    current.getProperty(prefix + "count"), current.getProperty(prefix + "p50.us"),
+                    current.getProperty(prefix + "p99.us"), current.getProperty(prefix + "max.us"),
+                    current.getProperty(prefix + "alloc.bytes")));
+        }
+        System.out.println(format("tick耗时: P50=%sms P99=%sms 最大=%sms，每tick分配 %s 字节",
+                current.getProperty("tick.p50.ms"), current.getProperty("tick.p99.ms"),
+                current.getProperty("tick.max.ms"), current.getProperty("alloc.bytes.per.tick")));
+        System.out.println("事件异常: " + errors);
+        for (String sample : errorSamples) {
+            System.out.println("  " + sample);
+        }
+    }
+
+    /**
+     * 与基线对比并输出差异
+     * @param baseline 上一次回放的结果
+     * @return 超过允许增长幅度的指标，未设置阈值时为空
+     */
+    List<String> compare(Properties baseline) {
+        Properties current = toProperties();
+        List<String> failures = new ArrayList<>();
+        System.out.println("与基线对比:");
+        List<String> keys = new ArrayList<>(current.stringPropertyNames());
+        keys.sort(null);
+        for (String key : keys) {
+            String before = baseline.getProperty(key);
+            if (before == null || key.endsWith("count") || key.endsWith("seconds")) {
+                continue;
+            }
+            double oldValue = Double.parseDouble(before);
+            double newValue = Double.parseDouble(current.getProperty(key));
+            double change = oldValue != 0 ? (newValue - oldValue) / oldValue * 100 : 0;
+            System.out.println(format("  %-28s %12s -> %12s (%+.1f%%)", key, before, current.getProperty(key), change));
+            if (config.maxRegressionPercent() >= 0 && change > config.maxRegressionPercent()
+                    && (key.equals("tick.p99.ms") || key.equals("alloc.bytes.per.event"))) {
+                failures.add(format("%s 增长 %.1f%%，超过允许的 %.1f%%", key, change, config.maxRegressionPercent()));
+            }
+        }
+        return failures;
+    }
+
+    private static String micros(long nanos) {
+        return format("%.1f", nanos / 1000.0);
+    }
+
+    private static String millis(long nanos) {
+        return format("%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+
+    /**
+     * 可增长的long数组，避免记录大量耗时时装箱
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+            return sorted[Math.max(0, Math.min(index, size - 1))];
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package me.fastgui.loadtest;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import me.fastgui.FastGUI;
+import me.fastgui.trace.TraceEvent;
+import me.fastgui.trace.TraceReader;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 交互记录回放
+ * <p>在MockBukkit上加载插件，按 {@code /fg trace} 录下的顺序重放打开UI、点击、NPC交互和进入世界事件。
+ * 记录中的每50ms划为一个tick，处理完该tick内的事件后运行一次调度器；1倍速模式下按记录的时间等待，
+ * 尽快模式下连续执行。每个事件分别计时并统计主线程分配的字节数，结果可以保存为基线，
+ * 在新版本上回放同一份记录时对比延迟和分配量。</p>
+ * <p>回放前可以把服务器的 plugins/FastGUI 目录复制到插件数据目录，使UI和世界命令与记录时一致；
+ * 记录中的NPC按第一次出现时的实体类型和NPC属性重新生成。尽快模式下NPC的100ms防重复会过滤掉比实际更多的交互，
+ * 异步任务的分配也不计入。</p>
+ */
+public final class TraceReplay {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String DEFAULT_WORLD = "world";
+
+    private final ReplayConfig config;
+    private final ReplayReport report;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private LoadTestServer server;
+    private FastGUI plugin;
+    private final Map<UUID, PlayerMock> players = new HashMap<>();
+    private final Map<UUID, Entity> npcs = new HashMap<>();
+    private final Map<String, World> worlds = new HashMap<>();
+
+    private TraceReplay(ReplayConfig config) {
+        this.config = config;
+        this.report = new ReplayReport(config);
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReplayConfig config = ReplayConfig.fromSystemProperties();
+        List<TraceEvent> events = TraceReader.readAll(config.trace());
+        TraceReplay replay = new TraceReplay(config);
+        List<String> failures;
+        try {
+            failures = replay.run(events);
+        } finally {
+            MockBukkit.unmock();
+        }
+        if (!failures.isEmpty()) {
+            System.out.println("回放对比未通过:");
+            for (String failure : failures) {
+                System.out.println("  - " + failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    private List<String> run(List<TraceEvent> events) throws IOException {
+        server = MockBukkit.mock(new LoadTestServer(config.itemBytes()));
+        server.registerCountingCommand();
+        worlds.put(DEFAULT_WORLD, server.addSimpleWorld(DEFAULT_WORLD));
+        plugin = MockBukkit.load(FastGUI.class);
+        if (config.data() != null) {
+            copyData(config.data().toPath(), plugin.getDataFolder().toPath());
+            // 重新启用插件，从复制的数据加载UI列表和世界命令
+            server.getPluginManager().disablePlugin(plugin);
+            server.getPluginManager().enablePlugin(plugin);
+        }
+        prepare(events);
+
+        long commandsBefore = server.getCommands();
+        long wallStart = System.nanoTime();
+        int index = 0;
+        long tickEnd = TICK_NANOS;
+        while (index < events.size()) {
+            if (config.realtime()) {
+                waitUntil(wallStart + tickEnd);
+            }
+            long tickStart = System.nanoTime();
+            long tickAllocated = threads.getCurrentThreadAllocatedBytes();
+            while (index < events.size() && events.get(index).nanos() < tickEnd) {
+                dispatch(events.get(index++));
+            }
+            server.getScheduler().performOneTick();
+            report.recordTick(System.nanoTime() - tickStart, threads.getCurrentThreadAllocatedBytes() - tickAllocated);
+            tickEnd += TICK_NANOS;
+        }
+        report.setDuration(System.nanoTime() - wallStart, events.isEmpty() ? 0 : events.get(events.size() - 1).nanos());
+        report.setCommands(server.getCommands() - commandsBefore);
+
+        report.print();
+        if (config.output() != null) {
+            report.write(config.output());
+            System.out.println("回放结果已写入 " + config.output().getPath());
+        }
+        if (config.baseline() != null) {
+            return report.compare(ReplayReport.read(config.baseline()));
+        }
+        return List.of();
+    }
+
+    /**
+     * 在回放开始前创建记录中出现的所有世界、玩家和NPC，玩家加入事件不计入统计
+     */
+    private void prepare(List<TraceEvent> events) {
+        for (TraceEvent event : events) {
+            if (event.world() != null) {
+                worlds.computeIfAbsent(event.world(), name -> server.addSimpleWorld(name));
+            }
+        }
+        for (TraceEvent event : events) {
+            players.computeIfAbsent(event.player().id(), id -> server.addPlayer(event.player().name()));
+            if (event.npc() != null && !npcs.containsKey(event.npc().id())) {
+                npcs.put(event.npc().id(), spawnNPC(event.npc(), npcs.size()));
+            }
+        }
+        System.out.println("回放准备: 事件=" + events.size() + " 玩家=" + players.size()
+                + " NPC=" + npcs.size() + " 世界=" + worlds.size());
+    }
+
+    private Entity spawnNPC(TraceEvent.NPC npc, int index) {
+        WorldMock world = (WorldMock) worlds.get(DEFAULT_WORLD);
+        EntityType type;
+        try {
+            type = EntityType.valueOf(npc.entityType());
+        } catch (IllegalArgumentException e) {
+            type = EntityType.ZOMBIE;
+        }
+        Location location = new Location(world, index * 2, 64, 0);
+        Entity entity;
+        try {
+            entity = world.spawnEntity(location, type);
+        } catch (RuntimeException e) {
+            // MockBukkit没有实现的实体类型用僵尸代替
+            entity = world.spawnEntity(location, EntityType.ZOMBIE);
+        }
+        if (npc.command() != null) {
+            plugin.getNBTManager().addNPCAttributeToEntity(entity, npc.command(), npc.permission(),
+                    npc.executeMode(), npc.executor());
+        }
+        return entity;
+    }
+
+    private void dispatch(TraceEvent event) {
+        PlayerMock player = players.get(event.player().id());
+        if (event.type() == TraceEvent.Type.CLICK) {
+            ensureOpen(player, event.uiId());
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            switch (event.type()) {
+                case OPEN:
+                    plugin.getUIOpener().openUI(player, event.uiId());
+                    break;
+                case CLICK:
+                    player.simulateInventoryClick(player.getOpenInventory(), clickType(event.clickType()), event.slot());
+                    break;
+                case NPC:
+                    server.getPluginManager().callEvent(new PlayerInteractEntityEvent(player, npcs.get(event.npc().id())));
+                    break;
+                case WORLD_JOIN:
+                    World from = player.getWorld();
+                    player.setLocation(new Location(worlds.get(event.world()), 0, 64, 0));
+                    server.getPluginManager().callEvent(new PlayerChangedWorldEvent(player, from));
+                    break;
+            }
+        } catch (RuntimeException e) {
+            report.recordError(event, e);
+        }
+        report.recordEvent(event.type(), System.nanoTime() - start, threads.getCurrentThreadAllocatedBytes() - allocated);
+    }
+
+    /**
+     * 记录中的点击发生在已打开的UI上，回放时玩家可能打开的是别的界面，此时先打开记录中的UI，不计入统计
+     */
+    private void ensureOpen(PlayerMock player, String uiId) {
+        if (uiId == null) {
+            return;
+        }
+        String current = plugin.getUIOpener().getUIId(player.getOpenInventory().getTopInventory());
+        if (!uiId.equals(current)) {
+            plugin.getUIOpener().openUI(player, uiId);
+        }
+    }
+
+    private static ClickType clickType(String name) {
+        if (name != null) {
+            try {
+                return ClickType.valueOf(name);
+            } catch (IllegalArgumentException ignored) {
+                // 新版本中不存在的点击类型按左键处理
+            }
+        }
+        return ClickType.LEFT;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 复制服务器的插件数据目录，跳过日志和交互记录
+     */
+    private static void copyData(Path source, Path target) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(source)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        }
+        int copied = 0;
+        for (Path file : files) {
+            Path relative = source.relativize(file);
+            String top = relative.getName(0).toString();
+            if (top.equals("logs") || top.equals("traces")) {
+                continue;
+            }
+            Path destination = target.resolve(relative);
+            Files.createDirectories(destination.getParent());
+            Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+            copied++;
+        }
+        System.out.println("已复制数据目录 " + source + " (" + copied + " 个文件)");
+    }
+}
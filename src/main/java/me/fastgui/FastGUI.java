@@ -5,23 +5,31 @@ import me.fastgui.commands.FGNBTCommand;
 import me.fastgui.commands.FGBookCommand;
 import me.fastgui.commands.FGLangCommand;
 import me.fastgui.commands.FGCDCommand;
+import me.fastgui.listeners.PlayerLanguageListener;
 import me.fastgui.listeners.PlayerJoinWorldListener;
 import me.fastgui.listeners.InventoryClickListener;
 import me.fastgui.listeners.InventoryCloseListener;
 import me.fastgui.listeners.NPCClickListener;
 import me.fastgui.listeners.EntitySpawnListener;
 import me.fastgui.listeners.PlayerInteractListener;
+import me.fastgui.listeners.VisibilityCacheListener;
 // 方块点击监听器已移除
 import me.fastgui.managers.ConfigManager;
+import me.fastgui.managers.ListUIManager;
 import me.fastgui.managers.LogManager;
+import me.fastgui.managers.MetricsManager;
 import me.fastgui.managers.NBTManager;
 import me.fastgui.managers.PermissionManager;
+import me.fastgui.managers.PrometheusExporter;
+import me.fastgui.managers.TickProfiler;
+import me.fastgui.trace.TraceRecorder;
 import me.fastgui.managers.UIManager;
 import me.fastgui.managers.UIParser;
 import me.fastgui.managers.UIOpener;
 import me.fastgui.managers.BookUIParser;
 import me.fastgui.managers.LanguageManager;
 import me.fastgui.utils.ErrorHandler;
+import me.fastgui.utils.StartupTimer;
 import org.bukkit.Bukkit;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -30,14 +38,10 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Entity;
 import org.bukkit.persistence.PersistentDataType;
-import java.lang.reflect.Field;
-import java.util.List;
-import java.util.Map;
-import org.bukkit.plugin.PluginManager;
+import java.util.concurrent.CompletableFuture;
 import org.bukkit.event.Listener;
-import org.bukkit.event.Event;
-import org.bukkit.plugin.RegisteredListener;
 
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -52,6 +56,7 @@ public class FastGUI extends JavaPlugin {
     // 管理器实例
     private UIManager uiManager;            // UI管理系统
     private UIOpener uiOpener;              // UI打开系统
+    private ListUIManager listUIManager;    // 列表UI系统
     private ErrorHandler errorHandler;      // 错误处理系统
     private ConfigManager configManager;    // 配置管理系统
     private NBTManager nbtManager;          // NBT管理系统
@@ -68,28 +73,49 @@ public class FastGUI extends JavaPlugin {
     @Override
     public void onEnable() {
         instance = this;
+        StartupTimer startup = new StartupTimer();
         
-        // 加载配置文件
-        this.configManager = new ConfigManager(this);
-        configManager.loadConfig();
+        // 任何阶段抛出异常时也要关闭启动线程池
+        try {
+            // 加载配置文件
+            startup.run("配置", () -> {
+                this.configManager = new ConfigManager(this);
+                configManager.loadConfig();
+            });
+        
+            // 语言文件在启动线程池中解析，同时在主线程初始化日志和NBT
+            CompletableFuture<LanguageManager> languages = startup.supplyAsync("语言文件", () -> new LanguageManager(this));
+            startup.run("日志和NBT", this::initializeCoreManagers);
         
-        // 初始化语言管理器（必须在其他管理器之前，因为它们可能需要使用语言系统）
-        this.languageManager = new LanguageManager(this);
+            // 初始化语言管理器（必须在其他管理器之前，因为它们可能需要使用语言系统）
+            // 服务器语言写入配置会重新发布设置，只能在主线程进行
+            this.languageManager = startup.await(languages);
+            languageManager.applyConfiguredLanguage();
         
-        // 初始化核心管理器
-        initializeManagers();
+            // 初始化核心管理器
+            startup.run("管理器", this::initializeManagers);
         
-        // 注册命令和监听器
-        registerCommandsAndListeners();
+            // UI表在启动线程池中读取，同时注册命令和监听器
+            CompletableFuture<Void> table = startup.runAsync("UI表", this::loadData);
+            startup.run("命令和监听器", () -> registerCommandsAndListeners(startup));
         
-        // 注册权限节点
-        registerPermissions();
+            // 注册权限节点
+            registerPermissions();
         
-        // 加载UI数据
-        loadData();
+            // 命令要在onEnable返回前能看到完整的UI表
+            startup.await(table);
+        } finally {
+            startup.finish();
+        }
+        
+        // 按历史打开次数在后台预热UI缓存（settings.cache-warmup.enabled）
+        uiManager.startWarmup();
+        
+        // 监视UI文件变化，只重新加载受影响的UI（settings.hot-reload.enabled）
+        uiManager.applyHotReloadSettings();
         
         // 发送启动消息
-        sendStartupMessage();
+        sendStartupMessage(startup);
     }
 
     /**
@@ -109,12 +135,15 @@ public class FastGUI extends JavaPlugin {
                 uiOpener.closeAllUIs();
             }
             
-            if (configManager.isDebugModeEnabled()) {
+            if (configManager.getSettings().debugModeEnabled()) {
             getLogger().info("FastGUI 插件已成功卸载！");
         }
         } catch (Exception e) {
-            getLogger().severe("卸载插件时出错: " + e.getMessage());
-            e.printStackTrace();
+            if (errorHandler != null) {
+                errorHandler.report("FastGUI.onDisable", "卸载插件时出错", e);
+            } else {
+                getLogger().log(Level.SEVERE, "卸载插件时出错", e);
+            }
         } finally {
             // 清理资源，避免内存泄漏
             cleanupResources();
@@ -122,17 +151,26 @@ public class FastGUI extends JavaPlugin {
     }
     
     /**
-     * 初始化所有管理器组件
+     * 初始化不依赖语言系统的管理器：日志、错误处理、tick分析和NBT（探测PDC或反射方案）
      */
-    private void initializeManagers() {
+    private void initializeCoreManagers() {
         this.logManager = LogManager.getInstance(this);
         this.errorHandler = new ErrorHandler(this, logManager);
+        errorHandler.startSummaryTask();
+        TickProfiler.getInstance().start(this);
         this.nbtManager = new NBTManager(this);
+    }
+    
+    /**
+     * 初始化其余管理器组件
+     */
+    private void initializeManagers() {
         this.permissionManager = new PermissionManager(this, nbtManager, languageManager);
         
         // 先创建UIParser，因为UIManager会用到它
         UIParser uiParser = new UIParser(this, configManager, logManager);
         this.uiManager = new UIManager(this, configManager, nbtManager, logManager);
+        this.listUIManager = new ListUIManager(this);
         this.uiOpener = new UIOpener(this, this.uiManager, configManager, languageManager);
         
         // 初始化书籍UI解析器 - 用于独立处理书籍UI的解析和存储
@@ -142,8 +180,11 @@ public class FastGUI extends JavaPlugin {
     
     /**
      * 注册插件命令和监听器
+     * @param startup 启动计时，FGCD命令表在启动线程池中读取
      */
-    private void registerCommandsAndListeners() {
+    private void registerCommandsAndListeners(StartupTimer startup) {
+        CompletableFuture<FGCDCommand> fgcd = startup.supplyAsync("FGCD命令表", () -> new FGCDCommand(this));
+        
         // 注册主命令
         FastGUICommand fgCommand = new FastGUICommand(this);
         this.getCommand("fg").setExecutor(fgCommand);
@@ -162,7 +203,7 @@ public class FastGUI extends JavaPlugin {
         this.getCommand("fglang").setTabCompleter(new FGLangCommand(this, this.languageManager));
         
         // 注册FGCD命令
-        FGCDCommand fgcdCommand = new FGCDCommand(this);
+        FGCDCommand fgcdCommand = startup.await(fgcd);
         this.getCommand("fgcd").setExecutor(fgcdCommand);
         this.getCommand("fgcd").setTabCompleter(fgcdCommand);
         
@@ -171,50 +212,17 @@ public class FastGUI extends JavaPlugin {
     }
     
     /**
-     * 注册事件监听器（可重复调用）
-     */
-    public void registerEventListeners() {
-        // 先取消所有已注册的监听器
-        try {
-            Field pluginManagerField = Bukkit.class.getDeclaredField("pluginManager");
-            pluginManagerField.setAccessible(true);
-            PluginManager pluginManager = (PluginManager) pluginManagerField.get(Bukkit.class);
-            
-            // 获取所有已注册的监听器
-            Field listenersField = pluginManager.getClass().getDeclaredField("listeners");
-            listenersField.setAccessible(true);
-            Map<Class<? extends Event>, List<RegisteredListener>> listeners = 
-                (Map<Class<? extends Event>, List<RegisteredListener>>) listenersField.get(pluginManager);
-            
-            // 移除本插件注册的所有监听器
-            for (List<RegisteredListener> registeredListeners : listeners.values()) {
-                registeredListeners.removeIf(rl -> rl.getPlugin().equals(this));
-            }
-        } catch (Exception e) {
-            getLogger().warning("清理旧监听器时出错: " + e.getMessage());
-        }
-        
-        // 重新注册所有监听器
-        // 注册事件监听器
-        this.getServer().getPluginManager().registerEvents(new InventoryClickListener(this), this);
-        this.getServer().getPluginManager().registerEvents(new InventoryCloseListener(uiOpener), this);
-        // 注册NPC相关监听器
-        this.getServer().getPluginManager().registerEvents(new NPCClickListener(this), this);
-        this.getServer().getPluginManager().registerEvents(new EntitySpawnListener(this), this);
-        this.getServer().getPluginManager().registerEvents(new PlayerInteractListener(this), this);
-        // 注册玩家进入世界监听器
-        this.getServer().getPluginManager().registerEvents(new PlayerJoinWorldListener(this, new FGCDCommand(this)), this);
-        // 注册方块点击监听器
-        // 方块点击监听器已移除
-    }
-    
-    /**
-     * 注册事件监听器（带FGCD命令实例）
+     * 注册事件监听器
+     * <p>每个监听器在插件启用时只注册一次，直到插件禁用。监听器共用插件的管理器实例，
+     * 配置、FGCD命令表等可变状态都通过不可修改的快照整体替换，重新加载时不需要重新注册监听器。</p>
+     * @param fgcdCommand 已读取命令表的FGCD命令实例
      */
     private void registerEventListeners(FGCDCommand fgcdCommand) {
         // 注册事件监听器
         this.getServer().getPluginManager().registerEvents(new InventoryClickListener(this), this);
         this.getServer().getPluginManager().registerEvents(new InventoryCloseListener(uiOpener), this);
+        this.getServer().getPluginManager().registerEvents(new VisibilityCacheListener(uiOpener.getVisibilityManager()), this);
+        this.getServer().getPluginManager().registerEvents(new PlayerLanguageListener(languageManager), this);
         // 注册NPC相关监听器
         this.getServer().getPluginManager().registerEvents(new NPCClickListener(this), this);
         this.getServer().getPluginManager().registerEvents(new EntitySpawnListener(this), this);
@@ -231,25 +239,29 @@ public class FastGUI extends JavaPlugin {
     private void loadData() {
         try {
             uiManager.loadTable();
-            if (configManager.isDebugModeEnabled()) {
+            uiManager.loadOpenCounts();
+            if (configManager.getSettings().debugModeEnabled()) {
             getLogger().info("成功加载UI表数据");
         }
         } catch (Exception e) {
-            errorHandler.handleException(Bukkit.getConsoleSender(), "加载UI表时出错", e);
-            getLogger().severe("加载UI表时出错: " + e.getMessage());
-            e.printStackTrace();
+            errorHandler.report("FastGUI.loadData", "加载UI表时出错", e);
         }
     }
     
     /**
      * 发送插件启动消息到控制台
+     * @param startup 启动计时，输出总耗时和每个阶段的耗时
      */
-    private void sendStartupMessage() {
+    private void sendStartupMessage(StartupTimer startup) {
         ConsoleCommandSender console = Bukkit.getConsoleSender();
         console.sendMessage("\n----------------------------------------");
         console.sendMessage("| FastGUI 插件已成功启用!                   |");
         console.sendMessage("| 版本: 6.8.6                             |");
         console.sendMessage("| 作者: XSY团队                             |");
+        console.sendMessage("| 启动耗时: " + StartupTimer.millis(startup.finish()));
+        for (String line : startup.format()) {
+            console.sendMessage("|   " + line);
+        }
         console.sendMessage("----------------------------------------\n");
     }
     
@@ -267,9 +279,28 @@ public class FastGUI extends JavaPlugin {
             uiOpener.cleanupResources();
         }
         
+        // 输出剩余的错误抑制汇总
+        if (errorHandler != null) {
+            errorHandler.shutdown();
+        }
+        
+        // 停止Prometheus指标接口
+        PrometheusExporter.shutdown();
+        
+        // 停止tick开销统计任务
+        TickProfiler.getInstance().stop();
+        
+        // 停止交互记录，写入剩余的事件
+        TraceRecorder.getInstance().stop();
+        
+        // 写完剩余的异步调试日志并停止后台线程
+        LogManager.shutdown();
+        logManager = null;
+        
         // 清理管理器实例引用
         uiManager = null;
         uiOpener = null;
+        listUIManager = null;
         errorHandler = null;
         bookUIParser = null; // 清理书籍UI解析器引用
         ConfigManager localConfigManager = configManager;
@@ -304,6 +335,15 @@ public class FastGUI extends JavaPlugin {
         return uiOpener;
     }
     
+    /**
+     * 获取列表UI管理器实例
+     * <p>其他插件通过它注册 {@link me.fastgui.managers.ListDataProvider} 数据源。</p>
+     * @return 列表UI管理器
+     */
+    public ListUIManager getListUIManager() {
+        return listUIManager;
+    }
+    
     /**
      * 获取错误处理器实例
      * @return 错误处理器
@@ -338,6 +378,20 @@ public class FastGUI extends JavaPlugin {
         return logManager;
     }
     
+    /**
+     * 获取性能指标管理器
+     */
+    public MetricsManager getMetricsManager() {
+        return MetricsManager.getInstance();
+    }
+    
+    /**
+     * 获取监听器tick开销分析器
+     */
+    public TickProfiler getTickProfiler() {
+        return TickProfiler.getInstance();
+    }
+    
     /**
      * 获取书籍UI解析器实例
      * @return 书籍UI解析器
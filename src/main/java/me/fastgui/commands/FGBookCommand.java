@@ -152,7 +152,7 @@ public class FGBookCommand implements CommandExecutor, TabCompleter {
             Map<String, String> variables = new HashMap<>();
             variables.put("uiId", uiId);
             errorHandler.sendInfoMessage(player, languageManager.getString("fgbook.open.success", variables));
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("玩家 " + player.getName() + " 打开了书与笔UI: " + uiId);
             }
         } catch (Exception e) {
@@ -213,13 +213,13 @@ public class FGBookCommand implements CommandExecutor, TabCompleter {
                 errorHandler.sendSuccessMessage(player, languageManager.getString("fgbook.register.success", variables));
                 errorHandler.sendInfoMessage(player, languageManager.getString("fgbook.register.open_command", variables));
                 
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("玩家 " + player.getName() + " 成功从书与笔创建了书籍UI: " + uiId);
                 }
             } else {
                 errorHandler.handleError(player, languageManager.getString("fgbook.register.failed"));
                 
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().warning("玩家 " + player.getName() + " 创建书籍UI失败: " + uiId);
                 }
             }
@@ -260,14 +260,14 @@ public class FGBookCommand implements CommandExecutor, TabCompleter {
                 Map<String, String> variables = new HashMap<>();
                 variables.put("uiId", uiId);
                 errorHandler.sendSuccessMessage(player, languageManager.getString("fgbook.delete.success", variables));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("玩家 " + player.getName() + " 删除了书籍UI: " + uiId);
                 }
             } else {
                 Map<String, String> variables = new HashMap<>();
                 variables.put("uiId", uiId);
                 errorHandler.handleError(player, languageManager.getString("fgbook.delete.failed", variables));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().warning("玩家 " + player.getName() + " 删除书籍UI失败: " + uiId);
                 }
             }
@@ -301,7 +301,7 @@ public class FGBookCommand implements CommandExecutor, TabCompleter {
             countVariables.put("count", String.valueOf(availableBookUIs.size()));
             errorHandler.sendInfoMessage(player, languageManager.getString("fgbook.list.count", countVariables));
             
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("玩家 " + player.getName() + " 查看了书籍UI列表，共 " + availableBookUIs.size() + " 个UI");
             }
         } catch (Exception e) {
@@ -21,8 +21,13 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
     private final FastGUI plugin;
     private final LanguageManager languageManager;
     private final File tableFile;
-    private final Map<String, List<CommandEvent>> commandEvents = new HashMap<>();
+    // 世界名 -> 命令事件的不可修改快照，修改时复制后整体替换，进入世界的事件不加锁直接读取
+    private volatile Map<String, List<CommandEvent>> commandEvents = Collections.emptyMap();
 
+    /**
+     * 获取当前的命令事件快照
+     * @return 世界名 -> 命令事件，不可修改
+     */
     public Map<String, List<CommandEvent>> getCommandEvents() {
         return commandEvents;
     }
@@ -160,7 +165,9 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
         String eventId = worldAbbreviation + eventCount;
 
         // 添加命令事件
-        commandEvents.computeIfAbsent(worldName, k -> new ArrayList<>()).add(new CommandEvent(eventId, commandContent, executor));
+        Map<String, List<CommandEvent>> updated = copyCommandEvents();
+        updated.computeIfAbsent(worldName, k -> new ArrayList<>()).add(new CommandEvent(eventId, commandContent, executor));
+        publish(updated);
         saveCommandEvents();
 
         Map<String, String> variables = new HashMap<>();
@@ -182,9 +189,10 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
 
         String target = args[1];
         boolean removed = false;
+        Map<String, List<CommandEvent>> updated = copyCommandEvents();
 
         // 尝试按id删除
-        for (List<CommandEvent> events : commandEvents.values()) {
+        for (List<CommandEvent> events : updated.values()) {
             Iterator<CommandEvent> iterator = events.iterator();
             while (iterator.hasNext()) {
                 CommandEvent event = iterator.next();
@@ -249,7 +257,7 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
             }
 
             // 删除命令事件
-            List<CommandEvent> events = commandEvents.get(worldName);
+            List<CommandEvent> events = updated.get(worldName);
             if (events != null) {
                 Iterator<CommandEvent> iterator = events.iterator();
                 while (iterator.hasNext()) {
@@ -264,6 +272,7 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
         }
 
         if (removed) {
+            publish(updated);
             saveCommandEvents();
             Map<String, String> variables = new HashMap<>();
             variables.put("id", target);
@@ -332,6 +341,7 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        Map<String, List<CommandEvent>> loaded = new HashMap<>();
         try (DataInputStream dis = new DataInputStream(new FileInputStream(tableFile))) {
             int size = dis.readInt();
             for (int i = 0; i < size; i++) {
@@ -339,11 +349,36 @@ public class FGCDCommand implements CommandExecutor, TabCompleter {
                 String id = dis.readUTF();
                 String command = dis.readUTF();
                 String executor = dis.readUTF();
-                commandEvents.computeIfAbsent(worldName, k -> new ArrayList<>()).add(new CommandEvent(id, command, executor));
+                loaded.computeIfAbsent(worldName, k -> new ArrayList<>()).add(new CommandEvent(id, command, executor));
             }
         } catch (IOException e) {
             plugin.getLogger().severe("加载FGCD命令事件失败: " + e.getMessage());
         }
+        publish(loaded);
+    }
+
+    /**
+     * 复制当前快照用于修改
+     * @return 可修改的副本
+     */
+    private Map<String, List<CommandEvent>> copyCommandEvents() {
+        Map<String, List<CommandEvent>> copy = new HashMap<>();
+        for (Map.Entry<String, List<CommandEvent>> entry : commandEvents.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * 用修改后的副本替换快照
+     * @param events 世界名 -> 命令事件
+     */
+    private void publish(Map<String, List<CommandEvent>> events) {
+        Map<String, List<CommandEvent>> snapshot = new HashMap<>();
+        for (Map.Entry<String, List<CommandEvent>> entry : events.entrySet()) {
+            snapshot.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        commandEvents = Collections.unmodifiableMap(snapshot);
     }
 
     /**
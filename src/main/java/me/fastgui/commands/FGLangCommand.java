@@ -17,6 +17,7 @@ import java.util.List;
 /**
  * 语言切换命令处理器
  * 处理/fglang命令，用于切换插件语言
+ * <p>/fglang me &lt;语言|auto&gt; 只修改执行命令的玩家自己的语言，auto 表示跟随客户端语言设置</p>
  */
 public class FGLangCommand implements CommandExecutor, TabCompleter {
 
@@ -43,6 +44,12 @@ public class FGLangCommand implements CommandExecutor, TabCompleter {
      */
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        // 玩家设置自己的语言，使用单独的权限
+        if (args.length > 0 && args[0].equalsIgnoreCase("me")) {
+            handlePlayerLanguage(sender, args);
+            return true;
+        }
+        
         // 检查权限
         if (!sender.hasPermission("fastgui.lang")) {
             sender.sendMessage(languageManager.getString("general.no_permission"));
@@ -63,6 +70,7 @@ public class FGLangCommand implements CommandExecutor, TabCompleter {
             }
             
             sender.sendMessage(languageManager.getString("fglang.usage"));
+            sender.sendMessage(languageManager.getString(sender, "fglang.usage_self"));
             return true;
         }
 
@@ -85,13 +93,10 @@ public class FGLangCommand implements CommandExecutor, TabCompleter {
         // 重新加载语言文件列表，以包含新添加的语言文件
         languageManager.loadAllLanguages();
 
-        // 切换语言
+        // 切换语言，新语言的消息表在这里合并，不需要再次加载语言文件
         String oldLanguage = languageManager.getCurrentLanguage();
         languageManager.setCurrentLanguage(languageFile);
         
-        // 重新加载语言文件
-        languageManager.reloadLanguage();
-        
         // 发送成功消息
         sender.sendMessage(languageManager.getString("fglang.language_changed", 
                 java.util.Map.of("old_language", oldLanguage, "new_language", languageFile)));
@@ -99,6 +104,41 @@ public class FGLangCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    /**
+     * 处理 /fglang me &lt;语言|auto&gt;
+     * @param sender 命令发送者
+     * @param args 命令参数
+     */
+    private void handlePlayerLanguage(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(languageManager.getString("fglang.player_only"));
+            return;
+        }
+        if (!player.hasPermission("fastgui.lang.self")) {
+            languageManager.send(player, "general.no_permission");
+            return;
+        }
+        if (args.length < 2) {
+            player.sendMessage(languageManager.getString(player, "fglang.player_language",
+                    "language", languageManager.getLanguage(player)));
+            languageManager.send(player, "fglang.usage_self");
+            return;
+        }
+        
+        if (args[1].equalsIgnoreCase("auto")) {
+            languageManager.setPlayerLanguage(player, null);
+            player.sendMessage(languageManager.getString(player, "fglang.player_language_auto",
+                    "language", languageManager.getLanguage(player)));
+            return;
+        }
+        if (!languageManager.setPlayerLanguage(player, args[1])) {
+            player.sendMessage(languageManager.getString(player, "fglang.language_not_found", "language", args[1]));
+            return;
+        }
+        player.sendMessage(languageManager.getString(player, "fglang.player_language_set",
+                "language", languageManager.getLanguage(player)));
+    }
+
     /**
      * Tab补全处理
      * @param sender 命令发送者
@@ -111,9 +151,26 @@ public class FGLangCommand implements CommandExecutor, TabCompleter {
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
         List<String> completions = new ArrayList<>();
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("me")) {
+            // /fglang me <语言|auto>
+            String partial = args[1].toLowerCase();
+            if ("auto".startsWith(partial)) {
+                completions.add("auto");
+            }
+            for (String lang : languageManager.getAvailableLanguages()) {
+                if (lang.toLowerCase().startsWith(partial)) {
+                    completions.add(lang);
+                }
+            }
+            return completions;
+        }
+
         // 只在第一个参数提供补全
         if (args.length == 1) {
             String partial = args[0].toLowerCase();
+            if ("me".startsWith(partial)) {
+                completions.add("me");
+            }
             File langFolder = new File(plugin.getDataFolder(), "lang");
             
             if (langFolder.exists() && langFolder.isDirectory()) {
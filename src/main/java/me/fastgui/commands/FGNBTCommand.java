@@ -62,6 +62,12 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
             case "button":
                 handleButtonCommand(player, args);
                 break;
+            case "content":
+                handleContentCommand(player);
+                break;
+            case "visible":
+                handleVisibleCommand(player, args);
+                break;
             case "npc":
                 handleNPCCommand(player, args);
                 break;
@@ -110,12 +116,12 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
                     player.sendMessage(languageManager.getString("fgnbt.border_set"));
                     player.sendMessage(languageManager.getString("fgnbt.button_preserved", 
                             Map.of("command", oldCommand)));
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("玩家 " + player.getName() + " 为物品添加了Border标签，并保留了Button属性");
                     }
                 } else {
                     player.sendMessage(languageManager.getString("fgnbt.border_set"));
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("玩家 " + player.getName() + " 为物品添加了Border标签");
                     }
                 }
@@ -130,6 +136,79 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * 处理Content子命令，将手持物品标记为列表UI的内容槽位
+     * @param player 执行命令的玩家
+     */
+    private void handleContentCommand(Player player) {
+        try {
+            ItemStack item = player.getInventory().getItemInMainHand();
+
+            if (item == null || item.getType().isAir()) {
+                player.sendMessage(languageManager.getString("fgnbt.hold_item"));
+                return;
+            }
+
+            if (nbtManager.addContentAttribute(item)) {
+                player.getInventory().setItemInMainHand(item);
+                player.sendMessage(languageManager.getString("fgnbt.content_set"));
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
+                    plugin.getLogger().info("玩家 " + player.getName() + " 为物品添加了Content标签");
+                }
+            } else {
+                player.sendMessage(languageManager.getString("error.save_failed", 
+                        Map.of("error", "添加Content标签失败")));
+            }
+        } catch (Exception e) {
+            player.sendMessage(languageManager.getString("general.error_occurred", 
+                    Map.of("error", e.getMessage())));
+            plugin.getLogger().severe("设置Content标签时出错: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 处理Visible子命令，为手持物品设置显示条件
+     * <p>格式：/fgnbt Visible &lt;条件[,条件...]|clear&gt;，条件可以是 op、perm:节点、world:世界名，前缀!表示取反</p>
+     * @param player 执行命令的玩家
+     * @param args 命令参数
+     */
+    private void handleVisibleCommand(Player player, String[] args) {
+        try {
+            ItemStack item = player.getInventory().getItemInMainHand();
+
+            if (item == null || item.getType().isAir()) {
+                player.sendMessage(languageManager.getString("fgnbt.hold_item"));
+                return;
+            }
+
+            if (args.length < 2) {
+                player.sendMessage(languageManager.getString("fgnbt.usage.visible"));
+                return;
+            }
+
+            // 参数中可能包含空格，合并剩余参数
+            String condition = String.join(" ", Arrays.copyOfRange(args, 1, args.length)).trim();
+            boolean clear = condition.equalsIgnoreCase("clear");
+
+            if (nbtManager.setVisibilityCondition(item, clear ? null : condition)) {
+                player.getInventory().setItemInMainHand(item);
+                if (clear) {
+                    player.sendMessage(languageManager.getString("fgnbt.visible_cleared"));
+                } else {
+                    player.sendMessage(languageManager.getString("fgnbt.visible_set", 
+                            Map.of("condition", condition)));
+                }
+            } else {
+                player.sendMessage(languageManager.getString("error.save_failed", 
+                        Map.of("error", "设置显示条件失败")));
+            }
+        } catch (Exception e) {
+            player.sendMessage(languageManager.getString("general.error_occurred", 
+                    Map.of("error", e.getMessage())));
+            plugin.getLogger().severe("设置显示条件时出错: " + e.getMessage());
+        }
+    }
+
     /**
      * 处理Button子命令，给手持物品添加Button和command标签
      * @param player 执行命令的玩家
@@ -243,7 +322,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
             // 处理命令斜杠 - 如果命令以/开头，去掉它
             if (command.startsWith("/")) {
                 command = command.substring(1);
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("去除命令前的斜杠，设置NPC命令: " + command);
                 }
             }
@@ -266,7 +345,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
                         Map.of("mode", executeMode)));
                 player.sendMessage(languageManager.getString("fgnbt.executor", 
                         Map.of("executor", executor)));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("玩家 " + player.getName() + " 为生物刷怪蛋添加了NPC标签: " + command);
                 }
             } else {
@@ -348,7 +427,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
             // 处理命令斜杠 - 如果命令以/开头，去掉它
             if (command.startsWith("/")) {
                 command = command.substring(1);
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("去除命令前的斜杠，设置命令: " + command);
                 }
             }
@@ -386,7 +465,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
                 }
                 player.sendMessage(infoBuilder.toString());
                 
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("玩家 " + player.getName() + " 为物品添加了Button标签: " + infoBuilder.toString());
                 }
             } else {
@@ -478,7 +557,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
             // 处理命令斜杠 - 如果命令以/开头，去掉它
             if (command.startsWith("/")) {
                 command = command.substring(1);
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("去除命令前的斜杠，设置ButtonItem命令: " + command);
                 }
             }
@@ -508,7 +587,7 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
                     player.sendMessage(languageManager.getString("fgnbt.permission_info", permVars));
                 }
                 player.sendMessage(languageManager.getString("fgnbt.buttonitem_usage"));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("玩家 " + player.getName() + " 为物品添加了ButtonItem标签: " + command);
                 }
             } else {
@@ -574,6 +653,8 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(languageManager.getString("fgnbt.help.header"));
         sender.sendMessage(languageManager.getString("fgnbt.help.border"));
         sender.sendMessage(languageManager.getString("fgnbt.help.button"));
+        sender.sendMessage(languageManager.getString("fgnbt.help.content"));
+        sender.sendMessage(languageManager.getString("fgnbt.help.visible"));
         sender.sendMessage(languageManager.getString("fgnbt.help.npc"));
         sender.sendMessage(languageManager.getString("fgnbt.help.buttonitem"));
         sender.sendMessage(languageManager.getString("fgnbt.help.buttonblock"));
@@ -592,12 +673,20 @@ public class FGNBTCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             completions.add("Border");
             completions.add("Button");
+            completions.add("Content");
+            completions.add("Visible");
             completions.add("npc");
             completions.add("Buttonitem");
             // ButtonBlock已移除
             return filterCompletions(completions, args[0]);
         }
         
+        // Visible子命令的条件补全
+        if (args.length == 2 && args[0].equalsIgnoreCase("Visible")) {
+            completions.addAll(Arrays.asList("op", "!op", "perm:", "world:", "clear"));
+            return filterCompletions(completions, args[1]);
+        }
+        
         // 第二个参数的补全（Button子命令）
         if (args.length == 2 && args[0].equalsIgnoreCase("Button")) {
             completions.add("command");
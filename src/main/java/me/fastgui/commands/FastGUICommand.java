@@ -5,6 +5,9 @@ import me.fastgui.managers.UIManager;
 import me.fastgui.managers.UIOpener;
 import me.fastgui.managers.ConfigManager;
 import me.fastgui.managers.LanguageManager;
+import me.fastgui.managers.MetricsManager;
+import me.fastgui.managers.TickProfiler;
+import me.fastgui.trace.TraceRecorder;
 import me.fastgui.utils.ErrorHandler;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -20,6 +23,7 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.Bukkit;
 
+import java.io.File;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
@@ -142,7 +146,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                     // 更新箱子状态
                     chest.update();
                     
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("测试UI模板已成功填充物品");
                     }
                 } catch (Exception e) {
@@ -152,8 +156,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
             
             return true;
         } catch (Exception e) {
-            plugin.getLogger().severe("生成测试箱子时发生错误: " + e.getMessage());
-            e.printStackTrace();
+            errorHandler.report("生成测试箱子时发生错误", e);
             return false;
         }
     }
@@ -266,6 +269,12 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
             // 重新初始化NBT管理器
             plugin.getNBTManager().reloadConfig();
             
+            // 权限配置可能已变化，清除显示条件缓存
+            plugin.getUIOpener().getVisibilityManager().invalidateAll();
+            
+            // 按新配置启动或停止UI文件热重载
+            uiManager.applyHotReloadSettings();
+            
             // 发送成功消息
             sender.sendMessage(languageManager.getString("fastgui.success.reload"));
             return true;
@@ -273,7 +282,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
         
         // 对于非控制台命令，检查是否是玩家
         if (args.length > 0 && !(sender instanceof Player) && 
-            (args[0].equalsIgnoreCase("add") || args[0].equalsIgnoreCase("open"))) {
+            (args[0].equalsIgnoreCase("add") || args[0].equalsIgnoreCase("open") || args[0].equalsIgnoreCase("addpage"))) {
             errorHandler.handleError(sender, languageManager.getString("fastgui.error.player_only_command"));
             return true;
         }
@@ -287,6 +296,14 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                     handleAddCommand((Player)sender, args);
                 }
                 break;
+            case "addpage":
+                if (sender instanceof Player) {
+                    handleAddPageCommand((Player)sender, args);
+                }
+                break;
+            case "removepage":
+                handleRemovePageCommand(sender, args);
+                break;
             case "list":
                 handleListCommand(sender);
                 break;
@@ -312,6 +329,12 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
             case "debug":
                 handleDebugCommand(sender);
                 break;
+            case "stats":
+                handleStatsCommand(sender, args);
+                break;
+            case "trace":
+                handleTraceCommand(sender, args);
+                break;
             default:
                 errorHandler.handleError(sender, languageManager.getString("fastgui.error.unknown_subcommand", 
                         Map.of("subcommand", subCommand)));
@@ -331,13 +354,18 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
     private void sendHelpMessage(CommandSender sender) {
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.header"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.add"));
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.addpage"));
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.removepage"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.list"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.open"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.delete"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.set_id"));
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.set_list"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.refresh"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.test"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.debug"));
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.stats"));
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.trace"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.reload"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.command"));
         errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.help.separator"));
@@ -443,6 +471,109 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    /**
+     * 处理为UI添加页面的命令
+     * <p>从玩家指定位置的容器中读取物品，作为UI的新页面追加到末尾</p>
+     * 
+     * @param player 执行命令的玩家
+     * @param args 命令参数，格式：[addpage, uiName, x, y, z]
+     */
+    private void handleAddPageCommand(Player player, String[] args) {
+        try {
+            // 验证参数数量
+            if (args.length < 5) {
+                errorHandler.sendInfoMessage(player, languageManager.getString("fastgui.page.add_usage"));
+                return;
+            }
+            
+            String uiName = args[1];
+            
+            // 解析坐标
+            int x, y, z;
+            try {
+                x = Integer.parseInt(args[2]);
+                y = Integer.parseInt(args[3]);
+                z = Integer.parseInt(args[4]);
+            } catch (NumberFormatException e) {
+                errorHandler.handleError(player, languageManager.getString("fastgui.error.coordinates_must_be_numbers"));
+                errorHandler.sendInfoMessage(player, languageManager.getString("fastgui.page.add_usage"));
+                return;
+            }
+            
+            // 获取指定坐标的容器
+            Block block = player.getWorld().getBlockAt(x, y, z);
+            Material blockType = block.getType();
+            if (blockType != Material.CHEST && blockType != Material.TRAPPED_CHEST && 
+                blockType != Material.DISPENSER && blockType != Material.DROPPER) {
+                errorHandler.handleError(player, languageManager.getString("fastgui.error.not_supported_container"));
+                return;
+            }
+            
+            Inventory inventory = ((InventoryHolder) block.getState()).getInventory();
+            
+            int pageCount;
+            try {
+                pageCount = uiManager.addPage(uiName, inventory.getContents());
+            } catch (IllegalArgumentException e) {
+                errorHandler.handleError(player, languageManager.getString("fastgui.page.size_mismatch"));
+                return;
+            }
+            
+            if (pageCount < 0) {
+                errorHandler.handleError(player, languageManager.getString("fastgui.error.ui_not_found", 
+                        Map.of("ui_name", uiName)));
+                return;
+            }
+            
+            errorHandler.sendSuccessMessage(player, languageManager.getString("fastgui.page.added", 
+                    Map.of("ui_name", uiName, "page", String.valueOf(pageCount))));
+        } catch (Exception e) {
+            errorHandler.handleException(player, languageManager.getString("fastgui.page.error"), e);
+        }
+    }
+    
+    /**
+     * 处理删除UI页面的命令
+     * 
+     * @param sender 命令发送者
+     * @param args 命令参数，格式：[removepage, uiName, page]
+     */
+    private void handleRemovePageCommand(CommandSender sender, String[] args) {
+        try {
+            // 验证参数数量
+            if (args.length < 3) {
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.page.remove_usage"));
+                return;
+            }
+            
+            String uiName = args[1];
+            int page;
+            try {
+                page = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                errorHandler.handleError(sender, languageManager.getString("fastgui.page.invalid_page", 
+                        Map.of("page", args[2])));
+                return;
+            }
+            
+            // 第一页是UI本身，不能删除
+            if (page <= 1) {
+                errorHandler.handleError(sender, languageManager.getString("fastgui.page.cannot_remove_first"));
+                return;
+            }
+            
+            if (uiManager.removePage(uiName, page - 1)) {
+                errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.page.removed", 
+                        Map.of("ui_name", uiName, "page", String.valueOf(page))));
+            } else {
+                errorHandler.handleError(sender, languageManager.getString("fastgui.page.invalid_page", 
+                        Map.of("page", args[2])));
+            }
+        } catch (Exception e) {
+            errorHandler.handleException(sender, languageManager.getString("fastgui.page.error"), e);
+        }
+    }
+    
     /**
      * 移除字符串中的颜色代码
      */
@@ -553,7 +684,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                 errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.delete.ui_deleted_successfully"));
                 errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.delete.ui_deleted", 
                         Map.of("ui_name", uiName)));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info(languageManager.getString("fastgui.delete.debug_ui_deleted", 
                             Map.of("ui_name", uiName)));
                 }
@@ -590,8 +721,12 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                 return;
             }
             
-            // 验证操作类型（目前只支持id）
+            // 验证操作类型（支持id和list）
             String operation = args[1].toLowerCase();
+            if (operation.equals("list")) {
+                handleSetListCommand(sender, args[2], args[3]);
+                return;
+            }
             if (!operation.equals("id")) {
                 errorHandler.handleError(sender, languageManager.getString("fastgui.set.unknown_property", 
                         Map.of("property", operation)));
@@ -617,6 +752,41 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    /**
+     * 处理设置UI列表数据源的命令
+     * <p>格式：/fg set list &lt;ui名称&gt; &lt;数据源ID|none&gt;</p>
+     */
+    private void handleSetListCommand(CommandSender sender, String uiName, String providerId) {
+        try {
+            if (!uiManager.getUITable().containsKey(uiName)) {
+                errorHandler.handleError(sender, languageManager.getString("fastgui.error.ui_not_found", 
+                        Map.of("ui_name", uiName)));
+                return;
+            }
+            
+            boolean clear = providerId.equalsIgnoreCase("none");
+            if (!clear && plugin.getListUIManager().getProvider(providerId) == null) {
+                // 数据源可能由尚未加载的插件提供，仍然允许设置，但提示管理员
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.set.list_provider_not_registered", 
+                        Map.of("provider", providerId)));
+            }
+            
+            if (uiManager.setListProvider(uiName, providerId)) {
+                if (clear) {
+                    errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.set.list_cleared", 
+                            Map.of("ui_name", uiName)));
+                } else {
+                    errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.set.list_set", 
+                            Map.of("ui_name", uiName, "provider", providerId)));
+                }
+            } else {
+                errorHandler.handleError(sender, languageManager.getString("fastgui.set.list_set_failed"));
+            }
+        } catch (Exception e) {
+            errorHandler.handleException(sender, languageManager.getString("fastgui.set.error_setting_property"), e);
+        }
+    }
+    
     /**
      * 处理修改UI ID的命令
      */
@@ -639,7 +809,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                 errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.set.id_renamed_successfully"));
                 errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.set.id_renamed", 
                         Map.of("old_id", oldId, "new_id", newId)));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info(languageManager.getString("fastgui.set.debug_id_renamed", 
                             Map.of("sender", sender.getName(), "old_id", oldId, "new_id", newId)));
                 }
@@ -672,7 +842,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                         Map.of("ui_name", uiName)));
                 errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.set.new_display_name", 
                         Map.of("display_name", displayName)));
-                if (plugin.getConfigManager().isDebugModeEnabled()) {
+                if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info(languageManager.getString("fastgui.set.debug_display_updated", 
                             Map.of("sender", sender.getName(), "ui_name", uiName, "display_name", displayName)));
                 }
@@ -702,7 +872,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
             errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.refresh.cache_cleared", 
                     Map.of("count", String.valueOf(loadedCount))));
             
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info(languageManager.getString("fastgui.refresh.debug_cache_cleared", 
                         Map.of("sender", sender.getName(), "count", String.valueOf(loadedCount))));
             }
@@ -714,7 +884,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
     
     private void handleDebugCommand(CommandSender sender) {
         try {
-            boolean currentState = configManager.isDebugModeEnabled();
+            boolean currentState = configManager.getSettings().debugModeEnabled();
             boolean newState = !currentState;
             
             configManager.setDebugModeEnabled(newState);
@@ -734,6 +904,154 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * 处理查看性能统计的命令
+     * <p>/fg stats 显示计数器、各项操作的耗时分布和打开次数最多的UI，/fg stats reset 清零统计</p>
+     * 
+     * @param sender 命令发送者
+     * @param args 命令参数
+     */
+    private void handleStatsCommand(CommandSender sender, String[] args) {
+        try {
+            MetricsManager metrics = plugin.getMetricsManager();
+            TickProfiler tickProfiler = plugin.getTickProfiler();
+            if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+                metrics.reset();
+                tickProfiler.reset();
+                errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.stats.reset"));
+                return;
+            }
+            
+            long seconds = (System.currentTimeMillis() - metrics.getStartedAt()) / 1000;
+            errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.header",
+                    Map.of("seconds", String.valueOf(seconds))));
+            
+            errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.counters"));
+            for (MetricsManager.Counter counter : MetricsManager.Counter.values()) {
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.counter",
+                        Map.of("name", counter.getKey(), "value", String.valueOf(metrics.get(counter)))));
+            }
+            
+            errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.timers"));
+            for (MetricsManager.Timer timer : MetricsManager.Timer.values()) {
+                MetricsManager.Histogram histogram = metrics.getHistogram(timer);
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.timer", Map.of(
+                        "name", timer.getKey(),
+                        "count", String.valueOf(histogram.getCount()),
+                        "p50", String.valueOf(histogram.percentileMicros(0.5)),
+                        "p99", String.valueOf(histogram.percentileMicros(0.99)),
+                        "max", String.valueOf(histogram.getMaxMicros()))));
+            }
+            
+            sendTickStats(sender, tickProfiler);
+            
+            errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.top_header"));
+            List<Map.Entry<String, Long>> topUIs = metrics.getTopUIs(5);
+            if (topUIs.isEmpty()) {
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.top_empty"));
+            }
+            for (int i = 0; i < topUIs.size(); i++) {
+                Map.Entry<String, Long> entry = topUIs.get(i);
+                errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.top_entry", Map.of(
+                        "rank", String.valueOf(i + 1),
+                        "ui_name", entry.getKey(),
+                        "count", String.valueOf(entry.getValue()))));
+            }
+        } catch (Exception e) {
+            errorHandler.handleException(sender, languageManager.getString("fastgui.stats.error"), e);
+        }
+    }
+
+    /**
+     * 处理交互记录命令
+     * <p>/fg trace start [名称] 开始把UI打开、点击、NPC交互和进入世界记录到 traces 目录，
+     * /fg trace stop 停止记录，/fg trace status 查看当前记录</p>
+     * 
+     * @param sender 命令发送者
+     * @param args 命令参数
+     */
+    private void handleTraceCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("fastgui.admin")) {
+            errorHandler.handleError(sender, languageManager.getString("fastgui.error.no_permission"));
+            return;
+        }
+        TraceRecorder recorder = TraceRecorder.getInstance();
+        String action = args.length > 1 ? args[1].toLowerCase() : "status";
+        try {
+            switch (action) {
+                case "start":
+                    if (recorder.getStatus() != null) {
+                        errorHandler.handleError(sender, languageManager.getString("fastgui.trace.already_recording"));
+                        return;
+                    }
+                    File file = recorder.start(plugin, args.length > 2 ? args[2] : null);
+                    errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.trace.started",
+                            Map.of("file", file.getName())));
+                    break;
+                case "stop":
+                    TraceRecorder.Status stopped = recorder.stop();
+                    if (stopped == null) {
+                        errorHandler.handleError(sender, languageManager.getString("fastgui.trace.not_recording"));
+                        return;
+                    }
+                    errorHandler.sendSuccessMessage(sender, languageManager.getString("fastgui.trace.stopped",
+                            traceStatusPlaceholders(stopped)));
+                    break;
+                case "status":
+                    TraceRecorder.Status status = recorder.getStatus();
+                    if (status == null) {
+                        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.trace.not_recording"));
+                    } else {
+                        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.trace.status",
+                                traceStatusPlaceholders(status)));
+                    }
+                    break;
+                default:
+                    errorHandler.handleError(sender, languageManager.getString("fastgui.help.trace"));
+                    break;
+            }
+        } catch (Exception e) {
+            errorHandler.handleException(sender, languageManager.getString("fastgui.trace.error"), e);
+        }
+    }
+    
+    private static Map<String, String> traceStatusPlaceholders(TraceRecorder.Status status) {
+        return Map.of(
+                "file", status.file().getName(),
+                "events", String.valueOf(status.events()),
+                "kb", String.valueOf(status.bytes() / 1024),
+                "seconds", String.valueOf(status.durationMillis() / 1000));
+    }
+
+    /**
+     * 发送各监听器每tick的耗时统计
+     * @param sender 命令发送者
+     * @param tickProfiler tick开销分析器
+     */
+    private void sendTickStats(CommandSender sender, TickProfiler tickProfiler) {
+        if (!tickProfiler.isEnabled()) {
+            errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.ticks_disabled"));
+            return;
+        }
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.ticks_header", Map.of(
+                "ticks", String.valueOf(tickProfiler.getWindowTicks()),
+                "budget", String.valueOf(tickProfiler.getBudgetNanos() / 1000),
+                "slow", String.valueOf(tickProfiler.getSlowTicks()),
+                "total", String.valueOf(tickProfiler.getTicks()))));
+        for (TickProfiler.Source source : TickProfiler.Source.values()) {
+            sendTickEntry(sender, source.getDisplayName(), tickProfiler.getStats(source));
+        }
+        sendTickEntry(sender, languageManager.getString("fastgui.stats.ticks_total"), tickProfiler.getTotalStats());
+    }
+    
+    private void sendTickEntry(CommandSender sender, String name, TickProfiler.Stats stats) {
+        errorHandler.sendInfoMessage(sender, languageManager.getString("fastgui.stats.tick_entry", Map.of(
+                "name", name,
+                "avg", String.valueOf(stats.averageNanos() / 1000),
+                "worst", String.valueOf(stats.windowWorstNanos() / 1000),
+                "max", String.valueOf(stats.worstNanos() / 1000))));
+    }
+
     /**
      * 处理命令的tab补全
      * <p>为FastGUI的所有子命令提供tab补全支持</p>
@@ -750,7 +1068,7 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             // 第一个参数是子命令
-            List<String> subCommands = Arrays.asList("add", "list", "open", "delete", "test", "set", "refresh", "debug", "reload", "command");
+            List<String> subCommands = Arrays.asList("add", "addpage", "removepage", "list", "open", "delete", "test", "set", "refresh", "debug", "stats", "trace", "reload", "command");
             String partial = args[0].toLowerCase();
             
             for (String subCommand : subCommands) {
@@ -776,15 +1094,34 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
                     break;
                 case "open":
                 case "delete":
+                case "addpage":
+                case "removepage":
                     // /fg open <ui名称> 或 /fg delete <ui名称>
                     completions.addAll(uiManager.getUIList());
                     break;
                 case "set":
-                    // /fg set id <源UI名> <要改的名字>
+                    // /fg set id <源UI名> <要改的名字> 或 /fg set list <UI名> <数据源>
                     String partial = args[1].toLowerCase();
                     if ("id".startsWith(partial)) {
                         completions.add("id");
                     }
+                    if ("list".startsWith(partial)) {
+                        completions.add("list");
+                    }
+                    break;
+                case "stats":
+                    // /fg stats reset
+                    if ("reset".startsWith(args[1].toLowerCase())) {
+                        completions.add("reset");
+                    }
+                    break;
+                case "trace":
+                    // /fg trace start|stop|status
+                    for (String action : Arrays.asList("start", "stop", "status")) {
+                        if (action.startsWith(args[1].toLowerCase())) {
+                            completions.add(action);
+                        }
+                    }
                     break;
             }
         } else if (args.length == 3) {
@@ -798,6 +1135,13 @@ public class FastGUICommand implements CommandExecutor, TabCompleter {
             } else if (subCommand.equals("open") || subCommand.equals("delete")) {
                 // 这些命令只有两个参数，所以不提供补全
             }
+        } else if (args.length == 4) {
+            // 第四个参数
+            if (args[0].equalsIgnoreCase("set") && args[1].equalsIgnoreCase("list")) {
+                // /fg set list <UI名> <数据源>
+                completions.addAll(plugin.getListUIManager().getProviderIds());
+                completions.add("none");
+            }
         }
         
         return completions;
@@ -0,0 +1,39 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 按钮或NPC分发命令的JFR事件
+ */
+@Name("me.fastgui.CommandDispatch")
+@Label("FastGUI Command Dispatch")
+@Category({"FastGUI", "Interaction"})
+@Description("按钮或NPC触发的命令交给服务器执行")
+public class CommandDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    public String command;
+
+    @Label("Source")
+    @Description("button 或 npc")
+    public String source;
+
+    @Label("Success")
+    public boolean success;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String command, String source, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.command = command;
+            this.source = source;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 读取物品NBT属性的JFR事件
+ * <p>每个槽位、每次点击都会触发，调用频繁，因此不记录调用栈。</p>
+ */
+@Name("me.fastgui.NBTRead")
+@Label("FastGUI NBT Read")
+@Category({"FastGUI", "NBT"})
+@Description("NBTManager 通过PDC或反射读取物品属性")
+@StackTrace(false)
+public class NBTReadEvent extends jdk.jfr.Event {
+
+    @Label("Key")
+    public String key;
+
+    @Label("Method")
+    @Description("pdc 或 reflection")
+    public String method;
+
+    @Label("Found")
+    public boolean found;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String key, String method, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.key = key;
+            this.method = method;
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 处理FastGUI界面点击的JFR事件
+ */
+@Name("me.fastgui.UIClick")
+@Label("FastGUI Click")
+@Category({"FastGUI", "Interaction"})
+@Description("InventoryClickListener 处理一次FastGUI界面内的点击")
+public class UIClickEvent extends jdk.jfr.Event {
+
+    @Label("UI ID")
+    public String uiId;
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Outcome")
+    @Description("empty, list_action, slot 或 error")
+    public String outcome;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String uiId, int slot, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.uiId = uiId;
+            this.slot = slot;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 从磁盘加载UI文件的JFR事件
+ * <p>没有JFR录制时 {@link #shouldCommit()} 返回false，不会填充字段，事件对象也会被JIT消除。</p>
+ */
+@Name("me.fastgui.UILoad")
+@Label("FastGUI UI Load")
+@Category({"FastGUI", "UI"})
+@Description("UIManager.loadUI 读取并解析UI文件")
+public class UILoadEvent extends jdk.jfr.Event {
+
+    @Label("UI ID")
+    public String uiId;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+
+    @Label("Outcome")
+    @Description("loaded, not_found, missing_file 或 error")
+    public String outcome;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String uiId, long bytes, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.uiId = uiId;
+            this.bytes = bytes;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
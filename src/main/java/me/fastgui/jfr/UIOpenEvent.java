@@ -0,0 +1,39 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 为玩家打开UI的JFR事件
+ */
+@Name("me.fastgui.UIOpen")
+@Label("FastGUI UI Open")
+@Category({"FastGUI", "UI"})
+@Description("UIOpener.openUI 创建并填充Inventory后打开给玩家，或导航时在原界面中替换为另一个UI")
+public class UIOpenEvent extends jdk.jfr.Event {
+
+    @Label("UI ID")
+    public String uiId;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Outcome")
+    @Description("opened, swapped, not_found, no_permission 或 error")
+    public String outcome;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String uiId, String player, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.uiId = uiId;
+            this.player = player;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 保存UI文件的JFR事件
+ */
+@Name("me.fastgui.UISave")
+@Label("FastGUI UI Save")
+@Category({"FastGUI", "UI"})
+@Description("UIManager.saveUIData 序列化并写入UI文件")
+public class UISaveEvent extends jdk.jfr.Event {
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    @Label("Outcome")
+    @Description("saved 或 error")
+    public String outcome;
+
+    /**
+     * 结束计时并在录制开启时提交事件
+     */
+    public void complete(String fileName, long bytes, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.fileName = fileName;
+            this.bytes = bytes;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
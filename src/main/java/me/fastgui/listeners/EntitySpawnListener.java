@@ -2,6 +2,7 @@ package me.fastgui.listeners;
 
 import me.fastgui.FastGUI;
 import me.fastgui.managers.NBTManager;
+import me.fastgui.managers.TickProfiler;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -18,6 +19,7 @@ public class EntitySpawnListener implements Listener {
 
     private final FastGUI plugin;
     private final NBTManager nbtManager;
+    private final TickProfiler tickProfiler = TickProfiler.getInstance();
     // 使用ThreadLocal存储最近使用的刷怪蛋信息
     private static final ThreadLocal<PlayerEggUseInfo> RECENT_EGG_USE = new ThreadLocal<>();
     // 有效时间阈值（毫秒）
@@ -30,6 +32,7 @@ public class EntitySpawnListener implements Listener {
 
     @EventHandler
     public void onCreatureSpawn(CreatureSpawnEvent event) {
+        long start = System.nanoTime();
         try {
             // 检查是否是通过刷怪蛋生成的生物
             if (event.getSpawnReason() != CreatureSpawnEvent.SpawnReason.SPAWNER_EGG &&
@@ -66,7 +69,7 @@ public class EntitySpawnListener implements Listener {
             String executor = nbtManager.getNPCExecutor(eggUseInfo.getItem());
 
             // 调试信息：刷怪蛋NBT读取
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (FastGUI.getInstance().getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("NPC生成调试信息:");
                 plugin.getLogger().info("  刷怪蛋来源: " + eggUseInfo.getPlayer().getName());
                 plugin.getLogger().info("  实体类型: " + entity.getType().name());
@@ -103,7 +106,7 @@ public class EntitySpawnListener implements Listener {
 
             if (success) {
                 // 记录成功日志
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (FastGUI.getInstance().getConfigManager().getSettings().debugModeEnabled()) {
                     plugin.getLogger().info("成功将NPC属性应用到实体: " + entity.getType().name() + 
                         " (由玩家 " + eggUseInfo.getPlayer().getName() + " 生成)");
                 }
@@ -113,11 +116,11 @@ public class EntitySpawnListener implements Listener {
             }
 
         } catch (Exception e) {
-            plugin.getLogger().severe("处理实体生成事件时出错: " + e.getMessage());
-            e.printStackTrace();
+            plugin.getErrorHandler().report("处理实体生成事件时出错", e);
         } finally {
             // 确保总是清除ThreadLocal数据，避免内存泄漏
             RECENT_EGG_USE.remove();
+            tickProfiler.record(TickProfiler.Source.ENTITY_SPAWN, start);
         }
     }
 
@@ -1,19 +1,27 @@
 package me.fastgui.listeners;
 
 import me.fastgui.FastGUI;
+import me.fastgui.jfr.CommandDispatchEvent;
+import me.fastgui.jfr.UIClickEvent;
 import me.fastgui.managers.UIOpener;
 import me.fastgui.managers.UIManager;
 import me.fastgui.utils.ErrorHandler;
 import me.fastgui.managers.ConfigManager;
+import me.fastgui.managers.ListUIManager;
 import me.fastgui.managers.LogManager;
+import me.fastgui.managers.MetricsManager;
 import me.fastgui.managers.NBTManager;
 import me.fastgui.managers.PermissionManager;
+import me.fastgui.managers.UIAction;
+import me.fastgui.managers.TickProfiler;
+import me.fastgui.trace.TraceRecorder;
 // ChatColor导入已移除，使用颜色代码替代
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import java.util.ArrayList;
@@ -30,72 +38,148 @@ public class InventoryClickListener implements Listener {
     private final NBTManager nbtManager;
     private final LogManager logManager;
     private final PermissionManager permissionManager;
+    private final ListUIManager listUIManager;
+    private final MetricsManager metrics = MetricsManager.getInstance();
+    private final TickProfiler tickProfiler = TickProfiler.getInstance();
+    private final TraceRecorder traceRecorder = TraceRecorder.getInstance();
+    // 当前点击是否记录调试日志，点击事件只在主线程处理
+    private boolean debugThisClick;
 
     public InventoryClickListener(FastGUI plugin) {
-        this.uiOpener = plugin.getUIOpener();
-        this.errorHandler = plugin.getErrorHandler();
-        this.uiManager = plugin.getUIManager();
-        this.configManager = plugin.getConfigManager();
-        this.nbtManager = plugin.getNBTManager();
-        this.logManager = plugin.getLogManager();
-        this.permissionManager = new PermissionManager(plugin, nbtManager, plugin.getLanguageManager());
+        this(plugin.getUIOpener(), plugin.getErrorHandler(), plugin.getUIManager(), plugin.getConfigManager(),
+                plugin.getNBTManager(), plugin.getLogManager(),
+                plugin.getPermissionManager(),
+                plugin.getListUIManager());
+    }
+
+    /**
+     * 直接传入依赖的管理器，基准测试在没有插件实例的情况下使用
+     */
+    InventoryClickListener(UIOpener uiOpener, ErrorHandler errorHandler, UIManager uiManager, ConfigManager configManager,
+                           NBTManager nbtManager, LogManager logManager, PermissionManager permissionManager,
+                           ListUIManager listUIManager) {
+        this.uiOpener = uiOpener;
+        this.errorHandler = errorHandler;
+        this.uiManager = uiManager;
+        this.configManager = configManager;
+        this.nbtManager = nbtManager;
+        this.logManager = logManager;
+        this.permissionManager = permissionManager;
+        this.listUIManager = listUIManager;
     }
 
     private void debugLog(String message) {
-        if (configManager.isDebugModeEnabled()) {
-            logManager.info("[InventoryClick] " + message);
+        if (debugThisClick) {
+            logManager.debugLog("[InventoryClick] " + message);
+        }
+    }
+
+    /**
+     * 参数化调试日志，调试模式关闭或当前点击不在采样范围内时不会拼接字符串
+     * @param pattern 消息模板，{} 按顺序替换为参数
+     * @param arg 参数
+     */
+    private void debugLog(String pattern, Object arg) {
+        if (debugThisClick) {
+            logManager.debugLog("[InventoryClick] " + LogManager.format(pattern, arg));
+        }
+    }
+
+    private void debugLog(String pattern, Object arg1, Object arg2) {
+        if (debugThisClick) {
+            logManager.debugLog("[InventoryClick] " + LogManager.format(pattern, arg1, arg2));
         }
     }
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
+        long start = System.nanoTime();
+        UIClickEvent clickEvent = new UIClickEvent();
+        clickEvent.begin();
+        boolean fastGUIClick = false;
+        String uiId = null;
+        String outcome = "empty";
+        traceRecorder.beginCause();
         try {
             Player player = (Player) event.getWhoClicked();
             String title = event.getView().title().toString();
             
-            // 检查是否为FastGUI的GUI - 简化检查逻辑
-            if (title != null && title.contains("FastGUI")) {
+            // 检查是否为FastGUI的GUI - 优先使用UIOpener的记录，标题检查作为兼容
+            boolean isFastGUI = uiOpener != null && uiOpener.isFastGUI(event.getView().getTopInventory());
+            if (isFastGUI || (title != null && title.contains("FastGUI"))) {
                 // 取消事件，防止玩家移动物品
                 event.setCancelled(true);
+                fastGUIClick = true;
+                
+                // 在处理之前记录，按钮引起的打开UI排在点击之后
+                if (traceRecorder.isRecording()) {
+                    traceRecorder.recordClick(player, isFastGUI ? uiOpener.getUIId(event.getView().getTopInventory())
+                            : extractUIIdFromTitle(title), event.getRawSlot(), event.getClick());
+                }
                 
                 // 获取被点击的物品
                 ItemStack clickedItem = event.getCurrentItem();
                 
                 if (clickedItem != null && !clickedItem.getType().isAir()) {
-                    // 记录物品详情（调试模式）
-                    logItemDetails(clickedItem);
-                    
                     // 获取UI ID和槽位数据
-                    String uiId = extractUIIdFromTitle(title);
-                    debugLog("处理UI点击: " + uiId + " 槽位: " + event.getRawSlot());
+                    uiId = isFastGUI ? uiOpener.getUIId(event.getView().getTopInventory()) : extractUIIdFromTitle(title);
+                    
+                    // 调试模式下只记录采样范围内的玩家和UI
+                    debugThisClick = LogManager.isDebugFor(player.getName(), uiId);
+                    if (debugThisClick) {
+                        logItemDetails(clickedItem);
+                    }
+                    debugLog("处理UI点击: {} 槽位: {}", uiId, event.getRawSlot());
+                    
+                    // 列表UI的内容槽位：执行条目的动作
+                    if (isFastGUI && listUIManager != null) {
+                        String entryAction = listUIManager.getEntryAction(event.getView().getTopInventory(), event.getRawSlot());
+                        UIAction action = UIAction.parse(entryAction);
+                        if (action != null) {
+                            outcome = "list_action";
+                            debugLog("执行列表条目动作: {}", action);
+                            if (!uiOpener.executeAction(player, event.getView().getTopInventory(), action)) {
+                                executeCommand(player, action.getArgument());
+                            }
+                            return;
+                        }
+                    }
                     
-                    // 尝试从UIManager获取槽位数据
+                    // 优先使用已加载UI中缓存的槽位数据（包含已解析的按钮动作）
+                    Inventory topInventory = event.getView().getTopInventory();
                     UIManager.InventorySlotData slotData = null;
-                    try {
-                        // 暂时创建默认的槽位数据对象
-                        // 注意：UIManager需要提供合适的方法来获取UI数据
-                        // 创建一个基本的按钮槽位数据（如果是按钮）
+                    if (isFastGUI && event.getRawSlot() < topInventory.getSize()) {
+                        slotData = uiOpener.getSlotData(topInventory, event.getRawSlot());
+                    }
+                    if (slotData == null || slotData.isEmpty()) {
+                        // 无法获取缓存数据时，创建默认槽位数据，点击时从物品NBT读取命令
                         slotData = new UIManager.InventorySlotData(false, clickedItem, "normal", null, false, "");
-                        debugLog("创建默认槽位数据: 槽位=" + event.getRawSlot());
-                    } catch (Exception e) {
-                        debugLog("创建槽位数据时出错: " + e.getMessage());
+                        debugLog("创建默认槽位数据: 槽位={}", event.getRawSlot());
                     }
                     
                     // 处理UI物品点击
-                    handleUIItemClick(player, slotData, uiId);
+                    outcome = "slot";
+                    handleUIItemClick(player, topInventory, slotData, clickedItem, uiId);
                 }
             }
         } catch (Exception e) {
+            outcome = "error";
             errorHandler.handleException(event.getWhoClicked(), "处理物品点击事件时出错", e);
-            logManager.severe("处理物品点击事件时出错: " + e.getMessage());
-            e.printStackTrace();
+        } finally {
+            if (fastGUIClick) {
+                metrics.increment(MetricsManager.Counter.CLICKS);
+                metrics.recordSince(MetricsManager.Timer.CLICK, start);
+                clickEvent.complete(uiId, event.getRawSlot(), outcome);
+            }
+            traceRecorder.endCause();
+            tickProfiler.record(TickProfiler.Source.INVENTORY_CLICK, start);
         }
     }
 
     private void logItemDetails(ItemStack item) {
         try {
-            debugLog("物品类型: " + item.getType().name());
-            debugLog("物品数量: " + item.getAmount());
+            debugLog("物品类型: {}", item.getType());
+            debugLog("物品数量: {}", item.getAmount());
             
             ItemMeta meta = item.getItemMeta();
             if (meta != null) {
@@ -124,28 +208,38 @@ public class InventoryClickListener implements Listener {
     /**
      * 处理UI物品点击事件
      * @param player 点击的玩家
+     * @param inventory 当前打开的UI容器
      * @param slotData 槽位数据
+     * @param clickedItem 被点击的物品
      * @param uiId UI的唯一标识符
      */
-    private void handleUIItemClick(Player player, UIManager.InventorySlotData slotData, String uiId) {
+    private void handleUIItemClick(Player player, Inventory inventory, UIManager.InventorySlotData slotData, 
+                                   ItemStack clickedItem, String uiId) {
         try {
             if (slotData == null || slotData.isEmpty()) {
                 debugLog("槽位数据为空，跳过处理");
                 return;
             }
             
-            ItemStack item = slotData.getItem();
+            ItemStack item = clickedItem != null ? clickedItem : slotData.getItem();
             if (item == null) {
                 debugLog("物品为空，跳过处理");
                 return;
             }
             
-            // 直接从NBTManager获取按钮命令
-            String command = nbtManager.getButtonCommand(item);
-            debugLog("从NBT获取命令: " + (command != null ? command : "无"));
+            // 优先使用加载UI时解析好的动作，没有时从物品NBT读取命令
+            UIAction action = slotData.getAction();
+            boolean closeOnClick = slotData.isCloseOnClick();
+            if (action == null) {
+                String command = nbtManager.getButtonCommand(item);
+                debugLog("从NBT获取命令: {}", command != null ? command : "无");
+                action = UIAction.parse(command);
+                Boolean nbtCloseOnClick = nbtManager.getCloseOnClick(item);
+                closeOnClick = nbtCloseOnClick != null && nbtCloseOnClick;
+            }
             
-            // 处理命令
-            if (command != null && !command.isEmpty()) {
+            // 处理动作
+            if (action != null) {
                 // 检查权限
                 if (!permissionManager.hasButtonPermission(player, item)) {
                     String requiredPermission = nbtManager.getButtonPermission(item);
@@ -153,30 +247,27 @@ public class InventoryClickListener implements Listener {
                     return;
                 }
                 
-                // 执行命令
-                executeCommand(player, command);
+                // 内置动作直接由UIOpener执行，普通命令交给控制台
+                debugLog("执行按钮动作: {}", action);
+                if (!uiOpener.executeAction(player, inventory, action)) {
+                    executeCommand(player, action.getArgument());
+                }
             }
             
             // 检查是否需要关闭界面
-            Boolean closeOnClick = nbtManager.getCloseOnClick(item);
-            if (closeOnClick != null && closeOnClick) {
+            if (closeOnClick) {
                 debugLog("点击后关闭界面");
                 player.closeInventory();
             }
             
-            // 目前版本的InventorySlotData不支持页面导航和音效功能
-            // 这些功能将在未来版本中实现
-            
         } catch (Exception e) {
             errorHandler.handleException(player, "处理UI物品点击时出错", e);
-            logManager.severe("处理UI物品点击时出错: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
     private void executeCommand(Player player, String command) {
         try {
-            debugLog("执行控制台命令: " + command);
+            debugLog("执行控制台命令: {}", command);
             
             // 移除命令前的斜杠
             if (command.startsWith("/")) {
@@ -187,23 +278,26 @@ public class InventoryClickListener implements Listener {
             String processedCommand = processCommandVariables(player, command);
             
             // 直接在控制台执行命令
+            metrics.increment(MetricsManager.Counter.COMMAND_DISPATCHES);
+            CommandDispatchEvent dispatchEvent = new CommandDispatchEvent();
+            dispatchEvent.begin();
             boolean success = player.getServer().dispatchCommand(
                 player.getServer().getConsoleSender(), 
                 processedCommand
             );
+            dispatchEvent.complete(processedCommand, "button", success);
             
             if (!success) {
                 logManager.warning("执行控制台命令失败: " + processedCommand);
             } else {
-                debugLog("控制台命令执行成功: " + processedCommand);
+                debugLog("控制台命令执行成功: {}", processedCommand);
             }
         } catch (Exception e) {
-            logManager.severe("执行控制台命令时出错: " + e.getMessage());
-            e.printStackTrace();
+            errorHandler.report("执行控制台命令时出错", e);
         }
     }
 
-    private String processCommandVariables(Player player, String command) {
+    String processCommandVariables(Player player, String command) {
         String processed = command;
         
         // 替换玩家变量
@@ -1,6 +1,7 @@
 package me.fastgui.listeners;
 
 import me.fastgui.managers.UIOpener;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -23,7 +24,8 @@ public class InventoryCloseListener implements Listener {
         // 检查是否是FastGUI的UI界面
         if (uiOpener.isFastGUI(inventory)) {
             // 通知UIOpener清理记录
-            uiOpener.onInventoryClose(inventory);
+            Player player = event.getPlayer() instanceof Player ? (Player) event.getPlayer() : null;
+            uiOpener.onInventoryClose(player, inventory);
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package me.fastgui.listeners;
 
 import me.fastgui.FastGUI;
+import me.fastgui.jfr.CommandDispatchEvent;
+import me.fastgui.managers.LogManager;
+import me.fastgui.managers.MetricsManager;
 import me.fastgui.managers.NBTManager;
 import me.fastgui.managers.PermissionManager;
+import me.fastgui.managers.TickProfiler;
+import me.fastgui.trace.TraceRecorder;
 import org.bukkit.Bukkit;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Entity;
@@ -23,6 +28,8 @@ public class NPCClickListener implements Listener {
     private final NBTManager nbtManager;
     private final PermissionManager permissionManager;
     private final ConsoleCommandSender consoleSender;
+    private final TickProfiler tickProfiler = TickProfiler.getInstance();
+    private final TraceRecorder traceRecorder = TraceRecorder.getInstance();
     
     // 用于防止重复触发的映射表：玩家UUID+实体UUID -> 最后触发时间
     private final Map<String, Long> lastInteractionTimes = new HashMap<>();
@@ -30,17 +37,28 @@ public class NPCClickListener implements Listener {
     private static final long INTERACTION_THRESHOLD = 100;
 
     public NPCClickListener(FastGUI plugin) {
+        this(plugin, plugin.getNBTManager(), plugin.getPermissionManager());
+    }
+
+    /**
+     * 直接传入依赖的管理器，基准测试在没有插件实例的情况下使用
+     */
+    NPCClickListener(FastGUI plugin, NBTManager nbtManager, PermissionManager permissionManager) {
         this.plugin = plugin;
-        this.nbtManager = plugin.getNBTManager();
-        this.permissionManager = plugin.getPermissionManager();
+        this.nbtManager = nbtManager;
+        this.permissionManager = permissionManager;
         this.consoleSender = Bukkit.getConsoleSender();
     }
 
     @EventHandler
     public void onPlayerInteractEntity(PlayerInteractEntityEvent event) {
+        long start = System.nanoTime();
+        traceRecorder.beginCause();
         try {
             Player player = event.getPlayer();
             Entity entity = event.getRightClicked();
+            // 记录所有交互，回放时由同样的防重复逻辑过滤
+            traceRecorder.recordNPC(player, entity, nbtManager);
             
             // 生成唯一的交互键
             String interactionKey = player.getUniqueId().toString() + ":" + entity.getUniqueId().toString();
@@ -51,7 +69,7 @@ public class NPCClickListener implements Listener {
                 long lastTime = lastInteractionTimes.get(interactionKey);
                 if (currentTime - lastTime < INTERACTION_THRESHOLD) {
                     // 重复触发，直接返回
-                    if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                    if (LogManager.isDebug()) {
             plugin.getLogger().info("检测到重复的NPC交互，已忽略: " + player.getName() + " -> " + entity.getType());
         }
                     return;
@@ -84,7 +102,7 @@ public class NPCClickListener implements Listener {
                 final String finalExecutor = (executor == null) ? "player" : executor;
                 
                 // 调试信息
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (LogManager.isDebug()) {
                     String permission = nbtManager.getNPCPermission(entity);
                     String executeMode = nbtManager.getNPCExecuteMode(entity);
                     
@@ -110,29 +128,36 @@ public class NPCClickListener implements Listener {
                 
                 // 取消事件传播，防止重复触发
                 event.setCancelled(true);
+                MetricsManager.getInstance().increment(MetricsManager.Counter.NPC_INTERACTIONS);
                 
                 // 使用延迟任务执行命令，避免重复触发
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    long taskStart = System.nanoTime();
+                    traceRecorder.beginCause();
                     try {
                         // 执行命令
                         boolean success = executeCommand(processedCommand, player, entity, finalExecutor);
                         
                         if (success) {
-                            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                            if (LogManager.isDebug()) {
                 plugin.getLogger().info("NPC执行命令成功: '" + processedCommand + "' (由玩家 " + player.getName() + " 触发, 执行体: " + finalExecutor + ")");
             }
                         } else {
                             plugin.getLogger().warning("NPC执行命令失败: '" + processedCommand + "' (由玩家 " + player.getName() + " 触发, 执行体: " + finalExecutor + ")");
                         }
                     } catch (Exception e) {
-                        plugin.getLogger().severe("执行延迟NPC命令时出错: " + e.getMessage());
-                        e.printStackTrace();
+                        plugin.getErrorHandler().report("执行延迟NPC命令时出错", e);
+                    } finally {
+                        traceRecorder.endCause();
+                        tickProfiler.record(TickProfiler.Source.NPC_CLICK, taskStart);
                     }
                 }, 1L); // 延迟1tick
             }
         } catch (Exception e) {
-            plugin.getLogger().severe("处理实体点击事件时出错: " + e.getMessage());
-            e.printStackTrace();
+            plugin.getErrorHandler().report("处理实体点击事件时出错", e);
+        } finally {
+            traceRecorder.endCause();
+            tickProfiler.record(TickProfiler.Source.NPC_CLICK, start);
         }
     }
     
@@ -152,7 +177,7 @@ public class NPCClickListener implements Listener {
      * @param player 触发命令的玩家
      * @return 处理后的命令
      */
-    private String processCommand(String command, Player player) {
+    String processCommand(String command, Player player) {
         String processedCommand = command;
         
         // 替换玩家名变量
@@ -187,16 +212,21 @@ public class NPCClickListener implements Listener {
             }
             
             // 根据执行体执行命令
+            MetricsManager.getInstance().increment(MetricsManager.Counter.COMMAND_DISPATCHES);
+            CommandDispatchEvent dispatchEvent = new CommandDispatchEvent();
+            dispatchEvent.begin();
+            boolean success;
             if (executor.equalsIgnoreCase("console") || executor.equalsIgnoreCase("控制台")) {
                 // 控制台执行
-                return Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+                success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
             } else {
                 // 玩家执行
-                return player.performCommand(command);
+                success = player.performCommand(command);
             }
+            dispatchEvent.complete(command, "npc", success);
+            return success;
         } catch (Exception e) {
-            plugin.getLogger().severe("执行NPC命令时出错: " + e.getMessage());
-            e.printStackTrace();
+            plugin.getErrorHandler().report("执行NPC命令时出错", e);
             return false;
         }
     }
@@ -3,6 +3,7 @@ package me.fastgui.listeners;
 import me.fastgui.FastGUI;
 import me.fastgui.managers.NBTManager;
 import me.fastgui.managers.PermissionManager;
+import me.fastgui.managers.TickProfiler;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -19,15 +20,17 @@ public class PlayerInteractListener implements Listener {
     private final FastGUI plugin;
     private final NBTManager nbtManager;
     private final PermissionManager permissionManager;
+    private final TickProfiler tickProfiler = TickProfiler.getInstance();
     
     public PlayerInteractListener(FastGUI plugin) {
         this.plugin = plugin;
         this.nbtManager = plugin.getNBTManager();
-        this.permissionManager = new PermissionManager(plugin, nbtManager, plugin.getLanguageManager());
+        this.permissionManager = plugin.getPermissionManager();
     }
 
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
+        long start = System.nanoTime();
         try {
             Player player = event.getPlayer();
             ItemStack item = player.getInventory().getItemInMainHand();
@@ -42,20 +45,20 @@ public class PlayerInteractListener implements Listener {
                 
                 // 检查是否是ButtonItem，并且只在对着空气点击时触发
                 if (event.getAction() == Action.RIGHT_CLICK_AIR && nbtManager.isButtonItem(item)) {
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("检测到ButtonItem使用，开始权限检查");
                         plugin.getLogger().info("PlayerInteractListener: 调用 permissionManager.hasButtonItemPermission");
                     }
                     
                     // 检查权限
                     boolean hasPermission = permissionManager.hasButtonItemPermission(player, item);
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("PlayerInteractListener: hasButtonItemPermission 返回: " + hasPermission);
                     }
                     
                     if (!hasPermission) {
                         String requiredPermission = nbtManager.getButtonItemPermission(item);
-                        if (plugin.getConfigManager().isDebugModeEnabled()) {
+                        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                             plugin.getLogger().info("PlayerInteractListener: 权限检查失败，调用 sendNoPermissionMessage");
                         }
                         permissionManager.sendNoPermissionMessage(player, requiredPermission);
@@ -63,7 +66,7 @@ public class PlayerInteractListener implements Listener {
                         return;
                     }
                     
-                    if (plugin.getConfigManager().isDebugModeEnabled()) {
+                    if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                         plugin.getLogger().info("权限检查通过，执行命令");
                     }
                     
@@ -82,7 +85,7 @@ public class PlayerInteractListener implements Listener {
                         // 执行命令
                         executeCommand(player, command, executeMode);
                         
-                        if (plugin.getConfigManager().isDebugModeEnabled()) {
+                        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                             plugin.getLogger().info("玩家 " + player.getName() + " 使用ButtonItem执行了命令: " + command + " (执行模式: " + executeMode + ")");
                         }
                     }
@@ -90,8 +93,9 @@ public class PlayerInteractListener implements Listener {
             }
 
         } catch (Exception e) {
-            plugin.getLogger().severe("处理玩家交互事件时出错: " + e.getMessage());
-            e.printStackTrace();
+            plugin.getErrorHandler().report("处理玩家交互事件时出错", e);
+        } finally {
+            tickProfiler.record(TickProfiler.Source.PLAYER_INTERACT, start);
         }
     }
     
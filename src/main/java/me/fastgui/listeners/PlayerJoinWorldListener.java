@@ -2,6 +2,8 @@ package me.fastgui.listeners;
 
 import me.fastgui.FastGUI;
 import me.fastgui.commands.FGCDCommand;
+import me.fastgui.managers.TickProfiler;
+import me.fastgui.trace.TraceRecorder;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -16,6 +18,8 @@ import java.util.List;
 public class PlayerJoinWorldListener implements Listener {
     private final FastGUI plugin;
     private final FGCDCommand fgcdCommand;
+    private final TickProfiler tickProfiler = TickProfiler.getInstance();
+    private final TraceRecorder traceRecorder = TraceRecorder.getInstance();
 
     public PlayerJoinWorldListener(FastGUI plugin, FGCDCommand fgcdCommand) {
         this.plugin = plugin;
@@ -24,16 +28,32 @@ public class PlayerJoinWorldListener implements Listener {
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
-        World world = player.getWorld();
-        executeWorldCommands(world, player);
+        long start = System.nanoTime();
+        traceRecorder.beginCause();
+        try {
+            Player player = event.getPlayer();
+            World world = player.getWorld();
+            traceRecorder.recordWorldJoin(player, world.getName());
+            executeWorldCommands(world, player);
+        } finally {
+            traceRecorder.endCause();
+            tickProfiler.record(TickProfiler.Source.PLAYER_JOIN_WORLD, start);
+        }
     }
 
     @EventHandler
     public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
-        Player player = event.getPlayer();
-        World world = player.getWorld();
-        executeWorldCommands(world, player);
+        long start = System.nanoTime();
+        traceRecorder.beginCause();
+        try {
+            Player player = event.getPlayer();
+            World world = player.getWorld();
+            traceRecorder.recordWorldJoin(player, world.getName());
+            executeWorldCommands(world, player);
+        } finally {
+            traceRecorder.endCause();
+            tickProfiler.record(TickProfiler.Source.PLAYER_JOIN_WORLD, start);
+        }
     }
 
     private void executeWorldCommands(World world, Player player) {
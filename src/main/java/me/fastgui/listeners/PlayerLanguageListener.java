@@ -0,0 +1,29 @@
+package me.fastgui.listeners;
+
+import me.fastgui.managers.LanguageManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * 玩家语言监听器，在客户端语言变化或玩家退出时清除已解析的玩家语言
+ */
+public class PlayerLanguageListener implements Listener {
+    private final LanguageManager languageManager;
+
+    public PlayerLanguageListener(LanguageManager languageManager) {
+        this.languageManager = languageManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        languageManager.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        languageManager.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,37 @@
+package me.fastgui.listeners;
+
+import me.fastgui.managers.VisibilityManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * 显示条件缓存监听器，在玩家条件可能变化时清除缓存的条件掩码
+ * <p>Bukkit没有权限变化事件，但权限插件和OP变更都会刷新玩家的命令列表，
+ * 所以使用 {@link PlayerCommandSendEvent} 作为权限变化的信号。</p>
+ */
+public class VisibilityCacheListener implements Listener {
+    private final VisibilityManager visibilityManager;
+
+    public VisibilityCacheListener(VisibilityManager visibilityManager) {
+        this.visibilityManager = visibilityManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        visibilityManager.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPermissionRefresh(PlayerCommandSendEvent event) {
+        visibilityManager.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        visibilityManager.invalidate(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,235 @@
+package me.fastgui.managers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * 异步调试日志输出
+ * <p>调试日志写入一个有界的无锁环形缓冲区后立即返回，由后台线程批量写入 {@code logs/fastgui-debug.log}，
+ * 主线程不再等待磁盘IO。缓冲区满时直接丢弃新日志并计数，丢弃数量会在之后写入日志文件。</p>
+ * <p>日志文件超过大小上限时滚动为 {@code fastgui-debug.1.log}、{@code fastgui-debug.2.log} 等，
+ * 超出保留数量的旧文件会被删除。</p>
+ */
+public final class AsyncLogAppender {
+
+    private static final String FILE_NAME = "fastgui-debug";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    // 缓冲区为空时后台线程的等待时间
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final AtomicReferenceArray<Entry> buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // 生产者领取的下一个序号
+    private volatile long head;                      // 后台线程读取的下一个序号，只由后台线程写入
+    private final LongAdder dropped = new LongAdder();
+
+    private final File directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final Logger fallbackLogger;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private Writer writer;
+    private long fileBytes;
+
+    /**
+     * 创建并启动异步日志输出
+     * @param directory 日志目录
+     * @param capacity 缓冲区容量，会向上取整为2的幂
+     * @param maxFileBytes 单个日志文件大小上限
+     * @param maxFiles 保留的日志文件数量（包括当前文件）
+     * @param fallbackLogger 写入文件出错时使用的日志输出
+     */
+    public AsyncLogAppender(File directory, int capacity, long maxFileBytes, int maxFiles, Logger fallbackLogger) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.directory = directory;
+        this.maxFileBytes = Math.max(1024, maxFileBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.fallbackLogger = fallbackLogger;
+        this.worker = new Thread(this::run, "FastGUI-DebugLog");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 写入一条日志，不会阻塞
+     * @param message 日志消息
+     * @return 是否写入缓冲区，缓冲区已满时返回false
+     */
+    public boolean append(String message) {
+        if (!running || message == null) {
+            return false;
+        }
+        // 时间和线程名在后台线程格式化，调用方只创建一个条目对象
+        Entry entry = new Entry(System.currentTimeMillis(), Thread.currentThread().getName(), message);
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= buffer.length()) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                buffer.lazySet((int) (sequence & mask), entry);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的日志总数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 停止后台线程，写完缓冲区中剩余的日志后关闭文件
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 后台线程主循环
+     */
+    private void run() {
+        long reportedDrops = 0;
+        try {
+            openWriter();
+            while (running || head != tail.get()) {
+                int written = drain();
+
+                long drops = dropped.sum();
+                if (drops != reportedDrops) {
+                    write(new Entry(System.currentTimeMillis(), worker.getName(),
+                            "缓冲区已满，丢弃了 " + (drops - reportedDrops) + " 条日志"));
+                    reportedDrops = drops;
+                    written++;
+                }
+
+                if (written > 0) {
+                    writer.flush();
+                } else if (running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    // 已停止，但有生产者领取了序号还未写入，稍等后重试
+                    Thread.yield();
+                }
+            }
+        } catch (IOException e) {
+            fallbackLogger.warning("写入调试日志文件时出错，异步调试日志已停止: " + e.getMessage());
+            running = false;
+        } finally {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 取出缓冲区中所有已写入的日志
+     * @return 写入文件的日志条数
+     */
+    private int drain() throws IOException {
+        int count = 0;
+        long current = head;
+        while (true) {
+            int index = (int) (current & mask);
+            Entry entry = buffer.get(index);
+            if (entry == null) {
+                // 缓冲区为空，或生产者已领取序号但还未写入
+                break;
+            }
+            buffer.lazySet(index, null);
+            current++;
+            head = current;
+            write(entry);
+            count++;
+        }
+        return count;
+    }
+
+    private void write(Entry entry) throws IOException {
+        String text = TIME_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.time()), ZoneId.systemDefault()))
+                + " [" + entry.thread() + "] " + entry.message() + System.lineSeparator();
+        long bytes = text.getBytes(StandardCharsets.UTF_8).length;
+        if (fileBytes + bytes > maxFileBytes) {
+            rotate();
+        }
+        writer.write(text);
+        fileBytes += bytes;
+    }
+
+    private void openWriter() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("无法创建日志目录: " + directory.getPath());
+        }
+        File file = new File(directory, FILE_NAME + ".log");
+        fileBytes = file.length();
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 滚动日志文件：fastgui-debug.log -> fastgui-debug.1.log -> fastgui-debug.2.log ...
+     */
+    private void rotate() throws IOException {
+        closeWriter();
+        File oldest = new File(directory, FILE_NAME + "." + (maxFiles - 1) + ".log");
+        if (oldest.exists() && !oldest.delete()) {
+            fallbackLogger.warning("无法删除旧的调试日志文件: " + oldest.getName());
+        }
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            File from = new File(directory, FILE_NAME + "." + i + ".log");
+            if (from.exists()) {
+                from.renameTo(new File(directory, FILE_NAME + "." + (i + 1) + ".log"));
+            }
+        }
+        File current = new File(directory, FILE_NAME + ".log");
+        if (maxFiles > 1) {
+            current.renameTo(new File(directory, FILE_NAME + ".1.log"));
+        } else {
+            current.delete();
+        }
+        openWriter();
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            fallbackLogger.warning("关闭调试日志文件时出错: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * 缓冲区中的一条日志
+     */
+    private record Entry(long time, String thread, String message) {
+    }
+}
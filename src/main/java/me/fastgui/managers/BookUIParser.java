@@ -1,6 +1,7 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.utils.ErrorHandler;
 import me.fastgui.utils.UIItemParser.UIButton;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
@@ -41,12 +42,23 @@ public class BookUIParser {
      * @param plugin FastGUI插件实例
      */
     public BookUIParser(FastGUI plugin) {
+        this(plugin, plugin.getNBTManager(), plugin.getLogManager(), FastGUI.getInstance().getDataFolder());
+    }
+
+    /**
+     * 使用指定的数据目录创建解析器，基准测试在没有运行中服务器的情况下使用
+     * @param plugin FastGUI插件实例，可以为null
+     * @param nbtManager NBT管理器
+     * @param logManager 日志管理器
+     * @param dataFolder 插件数据目录，FGBook文件夹位于其中
+     */
+    BookUIParser(FastGUI plugin, NBTManager nbtManager, LogManager logManager, File dataFolder) {
         this.plugin = plugin;
-        this.uiParser = new UIParser(plugin, plugin.getConfigManager(), plugin.getLogManager());
-        this.nbtManager = plugin.getNBTManager();
-        this.logManager = plugin.getLogManager();
+        this.uiParser = new UIParser(plugin, plugin != null ? plugin.getConfigManager() : null, logManager);
+        this.nbtManager = nbtManager;
+        this.logManager = logManager;
         // 初始化FGBook文件夹
-        this.fgBookFolder = new File(FastGUI.getInstance().getDataFolder(), "FGBook");
+        this.fgBookFolder = new File(dataFolder, "FGBook");
         // 确保文件夹存在
         if (!fgBookFolder.exists() && !fgBookFolder.mkdirs()) {
             logManager.warning("无法创建FGBook文件夹: " + fgBookFolder.getPath());
@@ -109,8 +121,7 @@ public class BookUIParser {
 
             logManager.debugLog("成功解析 " + validItems + " 个物品到UI中");
         } catch (Exception e) {
-            logManager.severe("解析书与笔UI时出错: " + e.getMessage());
-            e.printStackTrace();
+            reportError("解析书与笔UI时出错", "解析书与笔UI时出错", e);
         }
 
         return contents;
@@ -388,8 +399,7 @@ public class BookUIParser {
             logManager.debugLog("成功保存书籍UI: " + uiId + " 到 " + dataFile.getPath());
             return true;
         } catch (IOException e) {
-            logManager.severe("保存书籍UI时出错 (名称: " + uiId + "): " + e.getMessage());
-            e.printStackTrace();
+            reportError("保存书籍UI时出错", "保存书籍UI时出错 (名称: " + uiId + ")", e);
             return false;
         }
     }
@@ -551,8 +561,7 @@ public class BookUIParser {
                 }
             }
         } catch (IOException e) {
-            logManager.severe("加载书籍UI时出错 (名称: " + uiId + "): " + e.getMessage());
-            e.printStackTrace();
+            reportError("加载书籍UI时出错", "加载书籍UI时出错 (名称: " + uiId + ")", e);
             return null;
         }
     }
@@ -623,8 +632,7 @@ public class BookUIParser {
             logManager.debugLog("成功删除书籍UI: " + uiId);
             return fileDeleted && folderDeleted;
         } catch (Exception e) {
-            logManager.severe("删除书籍UI时出错 (名称: " + uiId + "): " + e.getMessage());
-            e.printStackTrace();
+            reportError("删除书籍UI时出错", "删除书籍UI时出错 (名称: " + uiId + ")", e);
             return false;
         }
     }
@@ -680,4 +688,16 @@ public class BookUIParser {
         
         return slotData;
     }
+    
+    /**
+     * 通过ErrorHandler报告异常，相同位置的相同异常会被限流
+     */
+    private void reportError(String site, String message, Exception e) {
+        ErrorHandler errorHandler = plugin.getErrorHandler();
+        if (errorHandler != null) {
+            errorHandler.report(site, message, e);
+        } else {
+            logManager.severe(message + ": " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.utils.ErrorHandler;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -19,15 +21,34 @@ public class ConfigManager {
     private final File configFile;
     private final Logger logger;
     
+    // 当前配置快照，加载和重新加载时整体替换
+    private volatile Settings settings = Settings.DEFAULTS;
+    
     // 默认配置值
-    private static final boolean DEFAULT_PERMISSION_CHECK_ENABLED = true;
-    private static final boolean DEFAULT_ENABLE_DEFAULT_PERMISSIONS = false;
-    private static final int DEFAULT_INVENTORY_CACHE_SIZE = 50;
-    private static final int DEFAULT_UI_ITEM_CACHE_SIZE = 100;
-    private static final boolean DEFAULT_COMMAND_SECURITY_CHECK_ENABLED = true;
-    private static final String DEFAULT_DISALLOWED_COMMANDS = "op,deop,give,ban,ipban,kick,stop,reload";
-    private static final boolean DEFAULT_DEBUG_MODE_ENABLED = false;
-    private static final String DEFAULT_LANGUAGE = "en.yml";
+    static final boolean DEFAULT_PERMISSION_CHECK_ENABLED = true;
+    static final boolean DEFAULT_ENABLE_DEFAULT_PERMISSIONS = false;
+    static final int DEFAULT_INVENTORY_CACHE_SIZE = 50;
+    static final int DEFAULT_UI_ITEM_CACHE_SIZE = 100;
+    static final boolean DEFAULT_COMMAND_SECURITY_CHECK_ENABLED = true;
+    static final String DEFAULT_DISALLOWED_COMMANDS = "op,deop,give,ban,ipban,kick,stop,reload";
+    static final boolean DEFAULT_DEBUG_MODE_ENABLED = false;
+    static final String DEFAULT_LANGUAGE = "en.yml";
+    static final boolean DEFAULT_USE_PERSISTENT_DATA = true;
+    static final boolean DEFAULT_DEBUG_LOG_ASYNC = true;
+    static final int DEFAULT_DEBUG_LOG_BUFFER_SIZE = 8192;
+    static final int DEFAULT_DEBUG_LOG_MAX_FILE_SIZE_MB = 5;
+    static final int DEFAULT_DEBUG_LOG_MAX_FILES = 3;
+    static final boolean DEFAULT_METRICS_ENDPOINT_ENABLED = false;
+    static final String DEFAULT_METRICS_ENDPOINT_HOST = "127.0.0.1";
+    static final int DEFAULT_METRICS_ENDPOINT_PORT = 9465;
+    static final boolean DEFAULT_TICK_PROFILER_ENABLED = true;
+    static final double DEFAULT_TICK_PROFILER_BUDGET_MS = 2.0;
+    static final boolean DEFAULT_TICK_PROFILER_DUMP_SLOW_TICKS = false;
+    static final boolean DEFAULT_CACHE_WARMUP_ENABLED = false;
+    static final int DEFAULT_CACHE_WARMUP_PARALLELISM = 2;
+    static final int DEFAULT_CACHE_WARMUP_PER_TICK = 4;
+    static final boolean DEFAULT_HOT_RELOAD_ENABLED = false;
+    static final int DEFAULT_HOT_RELOAD_DEBOUNCE_MS = 250;
     
     /**
      * 构造函数
@@ -60,6 +81,8 @@ public class ConfigManager {
         
         // 验证并更新配置（如果需要）
         validateAndUpdateConfig();
+        
+        publish(Settings.from(config));
     }
     
     /**
@@ -79,14 +102,30 @@ public class ConfigManager {
             defaultConfig.set("settings.disallowed-commands", DEFAULT_DISALLOWED_COMMANDS);
             defaultConfig.set("settings.debug-mode-enabled", DEFAULT_DEBUG_MODE_ENABLED);
             defaultConfig.set("settings.language", DEFAULT_LANGUAGE);
+            defaultConfig.set("settings.debug-log.async", DEFAULT_DEBUG_LOG_ASYNC);
+            defaultConfig.set("settings.debug-log.buffer-size", DEFAULT_DEBUG_LOG_BUFFER_SIZE);
+            defaultConfig.set("settings.debug-log.max-file-size-mb", DEFAULT_DEBUG_LOG_MAX_FILE_SIZE_MB);
+            defaultConfig.set("settings.debug-log.max-files", DEFAULT_DEBUG_LOG_MAX_FILES);
+            defaultConfig.set("settings.debug-log.sample-players", "");
+            defaultConfig.set("settings.debug-log.sample-uis", "");
+            defaultConfig.set("settings.metrics-endpoint.enabled", DEFAULT_METRICS_ENDPOINT_ENABLED);
+            defaultConfig.set("settings.metrics-endpoint.host", DEFAULT_METRICS_ENDPOINT_HOST);
+            defaultConfig.set("settings.metrics-endpoint.port", DEFAULT_METRICS_ENDPOINT_PORT);
+            defaultConfig.set("settings.tick-profiler.enabled", DEFAULT_TICK_PROFILER_ENABLED);
+            defaultConfig.set("settings.tick-profiler.budget-ms", DEFAULT_TICK_PROFILER_BUDGET_MS);
+            defaultConfig.set("settings.tick-profiler.dump-slow-ticks", DEFAULT_TICK_PROFILER_DUMP_SLOW_TICKS);
+            defaultConfig.set("settings.cache-warmup.enabled", DEFAULT_CACHE_WARMUP_ENABLED);
+            defaultConfig.set("settings.cache-warmup.parallelism", DEFAULT_CACHE_WARMUP_PARALLELISM);
+            defaultConfig.set("settings.cache-warmup.per-tick", DEFAULT_CACHE_WARMUP_PER_TICK);
+            defaultConfig.set("settings.hot-reload.enabled", DEFAULT_HOT_RELOAD_ENABLED);
+            defaultConfig.set("settings.hot-reload.debounce-ms", DEFAULT_HOT_RELOAD_DEBOUNCE_MS);
             
             // 配置文件将在首次生成时包含默认值
             
             defaultConfig.save(configFile);
             logger.info("默认配置文件已创建");
         } catch (IOException e) {
-            logger.severe("创建默认配置文件时出错: " + e.getMessage());
-            e.printStackTrace();
+            reportError("ConfigManager.createDefaultConfig", "创建默认配置文件时出错", e);
         }
     }
     
@@ -145,14 +184,55 @@ public class ConfigManager {
             configUpdated = true;
         }
         
+        // 检查调试日志设置
+        if (!config.contains("settings.debug-log")) {
+            config.set("settings.debug-log.async", DEFAULT_DEBUG_LOG_ASYNC);
+            config.set("settings.debug-log.buffer-size", DEFAULT_DEBUG_LOG_BUFFER_SIZE);
+            config.set("settings.debug-log.max-file-size-mb", DEFAULT_DEBUG_LOG_MAX_FILE_SIZE_MB);
+            config.set("settings.debug-log.max-files", DEFAULT_DEBUG_LOG_MAX_FILES);
+            config.set("settings.debug-log.sample-players", "");
+            config.set("settings.debug-log.sample-uis", "");
+            configUpdated = true;
+        }
+        
+        // 检查Prometheus指标接口设置
+        if (!config.contains("settings.metrics-endpoint")) {
+            config.set("settings.metrics-endpoint.enabled", DEFAULT_METRICS_ENDPOINT_ENABLED);
+            config.set("settings.metrics-endpoint.host", DEFAULT_METRICS_ENDPOINT_HOST);
+            config.set("settings.metrics-endpoint.port", DEFAULT_METRICS_ENDPOINT_PORT);
+            configUpdated = true;
+        }
+        
+        // 检查监听器tick开销分析设置
+        if (!config.contains("settings.tick-profiler")) {
+            config.set("settings.tick-profiler.enabled", DEFAULT_TICK_PROFILER_ENABLED);
+            config.set("settings.tick-profiler.budget-ms", DEFAULT_TICK_PROFILER_BUDGET_MS);
+            config.set("settings.tick-profiler.dump-slow-ticks", DEFAULT_TICK_PROFILER_DUMP_SLOW_TICKS);
+            configUpdated = true;
+        }
+        
+        // 检查UI缓存预热设置
+        if (!config.contains("settings.cache-warmup")) {
+            config.set("settings.cache-warmup.enabled", DEFAULT_CACHE_WARMUP_ENABLED);
+            config.set("settings.cache-warmup.parallelism", DEFAULT_CACHE_WARMUP_PARALLELISM);
+            config.set("settings.cache-warmup.per-tick", DEFAULT_CACHE_WARMUP_PER_TICK);
+            configUpdated = true;
+        }
+        
+        // 检查UI文件热重载设置
+        if (!config.contains("settings.hot-reload")) {
+            config.set("settings.hot-reload.enabled", DEFAULT_HOT_RELOAD_ENABLED);
+            config.set("settings.hot-reload.debounce-ms", DEFAULT_HOT_RELOAD_DEBOUNCE_MS);
+            configUpdated = true;
+        }
+        
         // 如果配置已更新，保存配置文件
         if (configUpdated) {
             try {
                 config.save(configFile);
                 logger.info("配置文件已更新");
             } catch (IOException e) {
-                logger.severe("保存配置文件时出错: " + e.getMessage());
-                e.printStackTrace();
+                reportError("ConfigManager.validateAndUpdateConfig", "保存配置文件时出错", e);
             }
         }
     }
@@ -161,10 +241,24 @@ public class ConfigManager {
      * 重新加载配置文件
      */
     public void reloadConfig() {
-        this.config = YamlConfiguration.loadConfiguration(configFile);
+        FileConfiguration reloaded = YamlConfiguration.loadConfiguration(configFile);
+        Settings reloadedSettings = Settings.from(reloaded);
+        this.config = reloaded;
+        publish(reloadedSettings);
         logger.info("配置文件已重新加载");
     }
     
+    /**
+     * 发布新的配置快照
+     * @param newSettings 新的配置快照
+     */
+    private void publish(Settings newSettings) {
+        this.settings = newSettings;
+        LogManager.applySettings(newSettings);
+        PrometheusExporter.applySettings(newSettings.metricsEndpoint(), logger);
+        TickProfiler.getInstance().applySettings(newSettings.profiler());
+    }
+    
     /**
      * 保存配置文件
      */
@@ -173,19 +267,43 @@ public class ConfigManager {
             config.save(configFile);
             logger.info("配置文件已保存");
         } catch (IOException e) {
-            logger.severe("保存配置文件时出错: " + e.getMessage());
-            e.printStackTrace();
+            reportError("ConfigManager.saveConfig", "保存配置文件时出错", e);
+        }
+    }
+    
+    /**
+     * 报告配置文件读写错误，通过ErrorHandler去重限流
+     * <p>配置在ErrorHandler创建之前加载，这时直接记录完整堆栈。</p>
+     * @param site 出错位置
+     * @param message 日志消息
+     * @param e 异常对象
+     */
+    private void reportError(String site, String message, Exception e) {
+        ErrorHandler errorHandler = plugin.getErrorHandler();
+        if (errorHandler != null) {
+            errorHandler.report(site, message, e);
+        } else {
+            logger.log(Level.SEVERE, message, e);
         }
     }
     
     // 配置获取方法
     
+    /**
+     * 获取当前配置快照
+     * <p>热路径上应读取一次快照再访问字段，而不是反复调用下面的获取方法。</p>
+     * @return 配置快照
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+    
     /**
      * 是否启用UI交互权限检查
      * @return true 如果启用，false 否则
      */
     public boolean isPermissionCheckEnabled() {
-        return config.getBoolean("settings.permission-check-enabled", DEFAULT_PERMISSION_CHECK_ENABLED);
+        return settings.permissionCheckEnabled();
     }
     
     /**
@@ -193,7 +311,7 @@ public class ConfigManager {
      * @return true 如果启用，false 否则
      */
     public boolean isDefaultPermissionsEnabled() {
-        return config.getBoolean("settings.enable-default-permissions", DEFAULT_ENABLE_DEFAULT_PERMISSIONS);
+        return settings.defaultPermissionsEnabled();
     }
     
     /**
@@ -201,7 +319,7 @@ public class ConfigManager {
      * @return 缓存大小
      */
     public int getInventoryCacheSize() {
-        return config.getInt("settings.inventory-cache-size", DEFAULT_INVENTORY_CACHE_SIZE);
+        return settings.inventoryCacheSize();
     }
     
     /**
@@ -209,7 +327,7 @@ public class ConfigManager {
      * @return 缓存大小
      */
     public int getUIItemCacheSize() {
-        return config.getInt("settings.ui-item-cache-size", DEFAULT_UI_ITEM_CACHE_SIZE);
+        return settings.uiItemCacheSize();
     }
     
     /**
@@ -217,7 +335,7 @@ public class ConfigManager {
      * @return true 如果启用，false 否则
      */
     public boolean isCommandSecurityCheckEnabled() {
-        return config.getBoolean("settings.command-security-check-enabled", DEFAULT_COMMAND_SECURITY_CHECK_ENABLED);
+        return settings.commandSecurityCheckEnabled();
     }
     
     /**
@@ -225,8 +343,7 @@ public class ConfigManager {
      * @return 不允许的命令数组
      */
     public String[] getDisallowedCommands() {
-        String disallowedCommands = config.getString("settings.disallowed-commands", DEFAULT_DISALLOWED_COMMANDS);
-        return disallowedCommands.split(",");
+        return settings.disallowedCommands().toArray(new String[0]);
     }
     
     /**
@@ -242,7 +359,7 @@ public class ConfigManager {
      * @return true 如果启用，false 否则
      */
     public boolean isDebugModeEnabled() {
-        return config.getBoolean("settings.debug-mode-enabled", DEFAULT_DEBUG_MODE_ENABLED);
+        return settings.debugModeEnabled();
     }
     
     /**
@@ -261,6 +378,7 @@ public class ConfigManager {
      */
     public void setDebugModeEnabled(boolean enabled) {
         config.set("settings.debug-mode-enabled", enabled);
+        publish(settings.withDebugModeEnabled(enabled));
         saveConfig();
     }
     
@@ -269,7 +387,7 @@ public class ConfigManager {
      * @return 语言代码
      */
     public String getLanguage() {
-        return config.getString("settings.language", DEFAULT_LANGUAGE);
+        return settings.language();
     }
     
     /**
@@ -278,6 +396,7 @@ public class ConfigManager {
      */
     public void setLanguage(String languageCode) {
         config.set("settings.language", languageCode);
+        publish(settings.withLanguage(languageCode));
         saveConfig();
     }
 }
\ No newline at end of file
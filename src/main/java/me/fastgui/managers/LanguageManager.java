@@ -1,59 +1,106 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.NamespacedKey;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
  * 语言管理器，负责处理插件的多语言支持
  * 支持从YAML文件动态加载语言内容
+ * <p>加载时把每条消息编译为 {@link MessageTemplate}，并为每种语言合并出一张包含回退消息的表
+ * （该语言、默认语言），获取消息时只查一次表。语言文件在加载线程池中并行解析，只有服务器语言和默认语言在加载时合并，
+ * 其他语言在第一次使用时才合并；重新加载时整体替换，查找消息不需要等待加载。</p>
+ * <p>传入 {@link CommandSender} 的方法按玩家的语言获取消息：优先使用玩家通过 /fglang me 设置的语言（保存在玩家的PDC中），
+ * 其次按客户端语言设置匹配语言文件（zh_cn 依次匹配 zh_cn.yml、zh.yml），都没有时使用服务器语言。
+ * 控制台使用服务器语言。发送给玩家的消息渲染为 {@link Component} 后缓存，同一条消息不再重复解析颜色代码。</p>
+ * <p>{@code ui.*} 键为UI物品提供按语言覆盖的名称和描述，见 {@link LocalizedItemText}。</p>
  */
 public class LanguageManager {
     
     private final FastGUI plugin;
     private final Logger logger;
-    private final Map<String, Map<String, String>> languages;
     private String currentLanguage;
+    // 构造时确定的服务器语言，由 applyConfiguredLanguage 在主线程设置为当前语言
+    private String configuredLanguage;
+    // 最近一次加载的全部语言，重新加载时整体替换
+    private volatile LanguageSet languageSet = LanguageSet.EMPTY;
+    private volatile Map<String, MessageTemplate> currentTable = Collections.emptyMap();
+    private final AtomicInteger generations = new AtomicInteger();
+    // 玩家UUID -> 解析出的语言文件名，语言设置变化或玩家退出时清除
+    private final Map<UUID, String> playerLanguages = new ConcurrentHashMap<>();
+    // 渲染好的消息组件，按访问顺序淘汰
+    private final Map<ComponentKey, Component> components;
+    private final NamespacedKey languageKey;
     
     // 默认语言文件
     private static final String DEFAULT_LANGUAGE = "zh.yml";
     private static final String LANGUAGES_FOLDER = "lang";
+    // 消息组件缓存容量
+    private static final int COMPONENT_CACHE_SIZE = 2048;
     
     /**
      * 构造函数
+     * <p>只解压和解析语言文件，不修改配置，可以在启动线程池中执行。
+     * 创建后需要在主线程调用 {@link #applyConfiguredLanguage()} 设置服务器语言。</p>
      * @param plugin FastGUI插件实例
      */
     public LanguageManager(FastGUI plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
-        this.languages = new HashMap<>();
-        
-        // 初始化语言文件夹
-        initializeLanguageFolder();
+        this.languageKey = new NamespacedKey(plugin, "language");
+        this.components = Collections.synchronizedMap(new LinkedHashMap<ComponentKey, Component>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ComponentKey, Component> eldest) {
+                return size() > COMPONENT_CACHE_SIZE;
+            }
+        });
         
         // 从配置文件获取语言设置
         String language = plugin.getConfigManager().getLanguage();
         if (language == null || language.isEmpty()) {
             language = DEFAULT_LANGUAGE;
-            plugin.getConfigManager().setLanguage(language);
         }
+        configuredLanguage = language;
+        
+        // 初始化语言文件夹
+        initializeLanguageFolder();
         
         // 加载所有可用的语言文件
         loadAllLanguages();
-        
-        // 设置当前语言
-        setCurrentLanguage(language);
+    }
+    
+    /**
+     * 设置服务器语言并写入配置，在主线程调用
+     * <p>构造函数可能在启动线程池中执行，配置的修改和保存统一放在这里。</p>
+     */
+    public void applyConfiguredLanguage() {
+        setCurrentLanguage(configuredLanguage);
     }
     
     /**
@@ -82,8 +129,8 @@ public class LanguageManager {
             extractLanguageFile("zh.yml");
             extractLanguageFile("en.yml");
             
-            // 设置默认语言为zh.yml
-            plugin.getConfigManager().setLanguage(DEFAULT_LANGUAGE);
+            // 设置默认语言为zh.yml，由 applyConfiguredLanguage 写入配置
+            configuredLanguage = DEFAULT_LANGUAGE;
             logger.info("未找到语言文件，已解压默认语言文件并设置为" + DEFAULT_LANGUAGE);
         }
     }
@@ -113,6 +160,8 @@ public class LanguageManager {
     
     /**
      * 加载所有可用的语言文件
+     * <p>所有文件提交到加载线程池并行解析，只等待服务器语言和默认语言解析完成并合并消息表，其他语言在后台继续解析，
+     * 第一次使用时才合并。新的语言表准备好后整体替换，加载期间的消息查找继续使用旧的语言表。</p>
      */
     public void loadAllLanguages() {
         File languageFolder = new File(plugin.getDataFolder(), LANGUAGES_FOLDER);
@@ -123,40 +172,66 @@ public class LanguageManager {
             return;
         }
         
-        languages.clear();
+        String active = currentLanguage != null ? currentLanguage : configuredLanguage;
+        // 服务器语言和默认语言先提交，优先解析
+        Arrays.sort(files, Comparator.comparing((File file) -> !isEager(file.getName(), active))
+                .thenComparing(File::getName));
         
-        for (File file : files) {
-            String languageCode = file.getName();
-            loadLanguageFile(languageCode);
+        int threads = Math.max(1, Math.min(files.length, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, LanguageManager::newLoaderThread);
+        Map<String, CompletableFuture<Map<String, MessageTemplate>>> sources = new HashMap<>();
+        try {
+            for (File file : files) {
+                sources.put(file.getName(), CompletableFuture.supplyAsync(() -> parseLanguageFile(file), pool));
+            }
+        } finally {
+            // 已提交的文件继续解析，解析完后线程退出
+            pool.shutdown();
         }
         
-        logger.info("已加载 " + languages.size() + " 个语言文件");
+        LanguageSet set = new LanguageSet(generations.incrementAndGet(), Collections.unmodifiableMap(sources));
+        awaitTable(set, DEFAULT_LANGUAGE);
+        awaitTable(set, active);
+        languageSet = set;
+        selectTable();
+        playerLanguages.clear();
+        components.clear();
+        logger.info("已找到 " + sources.size() + " 个语言文件，已加载 " + set.tables.size() + " 个，其余在首次使用时加载");
+    }
+    
+    private static boolean isEager(String fileName, String active) {
+        return fileName.equals(DEFAULT_LANGUAGE) || fileName.equals(active);
+    }
+    
+    private static Thread newLoaderThread(Runnable task) {
+        Thread thread = new Thread(task, "FastGUI-LangLoader");
+        thread.setDaemon(true);
+        return thread;
     }
     
     /**
-     * 加载单个语言文件
-     * @param fileName 文件名
+     * 解析并编译单个语言文件，在加载线程池中执行
+     * @param file 语言文件
+     * @return 该文件自己的消息，解析失败时返回null
      */
-    private void loadLanguageFile(String fileName) {
-        File languageFile = new File(plugin.getDataFolder(), LANGUAGES_FOLDER + File.separator + fileName);
-        
-        if (languageFile.exists()) {
-            try {
-                FileConfiguration config = YamlConfiguration.loadConfiguration(languageFile);
-                
-                // 将配置转换为映射
-                Map<String, String> langMap = new HashMap<>();
-                for (String key : config.getKeys(true)) {
-                    if (config.isString(key)) {
-                        langMap.put(key, config.getString(key));
-                    }
+    private Map<String, MessageTemplate> parseLanguageFile(File file) {
+        try {
+            FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+            
+            // 将配置转换为映射
+            Map<String, String> langMap = new HashMap<>();
+            for (String key : config.getKeys(true)) {
+                if (config.isString(key)) {
+                    langMap.put(key, config.getString(key));
                 }
-                
-                languages.put(fileName, langMap);
-                logger.info("已加载语言文件: " + fileName);
-            } catch (Exception e) {
-                logger.warning("加载语言文件失败 " + fileName + ": " + e.getMessage());
             }
+            
+            Map<String, MessageTemplate> templates = compile(langMap);
+            logger.info("已加载语言文件: " + file.getName());
+            return templates;
+        } catch (Exception e) {
+            logger.warning("加载语言文件失败 " + file.getName() + ": " + e.getMessage());
+            return null;
         }
     }
     
@@ -166,15 +241,132 @@ public class LanguageManager {
     public void reloadLanguage() {
         loadAllLanguages();
         // 确保当前语言仍然有效
-        if (!languages.containsKey(currentLanguage)) {
-            if (languages.containsKey(DEFAULT_LANGUAGE)) {
+        LanguageSet set = languageSet;
+        if (awaitTable(set, currentLanguage) == null) {
+            if (awaitTable(set, DEFAULT_LANGUAGE) != null) {
                 currentLanguage = DEFAULT_LANGUAGE;
                 plugin.getConfigManager().setLanguage(currentLanguage);
-            } else if (!languages.isEmpty()) {
-                currentLanguage = languages.keySet().iterator().next();
-                plugin.getConfigManager().setLanguage(currentLanguage);
+            } else {
+                for (String language : set.sources.keySet()) {
+                    if (awaitTable(set, language) != null) {
+                        currentLanguage = language;
+                        plugin.getConfigManager().setLanguage(currentLanguage);
+                        break;
+                    }
+                }
+            }
+            selectTable();
+        }
+    }
+    
+    /**
+     * 编译一种语言的消息
+     * @param messages 键 -> 原始消息
+     * @return 键 -> 消息模板
+     */
+    static Map<String, MessageTemplate> compile(Map<String, String> messages) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            templates.put(entry.getKey(), MessageTemplate.compile(entry.getValue()));
+        }
+        return templates;
+    }
+    
+    /**
+     * 合并一种语言的消息表，缺失的键回退到默认语言
+     * <p>回退的键直接引用默认语言的模板，同一条原始消息只编译一次。</p>
+     * @param own 该语言自己的消息
+     * @param defaults 默认语言的消息，为null时不回退
+     * @return 合并后的消息表
+     */
+    static Map<String, MessageTemplate> mergeTable(Map<String, MessageTemplate> own, Map<String, MessageTemplate> defaults) {
+        Map<String, MessageTemplate> table = new HashMap<>(own);
+        if (defaults != null && defaults != own) {
+            defaults.forEach(table::putIfAbsent);
+        }
+        return Collections.unmodifiableMap(table);
+    }
+    
+    /**
+     * 获取语言合并后的消息表，不阻塞调用线程
+     * <p>该语言还在解析时先返回默认语言的消息表，解析完成后在加载线程中合并，之后的调用直接使用该语言。</p>
+     * @param set 语言集合
+     * @param language 语言文件名
+     * @return 消息表，语言不存在或解析失败时返回null
+     */
+    private Map<String, MessageTemplate> table(LanguageSet set, String language) {
+        if (language == null) {
+            return null;
+        }
+        Map<String, MessageTemplate> table = set.tables.get(language);
+        if (table != null) {
+            return table;
+        }
+        CompletableFuture<Map<String, MessageTemplate>> source = set.sources.get(language);
+        if (source == null) {
+            return null;
+        }
+        if (!source.isDone()) {
+            if (set.pending.add(language)) {
+                // 异步执行，避免在消息组件缓存的computeIfAbsent中修改缓存
+                source.thenRunAsync(() -> {
+                    if (mergeLanguage(set, language) != null) {
+                        // 解析期间按默认语言缓存的消息组件需要重新渲染
+                        synchronized (components) {
+                            components.keySet().removeIf(key -> language.equals(key.language()));
+                        }
+                    }
+                });
             }
+            return set.tables.get(DEFAULT_LANGUAGE);
         }
+        return mergeLanguage(set, language);
+    }
+    
+    /**
+     * 获取语言合并后的消息表，该语言还在解析时等待解析完成
+     * <p>只用于加载、重新加载和切换服务器语言，这些操作需要知道语言文件是否有效。</p>
+     * @param set 语言集合
+     * @param language 语言文件名
+     * @return 消息表，语言不存在或解析失败时返回null
+     */
+    private Map<String, MessageTemplate> awaitTable(LanguageSet set, String language) {
+        CompletableFuture<Map<String, MessageTemplate>> source = language != null ? set.sources.get(language) : null;
+        if (source != null) {
+            source.join();
+        }
+        return table(set, language);
+    }
+    
+    /**
+     * 合并已解析完成的语言，缺失的键回退到默认语言
+     * @param set 语言集合
+     * @param language 语言文件名，对应的解析结果必须已完成
+     * @return 消息表，解析失败时返回null
+     */
+    private Map<String, MessageTemplate> mergeLanguage(LanguageSet set, String language) {
+        Map<String, MessageTemplate> own = set.sources.get(language).getNow(null);
+        if (own == null) {
+            return null;
+        }
+        // 默认语言在加载时已经解析完成
+        CompletableFuture<Map<String, MessageTemplate>> defaults = set.sources.get(DEFAULT_LANGUAGE);
+        Map<String, MessageTemplate> table = mergeTable(own, defaults != null ? defaults.join() : null);
+        set.itemTextUIs.putIfAbsent(language, LocalizedItemText.collectUIs(table.keySet()));
+        Map<String, MessageTemplate> existing = set.tables.putIfAbsent(language, table);
+        return existing != null ? existing : table;
+    }
+    
+    /**
+     * 根据当前语言选择消息表，当前语言不存在时使用默认语言
+     */
+    private void selectTable() {
+        LanguageSet set = languageSet;
+        Map<String, MessageTemplate> table = awaitTable(set, currentLanguage);
+        if (table == null) {
+            table = awaitTable(set, DEFAULT_LANGUAGE);
+        }
+        currentTable = table != null ? table : Collections.emptyMap();
     }
     
     /**
@@ -183,7 +375,8 @@ public class LanguageManager {
      * @return 本地化字符串
      */
     public String getString(String key) {
-        return getString(key, new HashMap<>());
+        MessageTemplate template = currentTable.get(key);
+        return template != null ? template.text() : key;
     }
     
     /**
@@ -193,49 +386,223 @@ public class LanguageManager {
      * @return 本地化字符串
      */
     public String getString(String key, Map<String, String> variables) {
-        Map<String, String> currentLangMap = languages.get(currentLanguage);
-        
-        if (currentLangMap == null || !currentLangMap.containsKey(key)) {
-            // 如果当前语言没有找到，尝试使用默认语言
-            Map<String, String> defaultLangMap = languages.get(DEFAULT_LANGUAGE);
-            if (defaultLangMap != null && defaultLangMap.containsKey(key)) {
-                String message = defaultLangMap.get(key);
-                return replaceVariables(message, variables);
+        MessageTemplate template = currentTable.get(key);
+        return template != null ? template.render(variables) : key;
+    }
+    
+    /**
+     * 获取只有一个变量的本地化字符串，不需要创建变量映射
+     * @param key 键
+     * @param name 变量名
+     * @param value 变量值
+     * @return 本地化字符串
+     */
+    public String getString(String key, String name, String value) {
+        MessageTemplate template = currentTable.get(key);
+        return template != null ? template.render(name, value) : key;
+    }
+    
+    /**
+     * 获取有两个变量的本地化字符串，不需要创建变量映射
+     * @param key 键
+     * @return 本地化字符串
+     */
+    public String getString(String key, String name1, String value1, String name2, String value2) {
+        MessageTemplate template = currentTable.get(key);
+        return template != null ? template.render(name1, value1, name2, value2) : key;
+    }
+    
+    /**
+     * 获取指定语言的原始消息（已合并回退），没有时返回null
+     * @param language 语言文件名
+     * @param key 键
+     * @return 消息，所有语言都没有该键时返回null
+     */
+    public String findString(String language, String key) {
+        MessageTemplate template = tableFor(language).get(key);
+        return template != null ? template.text() : null;
+    }
+    
+    /**
+     * 语言文件中是否有该UI的本地化物品文字
+     * @param language 语言文件名，不存在时按服务器语言检查
+     * @param uiId UI名称
+     */
+    public boolean hasItemText(String language, String uiId) {
+        if (uiId == null) {
+            return false;
+        }
+        LanguageSet set = languageSet;
+        // 还在解析的语言暂时不本地化物品，避免按默认语言渲染的物品被缓存
+        if (table(set, language) == null) {
+            language = table(set, currentLanguage) != null ? currentLanguage : DEFAULT_LANGUAGE;
+        }
+        Set<String> uis = set.itemTextUIs.get(language);
+        return uis != null && uis.contains(uiId);
+    }
+    
+    /**
+     * 获取物品文字的版本，每次重新加载语言文件后变化
+     */
+    public int getItemTextGeneration() {
+        return languageSet.generation;
+    }
+    
+    /**
+     * 按命令发送者的语言获取本地化字符串
+     * @param sender 命令发送者，玩家使用自己的语言，其他使用服务器语言
+     * @param key 键
+     * @return 本地化字符串
+     */
+    public String getString(CommandSender sender, String key) {
+        MessageTemplate template = tableFor(sender).get(key);
+        return template != null ? template.text() : key;
+    }
+    
+    /**
+     * 按命令发送者的语言获取只有一个变量的本地化字符串
+     */
+    public String getString(CommandSender sender, String key, String name, String value) {
+        MessageTemplate template = tableFor(sender).get(key);
+        return template != null ? template.render(name, value) : key;
+    }
+    
+    /**
+     * 按命令发送者的语言获取本地化字符串，支持变量替换
+     */
+    public String getString(CommandSender sender, String key, Map<String, String> variables) {
+        MessageTemplate template = tableFor(sender).get(key);
+        return template != null ? template.render(variables) : key;
+    }
+    
+    /**
+     * 按命令发送者的语言获取渲染好的消息组件
+     * @param sender 命令发送者
+     * @param key 键
+     * @return 消息组件，相同语言和键的组件会被缓存
+     */
+    public Component getComponent(CommandSender sender, String key) {
+        return getComponent(sender, key, null, null);
+    }
+    
+    /**
+     * 按命令发送者的语言获取渲染好的只有一个变量的消息组件
+     * <p>缓存键包含语言、消息键和变量值，变量值只有有限几种（如UI名称、权限节点）时也能命中缓存。</p>
+     */
+    public Component getComponent(CommandSender sender, String key, String name, String value) {
+        String language = getLanguage(sender);
+        return components.computeIfAbsent(new ComponentKey(language, key, name, value), componentKey -> {
+            MessageTemplate template = tableFor(language).get(key);
+            String text = template == null ? key : name == null ? template.text() : template.render(name, value);
+            return LegacyComponentSerializer.legacySection().deserialize(text);
+        });
+    }
+    
+    /**
+     * 按命令发送者的语言发送消息
+     */
+    public void send(CommandSender sender, String key) {
+        sender.sendMessage(getComponent(sender, key));
+    }
+    
+    /**
+     * 按命令发送者的语言发送只有一个变量的消息
+     */
+    public void send(CommandSender sender, String key, String name, String value) {
+        sender.sendMessage(getComponent(sender, key, name, value));
+    }
+    
+    /**
+     * 获取命令发送者使用的语言文件名
+     * @param sender 命令发送者
+     * @return 语言文件名，控制台返回服务器语言
+     */
+    public String getLanguage(CommandSender sender) {
+        if (!(sender instanceof Player player)) {
+            return currentLanguage;
+        }
+        String language = playerLanguages.get(player.getUniqueId());
+        if (language == null) {
+            language = resolveLanguage(player);
+            if (language != null) {
+                playerLanguages.put(player.getUniqueId(), language);
             }
-            
-            // 如果默认语言也没有找到，尝试其他语言
-            for (Map<String, String> langMap : languages.values()) {
-                if (langMap.containsKey(key)) {
-                    String message = langMap.get(key);
-                    return replaceVariables(message, variables);
-                }
+        }
+        return language;
+    }
+    
+    /**
+     * 设置玩家自己的语言
+     * @param player 玩家
+     * @param languageCode 语言文件名，为null时改为跟随客户端语言
+     * @return 是否设置成功，语言文件不存在时返回false
+     */
+    public boolean setPlayerLanguage(Player player, String languageCode) {
+        if (languageCode == null) {
+            player.getPersistentDataContainer().remove(languageKey);
+        } else {
+            if (!languageCode.toLowerCase(Locale.ROOT).endsWith(".yml")) {
+                languageCode += ".yml";
             }
-            
-            // 如果都没有找到，返回键本身
-            return key;
+            if (!languageSet.sources.containsKey(languageCode)) {
+                return false;
+            }
+            player.getPersistentDataContainer().set(languageKey, PersistentDataType.STRING, languageCode);
         }
-        
-        String message = currentLangMap.get(key);
-        return replaceVariables(message, variables);
+        invalidatePlayer(player.getUniqueId());
+        return true;
     }
     
     /**
-     * 替换字符串中的变量
-     * @param message 原始消息
-     * @param variables 变量映射
-     * @return 替换后的消息
+     * 清除玩家已解析的语言，在客户端语言变化或玩家退出时调用
+     * @param playerId 玩家UUID
      */
-    private String replaceVariables(String message, Map<String, String> variables) {
-        if (message == null) {
-            return "";
+    public void invalidatePlayer(UUID playerId) {
+        playerLanguages.remove(playerId);
+    }
+    
+    private String resolveLanguage(Player player) {
+        Set<String> available = languageSet.sources.keySet();
+        String override = player.getPersistentDataContainer().get(languageKey, PersistentDataType.STRING);
+        if (override != null && available.contains(override)) {
+            return override;
         }
-        
-        String result = message;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+        String matched = matchLocale(player.locale().toString(), available);
+        return matched != null ? matched : currentLanguage;
+    }
+    
+    /**
+     * 按客户端语言匹配语言文件
+     * @param locale 客户端语言，如 zh_cn、en_us
+     * @param available 可用的语言文件名
+     * @return 匹配的语言文件名，先匹配完整语言再匹配语言部分，都没有时返回null
+     */
+    static String matchLocale(String locale, Set<String> available) {
+        if (locale == null || locale.isEmpty()) {
+            return null;
         }
-        
-        return result;
+        String normalized = locale.toLowerCase(Locale.ROOT).replace('-', '_');
+        String language = normalized.contains("_") ? normalized.substring(0, normalized.indexOf('_')) : normalized;
+        String partial = null;
+        for (String file : available) {
+            String name = file.toLowerCase(Locale.ROOT);
+            if (name.equals(normalized + ".yml")) {
+                return file;
+            }
+            if (name.equals(language + ".yml")) {
+                partial = file;
+            }
+        }
+        return partial;
+    }
+    
+    private Map<String, MessageTemplate> tableFor(CommandSender sender) {
+        return sender instanceof Player ? tableFor(getLanguage(sender)) : currentTable;
+    }
+    
+    private Map<String, MessageTemplate> tableFor(String language) {
+        Map<String, MessageTemplate> table = table(languageSet, language);
+        return table != null ? table : currentTable;
     }
     
     /**
@@ -256,9 +623,12 @@ public class LanguageManager {
             languageCode += ".yml";
         }
         
-        // 检查语言文件是否存在
-        if (languages.containsKey(languageCode)) {
+        // 检查语言文件是否存在，不在加载时合并的语言在这里合并
+        if (awaitTable(languageSet, languageCode) != null) {
             currentLanguage = languageCode;
+            selectTable();
+            // 没有匹配到客户端语言的玩家使用服务器语言，需要重新解析
+            playerLanguages.clear();
             plugin.getConfigManager().setLanguage(languageCode);
             logger.info("已设置语言为: " + languageCode);
         } else {
@@ -272,6 +642,34 @@ public class LanguageManager {
      * @return 可用语言列表
      */
     public Set<String> getAvailableLanguages() {
-        return languages.keySet();
+        return languageSet.sources.keySet();
+    }
+    
+    /**
+     * 一次加载得到的全部语言，查找消息时不需要加锁
+     */
+    private static final class LanguageSet {
+        static final LanguageSet EMPTY = new LanguageSet(0, Collections.emptyMap());
+        
+        final int generation;
+        // 语言文件名 -> 解析并编译后的消息（只含该文件自己的键），解析失败时结果为null
+        final Map<String, CompletableFuture<Map<String, MessageTemplate>>> sources;
+        // 语言文件名 -> 合并回退后的消息表，第一次使用时生成
+        final Map<String, Map<String, MessageTemplate>> tables = new ConcurrentHashMap<>();
+        // 语言文件名 -> 有本地化物品文字的UI，与消息表一起生成
+        final Map<String, Set<String>> itemTextUIs = new ConcurrentHashMap<>();
+        // 已注册解析完成后合并的语言
+        final Set<String> pending = ConcurrentHashMap.newKeySet();
+        
+        LanguageSet(int generation, Map<String, CompletableFuture<Map<String, MessageTemplate>>> sources) {
+            this.generation = generation;
+            this.sources = sources;
+        }
+    }
+    
+    /**
+     * 消息组件缓存的键
+     */
+    private record ComponentKey(String language, String key, String name, String value) {
     }
-}
\ No newline at end of file
+}
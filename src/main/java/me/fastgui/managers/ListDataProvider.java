@@ -0,0 +1,62 @@
+package me.fastgui.managers;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 列表UI数据源接口
+ * <p>其他插件实现此接口并通过 {@link ListUIManager#registerProvider(String, ListDataProvider)} 注册，
+ * FastGUI只会按索引范围请求当前可见窗口内的条目，不会一次性读取全部数据。</p>
+ * <p>注意：为了提前获取下一个窗口，{@link #getEntries(Player, int, int)} 可能在异步线程中调用，
+ * 实现类需要保证线程安全，并且不要在其中调用非线程安全的Bukkit API。</p>
+ */
+public interface ListDataProvider {
+
+    /**
+     * 获取条目总数
+     * @param viewer 查看列表的玩家
+     * @return 条目总数
+     */
+    int size(Player viewer);
+
+    /**
+     * 获取指定范围内的条目
+     * @param viewer 查看列表的玩家
+     * @param offset 起始索引（从0开始）
+     * @param limit 最多返回的条目数
+     * @return 条目列表，数量可以少于limit
+     */
+    List<ListEntry> getEntries(Player viewer, int offset, int limit);
+
+    /**
+     * 列表条目，描述一个槽位的显示内容和点击动作
+     */
+    class ListEntry {
+        private final Material icon;
+        private final String name;
+        private final List<String> lore;
+        private final String action;
+
+        /**
+         * 构造函数
+         * @param icon 图标材质
+         * @param name 显示名称（支持§颜色代码），可以为null
+         * @param lore 物品描述，可以为null
+         * @param action 点击时执行的命令（支持{player}等变量），可以为null
+         */
+        public ListEntry(Material icon, String name, List<String> lore, String action) {
+            this.icon = icon != null ? icon : Material.PAPER;
+            this.name = name;
+            this.lore = lore != null ? lore : Collections.emptyList();
+            this.action = action;
+        }
+
+        public Material getIcon() { return icon; }
+        public String getName() { return name; }
+        public List<String> getLore() { return lore; }
+        public String getAction() { return action; }
+    }
+}
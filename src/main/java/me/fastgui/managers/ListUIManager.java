@@ -0,0 +1,308 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import me.fastgui.managers.ListDataProvider.ListEntry;
+import me.fastgui.managers.UIManager.InventoryData;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 列表UI管理器，负责管理列表数据源并将可见窗口渲染到UI的内容槽位中
+ * <p>列表UI使用普通UI作为布局模板，被 {@code /fgnbt Content} 标记的槽位用于显示数据源条目。
+ * 每次只请求当前窗口的条目，同一个界面在滚动时复用ItemStack实例，并在后台提前获取下一个窗口。</p>
+ */
+public class ListUIManager {
+    private final FastGUI plugin;
+
+    // 已注册的数据源（其他插件可能在任意线程注册）
+    private final Map<String, ListDataProvider> providers = new ConcurrentHashMap<>();
+    // 当前打开的列表界面，只在主线程访问
+    private final Map<Inventory, ListView> views = new HashMap<>();
+
+    public ListUIManager(FastGUI plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 注册列表数据源
+     * @param id 数据源ID，用于 /fg set list 命令
+     * @param provider 数据源实现
+     */
+    public void registerProvider(String id, ListDataProvider provider) {
+        if (id == null || id.trim().isEmpty() || provider == null) {
+            throw new IllegalArgumentException("数据源ID和实现不能为空");
+        }
+        providers.put(id.toLowerCase(), provider);
+        plugin.getLogger().fine("已注册列表数据源: " + id);
+    }
+
+    /**
+     * 注销列表数据源
+     * @param id 数据源ID
+     */
+    public void unregisterProvider(String id) {
+        if (id != null && providers.remove(id.toLowerCase()) != null) {
+            plugin.getLogger().fine("已注销列表数据源: " + id);
+        }
+    }
+
+    /**
+     * 获取列表数据源
+     * @param id 数据源ID
+     * @return 数据源，未注册时返回null
+     */
+    public ListDataProvider getProvider(String id) {
+        return id != null ? providers.get(id.toLowerCase()) : null;
+    }
+
+    /**
+     * 获取所有已注册的数据源ID
+     * @return 数据源ID集合
+     */
+    public Set<String> getProviderIds() {
+        return Collections.unmodifiableSet(providers.keySet());
+    }
+
+    /**
+     * 在已创建的界面上启用列表渲染
+     * @param player 查看列表的玩家
+     * @param inventory 界面容器
+     * @param data UI数据（提供数据源ID和内容槽位）
+     * @return 是否成功渲染
+     */
+    public boolean open(Player player, Inventory inventory, InventoryData data) {
+        ListDataProvider provider = getProvider(data.getListProvider());
+        if (provider == null) {
+            plugin.getLogger().warning("列表数据源未注册: " + data.getListProvider());
+            return false;
+        }
+
+        int[] slots = data.getContentSlots();
+        if (slots.length == 0) {
+            plugin.getLogger().warning("列表UI没有内容槽位，请使用 /fgnbt Content 标记槽位");
+            return false;
+        }
+
+        ListView view = new ListView(player, provider, slots);
+        views.put(inventory, view);
+        render(inventory, view, 0);
+        return true;
+    }
+
+    /**
+     * 滚动列表
+     * @param inventory 界面容器
+     * @param target 滚动参数：next（下一窗口）、prev（上一窗口）、first、last或窗口序号（从1开始）
+     * @return 是否滚动成功
+     */
+    public boolean scroll(Inventory inventory, String target) {
+        ListView view = views.get(inventory);
+        if (view == null || target == null) {
+            return false;
+        }
+
+        int window = view.slots.length;
+        int offset;
+        String arg = target.trim().toLowerCase();
+        switch (arg) {
+            case "next":
+                offset = view.offset + window;
+                break;
+            case "prev":
+            case "previous":
+                offset = view.offset - window;
+                break;
+            case "first":
+                offset = 0;
+                break;
+            case "last":
+                offset = Integer.MAX_VALUE;
+                break;
+            default:
+                try {
+                    offset = (Integer.parseInt(arg) - 1) * window;
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("无效的滚动参数: " + target);
+                    return false;
+                }
+                break;
+        }
+
+        render(inventory, view, offset);
+        return true;
+    }
+
+    /**
+     * 检查界面是否为列表界面
+     * @param inventory 界面容器
+     * @return 是否为列表界面
+     */
+    public boolean isListView(Inventory inventory) {
+        return views.containsKey(inventory);
+    }
+
+    /**
+     * 获取槽位中条目的点击动作
+     * @param inventory 界面容器
+     * @param slot 槽位索引
+     * @return 点击动作，如果槽位不是内容槽位或没有条目则返回null
+     */
+    public String getEntryAction(Inventory inventory, int slot) {
+        ListView view = views.get(inventory);
+        if (view == null) {
+            return null;
+        }
+        for (int i = 0; i < view.slots.length; i++) {
+            if (view.slots[i] == slot) {
+                ListEntry entry = view.entries[i];
+                return entry != null ? entry.getAction() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 界面关闭时清理记录
+     * @param inventory 关闭的界面
+     */
+    public void close(Inventory inventory) {
+        views.remove(inventory);
+    }
+
+    /**
+     * 清理所有列表界面记录
+     */
+    public void clearAll() {
+        views.clear();
+    }
+
+    /**
+     * 将指定偏移量的窗口渲染到内容槽位
+     */
+    private void render(Inventory inventory, ListView view, int offset) {
+        int window = view.slots.length;
+        int total = Math.max(0, view.provider.size(view.player));
+
+        // 限制偏移量在有效范围内，并对齐到窗口边界
+        int lastOffset = total > 0 ? ((total - 1) / window) * window : 0;
+        offset = Math.max(0, Math.min(offset, lastOffset));
+        offset -= offset % window;
+
+        List<ListEntry> entries = view.takePrefetched(offset);
+        if (entries == null) {
+            try {
+                entries = view.provider.getEntries(view.player, offset, window);
+            } catch (Exception e) {
+                plugin.getLogger().warning("获取列表条目时出错: " + e.getMessage());
+                entries = Collections.emptyList();
+            }
+        }
+
+        for (int i = 0; i < window; i++) {
+            ListEntry entry = entries != null && i < entries.size() ? entries.get(i) : null;
+            view.entries[i] = entry;
+
+            if (entry == null) {
+                inventory.setItem(view.slots[i], null);
+                continue;
+            }
+
+            // 复用该槽位上次使用的ItemStack，只更新材质和显示信息
+            ItemStack item = view.items[i];
+            if (item == null) {
+                item = new ItemStack(entry.getIcon());
+                view.items[i] = item;
+            } else if (item.getType() != entry.getIcon()) {
+                item.setType(entry.getIcon());
+            }
+
+            ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                meta.setDisplayName(entry.getName());
+                meta.setLore(entry.getLore().isEmpty() ? null : entry.getLore());
+                item.setItemMeta(meta);
+            }
+
+            inventory.setItem(view.slots[i], item);
+        }
+
+        view.offset = offset;
+
+        // 提前获取下一个窗口
+        int nextOffset = offset + window;
+        if (nextOffset < total) {
+            view.prefetch(plugin, nextOffset, window);
+        }
+
+        int rendered = offset;
+        plugin.getLogger().fine(() -> "列表窗口已渲染: 偏移=" + rendered + ", 总数=" + total);
+    }
+
+    /**
+     * 单个打开的列表界面状态
+     */
+    private static class ListView {
+        private final Player player;
+        private final ListDataProvider provider;
+        private final int[] slots;
+        private final ItemStack[] items;
+        private final ListEntry[] entries;
+        private int offset;
+
+        // 预取的窗口
+        private int prefetchOffset = -1;
+        private CompletableFuture<List<ListEntry>> prefetch;
+
+        ListView(Player player, ListDataProvider provider, int[] slots) {
+            this.player = player;
+            this.provider = provider;
+            this.slots = slots;
+            this.items = new ItemStack[slots.length];
+            this.entries = new ListEntry[slots.length];
+        }
+
+        /**
+         * 在异步线程中获取指定窗口
+         */
+        void prefetch(FastGUI plugin, int offset, int limit) {
+            if (prefetchOffset == offset && prefetch != null) {
+                return;
+            }
+
+            CompletableFuture<List<ListEntry>> future = new CompletableFuture<>();
+            prefetchOffset = offset;
+            prefetch = future;
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    future.complete(provider.getEntries(player, offset, limit));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+
+        /**
+         * 取出已完成的预取结果，如果预取的不是该窗口或尚未完成则返回null
+         */
+        List<ListEntry> takePrefetched(int offset) {
+            if (prefetch == null || prefetchOffset != offset || !prefetch.isDone() || prefetch.isCompletedExceptionally()) {
+                return null;
+            }
+            List<ListEntry> result = prefetch.getNow(null);
+            prefetch = null;
+            prefetchOffset = -1;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package me.fastgui.managers;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * UI物品的本地化名称和描述
+ * <p>语言文件中的 {@code ui.<UI名称>.<槽位>.name} 和 {@code ui.<UI名称>.<槽位>.lore} 覆盖第一页对应槽位物品的名称和描述，
+ * 其他页面使用 {@code ui.<UI名称>.page<页码>.<槽位>.*}（页码从2开始），描述按换行拆分为多行。
+ * 没有覆盖的槽位保留物品自身保存的文字，缺失的键与其他消息一样回退到默认语言。</p>
+ * <p>每个UI的每种语言只渲染一次物品模板，缓存在 {@link UIManager.InventoryData} 中，打开界面时与普通模板一样克隆，
+ * 语言文件重新加载后重新渲染。</p>
+ */
+final class LocalizedItemText {
+
+    static final String PREFIX = "ui.";
+    static final String NAME = ".name";
+    static final String LORE = ".lore";
+
+    private LocalizedItemText() {
+    }
+
+    /**
+     * 槽位的语言键前缀
+     * @param uiId UI名称
+     * @param page 页面索引（从0开始）
+     * @param slot 槽位索引
+     * @return 不含 .name / .lore 后缀的键
+     */
+    static String slotKey(String uiId, int page, int slot) {
+        return page == 0 ? PREFIX + uiId + "." + slot : PREFIX + uiId + ".page" + (page + 1) + "." + slot;
+    }
+
+    /**
+     * 找出消息表中有本地化物品文字的UI
+     * @param keys 消息表的键
+     * @return UI名称集合
+     */
+    static Set<String> collectUIs(Collection<String> keys) {
+        Set<String> uis = new HashSet<>();
+        for (String key : keys) {
+            if (!key.startsWith(PREFIX) || !(key.endsWith(NAME) || key.endsWith(LORE))) {
+                continue;
+            }
+            int end = key.indexOf('.', PREFIX.length());
+            if (end > PREFIX.length()) {
+                uis.add(key.substring(PREFIX.length(), end));
+            }
+        }
+        return uis;
+    }
+
+    /**
+     * 按语言渲染一个页面的物品模板
+     * @param template 页面的原始物品模板
+     * @param uiId UI名称
+     * @param page 页面索引（从0开始）
+     * @param language 语言文件名
+     * @param languageManager 语言管理器
+     * @return 本地化后的物品模板；没有任何覆盖时直接返回原模板
+     */
+    static ItemStack[] render(ItemStack[] template, String uiId, int page, String language,
+                              LanguageManager languageManager) {
+        if (template == null) {
+            return null;
+        }
+        ItemStack[] localized = null;
+        for (int i = 0; i < template.length; i++) {
+            ItemStack item = template[i];
+            if (item == null || item.getType() == null || item.getType().isAir()) {
+                continue;
+            }
+            String key = slotKey(uiId, page, i);
+            String name = languageManager.findString(language, key + NAME);
+            String lore = languageManager.findString(language, key + LORE);
+            if (name == null && lore == null) {
+                continue;
+            }
+            ItemStack copy = item.clone();
+            ItemMeta meta = copy.getItemMeta();
+            if (meta == null) {
+                continue;
+            }
+            if (name != null) {
+                meta.setDisplayName(name);
+            }
+            if (lore != null) {
+                meta.setLore(lore.isEmpty() ? null : Arrays.asList(lore.split("\n", -1)));
+            }
+            copy.setItemMeta(meta);
+            if (localized == null) {
+                localized = template.clone();
+            }
+            localized[i] = copy;
+        }
+        return localized != null ? localized : template;
+    }
+}
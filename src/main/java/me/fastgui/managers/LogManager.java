@@ -1,5 +1,7 @@
 package me.fastgui.managers;
 
+import java.io.File;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -7,29 +9,129 @@ import me.fastgui.FastGUI;
 
 public class LogManager {
     private static LogManager instance;
+
+    // debug开关，由ConfigManager发布新配置时更新。
+    // 关闭时每次debug调用只读取这一个字段就返回，不拼接字符串也不创建对象
+    private static volatile boolean debugEnabled;
+    // 调试日志设置（异步输出和采样）
+    private static volatile Settings.DebugLog debugLogSettings = Settings.DebugLog.DEFAULTS;
+
     private final Logger logger;
-    private final ConfigManager configManager;
-    private boolean isDebugEnabled;
+    private final File logDirectory;
+    // 异步调试日志输出，仅在调试模式启用且配置了异步输出时存在
+    private volatile AsyncLogAppender appender;
+    private Settings.DebugLog appenderSettings;
 
     private LogManager(FastGUI plugin) {
-        this.logger = plugin.getLogger();
-        this.configManager = plugin.getConfigManager();
-        // 初始化时读取配置文件确定是否启用debug模式
-        reloadDebugStatus();
+        this(plugin.getLogger(), new File(plugin.getDataFolder(), "logs"));
+    }
+
+    /**
+     * 直接使用指定Logger创建日志管理器，供基准测试使用
+     * @param logger 日志输出
+     */
+    LogManager(Logger logger) {
+        this(logger, null);
+    }
+
+    private LogManager(Logger logger, File logDirectory) {
+        this.logger = logger;
+        this.logDirectory = logDirectory;
     }
 
     public static synchronized LogManager getInstance(FastGUI plugin) {
         if (instance == null) {
             instance = new LogManager(plugin);
+            instance.updateAppender();
         }
         return instance;
     }
 
     /**
-     * 重新加载debug模式状态
+     * 应用新的配置快照：更新debug开关、采样设置，并按需启动或停止异步输出
+     * @param settings 配置快照
+     */
+    static synchronized void applySettings(Settings settings) {
+        debugLogSettings = settings.debugLog();
+        debugEnabled = settings.debugModeEnabled();
+        if (instance != null) {
+            instance.updateAppender();
+        }
+    }
+
+    /**
+     * 关闭异步调试日志输出并释放单例，插件禁用时调用
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.stopAppender();
+            instance = null;
+        }
+    }
+
+    /**
+     * 根据当前设置启动或停止异步输出
+     */
+    private synchronized void updateAppender() {
+        Settings.DebugLog settings = debugLogSettings;
+        boolean wanted = debugEnabled && settings.async() && logDirectory != null;
+        if (!wanted) {
+            stopAppender();
+            return;
+        }
+        if (appender != null && settings.equals(appenderSettings)) {
+            return;
+        }
+        // 缓冲区或文件设置变化时重新创建
+        stopAppender();
+        appenderSettings = settings;
+        appender = new AsyncLogAppender(logDirectory, settings.bufferSize(),
+                settings.maxFileSizeMb() * 1024L * 1024L, settings.maxFiles(), logger);
+        logger.info("调试日志将异步写入: " + new File(logDirectory, "fastgui-debug.log").getPath());
+    }
+
+    private synchronized void stopAppender() {
+        AsyncLogAppender current = appender;
+        if (current != null) {
+            appender = null;
+            current.close();
+        }
+    }
+
+    /**
+     * 更新debug开关
+     * @param enabled 是否启用debug模式
+     */
+    static void setDebugEnabled(boolean enabled) {
+        debugEnabled = enabled;
+    }
+
+    /**
+     * debug模式是否启用
+     * <p>调用方可以在构建开销较大的日志（遍历Lore、逐槽位统计等）之前先检查。</p>
+     */
+    public static boolean isDebug() {
+        return debugEnabled;
+    }
+
+    /**
+     * 指定玩家和UI的事件是否需要记录debug日志
+     * <p>配置了采样玩家或采样UI时，只有匹配的事件才记录，避免在繁忙的服务器上产生大量无关日志。</p>
+     * @param playerName 玩家名称，未知时为null
+     * @param uiId UI ID，未知时为null
+     * @return 是否记录
+     */
+    public static boolean isDebugFor(String playerName, String uiId) {
+        return debugEnabled && debugLogSettings.isSampled(playerName, uiId);
+    }
+
+    /**
+     * 获取异步输出因缓冲区已满而丢弃的日志数量
+     * @return 丢弃数量，未启用异步输出时返回0
      */
-    public void reloadDebugStatus() {
-        this.isDebugEnabled = configManager.isDebugModeEnabled();
+    public long getDroppedDebugLogs() {
+        AsyncLogAppender current = appender;
+        return current != null ? current.getDroppedCount() : 0;
     }
 
     /**
@@ -37,9 +139,100 @@ public class LogManager {
      * 如果debug模式关闭，则完全不记录任何日志
      */
     public void debugLog(String message) {
-        if (isDebugEnabled && message != null) {
-            logger.log(Level.FINE, "[DEBUG] " + message);
+        if (debugEnabled && message != null) {
+            AsyncLogAppender current = appender;
+            if (current != null) {
+                current.append(message);
+            } else {
+                logger.log(Level.FINE, "[DEBUG] " + message);
+            }
+        }
+    }
+
+    /**
+     * 延迟构建的debug日志，只有debug模式启用时才会调用supplier
+     * @param message 日志消息的构建函数
+     */
+    public void debug(Supplier<String> message) {
+        if (debugEnabled) {
+            debugLog(message.get());
+        }
+    }
+
+    /**
+     * 参数化debug日志，消息中的 {} 按顺序替换为参数
+     * @param pattern 消息模板
+     * @param arg 参数
+     */
+    public void debug(String pattern, Object arg) {
+        if (debugEnabled) {
+            debugLog(format(pattern, arg));
+        }
+    }
+
+    /**
+     * 参数化debug日志，消息中的 {} 按顺序替换为参数
+     * @param pattern 消息模板
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (debugEnabled) {
+            debugLog(format(pattern, arg1, arg2));
+        }
+    }
+
+    /**
+     * 参数化debug日志，消息中的 {} 按顺序替换为参数
+     * @param pattern 消息模板
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     * @param arg3 第三个参数
+     */
+    public void debug(String pattern, Object arg1, Object arg2, Object arg3) {
+        if (debugEnabled) {
+            debugLog(format(pattern, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * 参数化debug日志，消息中的 {} 按顺序替换为参数
+     * @param pattern 消息模板
+     * @param args 参数
+     */
+    public void debug(String pattern, Object... args) {
+        if (debugEnabled) {
+            debugLog(format(pattern, args));
+        }
+    }
+
+    /**
+     * 格式化消息模板，将 {} 按顺序替换为参数，多余的 {} 原样保留
+     * @param pattern 消息模板
+     * @param args 参数
+     * @return 格式化后的消息
+     */
+    public static String format(String pattern, Object... args) {
+        if (pattern == null) {
+            return null;
+        }
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+
+        StringBuilder builder = new StringBuilder(pattern.length() + args.length * 16);
+        int start = 0;
+        int argIndex = 0;
+        while (argIndex < args.length) {
+            int index = pattern.indexOf("{}", start);
+            if (index < 0) {
+                break;
+            }
+            builder.append(pattern, start, index).append(args[argIndex++]);
+            start = index + 2;
         }
+        builder.append(pattern, start, pattern.length());
+        return builder.toString();
     }
 
     /**
@@ -73,6 +266,6 @@ public class LogManager {
      * 检查debug模式是否启用
      */
     public boolean isDebugEnabled() {
-        return isDebugEnabled;
+        return debugEnabled;
     }
-}
\ No newline at end of file
+}
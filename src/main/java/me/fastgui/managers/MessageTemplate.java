@@ -0,0 +1,147 @@
+package me.fastgui.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的语言消息
+ * <p>加载语言文件时把每条消息拆分为文字片段和 {@code {name}} 变量片段，之后每次获取消息时按片段顺序一次拼接，
+ * 不再对每个变量做一次整串替换。没有变量的消息直接返回原字符串，不分配对象。
+ * 找不到值的变量按原样保留，与之前 {@link String#replace} 的行为一致。</p>
+ */
+final class MessageTemplate {
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private final String text;
+    // literals比names多一个：literals[0] names[0] literals[1] ... names[n-1] literals[n]
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MessageTemplate(String text, String[] literals, String[] names) {
+        this.text = text;
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译消息
+     * @param text 语言文件中的原始消息
+     */
+    static MessageTemplate compile(String text) {
+        if (text == null) {
+            text = "";
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                int end = text.indexOf('}', i + 1);
+                if (end > i + 1 && isName(text, i + 1, end)) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    names.add(text.substring(i + 1, end));
+                    i = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        if (names.isEmpty()) {
+            return new MessageTemplate(text, new String[]{text}, NO_NAMES);
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(text, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    private static boolean isName(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '{' || Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 原始消息
+     */
+    String text() {
+        return text;
+    }
+
+    /**
+     * 消息中的变量名，按出现顺序
+     */
+    String[] names() {
+        return names.clone();
+    }
+
+    boolean hasVariables() {
+        return names.length > 0;
+    }
+
+    /**
+     * 用变量映射渲染消息
+     */
+    String render(Map<String, String> variables) {
+        if (names.length == 0 || variables == null || variables.isEmpty()) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            appendValue(out, names[i], variables.get(names[i]));
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    /**
+     * 渲染只有一个变量的消息，不需要创建变量映射
+     */
+    String render(String name, String value) {
+        return render(name, value, null, null);
+    }
+
+    /**
+     * 渲染有两个变量的消息，不需要创建变量映射
+     */
+    String render(String name1, String value1, String name2, String value2) {
+        if (names.length == 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String name = names[i];
+            if (name.equals(name1)) {
+                appendValue(out, name, value1);
+            } else if (name.equals(name2)) {
+                appendValue(out, name, value2);
+            } else {
+                appendValue(out, name, null);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    private static void appendValue(StringBuilder out, String name, String value) {
+        if (value != null) {
+            out.append(value);
+        } else {
+            out.append('{').append(name).append('}');
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package me.fastgui.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 性能指标管理器
+ * <p>使用 {@link LongAdder} 计数器和固定分桶的延迟直方图记录FastGUI的开销，记录操作不加锁、不分配对象，
+ * 可以在任意线程的热路径上调用。通过 {@code /fg stats} 查看。</p>
+ */
+public class MetricsManager {
+
+    private static final MetricsManager INSTANCE = new MetricsManager();
+
+    /**
+     * 计数器
+     */
+    public enum Counter {
+        UI_OPENS("ui_opens"),
+        CACHE_HITS("cache_hits"),
+        CACHE_MISSES("cache_misses"),
+        DISK_BYTES_READ("disk_bytes_read"),
+        DISK_BYTES_WRITTEN("disk_bytes_written"),
+        CLICKS("clicks"),
+        COMMAND_DISPATCHES("command_dispatches"),
+        NBT_CALLS("nbt_calls"),
+        NBT_FALLBACKS("nbt_fallbacks"),
+        NPC_INTERACTIONS("npc_interactions");
+
+        private final String key;
+
+        Counter(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+    }
+
+    /**
+     * 延迟计时器
+     */
+    public enum Timer {
+        UI_OPEN("ui_open"),
+        UI_LOAD("ui_load"),
+        UI_SAVE("ui_save"),
+        CLICK("click");
+
+        private final String key;
+
+        Timer(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+    }
+
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private final Histogram[] histograms = new Histogram[Timer.values().length];
+    // UI ID -> 打开次数
+    private final Map<String, LongAdder> uiOpens = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.currentTimeMillis();
+
+    MetricsManager() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * 获取指标管理器实例
+     */
+    public static MetricsManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 计数器加一
+     * @param counter 计数器
+     */
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    /**
+     * 计数器增加指定数值
+     * @param counter 计数器
+     * @param amount 增加的数值
+     */
+    public void add(Counter counter, long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    /**
+     * 获取计数器当前值
+     * @param counter 计数器
+     * @return 当前值
+     */
+    public long get(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * 记录一次耗时
+     * @param timer 计时器
+     * @param startNanos 开始时间（{@link System#nanoTime()}）
+     */
+    public void recordSince(Timer timer, long startNanos) {
+        histograms[timer.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 获取计时器的直方图
+     * @param timer 计时器
+     * @return 直方图
+     */
+    public Histogram getHistogram(Timer timer) {
+        return histograms[timer.ordinal()];
+    }
+
+    /**
+     * 记录一次UI打开
+     * @param uiId UI ID
+     */
+    public void recordUIOpen(String uiId) {
+        counters[Counter.UI_OPENS.ordinal()].increment();
+        if (uiId != null) {
+            uiOpens.computeIfAbsent(uiId, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 获取打开次数最多的UI
+     * @param limit 最多返回的数量
+     * @return 按打开次数降序排列的 (UI ID, 次数) 列表
+     */
+    public List<Map.Entry<String, Long>> getTopUIs(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(uiOpens.size());
+        for (Map.Entry<String, LongAdder> entry : uiOpens.entrySet()) {
+            entries.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * 获取指标开始统计的时间
+     * @return 毫秒时间戳
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * 清零所有指标
+     */
+    public void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+        uiOpens.clear();
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 固定分桶的延迟直方图
+     * <p>桶的上限（微秒）按 1-2-5 递增，百分位数取所在桶的上限，精度足够定位tick开销。</p>
+     */
+    public static final class Histogram {
+
+        /** 各个桶的上限（微秒），最后一个桶没有上限 */
+        static final long[] BOUNDS_MICROS = {
+                1, 2, 5, 10, 20, 50, 100, 200, 500,
+                1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000, 1_000_000
+        };
+
+        private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 记录一次耗时
+         * @param nanos 耗时（纳秒）
+         */
+        public void record(long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+            buckets[bucketIndex(micros)].increment();
+            count.increment();
+            sumNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private static int bucketIndex(long micros) {
+            int low = 0;
+            int high = BOUNDS_MICROS.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (micros <= BOUNDS_MICROS[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 估算百分位数
+         * @param quantile 分位（0-1）
+         * @return 百分位数所在桶的上限（微秒），没有记录时返回0；落在最后一个桶时返回最大值
+         */
+        public long percentileMicros(double quantile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    return BOUNDS_MICROS[i];
+                }
+            }
+            return getMaxMicros();
+        }
+
+        /**
+         * 获取指定桶的计数
+         * @param index 桶索引，等于 {@link #BOUNDS_MICROS} 长度时为没有上限的桶
+         */
+        public long getBucketCount(int index) {
+            return buckets[index].sum();
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getSumNanos() { return sumNanos.sum(); }
+        public long getMaxMicros() { return TimeUnit.NANOSECONDS.toMicros(maxNanos.get()); }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            sumNanos.reset();
+            maxNanos.reset();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.jfr.NBTReadEvent;
+import me.fastgui.utils.ErrorHandler;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Entity;
 import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -15,7 +18,10 @@ import java.util.logging.Logger;
 public class NBTManager {
     
     private final FastGUI plugin;
+    // NamespacedKey的命名空间和服务器版本检测使用的插件
+    private final Plugin owner;
     private final LogManager logManager;
+    private final MetricsManager metrics = MetricsManager.getInstance();
     
     // 反射相关字段
     private Class<?> craftItemStackClass;
@@ -36,6 +42,8 @@ public class NBTManager {
     
     // PDC相关字段
     private NamespacedKey borderKey;
+    private NamespacedKey contentKey;
+    private NamespacedKey visibilityKey;
     private NamespacedKey buttonKey;
     private NamespacedKey commandKey;
     private NamespacedKey closeOnClickKey;
@@ -56,6 +64,8 @@ public class NBTManager {
     // NBT标签常量
     private static final String NBT_PREFIX = "fastgui_";
     public static final String BORDER_TAG = NBT_PREFIX + "border";
+    public static final String CONTENT_TAG = NBT_PREFIX + "content";
+    public static final String VISIBILITY_TAG = NBT_PREFIX + "visibility";
     public static final String BUTTON_TAG = NBT_PREFIX + "button";
     public static final String COMMAND_TAG = NBT_PREFIX + "command";
     public static final String CLOSE_ON_CLICK_TAG = NBT_PREFIX + "close_on_click";
@@ -71,8 +81,22 @@ public class NBTManager {
     public static final String BUTTON_ITEM_EXECUTE_MODE_TAG = NBT_PREFIX + "button_item_execute_mode";
     
     public NBTManager(FastGUI plugin) {
+        this(plugin, plugin, plugin.getLogManager());
+    }
+    
+    /**
+     * 不依赖插件实例的构造器，供基准测试使用
+     * @param owner 提供NamespacedKey命名空间的插件
+     * @param logManager 日志管理器
+     */
+    NBTManager(Plugin owner, LogManager logManager) {
+        this(null, owner, logManager);
+    }
+    
+    private NBTManager(FastGUI plugin, Plugin owner, LogManager logManager) {
         this.plugin = plugin;
-        this.logManager = plugin.getLogManager();
+        this.owner = owner;
+        this.logManager = logManager;
         initialize();
     }
     
@@ -95,7 +119,7 @@ public class NBTManager {
      */
     public void reloadConfig() {
         // 重新加载配置
-        usePersistentData = plugin.getConfigManager().getBoolean("nbt.use_persistent_data", true);
+        usePersistentData = plugin.getConfigManager().getSettings().usePersistentData();
         
         // 重新初始化
         initialize();
@@ -110,20 +134,22 @@ public class NBTManager {
             Class.forName("org.bukkit.persistence.PersistentDataContainer");
             
             // 初始化所有的NamespacedKey
-            borderKey = new NamespacedKey(plugin, "border");
-            buttonKey = new NamespacedKey(plugin, "button");
-            commandKey = new NamespacedKey(plugin, "command");
-            closeOnClickKey = new NamespacedKey(plugin, "close_on_click");
-            permissionKey = new NamespacedKey(plugin, "permission");
-            npcKey = new NamespacedKey(plugin, "npc");
-            npcCommandKey = new NamespacedKey(plugin, "npc_command");
-            npcPermissionKey = new NamespacedKey(plugin, "npc_permission");
-            npcExecuteModeKey = new NamespacedKey(plugin, "npc_execute_mode");
-            npcExecutorKey = new NamespacedKey(plugin, "npc_executor");
-            buttonItemKey = new NamespacedKey(plugin, "button_item");
-            buttonItemCommandKey = new NamespacedKey(plugin, "button_item_command");
-            buttonItemPermissionKey = new NamespacedKey(plugin, "button_item_permission");
-            buttonItemExecuteModeKey = new NamespacedKey(plugin, "button_item_execute_mode");
+            borderKey = new NamespacedKey(owner, "border");
+            contentKey = new NamespacedKey(owner, "content");
+            visibilityKey = new NamespacedKey(owner, "visibility");
+            buttonKey = new NamespacedKey(owner, "button");
+            commandKey = new NamespacedKey(owner, "command");
+            closeOnClickKey = new NamespacedKey(owner, "close_on_click");
+            permissionKey = new NamespacedKey(owner, "permission");
+            npcKey = new NamespacedKey(owner, "npc");
+            npcCommandKey = new NamespacedKey(owner, "npc_command");
+            npcPermissionKey = new NamespacedKey(owner, "npc_permission");
+            npcExecuteModeKey = new NamespacedKey(owner, "npc_execute_mode");
+            npcExecutorKey = new NamespacedKey(owner, "npc_executor");
+            buttonItemKey = new NamespacedKey(owner, "button_item");
+            buttonItemCommandKey = new NamespacedKey(owner, "button_item_command");
+            buttonItemPermissionKey = new NamespacedKey(owner, "button_item_permission");
+            buttonItemExecuteModeKey = new NamespacedKey(owner, "button_item_execute_mode");
             // 方块交互相关的键已移除
             
             usePersistentData = true;
@@ -131,7 +157,7 @@ public class NBTManager {
             logInfo("PDC方案初始化成功");
             return true;
         } catch (Exception e) {
-            logWarning("PDC方案初始化失败: " + e.getMessage());
+            logError("PDC方案初始化失败", e);
             return false;
         }
     }
@@ -152,6 +178,29 @@ public class NBTManager {
         }
     }
     
+    /**
+     * 使用指定的类初始化反射方案，跳过服务器版本检测
+     * <p>供没有CraftBukkit的环境（基准测试）使用，传入的类需要提供与NMS相同签名的方法。</p>
+     * @param craftItemStack 提供asNMSCopy/asBukkitCopy静态方法的类
+     * @param nmsItemStack NMS ItemStack类
+     * @param nbtTagCompound NBT标签类
+     * @return 是否初始化成功
+     */
+    boolean initializeReflection(Class<?> craftItemStack, Class<?> nmsItemStack, Class<?> nbtTagCompound) {
+        craftItemStackClass = craftItemStack;
+        nmsItemStackClass = nmsItemStack;
+        nbtTagCompoundClass = nbtTagCompound;
+        try {
+            bindReflectionMethods();
+            useReflection = true;
+            usePersistentData = false;
+            return true;
+        } catch (Exception e) {
+            logError("反射方案初始化失败", e);
+            return false;
+        }
+    }
+    
     /**
      * 加载反射所需的方法
      */
@@ -191,11 +240,70 @@ public class NBTManager {
                 nbtTagCompoundClass = Class.forName("net.minecraft.nbt.CompoundTag");
                 logFine("成功加载新版Minecraft类结构 (net.minecraft.world.item 和 net.minecraft.nbt)");
             } catch (ClassNotFoundException ex) {
-                logError("无法加载Minecraft类: " + ex.getMessage(), ex);
+                logError("无法加载Minecraft类", ex);
                 throw ex; // 重新抛出异常以便上层处理
             }
         }
         
+        bindReflectionMethods();
+        
+        // 尝试加载方块实体相关方法
+        try {
+            String worldClassName = "org.bukkit.craftbukkit." + (version.isEmpty() ? "" : version + ".") + "CraftWorld";
+            Class<?> worldClass = Class.forName(worldClassName);
+            getHandle = worldClass.getDeclaredMethod("getHandle");
+            getHandle.setAccessible(true);
+            
+            // 增强方块实体反射方法加载的兼容性
+            try {
+                // 尝试加载获取NBT标签的方法
+                String[] getNBTTagCompoundNames = {"getNBTTagCompound", "save", "getPersistentDataContainer", 
+                                                "getTileData", "getBlockData", "getNbt", "getTag"};
+                
+                // 尝试不同的方块实体类路径和方法名
+                String[] tileEntityClassNames = {
+                    "net.minecraft.server." + version + ".TileEntity",
+                    "net.minecraft.world.level.block.entity.TileEntity",
+                    "org.bukkit.craftbukkit." + version + ".block.CraftBlockEntityState"
+                };
+                
+                for (String className : tileEntityClassNames) {
+                    try {
+                        Class<?> tileEntityClass = Class.forName(className);
+                        // 尝试为方块实体类加载getNBTTagCompound方法
+                        for (String methodName : getNBTTagCompoundNames) {
+                            try {
+                                Method method = tileEntityClass.getDeclaredMethod(methodName);
+                                method.setAccessible(true);
+                                logFine("成功加载方块实体的" + methodName + "方法: " + className);
+                                // 保存第一个找到的方法
+                                if (getNBTTagCompound == null) {
+                                    getNBTTagCompound = method;
+                                }
+                            } catch (NoSuchMethodException ignored) {
+                            }
+                        }
+                    } catch (ClassNotFoundException ignored) {
+                    }
+                }
+                
+                if (getNBTTagCompound != null) {
+                    logFine("成功初始化方块实体NBT方法");
+                } else {
+                    logFine("方块实体相关方法延迟加载，将在使用时动态尝试");
+                }
+            } catch (Exception e) {
+                logFine("方块实体相关方法加载失败: " + e.getMessage());
+            }
+        } catch (Exception e) {
+            logFine("方块实体相关方法加载失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 从已加载的CraftItemStack、NMS ItemStack和NBT标签类中查找读写NBT所需的方法
+     */
+    private void bindReflectionMethods() throws Exception {
         // 加载CraftItemStack的方法
         try {
             asNMSCopyMethod = craftItemStackClass.getDeclaredMethod("asNMSCopy", ItemStack.class);
@@ -254,58 +362,6 @@ public class NBTManager {
                 throw ex;
             }
         }
-        
-        // 尝试加载方块实体相关方法
-        try {
-            String worldClassName = "org.bukkit.craftbukkit." + (version.isEmpty() ? "" : version + ".") + "CraftWorld";
-            Class<?> worldClass = Class.forName(worldClassName);
-            getHandle = worldClass.getDeclaredMethod("getHandle");
-            getHandle.setAccessible(true);
-            
-            // 增强方块实体反射方法加载的兼容性
-            try {
-                // 尝试加载获取NBT标签的方法
-                String[] getNBTTagCompoundNames = {"getNBTTagCompound", "save", "getPersistentDataContainer", 
-                                                "getTileData", "getBlockData", "getNbt", "getTag"};
-                
-                // 尝试不同的方块实体类路径和方法名
-                String[] tileEntityClassNames = {
-                    "net.minecraft.server." + version + ".TileEntity",
-                    "net.minecraft.world.level.block.entity.TileEntity",
-                    "org.bukkit.craftbukkit." + version + ".block.CraftBlockEntityState"
-                };
-                
-                for (String className : tileEntityClassNames) {
-                    try {
-                        Class<?> tileEntityClass = Class.forName(className);
-                        // 尝试为方块实体类加载getNBTTagCompound方法
-                        for (String methodName : getNBTTagCompoundNames) {
-                            try {
-                                Method method = tileEntityClass.getDeclaredMethod(methodName);
-                                method.setAccessible(true);
-                                logFine("成功加载方块实体的" + methodName + "方法: " + className);
-                                // 保存第一个找到的方法
-                                if (getNBTTagCompound == null) {
-                                    getNBTTagCompound = method;
-                                }
-                            } catch (NoSuchMethodException ignored) {
-                            }
-                        }
-                    } catch (ClassNotFoundException ignored) {
-                    }
-                }
-                
-                if (getNBTTagCompound != null) {
-                    logFine("成功初始化方块实体NBT方法");
-                } else {
-                    logFine("方块实体相关方法延迟加载，将在使用时动态尝试");
-                }
-            } catch (Exception e) {
-                logFine("方块实体相关方法加载失败: " + e.getMessage());
-            }
-        } catch (Exception e) {
-            logFine("方块实体相关方法加载失败: " + e.getMessage());
-        }
     }
     
     /**
@@ -389,9 +445,10 @@ public class NBTManager {
             item.setItemMeta(meta);
             return true;
         } catch (Exception e) {
-            logWarning("使用PDC添加边框属性失败: " + e.getMessage());
+            logError("使用PDC添加边框属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return addBorderAttributeReflection(item);
         }
@@ -441,7 +498,70 @@ public class NBTManager {
             
             return true;
         } catch (Exception e) {
-            logWarning("使用反射添加边框属性失败: " + e.getMessage());
+            logError("使用反射添加边框属性失败", e);
+            return false;
+        }
+    }
+    
+    /**
+     * 为物品添加内容槽位属性
+     * <p>列表UI会在带有此属性的槽位中渲染数据源条目。</p>
+     */
+    public boolean addContentAttribute(ItemStack item) {
+        if (!validateItem(item)) {
+            return false;
+        }
+        
+        if (usePersistentData) {
+            try {
+                ItemMeta meta = item.getItemMeta();
+                if (meta == null) {
+                    logWarning("物品没有ItemMeta");
+                    return false;
+                }
+                
+                meta.getPersistentDataContainer().set(contentKey, PersistentDataType.BOOLEAN, true);
+                item.setItemMeta(meta);
+                return true;
+            } catch (Exception e) {
+                logError("使用PDC添加内容槽位属性失败", e);
+                // 切换到反射模式
+                usePersistentData = false;
+                metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
+                useReflection = true;
+            }
+        }
+        return addContentAttributeReflection(item);
+    }
+    
+    /**
+     * 使用反射为物品添加内容槽位属性
+     */
+    private boolean addContentAttributeReflection(ItemStack item) {
+        try {
+            if (!checkAndReinitializeReflection()) {
+                return false;
+            }
+            
+            Object nmsItemStack = asNMSCopyMethod.invoke(null, item);
+            if (nmsItemStack == null) {
+                logWarning("转换为NMS ItemStack失败");
+                return false;
+            }
+            
+            Object nbtTagCompound = getTagMethod.invoke(nmsItemStack);
+            if (nbtTagCompound == null) {
+                nbtTagCompound = nbtTagCompoundConstructor.newInstance();
+            }
+            
+            setStringMethod.invoke(nbtTagCompound, CONTENT_TAG, "true");
+            setTagMethod.invoke(nmsItemStack, nbtTagCompound);
+            
+            ItemStack result = (ItemStack) asBukkitCopyMethod.invoke(null, nmsItemStack);
+            item.setItemMeta(result.getItemMeta());
+            return true;
+        } catch (Exception e) {
+            logError("使用反射添加内容槽位属性失败", e);
             return false;
         }
     }
@@ -500,9 +620,10 @@ public class NBTManager {
             item.setItemMeta(meta);
             return true;
         } catch (Exception e) {
-            logWarning("使用PDC添加按钮属性失败: " + e.getMessage());
+            logError("使用PDC添加按钮属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return addButtonAttributeReflection(item, command, closeOnClick, permission);
         }
@@ -522,7 +643,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return false;
                 }
             }
@@ -567,7 +688,7 @@ public class NBTManager {
             
             return true;
         } catch (Exception e) {
-            logWarning("使用反射添加按钮属性失败: " + e.getMessage());
+            logError("使用反射添加按钮属性失败", e);
             return false;
         }
     }
@@ -587,6 +708,97 @@ public class NBTManager {
         }
     }
     
+    /**
+     * 设置物品的显示条件
+     * <p>条件格式见 {@link SlotVisibility}，多个条件用逗号分隔；传入null时移除显示条件。</p>
+     */
+    public boolean setVisibilityCondition(ItemStack item, String condition) {
+        if (!validateItem(item)) {
+            return false;
+        }
+        
+        if (usePersistentData) {
+            try {
+                ItemMeta meta = item.getItemMeta();
+                if (meta == null) {
+                    logWarning("物品没有ItemMeta");
+                    return false;
+                }
+                
+                if (condition == null) {
+                    meta.getPersistentDataContainer().remove(visibilityKey);
+                } else {
+                    meta.getPersistentDataContainer().set(visibilityKey, PersistentDataType.STRING, condition);
+                }
+                item.setItemMeta(meta);
+                return true;
+            } catch (Exception e) {
+                logError("使用PDC设置显示条件失败", e);
+                // 切换到反射模式
+                usePersistentData = false;
+                metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
+                useReflection = true;
+            }
+        }
+        
+        try {
+            if (!checkAndReinitializeReflection()) {
+                return false;
+            }
+            
+            Object nmsItemStack = asNMSCopyMethod.invoke(null, item);
+            if (nmsItemStack == null) {
+                logWarning("转换为NMS ItemStack失败");
+                return false;
+            }
+            
+            Object nbtTagCompound = getTagMethod.invoke(nmsItemStack);
+            if (nbtTagCompound == null) {
+                nbtTagCompound = nbtTagCompoundConstructor.newInstance();
+            }
+            
+            // 反射模式下用空字符串表示没有显示条件
+            setStringMethod.invoke(nbtTagCompound, VISIBILITY_TAG, condition != null ? condition : "");
+            setTagMethod.invoke(nmsItemStack, nbtTagCompound);
+            
+            ItemStack result = (ItemStack) asBukkitCopyMethod.invoke(null, nmsItemStack);
+            item.setItemMeta(result.getItemMeta());
+            return true;
+        } catch (Exception e) {
+            logError("使用反射设置显示条件失败", e);
+            return false;
+        }
+    }
+    
+    /**
+     * 获取物品的显示条件
+     * @return 显示条件，没有时返回null
+     */
+    public String getVisibilityCondition(ItemStack item) {
+        if (!validateItem(item)) {
+            return null;
+        }
+        
+        String condition = usePersistentData ? getStringAttributePDC(item, VISIBILITY_TAG) 
+                : getStringAttributeReflection(item, VISIBILITY_TAG);
+        return condition != null && !condition.isEmpty() ? condition : null;
+    }
+    
+    /**
+     * 检查物品是否为列表内容槽位
+     */
+    public boolean isContentItem(ItemStack item) {
+        if (!validateItem(item)) {
+            return false;
+        }
+        
+        if (usePersistentData) {
+            return hasAttributePDC(item, CONTENT_TAG);
+        } else {
+            return hasAttributeReflection(item, CONTENT_TAG);
+        }
+    }
+    
     /**
      * 检查物品是否有按钮属性
      */
@@ -604,8 +816,21 @@ public class NBTManager {
     
     /**
      * 使用PDC检查物品是否有指定属性
+     * <p>读取过程记录为 {@link NBTReadEvent}，没有JFR录制时不产生额外开销。</p>
      */
     private boolean hasAttributePDC(ItemStack item, String key) {
+        NBTReadEvent event = new NBTReadEvent();
+        event.begin();
+        boolean found = readAttributePDC(item, key);
+        event.complete(key, "pdc", found);
+        return found;
+    }
+    
+    /**
+     * 使用PDC检查物品是否有指定属性
+     */
+    private boolean readAttributePDC(ItemStack item, String key) {
+        metrics.increment(MetricsManager.Counter.NBT_CALLS);
         try {
             ItemMeta meta = item.getItemMeta();
             if (meta == null) {
@@ -615,6 +840,8 @@ public class NBTManager {
             NamespacedKey namespacedKey;
             if (key.equals(BORDER_TAG)) {
                 namespacedKey = borderKey;
+            } else if (key.equals(CONTENT_TAG)) {
+                namespacedKey = contentKey;
             } else if (key.equals(BUTTON_TAG)) {
                 namespacedKey = buttonKey;
             } else if (key.equals(NPC_TAG)) {
@@ -627,9 +854,10 @@ public class NBTManager {
             
             return meta.getPersistentDataContainer().has(namespacedKey, PersistentDataType.BOOLEAN);
         } catch (Exception e) {
-            logWarning("使用PDC检查属性失败: " + e.getMessage());
+            logError("使用PDC检查属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return hasAttributeReflection(item, key);
         }
@@ -637,8 +865,21 @@ public class NBTManager {
     
     /**
      * 使用反射检查物品是否有指定属性
+     * <p>读取过程记录为 {@link NBTReadEvent}。</p>
      */
     private boolean hasAttributeReflection(ItemStack item, String key) {
+        NBTReadEvent event = new NBTReadEvent();
+        event.begin();
+        boolean found = readAttributeReflection(item, key);
+        event.complete(key, "reflection", found);
+        return found;
+    }
+    
+    /**
+     * 使用反射检查物品是否有指定属性
+     */
+    private boolean readAttributeReflection(ItemStack item, String key) {
+        metrics.increment(MetricsManager.Counter.NBT_CALLS);
         try {
             // 检查反射方法是否已初始化
             if (craftItemStackClass == null || asNMSCopyMethod == null || 
@@ -648,7 +889,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return false;
                 }
             }
@@ -668,7 +909,7 @@ public class NBTManager {
             // 检查是否有指定键
             return (boolean) hasKeyMethod.invoke(nbtTagCompound, key);
         } catch (Exception e) {
-            logWarning("使用反射检查属性失败: " + e.getMessage());
+            logError("使用反射检查属性失败", e);
             return false;
         }
     }
@@ -738,9 +979,10 @@ public class NBTManager {
                 }
                 return null;
             } catch (Exception e) {
-                logWarning("使用PDC获取点击关闭设置失败: " + e.getMessage());
+                logError("使用PDC获取点击关闭设置失败", e);
                 // 切换到反射模式
                 usePersistentData = false;
+                metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
                 useReflection = true;
             }
         }
@@ -755,7 +997,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return null;
                 }
             }
@@ -778,15 +1020,28 @@ public class NBTManager {
             }
             return null;
         } catch (Exception e) {
-            logWarning("使用反射获取点击关闭设置失败: " + e.getMessage());
+            logError("使用反射获取点击关闭设置失败", e);
             return null;
         }
     }
     
     /**
      * 使用PDC获取字符串属性
+     * <p>读取过程记录为 {@link NBTReadEvent}。</p>
      */
     private String getStringAttributePDC(ItemStack item, String key) {
+        NBTReadEvent event = new NBTReadEvent();
+        event.begin();
+        String result = readStringAttributePDC(item, key);
+        event.complete(key, "pdc", result != null);
+        return result;
+    }
+    
+    /**
+     * 使用PDC获取字符串属性
+     */
+    private String readStringAttributePDC(ItemStack item, String key) {
+        metrics.increment(MetricsManager.Counter.NBT_CALLS);
         try {
             ItemMeta meta = item.getItemMeta();
             if (meta == null) {
@@ -811,6 +1066,8 @@ public class NBTManager {
                 namespacedKey = npcExecuteModeKey;
             } else if (key.equals(NPC_EXECUTOR_TAG)) {
                 namespacedKey = npcExecutorKey;
+            } else if (key.equals(VISIBILITY_TAG)) {
+                namespacedKey = visibilityKey;
             } else {
                 // 检查是否使用的是常量名称而不是键对象
                 if (key.equals("fastgui_command")) {
@@ -833,26 +1090,27 @@ public class NBTManager {
                 }
             }
             
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (isDebugEnabled()) {
                 logInfo("getStringAttributePDC: key=" + key + ", namespacedKey=" + namespacedKey);
             }
             
             if (meta.getPersistentDataContainer().has(namespacedKey, PersistentDataType.STRING)) {
                 String result = meta.getPersistentDataContainer().get(namespacedKey, PersistentDataType.STRING);
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("getStringAttributePDC: 找到属性 " + key + " = " + result);
                 }
                 return result;
             } else {
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("getStringAttributePDC: 未找到属性 " + key);
                 }
                 return null;
             }
         } catch (Exception e) {
-            logWarning("使用PDC获取字符串属性失败: " + e.getMessage());
+            logError("使用PDC获取字符串属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return getStringAttributeReflection(item, key);
         }
@@ -860,8 +1118,21 @@ public class NBTManager {
     
     /**
      * 使用反射获取字符串属性
+     * <p>读取过程记录为 {@link NBTReadEvent}。</p>
      */
     private String getStringAttributeReflection(ItemStack item, String key) {
+        NBTReadEvent event = new NBTReadEvent();
+        event.begin();
+        String result = readStringAttributeReflection(item, key);
+        event.complete(key, "reflection", result != null);
+        return result;
+    }
+    
+    /**
+     * 使用反射获取字符串属性
+     */
+    private String readStringAttributeReflection(ItemStack item, String key) {
+        metrics.increment(MetricsManager.Counter.NBT_CALLS);
         try {
             // 检查反射方法是否已初始化
             if (craftItemStackClass == null || asNMSCopyMethod == null || 
@@ -871,7 +1142,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return null;
                 }
             }
@@ -894,7 +1165,7 @@ public class NBTManager {
             }
             return null;
         } catch (Exception e) {
-            logWarning("使用反射获取字符串属性失败: " + e.getMessage());
+            logError("使用反射获取字符串属性失败", e);
             return null;
         }
     }
@@ -955,7 +1226,7 @@ public class NBTManager {
             }
             
             // 调试信息：显示传入的参数
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (isDebugEnabled()) {
                 logInfo("addNPCAttributePDC 参数: command=" + command + ", permission=" + permission + ", executeMode=" + executeMode + ", executor=" + executor);
             }
             
@@ -965,7 +1236,7 @@ public class NBTManager {
             // 设置命令
             if (command != null) {
                 meta.getPersistentDataContainer().set(npcCommandKey, PersistentDataType.STRING, command);
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("设置NPC命令: " + command);
                 }
             }
@@ -973,11 +1244,11 @@ public class NBTManager {
             // 设置权限等级
             if (permission != null && !permission.isEmpty()) {
                 meta.getPersistentDataContainer().set(npcPermissionKey, PersistentDataType.STRING, permission);
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("设置NPC权限: " + permission);
                 }
             } else {
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("跳过设置NPC权限: permission为空或null");
                 }
             }
@@ -985,7 +1256,7 @@ public class NBTManager {
             // 设置执行模式
             if (executeMode != null) {
                 meta.getPersistentDataContainer().set(npcExecuteModeKey, PersistentDataType.STRING, executeMode);
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("设置NPC执行模式: " + executeMode);
                 }
             }
@@ -993,20 +1264,21 @@ public class NBTManager {
             // 设置执行体
             if (executor != null) {
                 meta.getPersistentDataContainer().set(npcExecutorKey, PersistentDataType.STRING, executor);
-                if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+                if (isDebugEnabled()) {
                     logInfo("设置NPC执行体: " + executor);
                 }
             }
             
             item.setItemMeta(meta);
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (isDebugEnabled()) {
                 logInfo("addNPCAttributePDC 完成");
             }
             return true;
         } catch (Exception e) {
-            logWarning("使用PDC添加NPC属性失败: " + e.getMessage());
+            logError("使用PDC添加NPC属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return addNPCAttributeReflection(item, command, permission, executeMode, executor);
         }
@@ -1025,7 +1297,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return false;
                 }
             }
@@ -1075,7 +1347,7 @@ public class NBTManager {
             
             return true;
         } catch (Exception e) {
-            logWarning("使用反射添加NPC属性失败: " + e.getMessage());
+            logError("使用反射添加NPC属性失败", e);
             return false;
         }
     }
@@ -1106,13 +1378,13 @@ public class NBTManager {
         
         if (usePersistentData) {
             String result = getStringAttributePDC(item, NPC_PERMISSION_TAG);
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (isDebugEnabled()) {
                 logInfo("getNPCPermission PDC调用结果: " + (result != null ? "权限: " + result : "null"));
             }
             return result;
         } else {
             String result = getStringAttributeReflection(item, NPC_PERMISSION_TAG);
-            if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+            if (isDebugEnabled()) {
                 logInfo("getNPCPermission 反射调用结果: " + (result != null ? "权限: " + result : "null"));
             }
             return result;
@@ -1196,9 +1468,10 @@ public class NBTManager {
             item.setItemMeta(meta);
             return true;
         } catch (Exception e) {
-            logWarning("使用PDC添加按钮物品属性失败: " + e.getMessage());
+            logError("使用PDC添加按钮物品属性失败", e);
             // 切换到反射模式
             usePersistentData = false;
+            metrics.increment(MetricsManager.Counter.NBT_FALLBACKS);
             useReflection = true;
             return addButtonItemAttributeReflection(item, command, permission, executeMode);
         }
@@ -1217,7 +1490,7 @@ public class NBTManager {
                 try {
                     loadReflectionMethods();
                 } catch (Exception e) {
-                    logWarning("重新初始化反射方法失败: " + e.getMessage());
+                    logError("重新初始化反射方法失败", e);
                     return false;
                 }
             }
@@ -1262,7 +1535,7 @@ public class NBTManager {
             
             return true;
         } catch (Exception e) {
-            logWarning("使用反射添加按钮物品属性失败: " + e.getMessage());
+            logError("使用反射添加按钮物品属性失败", e);
             return false;
         }
     }
@@ -1313,7 +1586,7 @@ public class NBTManager {
                 }
             }
         } catch (Exception e) {
-            logWarning("获取实体NPC命令失败: " + e.getMessage());
+            logError("获取实体NPC命令失败", e);
         }
         
         return null;
@@ -1337,7 +1610,7 @@ public class NBTManager {
                 }
             }
         } catch (Exception e) {
-            logWarning("获取实体NPC权限失败: " + e.getMessage());
+            logError("获取实体NPC权限失败", e);
         }
         
         return null;
@@ -1361,7 +1634,7 @@ public class NBTManager {
                 }
             }
         } catch (Exception e) {
-            logWarning("获取实体NPC执行体失败: " + e.getMessage());
+            logError("获取实体NPC执行体失败", e);
         }
         
         return null;
@@ -1385,7 +1658,7 @@ public class NBTManager {
                 }
             }
         } catch (Exception e) {
-            logWarning("获取实体NPC执行模式失败: " + e.getMessage());
+            logError("获取实体NPC执行模式失败", e);
         }
         
         return null;
@@ -1431,7 +1704,7 @@ public class NBTManager {
                 return addNPCAttributeToEntityReflection(entity, command, permission, executeMode, executor);
             }
         } catch (Exception e) {
-            logWarning("为实体添加NPC属性失败: " + e.getMessage());
+            logError("为实体添加NPC属性失败", e);
             return false;
         }
     }
@@ -1492,7 +1765,7 @@ public class NBTManager {
             
             return true;
         } catch (Exception e) {
-            logWarning("使用PDC为实体添加NPC属性失败: " + e.getMessage());
+            logError("使用PDC为实体添加NPC属性失败", e);
             return false;
         }
     }
@@ -1531,7 +1804,7 @@ public class NBTManager {
             logWarning("实体不支持PDC且反射实现暂未完成");
             return false;
         } catch (Exception e) {
-            logWarning("使用反射为实体添加NPC属性失败: " + e.getMessage());
+            logError("使用反射为实体添加NPC属性失败", e);
             return false;
         }
     }
@@ -1583,7 +1856,7 @@ public class NBTManager {
             logFine("开始获取服务器版本信息...");
             
             // 1. 从服务器类包名获取（标准Bukkit/Spigot/Paper方法）
-            String packageName = plugin.getServer().getClass().getPackage().getName();      
+            String packageName = owner.getServer().getClass().getPackage().getName();      
             logFine("服务器类包名: " + packageName);
             
             if (packageName != null && packageName.contains(".")) {
@@ -1617,7 +1890,7 @@ public class NBTManager {
             }
             
             // 2. 尝试从服务器版本字符串获取
-            String minecraftVersion = plugin.getServer().getVersion();
+            String minecraftVersion = owner.getServer().getVersion();
             logInfo("服务器版本字符串: " + minecraftVersion);
             
             if (minecraftVersion != null && !minecraftVersion.isEmpty()) {
@@ -1648,7 +1921,7 @@ public class NBTManager {
             }
             
             // 3. 尝试从服务器名称获取
-            String serverName = plugin.getServer().getName();
+            String serverName = owner.getServer().getName();
             logFine("服务器名称: " + serverName);
             
             if (serverName != null && !serverName.isEmpty()) {
@@ -1662,7 +1935,7 @@ public class NBTManager {
             }
             
             // 4. 尝试从Bukkit版本获取
-            String bukkitVersion = plugin.getServer().getBukkitVersion();
+            String bukkitVersion = owner.getServer().getBukkitVersion();
             logFine("Bukkit版本: " + bukkitVersion);
             
             if (bukkitVersion != null && !bukkitVersion.isEmpty()) {
@@ -1677,8 +1950,7 @@ public class NBTManager {
                 }
             }
         } catch (Exception e) {
-            logWarning("获取服务器版本时发生异常: " + e.getMessage());
-            logError("版本检测详细错误", e);
+            logError("获取服务器版本时发生异常", e);
         }
         
         logWarning("无法确定服务器版本，将使用通用反射方法集合");
@@ -1688,6 +1960,10 @@ public class NBTManager {
 
     
     // 日志方法
+    private boolean isDebugEnabled() {
+        return logManager.isDebugEnabled();
+    }
+    
     private void logFine(String message) {
         logManager.debugLog("[NBTManager] " + message);
     }
@@ -1700,7 +1976,19 @@ public class NBTManager {
         logManager.warning("[NBTManager] " + message);
     }
     
+    /**
+     * 记录错误，通过ErrorHandler按出错位置和异常类型去重限流
+     * <p>读写物品或实体数据的方法在每次点击和打开界面时调用，后端持续失败时会重复出现，
+     * 限流后只有第一次记录完整堆栈，并定期输出抑制汇总。ErrorHandler尚未创建时直接记录。</p>
+     * @param message 日志消息，同时作为出错位置，调用处应使用常量字符串
+     * @param e 异常对象，可以为null
+     */
     private void logError(String message, Exception e) {
+        ErrorHandler errorHandler = plugin != null ? plugin.getErrorHandler() : null;
+        if (errorHandler != null) {
+            errorHandler.report(message, "[NBTManager] " + message, e);
+            return;
+        }
         logManager.severe("[NBTManager] " + message + ": " + (e != null ? e.getMessage() : "未知错误"));
         // 记录完整的堆栈跟踪，帮助调试
         if (e != null && logManager.isDebugEnabled()) {
@@ -1751,7 +2039,7 @@ public class NBTManager {
                 }
                 return reinitialized;
             } catch (Exception e) {
-                logError("重新初始化反射方法失败: " + e.getMessage(), e);
+                logError("重新初始化反射方法失败", e);
                 
                 // 记录更详细的错误信息以帮助诊断
                 logWarning("错误详情: " + e.getClass().getName());
@@ -92,7 +92,7 @@ public class PermissionManager {
         }
         
         // 添加调试日志
-        if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+        if (LogManager.isDebug()) {
             plugin.getLogger().info("NPC权限检查: 玩家=" + player.getName() + ", 要求权限=" + requiredPermission + ", 玩家是否为OP=" + player.isOp());
         }
         
@@ -104,7 +104,7 @@ public class PermissionManager {
         }
         // 如果是np或空，所有人都可以使用
         
-        if (FastGUI.getInstance().getConfigManager().isDebugModeEnabled()) {
+        if (LogManager.isDebug()) {
             plugin.getLogger().info("NPC权限检查结果: " + hasPermission);
         }
         
@@ -118,13 +118,13 @@ public class PermissionManager {
      * @return 是否有权限
      */
     public boolean hasButtonItemPermission(Player player, ItemStack item) {
-        if (plugin.getConfigManager().isDebugModeEnabled()) {
+        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
             plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 开始检查权限");
         }
         
         // 如果物品不是ButtonItem，返回true
         if (!nbtManager.isButtonItem(item)) {
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 物品不是ButtonItem，返回true");
             }
             return true;
@@ -132,19 +132,19 @@ public class PermissionManager {
         
         // 获取ButtonItem权限要求
         String requiredPermission = nbtManager.getButtonItemPermission(item);
-        if (plugin.getConfigManager().isDebugModeEnabled()) {
+        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
             plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 获取到权限要求: " + requiredPermission);
         }
         
         if (requiredPermission == null || requiredPermission.isEmpty()) {
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 权限要求为空，返回true");
             }
             return true; // 没有权限要求，所有人都可以使用
         }
         
         // 添加调试日志
-        if (plugin.getConfigManager().isDebugModeEnabled()) {
+        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
             plugin.getLogger().info("检测到ButtonItem使用，开始权限检查");
             plugin.getLogger().info("要求权限: " + requiredPermission);
             plugin.getLogger().info("玩家是否为OP: " + player.isOp());
@@ -155,21 +155,21 @@ public class PermissionManager {
         if (requiredPermission.equalsIgnoreCase("op")) {
             // 如果要求OP权限，检查玩家是否是OP
             hasPermission = player.isOp();
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 权限要求为op，玩家isOp=" + player.isOp() + ", 返回" + hasPermission);
             }
         } else {
-            if (plugin.getConfigManager().isDebugModeEnabled()) {
+            if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
                 plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 权限要求为np或其他，返回true");
             }
         }
         // 如果是np或空，所有人都可以使用
         
-        if (plugin.getConfigManager().isDebugModeEnabled()) {
+        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
             plugin.getLogger().info("权限检查结果: " + (hasPermission ? "通过" : "拒绝"));
         }
         
-        if (plugin.getConfigManager().isDebugModeEnabled()) {
+        if (plugin.getConfigManager().getSettings().debugModeEnabled()) {
             plugin.getLogger().info("PermissionManager.hasButtonItemPermission: 最终返回: " + hasPermission);
         }
         
@@ -223,10 +223,9 @@ public class PermissionManager {
      */
     public void sendNoPermissionMessage(Player player, String requiredPermission) {
         if (requiredPermission.equalsIgnoreCase("op")) {
-            player.sendMessage(languageManager.getString("permission.no_permission_op"));
+            player.sendMessage(languageManager.getString(player, "permission.no_permission_op"));
         } else {
-            player.sendMessage(languageManager.getString("permission.no_permission_general", 
-                    java.util.Map.of("permission", requiredPermission)));
+            player.sendMessage(languageManager.getString(player, "permission.no_permission_general", "permission", requiredPermission));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package me.fastgui.managers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Prometheus指标接口
+ * <p>使用JDK自带的 {@link HttpServer} 在 {@code /metrics} 上以Prometheus文本格式输出 {@link MetricsManager} 的指标，
+ * 默认只监听本机。指标名称和桶标签在创建时预先编码为字节，抓取时直接把数字写入复用的响应缓冲区，
+ * 除缓冲区扩容外不分配对象。请求只在HttpServer的单个分发线程上处理。</p>
+ */
+public final class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final byte[] INF_BUCKET = bytes("_bucket{le=\"+Inf\"} ");
+    private static final byte[] SUM = bytes("_sum ");
+    private static final byte[] COUNT = bytes("_count ");
+    // values() 每次调用都会复制数组，只取一次
+    private static final MetricsManager.Counter[] COUNTERS = MetricsManager.Counter.values();
+    private static final MetricsManager.Timer[] TIMERS = MetricsManager.Timer.values();
+
+    // 当前运行的接口和对应的设置，由类锁保护
+    private static PrometheusExporter instance;
+    private static Settings.MetricsEndpoint activeSettings;
+
+    private final MetricsManager metrics;
+    // 每个计数器的 "# TYPE ...\nname " 前缀
+    private final byte[][] counterPrefixes;
+    // 每个计时器的 "# TYPE ...\n" 头部和指标名称
+    private final byte[][] timerHeaders;
+    private final byte[][] timerNames;
+    // 每个桶的 "_bucket{le=\"...\"} " 片段
+    private final byte[][] bucketLabels;
+    private final byte[] digits = new byte[20];
+    private byte[] buffer = new byte[4096];
+    private int length;
+    private HttpServer server;
+
+    PrometheusExporter(MetricsManager metrics) {
+        this.metrics = metrics;
+
+        counterPrefixes = new byte[COUNTERS.length][];
+        for (MetricsManager.Counter counter : COUNTERS) {
+            String name = "fastgui_" + counter.getKey() + "_total";
+            counterPrefixes[counter.ordinal()] = bytes("# TYPE " + name + " counter\n" + name + " ");
+        }
+
+        timerHeaders = new byte[TIMERS.length][];
+        timerNames = new byte[TIMERS.length][];
+        for (MetricsManager.Timer timer : TIMERS) {
+            String name = "fastgui_" + timer.getKey() + "_seconds";
+            timerHeaders[timer.ordinal()] = bytes("# TYPE " + name + " histogram\n");
+            timerNames[timer.ordinal()] = bytes(name);
+        }
+
+        long[] bounds = MetricsManager.Histogram.BOUNDS_MICROS;
+        bucketLabels = new byte[bounds.length][];
+        for (int i = 0; i < bounds.length; i++) {
+            String seconds = BigDecimal.valueOf(bounds[i], 6).stripTrailingZeros().toPlainString();
+            bucketLabels[i] = bytes("_bucket{le=\"" + seconds + "\"} ");
+        }
+    }
+
+    /**
+     * 按设置启动、重启或停止指标接口，配置发布时调用
+     * <p>设置没有变化时不做任何事；启动失败（例如端口被占用）只记录警告，不影响插件运行。</p>
+     * @param settings 指标接口设置
+     * @param logger 插件日志
+     */
+    static synchronized void applySettings(Settings.MetricsEndpoint settings, Logger logger) {
+        if (settings.equals(activeSettings)) {
+            return;
+        }
+        stopServer();
+        activeSettings = settings;
+        if (!settings.enabled()) {
+            return;
+        }
+        PrometheusExporter exporter = new PrometheusExporter(MetricsManager.getInstance());
+        try {
+            exporter.start(settings.host(), settings.port());
+            instance = exporter;
+            logger.info("Prometheus指标接口已启动: http://" + settings.host() + ":" + exporter.getPort() + "/metrics");
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warning("无法启动Prometheus指标接口 " + settings.host() + ":" + settings.port() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 停止指标接口，插件禁用时调用
+     */
+    public static synchronized void shutdown() {
+        stopServer();
+        activeSettings = null;
+    }
+
+    private static void stopServer() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+
+    /**
+     * 绑定地址并开始处理请求
+     * @param host 监听地址
+     * @param port 监听端口，0表示随机端口
+     * @throws IOException 无法绑定地址时抛出
+     */
+    void start(String host, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", this::handle);
+        // 不设置Executor，请求在单个分发线程上处理，响应缓冲区可以直接复用
+        server.setExecutor(null);
+        server.start();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    private synchronized void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            int size = render();
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (head) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, size);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(buffer, 0, size);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 把当前指标以Prometheus文本格式写入响应缓冲区
+     * @return 写入的字节数
+     */
+    synchronized int render() {
+        length = 0;
+
+        for (MetricsManager.Counter counter : COUNTERS) {
+            write(counterPrefixes[counter.ordinal()]);
+            writeLong(metrics.get(counter));
+            writeByte('\n');
+        }
+
+        for (MetricsManager.Timer timer : TIMERS) {
+            MetricsManager.Histogram histogram = metrics.getHistogram(timer);
+            byte[] name = timerNames[timer.ordinal()];
+            write(timerHeaders[timer.ordinal()]);
+            // Prometheus的桶是累计计数
+            long cumulative = 0;
+            for (int i = 0; i < bucketLabels.length; i++) {
+                cumulative += histogram.getBucketCount(i);
+                write(name);
+                write(bucketLabels[i]);
+                writeLong(cumulative);
+                writeByte('\n');
+            }
+            cumulative += histogram.getBucketCount(bucketLabels.length);
+            write(name);
+            write(INF_BUCKET);
+            writeLong(cumulative);
+            writeByte('\n');
+            write(name);
+            write(SUM);
+            writeSeconds(histogram.getSumNanos());
+            writeByte('\n');
+            write(name);
+            write(COUNT);
+            writeLong(cumulative);
+            writeByte('\n');
+        }
+        return length;
+    }
+
+    /**
+     * 获取响应缓冲区，有效内容为前 {@link #render()} 返回的字节数
+     */
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        int count = digits.length - pos;
+        ensureCapacity(count);
+        System.arraycopy(digits, pos, buffer, length, count);
+        length += count;
+    }
+
+    /**
+     * 把纳秒写成秒，保留9位小数
+     */
+    private void writeSeconds(long nanos) {
+        long value = Math.max(0, nanos);
+        writeLong(value / 1_000_000_000L);
+        writeByte('.');
+        long fraction = value % 1_000_000_000L;
+        ensureCapacity(9);
+        for (int i = 8; i >= 0; i--) {
+            buffer[length + i] = (byte) ('0' + (fraction % 10));
+            fraction /= 10;
+        }
+        length += 9;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,283 @@
+package me.fastgui.managers;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 配置快照
+ * <p>加载或重新加载配置时一次性从 {@link FileConfiguration} 读取所有设置，之后不可修改。
+ * 由 {@link ConfigManager#getSettings()} 通过volatile字段发布，热路径上直接读取字段，不再做YAML路径查找；
+ * 重新加载时整体替换，读取方不会看到一半新一半旧的配置。</p>
+ *
+ * @param permissionCheckEnabled 是否启用UI交互权限检查
+ * @param defaultPermissionsEnabled 是否默认授予所有玩家基础权限
+ * @param inventoryCacheSize Inventory缓存大小
+ * @param uiItemCacheSize UI物品缓存大小
+ * @param commandSecurityCheckEnabled 是否启用命令安全检查
+ * @param disallowedCommands 不允许执行的命令（不可修改）
+ * @param debugModeEnabled 是否启用调试模式
+ * @param language 语言文件
+ * @param usePersistentData NBT是否优先使用PDC方案
+ * @param debugLog 调试日志输出设置
+ * @param metricsEndpoint Prometheus指标接口设置
+ * @param profiler 监听器tick开销分析设置
+ * @param warmup 启动时UI缓存预热设置
+ * @param hotReload UI文件热重载设置
+ */
+public record Settings(
+        boolean permissionCheckEnabled,
+        boolean defaultPermissionsEnabled,
+        int inventoryCacheSize,
+        int uiItemCacheSize,
+        boolean commandSecurityCheckEnabled,
+        List<String> disallowedCommands,
+        boolean debugModeEnabled,
+        String language,
+        boolean usePersistentData,
+        DebugLog debugLog,
+        MetricsEndpoint metricsEndpoint,
+        Profiler profiler,
+        Warmup warmup,
+        HotReload hotReload) {
+
+    /** 配置尚未加载时使用的默认设置 */
+    public static final Settings DEFAULTS = new Settings(
+            ConfigManager.DEFAULT_PERMISSION_CHECK_ENABLED,
+            ConfigManager.DEFAULT_ENABLE_DEFAULT_PERMISSIONS,
+            ConfigManager.DEFAULT_INVENTORY_CACHE_SIZE,
+            ConfigManager.DEFAULT_UI_ITEM_CACHE_SIZE,
+            ConfigManager.DEFAULT_COMMAND_SECURITY_CHECK_ENABLED,
+            parseCommands(ConfigManager.DEFAULT_DISALLOWED_COMMANDS),
+            ConfigManager.DEFAULT_DEBUG_MODE_ENABLED,
+            ConfigManager.DEFAULT_LANGUAGE,
+            ConfigManager.DEFAULT_USE_PERSISTENT_DATA,
+            DebugLog.DEFAULTS,
+            MetricsEndpoint.DEFAULTS,
+            Profiler.DEFAULTS,
+            Warmup.DEFAULTS,
+            HotReload.DEFAULTS);
+
+    public Settings {
+        disallowedCommands = disallowedCommands != null ? List.copyOf(disallowedCommands) : Collections.emptyList();
+        debugLog = debugLog != null ? debugLog : DebugLog.DEFAULTS;
+        metricsEndpoint = metricsEndpoint != null ? metricsEndpoint : MetricsEndpoint.DEFAULTS;
+        profiler = profiler != null ? profiler : Profiler.DEFAULTS;
+        warmup = warmup != null ? warmup : Warmup.DEFAULTS;
+        hotReload = hotReload != null ? hotReload : HotReload.DEFAULTS;
+    }
+
+    /**
+     * 从配置文件读取设置
+     * @param config 配置文件对象
+     * @return 设置快照
+     */
+    public static Settings from(FileConfiguration config) {
+        if (config == null) {
+            return DEFAULTS;
+        }
+        return new Settings(
+                config.getBoolean("settings.permission-check-enabled", ConfigManager.DEFAULT_PERMISSION_CHECK_ENABLED),
+                config.getBoolean("settings.enable-default-permissions", ConfigManager.DEFAULT_ENABLE_DEFAULT_PERMISSIONS),
+                config.getInt("settings.inventory-cache-size", ConfigManager.DEFAULT_INVENTORY_CACHE_SIZE),
+                config.getInt("settings.ui-item-cache-size", ConfigManager.DEFAULT_UI_ITEM_CACHE_SIZE),
+                config.getBoolean("settings.command-security-check-enabled", ConfigManager.DEFAULT_COMMAND_SECURITY_CHECK_ENABLED),
+                parseCommands(config.getString("settings.disallowed-commands", ConfigManager.DEFAULT_DISALLOWED_COMMANDS)),
+                config.getBoolean("settings.debug-mode-enabled", ConfigManager.DEFAULT_DEBUG_MODE_ENABLED),
+                config.getString("settings.language", ConfigManager.DEFAULT_LANGUAGE),
+                config.getBoolean("nbt.use_persistent_data", ConfigManager.DEFAULT_USE_PERSISTENT_DATA),
+                new DebugLog(
+                        config.getBoolean("settings.debug-log.async", ConfigManager.DEFAULT_DEBUG_LOG_ASYNC),
+                        config.getInt("settings.debug-log.buffer-size", ConfigManager.DEFAULT_DEBUG_LOG_BUFFER_SIZE),
+                        config.getInt("settings.debug-log.max-file-size-mb", ConfigManager.DEFAULT_DEBUG_LOG_MAX_FILE_SIZE_MB),
+                        config.getInt("settings.debug-log.max-files", ConfigManager.DEFAULT_DEBUG_LOG_MAX_FILES),
+                        parseSample(config.getString("settings.debug-log.sample-players", "")),
+                        parseSample(config.getString("settings.debug-log.sample-uis", ""))),
+                new MetricsEndpoint(
+                        config.getBoolean("settings.metrics-endpoint.enabled", ConfigManager.DEFAULT_METRICS_ENDPOINT_ENABLED),
+                        config.getString("settings.metrics-endpoint.host", ConfigManager.DEFAULT_METRICS_ENDPOINT_HOST),
+                        config.getInt("settings.metrics-endpoint.port", ConfigManager.DEFAULT_METRICS_ENDPOINT_PORT)),
+                new Profiler(
+                        config.getBoolean("settings.tick-profiler.enabled", ConfigManager.DEFAULT_TICK_PROFILER_ENABLED),
+                        config.getDouble("settings.tick-profiler.budget-ms", ConfigManager.DEFAULT_TICK_PROFILER_BUDGET_MS),
+                        config.getBoolean("settings.tick-profiler.dump-slow-ticks", ConfigManager.DEFAULT_TICK_PROFILER_DUMP_SLOW_TICKS)),
+                new Warmup(
+                        config.getBoolean("settings.cache-warmup.enabled", ConfigManager.DEFAULT_CACHE_WARMUP_ENABLED),
+                        config.getInt("settings.cache-warmup.parallelism", ConfigManager.DEFAULT_CACHE_WARMUP_PARALLELISM),
+                        config.getInt("settings.cache-warmup.per-tick", ConfigManager.DEFAULT_CACHE_WARMUP_PER_TICK)),
+                new HotReload(
+                        config.getBoolean("settings.hot-reload.enabled", ConfigManager.DEFAULT_HOT_RELOAD_ENABLED),
+                        config.getInt("settings.hot-reload.debounce-ms", ConfigManager.DEFAULT_HOT_RELOAD_DEBOUNCE_MS)));
+    }
+
+    /**
+     * 复制设置并修改调试模式
+     */
+    public Settings withDebugModeEnabled(boolean enabled) {
+        return new Settings(permissionCheckEnabled, defaultPermissionsEnabled, inventoryCacheSize, uiItemCacheSize,
+                commandSecurityCheckEnabled, disallowedCommands, enabled, language, usePersistentData, debugLog, metricsEndpoint, profiler, warmup, hotReload);
+    }
+
+    /**
+     * 复制设置并修改语言
+     */
+    public Settings withLanguage(String languageCode) {
+        return new Settings(permissionCheckEnabled, defaultPermissionsEnabled, inventoryCacheSize, uiItemCacheSize,
+                commandSecurityCheckEnabled, disallowedCommands, debugModeEnabled, languageCode, usePersistentData, debugLog, metricsEndpoint, profiler, warmup, hotReload);
+    }
+
+    /**
+     * 解析逗号分隔的命令列表
+     */
+    private static List<String> parseCommands(String value) {
+        List<String> commands = new ArrayList<>();
+        if (value != null) {
+            for (String command : value.split(",")) {
+                commands.add(command);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * 解析逗号分隔的采样列表，统一转为小写并去除空项
+     */
+    private static Set<String> parseSample(String value) {
+        Set<String> entries = new HashSet<>();
+        if (value != null) {
+            for (String entry : value.split(",")) {
+                String trimmed = entry.trim().toLowerCase(Locale.ROOT);
+                if (!trimmed.isEmpty()) {
+                    entries.add(trimmed);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 调试日志输出设置
+     *
+     * @param async 是否通过后台线程异步写入 logs/fastgui-debug.log
+     * @param bufferSize 异步缓冲区容量（日志条数）
+     * @param maxFileSizeMb 单个日志文件大小上限（MB）
+     * @param maxFiles 保留的日志文件数量
+     * @param samplePlayers 只记录这些玩家的调试日志，为空时记录所有玩家
+     * @param sampleUIs 只记录这些UI的调试日志，为空时记录所有UI
+     */
+    public record DebugLog(
+            boolean async,
+            int bufferSize,
+            int maxFileSizeMb,
+            int maxFiles,
+            Set<String> samplePlayers,
+            Set<String> sampleUIs) {
+
+        public static final DebugLog DEFAULTS = new DebugLog(
+                ConfigManager.DEFAULT_DEBUG_LOG_ASYNC,
+                ConfigManager.DEFAULT_DEBUG_LOG_BUFFER_SIZE,
+                ConfigManager.DEFAULT_DEBUG_LOG_MAX_FILE_SIZE_MB,
+                ConfigManager.DEFAULT_DEBUG_LOG_MAX_FILES,
+                Collections.emptySet(),
+                Collections.emptySet());
+
+        public DebugLog {
+            samplePlayers = samplePlayers != null ? Set.copyOf(samplePlayers) : Collections.emptySet();
+            sampleUIs = sampleUIs != null ? Set.copyOf(sampleUIs) : Collections.emptySet();
+        }
+
+        /**
+         * 检查玩家和UI是否在采样范围内
+         * @param playerName 玩家名称，未知时为null
+         * @param uiId UI ID，未知时为null
+         * @return 是否记录调试日志
+         */
+        public boolean isSampled(String playerName, String uiId) {
+            if (!samplePlayers.isEmpty()
+                    && (playerName == null || !samplePlayers.contains(playerName.toLowerCase(Locale.ROOT)))) {
+                return false;
+            }
+            return sampleUIs.isEmpty() || (uiId != null && sampleUIs.contains(uiId.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Prometheus指标接口设置
+     *
+     * @param enabled 是否启用HTTP指标接口
+     * @param host 监听地址，默认只监听本机
+     * @param port 监听端口
+     */
+    public record MetricsEndpoint(boolean enabled, String host, int port) {
+
+        public static final MetricsEndpoint DEFAULTS = new MetricsEndpoint(
+                ConfigManager.DEFAULT_METRICS_ENDPOINT_ENABLED,
+                ConfigManager.DEFAULT_METRICS_ENDPOINT_HOST,
+                ConfigManager.DEFAULT_METRICS_ENDPOINT_PORT);
+
+        public MetricsEndpoint {
+            host = host != null && !host.isBlank() ? host.trim() : ConfigManager.DEFAULT_METRICS_ENDPOINT_HOST;
+        }
+    }
+
+    /**
+     * 监听器tick开销分析设置
+     *
+     * @param enabled 是否统计各监听器每tick的耗时
+     * @param budgetMs 每tick允许FastGUI使用的时间（毫秒），超过时计为慢tick
+     * @param dumpSlowTicks 是否把慢tick的耗时明细写入 logs/fastgui-slow-ticks.log
+     */
+    public record Profiler(boolean enabled, double budgetMs, boolean dumpSlowTicks) {
+
+        public static final Profiler DEFAULTS = new Profiler(
+                ConfigManager.DEFAULT_TICK_PROFILER_ENABLED,
+                ConfigManager.DEFAULT_TICK_PROFILER_BUDGET_MS,
+                ConfigManager.DEFAULT_TICK_PROFILER_DUMP_SLOW_TICKS);
+
+        public Profiler {
+            budgetMs = budgetMs > 0 ? budgetMs : ConfigManager.DEFAULT_TICK_PROFILER_BUDGET_MS;
+        }
+    }
+
+    /**
+     * 启动时UI缓存预热设置
+     *
+     * @param enabled 是否在读取UI表后按历史打开次数预先加载UI
+     * @param parallelism 读取和反序列化UI文件的线程数
+     * @param perTick 每tick最多放入缓存的UI数量
+     */
+    public record Warmup(boolean enabled, int parallelism, int perTick) {
+
+        public static final Warmup DEFAULTS = new Warmup(
+                ConfigManager.DEFAULT_CACHE_WARMUP_ENABLED,
+                ConfigManager.DEFAULT_CACHE_WARMUP_PARALLELISM,
+                ConfigManager.DEFAULT_CACHE_WARMUP_PER_TICK);
+
+        public Warmup {
+            parallelism = parallelism > 0 ? parallelism : ConfigManager.DEFAULT_CACHE_WARMUP_PARALLELISM;
+            perTick = perTick > 0 ? perTick : ConfigManager.DEFAULT_CACHE_WARMUP_PER_TICK;
+        }
+    }
+
+    /**
+     * UI文件热重载设置
+     *
+     * @param enabled 是否监视 Fast GUI 文件夹和 Table.dat，文件变化时只重新加载受影响的UI
+     * @param debounceMs 合并连续文件事件的等待时间（毫秒），部署时多次写入只触发一次重新加载
+     */
+    public record HotReload(boolean enabled, int debounceMs) {
+
+        public static final HotReload DEFAULTS = new HotReload(
+                ConfigManager.DEFAULT_HOT_RELOAD_ENABLED,
+                ConfigManager.DEFAULT_HOT_RELOAD_DEBOUNCE_MS);
+
+        public HotReload {
+            debounceMs = debounceMs >= 0 ? debounceMs : ConfigManager.DEFAULT_HOT_RELOAD_DEBOUNCE_MS;
+        }
+    }
+}
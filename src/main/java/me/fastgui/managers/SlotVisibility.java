@@ -0,0 +1,179 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import me.fastgui.managers.UIManager.InventorySlotData;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 槽位显示条件
+ * <p>每个页面的显示条件在第一次使用时编译：所有不同的条件各占一个位，每个槽位记录需要满足和需要不满足的条件位。
+ * 打开界面时只需对玩家计算一次条件掩码，然后用一次数组过滤隐藏不满足条件的槽位。</p>
+ * <p>条件格式（多个条件用逗号分隔，需要全部满足，前缀 {@code !} 表示取反）：</p>
+ * <ul>
+ *   <li>{@code op} - 玩家是OP</li>
+ *   <li>{@code perm:<节点>} - 玩家拥有权限节点</li>
+ *   <li>{@code world:<世界名>} - 玩家在指定世界</li>
+ * </ul>
+ */
+public final class SlotVisibility {
+
+    /** 没有任何显示条件的页面 */
+    public static final SlotVisibility NONE = new SlotVisibility(new String[0], new long[0], new long[0]);
+
+    // 一个long最多表示64个不同的条件
+    private static final int MAX_CONDITIONS = 64;
+
+    private final String[] conditions; // 条件位 -> 条件
+    private final long[] required;     // 槽位 -> 需要满足的条件位
+    private final long[] forbidden;    // 槽位 -> 需要不满足的条件位
+
+    private SlotVisibility(String[] conditions, long[] required, long[] forbidden) {
+        this.conditions = conditions;
+        this.required = required;
+        this.forbidden = forbidden;
+    }
+
+    /**
+     * 编译页面的显示条件
+     * @param slotData 页面的槽位数据
+     * @return 编译后的显示条件，没有任何条件时返回 {@link #NONE}
+     */
+    public static SlotVisibility compile(InventorySlotData[] slotData) {
+        if (slotData == null) {
+            return NONE;
+        }
+
+        List<String> conditions = new ArrayList<>();
+        long[] required = new long[slotData.length];
+        long[] forbidden = new long[slotData.length];
+        boolean hasCondition = false;
+
+        for (int i = 0; i < slotData.length; i++) {
+            String raw = slotData[i] != null ? slotData[i].getVisibility() : null;
+            if (raw == null || raw.isEmpty()) {
+                continue;
+            }
+
+            for (String part : raw.split(",")) {
+                String condition = part.trim().toLowerCase(Locale.ROOT);
+                boolean negate = condition.startsWith("!");
+                if (negate) {
+                    condition = condition.substring(1).trim();
+                }
+                if (!isValidCondition(condition)) {
+                    FastGUI.getInstance().getLogger().warning("无效的显示条件 (槽位 " + i + "): " + part.trim());
+                    continue;
+                }
+
+                int bit = conditions.indexOf(condition);
+                if (bit < 0) {
+                    if (conditions.size() >= MAX_CONDITIONS) {
+                        FastGUI.getInstance().getLogger().warning("单个页面最多支持" + MAX_CONDITIONS + "个不同的显示条件，已忽略: " + condition);
+                        continue;
+                    }
+                    conditions.add(condition);
+                    bit = conditions.size() - 1;
+                }
+
+                if (negate) {
+                    forbidden[i] |= 1L << bit;
+                } else {
+                    required[i] |= 1L << bit;
+                }
+                hasCondition = true;
+            }
+        }
+
+        if (!hasCondition) {
+            return NONE;
+        }
+        return new SlotVisibility(conditions.toArray(new String[0]), required, forbidden);
+    }
+
+    /**
+     * 检查条件格式是否有效
+     */
+    private static boolean isValidCondition(String condition) {
+        if (condition.equals("op")) {
+            return true;
+        }
+        return (condition.startsWith("perm:") && condition.length() > 5)
+                || (condition.startsWith("world:") && condition.length() > 6);
+    }
+
+    /**
+     * 是否没有任何显示条件
+     */
+    public boolean isEmpty() {
+        return conditions.length == 0;
+    }
+
+    /**
+     * 计算玩家的条件掩码
+     * @param player 玩家
+     * @return 条件掩码，第i位表示第i个条件是否满足
+     */
+    public long evaluate(Player player) {
+        long mask = 0L;
+        for (int bit = 0; bit < conditions.length; bit++) {
+            if (test(player, conditions[bit])) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 检查槽位对指定掩码是否可见
+     * @param slot 槽位索引
+     * @param mask 玩家的条件掩码
+     * @return 是否可见
+     */
+    public boolean isVisible(int slot, long mask) {
+        if (slot < 0 || slot >= required.length) {
+            return true;
+        }
+        return (required[slot] & ~mask) == 0 && (forbidden[slot] & mask) == 0;
+    }
+
+    /**
+     * 按玩家掩码过滤页面物品
+     * @param template 页面物品模板
+     * @param mask 玩家的条件掩码
+     * @return 隐藏槽位为null的新数组；没有显示条件时直接返回模板
+     */
+    public ItemStack[] filter(ItemStack[] template, long mask) {
+        if (isEmpty() || template == null) {
+            return template;
+        }
+        ItemStack[] result = template.clone();
+        int slots = Math.min(result.length, required.length);
+        for (int i = 0; i < slots; i++) {
+            if ((required[i] & ~mask) != 0 || (forbidden[i] & mask) != 0) {
+                result[i] = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 检查单个条件
+     */
+    private static boolean test(Player player, String condition) {
+        if (condition.equals("op")) {
+            return player.isOp();
+        }
+        if (condition.startsWith("perm:")) {
+            return player.hasPermission(condition.substring(5));
+        }
+        if (condition.startsWith("world:")) {
+            return player.getWorld() != null && player.getWorld().getName().equalsIgnoreCase(condition.substring(6));
+        }
+        return true;
+    }
+}
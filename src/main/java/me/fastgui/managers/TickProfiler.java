@@ -0,0 +1,286 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * 监听器tick开销分析器
+ * <p>记录每个tick内各个FastGUI监听器消耗的时间，保存最近 {@link #WINDOW_TICKS} 个tick的耗时用于计算滑动平均值和最差tick，
+ * 总耗时超过配置的预算时计为慢tick，并可选地把各监听器的耗时明细写入 logs/fastgui-slow-ticks.log。</p>
+ * <p>监听器和tick结束任务都在主线程执行，所有数据只在主线程读写，不需要加锁。</p>
+ */
+public class TickProfiler {
+
+    private static final TickProfiler INSTANCE = new TickProfiler();
+
+    /** 滑动窗口的tick数（1分钟） */
+    static final int WINDOW_TICKS = 1200;
+    // 慢tick日志超过此大小时轮转
+    private static final long MAX_DUMP_FILE_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * 被统计的监听器
+     */
+    public enum Source {
+        INVENTORY_CLICK("InventoryClickListener"),
+        NPC_CLICK("NPCClickListener"),
+        PLAYER_INTERACT("PlayerInteractListener"),
+        PLAYER_JOIN_WORLD("PlayerJoinWorldListener"),
+        ENTITY_SPAWN("EntitySpawnListener");
+
+        private final String displayName;
+
+        Source(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    private static final int SOURCES = Source.values().length;
+    // 窗口数组中最后一行保存所有监听器的合计
+    private static final int TOTAL = SOURCES;
+
+    // 当前tick的累计值
+    private final long[] tickNanos = new long[SOURCES];
+    private final int[] tickEvents = new int[SOURCES];
+    private final long[] tickMaxEventNanos = new long[SOURCES];
+
+    // 最近WINDOW_TICKS个tick的耗时，环形缓冲
+    private final long[][] window = new long[SOURCES + 1][WINDOW_TICKS];
+    private final long[] windowSums = new long[SOURCES + 1];
+    private final long[] worstNanos = new long[SOURCES + 1];
+    private int windowIndex;
+    private int windowFilled;
+    private long ticks;
+    private long slowTicks;
+
+    private volatile boolean enabled = Settings.Profiler.DEFAULTS.enabled();
+    private volatile long budgetNanos = toNanos(Settings.Profiler.DEFAULTS.budgetMs());
+    private volatile boolean dumpSlowTicks = Settings.Profiler.DEFAULTS.dumpSlowTicks();
+    private FastGUI plugin;
+    private BukkitTask task;
+
+    TickProfiler() {
+    }
+
+    /**
+     * 获取分析器实例
+     */
+    public static TickProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 应用新的配置
+     * @param settings 分析器设置
+     */
+    void applySettings(Settings.Profiler settings) {
+        budgetNanos = toNanos(settings.budgetMs());
+        dumpSlowTicks = settings.dumpSlowTicks();
+        enabled = settings.enabled();
+    }
+
+    /**
+     * 启动每tick执行的统计任务
+     * @param plugin 插件实例
+     */
+    public synchronized void start(FastGUI plugin) {
+        if (task == null) {
+            this.plugin = plugin;
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::endTick, 1L, 1L);
+        }
+    }
+
+    /**
+     * 停止统计任务
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        plugin = null;
+    }
+
+    /**
+     * 记录一次监听器调用的耗时
+     * @param source 监听器
+     * @param startNanos 开始时间（{@link System#nanoTime()}）
+     */
+    public void record(Source source, long startNanos) {
+        if (enabled) {
+            recordNanos(source, System.nanoTime() - startNanos);
+        }
+    }
+
+    void recordNanos(Source source, long nanos) {
+        int i = source.ordinal();
+        tickNanos[i] += nanos;
+        tickEvents[i]++;
+        if (nanos > tickMaxEventNanos[i]) {
+            tickMaxEventNanos[i] = nanos;
+        }
+    }
+
+    /**
+     * 结束当前tick：写入滑动窗口，更新最差值，检查预算
+     */
+    void endTick() {
+        if (!enabled) {
+            return;
+        }
+        long total = 0;
+        for (int i = 0; i < SOURCES; i++) {
+            push(i, tickNanos[i]);
+            total += tickNanos[i];
+        }
+        push(TOTAL, total);
+        windowIndex = (windowIndex + 1) % WINDOW_TICKS;
+        if (windowFilled < WINDOW_TICKS) {
+            windowFilled++;
+        }
+        ticks++;
+
+        if (total > budgetNanos) {
+            slowTicks++;
+            if (dumpSlowTicks) {
+                dumpSlowTick(total);
+            }
+        }
+
+        for (int i = 0; i < SOURCES; i++) {
+            tickNanos[i] = 0;
+            tickEvents[i] = 0;
+            tickMaxEventNanos[i] = 0;
+        }
+    }
+
+    private void push(int row, long nanos) {
+        windowSums[row] += nanos - window[row][windowIndex];
+        window[row][windowIndex] = nanos;
+        if (nanos > worstNanos[row]) {
+            worstNanos[row] = nanos;
+        }
+    }
+
+    /**
+     * 把慢tick的各监听器耗时写入日志文件，文件写入在异步线程完成
+     */
+    private void dumpSlowTick(long totalNanos) {
+        FastGUI current = plugin;
+        if (current == null) {
+            return;
+        }
+        StringBuilder line = new StringBuilder(160);
+        line.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT).format(new Date()))
+                .append(" tick=").append(ticks)
+                .append(" total=").append(formatMillis(totalNanos)).append("ms")
+                .append(" budget=").append(formatMillis(budgetNanos)).append("ms");
+        for (Source source : Source.values()) {
+            int i = source.ordinal();
+            if (tickEvents[i] > 0) {
+                line.append(" | ").append(source.getDisplayName())
+                        .append(' ').append(formatMillis(tickNanos[i])).append("ms")
+                        .append(" (").append(tickEvents[i]).append(" events, max ")
+                        .append(formatMillis(tickMaxEventNanos[i])).append("ms)");
+            }
+        }
+        line.append(System.lineSeparator());
+        File logFile = new File(new File(current.getDataFolder(), "logs"), "fastgui-slow-ticks.log");
+        current.getServer().getScheduler().runTaskAsynchronously(current, () -> appendLine(logFile, line.toString()));
+    }
+
+    private static synchronized void appendLine(File logFile, String line) {
+        File directory = logFile.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            return;
+        }
+        if (logFile.length() > MAX_DUMP_FILE_SIZE) {
+            File old = new File(directory, logFile.getName() + ".1");
+            if (old.exists()) {
+                old.delete();
+            }
+            logFile.renameTo(old);
+        }
+        try (Writer writer = new FileWriter(logFile, StandardCharsets.UTF_8, true)) {
+            writer.write(line);
+        } catch (IOException e) {
+            FastGUI.getInstance().getLogger().warning("写入慢tick日志失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取监听器的统计
+     * @param source 监听器
+     */
+    public Stats getStats(Source source) {
+        return stats(source.ordinal());
+    }
+
+    /**
+     * 获取所有监听器合计的统计
+     */
+    public Stats getTotalStats() {
+        return stats(TOTAL);
+    }
+
+    private Stats stats(int row) {
+        long windowWorst = 0;
+        for (int t = 0; t < windowFilled; t++) {
+            windowWorst = Math.max(windowWorst, window[row][t]);
+        }
+        long average = windowFilled > 0 ? windowSums[row] / windowFilled : 0;
+        return new Stats(average, windowWorst, worstNanos[row]);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public long getBudgetNanos() { return budgetNanos; }
+    public long getTicks() { return ticks; }
+    public long getSlowTicks() { return slowTicks; }
+    /** 滑动窗口中已记录的tick数 */
+    public int getWindowTicks() { return windowFilled; }
+
+    /**
+     * 清零所有统计
+     */
+    public void reset() {
+        for (int row = 0; row <= SOURCES; row++) {
+            Arrays.fill(window[row], 0);
+            windowSums[row] = 0;
+            worstNanos[row] = 0;
+        }
+        windowIndex = 0;
+        windowFilled = 0;
+        ticks = 0;
+        slowTicks = 0;
+    }
+
+    private static long toNanos(double millis) {
+        return (long) (millis * 1_000_000L);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 监听器的tick耗时统计
+     *
+     * @param averageNanos 滑动窗口内每tick的平均耗时
+     * @param windowWorstNanos 滑动窗口内最差tick的耗时
+     * @param worstNanos 开始统计以来最差tick的耗时
+     */
+    public record Stats(long averageNanos, long windowWorstNanos, long worstNanos) {
+    }
+}
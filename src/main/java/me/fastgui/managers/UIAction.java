@@ -0,0 +1,98 @@
+package me.fastgui.managers;
+
+import java.util.Locale;
+
+/**
+ * 按钮动作
+ * <p>按钮命令在UI加载时解析为动作并缓存在槽位数据中。内置动作（打开UI、关闭、返回、翻页、滚动、音效）
+ * 由 {@link UIOpener#executeAction} 直接执行，只有普通命令才会交给控制台执行。</p>
+ * <ul>
+ *   <li>{@code open:<ui>} - 打开另一个FastGUI界面</li>
+ *   <li>{@code close} - 关闭界面</li>
+ *   <li>{@code back} - 返回上一个界面</li>
+ *   <li>{@code page:<next|prev|n>} - 翻页</li>
+ *   <li>{@code scroll:<next|prev|n>} - 滚动列表</li>
+ *   <li>{@code sound:<key>} - 播放音效</li>
+ * </ul>
+ */
+public final class UIAction {
+
+    /**
+     * 动作类型
+     */
+    public enum Type {
+        COMMAND,
+        OPEN,
+        CLOSE,
+        BACK,
+        PAGE,
+        SCROLL,
+        SOUND
+    }
+
+    private final Type type;
+    private final String argument;
+
+    private UIAction(Type type, String argument) {
+        this.type = type;
+        this.argument = argument;
+    }
+
+    /**
+     * 解析按钮命令
+     * @param raw 按钮命令
+     * @return 动作，如果命令为空则返回null
+     */
+    public static UIAction parse(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String value = raw.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.equals("close")) {
+            return new UIAction(Type.CLOSE, null);
+        }
+        if (lower.equals("back")) {
+            return new UIAction(Type.BACK, null);
+        }
+
+        int colon = value.indexOf(':');
+        if (colon > 0 && colon < value.length() - 1) {
+            String argument = value.substring(colon + 1).trim();
+            switch (lower.substring(0, colon)) {
+                case "open":
+                    return new UIAction(Type.OPEN, argument);
+                case "page":
+                    return new UIAction(Type.PAGE, argument);
+                case "scroll":
+                    return new UIAction(Type.SCROLL, argument);
+                case "sound":
+                    return new UIAction(Type.SOUND, argument);
+                default:
+                    break;
+            }
+        }
+
+        // 其他内容都视为普通命令
+        return new UIAction(Type.COMMAND, value.startsWith("/") ? value.substring(1) : value);
+    }
+
+    public Type getType() { return type; }
+    public String getArgument() { return argument; }
+
+    /**
+     * 是否为内置动作（不需要执行命令）
+     */
+    public boolean isNative() {
+        return type != Type.COMMAND;
+    }
+
+    @Override
+    public String toString() {
+        return argument != null ? type + ":" + argument : type.toString();
+    }
+}
@@ -0,0 +1,218 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * UI文件热重载
+ * <p>通过 {@link WatchService} 监视 Table.dat、Fast GUI 文件夹和其中每个UI的子文件夹。一段时间内的连续事件合并为一批，
+ * 在监视线程中重新读取变化后的UI表，然后交给主线程由 {@link UIManager#applyFileChanges} 只重新加载受影响的UI，
+ * 不需要 /fg refresh 清空整个缓存。</p>
+ */
+final class UIFileWatcher implements Runnable {
+
+    private static final WatchEvent.Kind<?>[] KINDS = {ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE};
+
+    private final FastGUI plugin;
+    private final UIManager uiManager;
+    private final Settings.HotReload settings;
+    private final File tableFile;
+    private final Path dataFolder;
+    private final Path uiFolder;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    /**
+     * 一批文件变化
+     * @param table 重新读取的UI表，表文件没有变化或读取失败时为null
+     * @param tableModified 读取前表文件的修改时间
+     * @param tableLength 读取前表文件的大小
+     * @param files 有变化的UI文件名
+     * @param all 事件丢失（OVERFLOW）时为true，需要检查所有UI
+     */
+    record Changes(Map<String, String> table, long tableModified, long tableLength, Set<String> files, boolean all) {
+    }
+
+    UIFileWatcher(FastGUI plugin, UIManager uiManager, Settings.HotReload settings, File tableFile, File uiFolder) {
+        this.plugin = plugin;
+        this.uiManager = uiManager;
+        this.settings = settings;
+        this.tableFile = tableFile;
+        this.dataFolder = tableFile.getParentFile().toPath();
+        this.uiFolder = uiFolder.toPath();
+    }
+
+    Settings.HotReload getSettings() {
+        return settings;
+    }
+
+    /**
+     * 注册监视的目录并启动监视线程
+     * @throws IOException 无法创建WatchService或注册数据目录时抛出
+     */
+    void start() throws IOException {
+        watchService = dataFolder.getFileSystem().newWatchService();
+        register(dataFolder);
+        registerUIFolder();
+        running = true;
+        thread = new Thread(this, "FastGUI-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("已开始监视UI文件变化: " + uiFolder);
+    }
+
+    /**
+     * 停止监视
+     */
+    void stop() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            plugin.getLogger().fine("关闭文件监视失败: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                Batch batch = new Batch();
+                collect(watchService.take(), batch);
+                // 编辑器和部署脚本通常分多次写入，等到一段时间内没有新事件再处理
+                WatchKey key;
+                while ((key = watchService.poll(settings.debounceMs(), TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, batch);
+                }
+                flush(batch);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 已停止监视
+        }
+    }
+
+    /**
+     * 把一个目录的事件记录到批次中
+     */
+    private void collect(WatchKey key, Batch batch) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                batch.table = true;
+                batch.all = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path name = (Path) event.context();
+            String fileName = name.toString();
+            if (directory.equals(dataFolder)) {
+                if (fileName.equals(tableFile.getName())) {
+                    batch.table = true;
+                } else if (name.equals(uiFolder.getFileName()) && event.kind() == ENTRY_CREATE) {
+                    registerUIFolder();
+                }
+            } else if (directory.equals(uiFolder)) {
+                // UI子文件夹被创建或删除，子文件夹与UI文件同名
+                if (event.kind() == ENTRY_CREATE) {
+                    registerQuietly(directory.resolve(name));
+                }
+                batch.files.add(fileName + ".dat");
+            } else if (fileName.endsWith(".dat")) {
+                batch.files.add(fileName);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    /**
+     * 在监视线程中读取变化后的UI表，然后交给主线程处理
+     */
+    private void flush(Batch batch) {
+        Map<String, String> table = null;
+        long modified = 0;
+        long length = 0;
+        if (batch.table && tableFile.exists()) {
+            modified = tableFile.lastModified();
+            length = tableFile.length();
+            try {
+                table = uiManager.readTable();
+            } catch (IOException e) {
+                plugin.getLogger().warning("重新读取UI表失败: " + e.getMessage());
+            }
+        }
+        if (table == null && batch.files.isEmpty() && !batch.all) {
+            return;
+        }
+        Changes changes = new Changes(table, modified, length, batch.files, batch.all);
+        if (running && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> uiManager.applyFileChanges(changes));
+        }
+    }
+
+    /**
+     * 注册 Fast GUI 文件夹和其中所有UI子文件夹
+     */
+    private void registerUIFolder() {
+        if (!Files.isDirectory(uiFolder)) {
+            return;
+        }
+        registerQuietly(uiFolder);
+        try (DirectoryStream<Path> folders = Files.newDirectoryStream(uiFolder, Files::isDirectory)) {
+            for (Path folder : folders) {
+                registerQuietly(folder);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("无法监视UI文件夹: " + e.getMessage());
+        }
+    }
+
+    private void registerQuietly(Path directory) {
+        try {
+            register(directory);
+        } catch (IOException e) {
+            plugin.getLogger().warning("无法监视文件夹 " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            directories.put(directory.register(watchService, KINDS), directory);
+        }
+    }
+
+    /**
+     * 监视线程中正在合并的一批事件
+     */
+    private static final class Batch {
+        final Set<String> files = new HashSet<>();
+        boolean table;
+        boolean all;
+    }
+}
@@ -1,14 +1,18 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.jfr.UILoadEvent;
+import me.fastgui.jfr.UISaveEvent;
 import me.fastgui.managers.ConfigManager;
 import me.fastgui.managers.LogManager;
 import me.fastgui.managers.NBTManager;
 import me.fastgui.managers.UIParser;
+import me.fastgui.utils.ErrorHandler;
 import me.fastgui.utils.UIItemParser;
 import me.fastgui.utils.UIItemParser.UIItem;
 import me.fastgui.utils.UIItemParser.UIButton;
 // ChatColor导入已移除，使用颜色代码替代
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -16,10 +20,19 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,6 +51,12 @@ public class UIManager {
     private final Map<String, InventoryData> loadedUIs; // UI ID -> 库存数据
     private final File tableFile; // 存储UI映射关系的表文件
     private final File fastGUIFolder; // UI数据主文件夹
+    private final File openCountsFile; // 存储各UI累计打开次数的文件
+    private final Map<String, LongAdder> openCounts = new ConcurrentHashMap<>(); // UI ID -> 累计打开次数
+    private final MetricsManager metrics = MetricsManager.getInstance();
+    private UIWarmup warmup; // 正在进行的启动预热
+    private UIFileWatcher fileWatcher; // UI文件热重载，未启用时为null
+    private static final int OPEN_COUNTS_VERSION = 1;
     
     /**
      * 构造函数，初始化UI管理器的核心组件
@@ -45,15 +64,39 @@ public class UIManager {
      * @param configManager 配置管理器
      */
     public UIManager(FastGUI plugin, ConfigManager configManager, NBTManager nbtManager, LogManager logManager) {
+        this(plugin, configManager, nbtManager, logManager, FastGUI.getInstance().getDataFolder());
+    }
+    
+    /**
+     * 使用指定的数据目录创建UI管理器，基准测试在没有运行中服务器的情况下使用
+     * @param dataFolder 插件数据目录，Table.dat 和 Fast GUI 文件夹位于其中
+     */
+    UIManager(FastGUI plugin, ConfigManager configManager, NBTManager nbtManager, LogManager logManager, File dataFolder) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.nbtManager = nbtManager;
         this.logManager = logManager;
         this.uiParser = new UIParser(plugin, configManager, logManager);
         uiTable = new HashMap<>();
-        loadedUIs = new HashMap<>();
-        tableFile = new File(FastGUI.getInstance().getDataFolder(), "Table.dat");
-        fastGUIFolder = new File(FastGUI.getInstance().getDataFolder(), "Fast GUI");
+        // 按访问顺序淘汰的缓存，容量由 settings.inventory-cache-size 控制
+        loadedUIs = new LinkedHashMap<String, InventoryData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InventoryData> eldest) {
+                return size() > getMaxCachedUIs();
+            }
+        };
+        tableFile = new File(dataFolder, "Table.dat");
+        fastGUIFolder = new File(dataFolder, "Fast GUI");
+        openCountsFile = new File(dataFolder, "OpenCounts.dat");
+    }
+    
+    /**
+     * 获取UI缓存容量
+     * @return 最多缓存的UI数量
+     */
+    private int getMaxCachedUIs() {
+        int size = configManager != null ? configManager.getInventoryCacheSize() : 0;
+        return size > 0 ? size : ConfigManager.DEFAULT_INVENTORY_CACHE_SIZE;
     }
     
     /**
@@ -64,6 +107,40 @@ public class UIManager {
         logManager.debugLog(message);
     }
     
+    /**
+     * 通过ErrorHandler报告异常，相同位置的相同异常会被限流
+     * @param site 出错位置
+     * @param message 日志消息
+     * @param e 异常对象
+     */
+    private void reportError(String site, String message, Exception e) {
+        ErrorHandler errorHandler = plugin != null ? plugin.getErrorHandler() : null;
+        if (errorHandler != null) {
+            errorHandler.report(site, message, e);
+        } else {
+            logManager.severe(message + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 参数化调试日志，调试模式关闭时不会拼接字符串，用于逐槽位的日志
+     * @param pattern 消息模板，{} 按顺序替换为参数
+     * @param arg 参数
+     */
+    private void debugLog(String pattern, Object arg) {
+        logManager.debug(pattern, arg);
+    }
+    
+    /**
+     * 参数化调试日志
+     * @param pattern 消息模板，{} 按顺序替换为参数
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    private void debugLog(String pattern, Object arg1, Object arg2) {
+        logManager.debug(pattern, arg1, arg2);
+    }
+    
     /**
      * 加载UI表数据
      * <p>从文件中读取UI ID与文件名的映射关系，并进行验证。</p>
@@ -75,6 +152,30 @@ public class UIManager {
             return;
         }
         
+        try {
+            uiTable.putAll(readTable());
+            debugLog("UI表加载完成，成功加载 " + uiTable.size() + " 个UI");
+            
+        } catch (IOException e) {
+            FastGUI.getInstance().getLogger().severe("加载UI表失败: " + e.getMessage());
+            // 尝试修复表文件
+            try {
+                debugLog("尝试重新创建UI表文件");
+                saveTable();
+            } catch (Exception ex) {
+                FastGUI.getInstance().getLogger().severe("重新创建UI表文件失败: " + ex.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 读取UI表文件
+     * <p>只读取文件，不修改当前的UI表，文件热重载时在后台线程中调用。</p>
+     * @return UI ID -> 文件名
+     * @throws IOException 表文件无法读取时抛出
+     */
+    Map<String, String> readTable() throws IOException {
+        Map<String, String> table = new LinkedHashMap<>();
         try (DataInputStream dis = new DataInputStream(new FileInputStream(tableFile))) {
             int size = dis.readInt();
             debugLog("开始加载UI表，共 " + size + " 个UI");
@@ -90,25 +191,14 @@ public class UIManager {
                         continue;
                     }
                     
-                    uiTable.put(id, fileName);
-                    FastGUI.getInstance().getLogger().fine("加载UI: ID=" + id + ", 文件名=" + fileName);
+                    table.put(id, fileName);
+                    debugLog("加载UI: ID={}, 文件名={}", id, fileName);
                 } catch (Exception e) {
                     FastGUI.getInstance().getLogger().warning("加载UI表项时出错: " + e.getMessage());
                 }
             }
-            
-            debugLog("UI表加载完成，成功加载 " + uiTable.size() + " 个UI");
-            
-        } catch (IOException e) {
-            FastGUI.getInstance().getLogger().severe("加载UI表失败: " + e.getMessage());
-            // 尝试修复表文件
-            try {
-                debugLog("尝试重新创建UI表文件");
-                saveTable();
-            } catch (Exception ex) {
-                FastGUI.getInstance().getLogger().severe("重新创建UI表文件失败: " + ex.getMessage());
-            }
         }
+        return table;
     }
     
     /**
@@ -294,6 +384,31 @@ public class UIManager {
      * @throws IOException 如果保存失败
      */
     private void saveUIData(String fileName, ItemStack[] contents, String worldName, String displayName, String containerType, String permission) {
+        InventoryData data = new InventoryData(worldName, contents, null, containerType, permission);
+        data.setDisplayName(displayName);
+        saveUIData(fileName, data);
+    }
+    
+    /**
+     * 保存UI数据到文件（包含附加页面和列表数据源等全部属性）
+     * <p>保存成功后把写入的文件状态记录到data中。</p>
+     * @param fileName 文件名
+     * @param data UI数据
+     */
+    void saveUIData(String fileName, InventoryData data) {
+        long start = System.nanoTime();
+        UISaveEvent saveEvent = new UISaveEvent();
+        saveEvent.begin();
+        long bytesWritten = 0;
+        String outcome = "error";
+        ItemStack[] contents = data.getContents();
+        String worldName = data.getWorldName();
+        String displayName = data.getDisplayName();
+        String containerType = data.getContainerType();
+        String permission = data.getPermission();
+        List<UIPage> extraPages = data.getExtraPages();
+        String listProvider = data.getListProvider();
+        
         File uiFolder = new File(fastGUIFolder, fileName.replace(".dat", ""));
         
         try {
@@ -311,8 +426,8 @@ public class UIManager {
             InventorySlotData[] slotData = generateSlotData(processedContents);
             
             try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(dataFile))) {
-                // 写入版本号，现在使用版本6表示支持权限节点的格式
-                dos.writeInt(6); // 版本6 - 支持权限节点的新格式
+                // 写入版本号，现在使用版本9表示支持显示条件的格式
+                dos.writeInt(9); // 版本9 - 支持槽位显示条件的新格式
                 
                 // 保存世界名称
                 dos.writeUTF(worldName);
@@ -361,7 +476,7 @@ public class UIManager {
                                 if (itemData != null && itemData.length > 0 && itemData.length < 1024 * 1024) { // 限制大小为1MB
                                     dos.writeInt(itemData.length);
                                     dos.write(itemData);
-                                    debugLog("保存展示物品 (槽位 " + i + "): " + item.getType().name());
+                                    debugLog("保存展示物品 (槽位 {}): {}", i, item.getType());
                                 } else {
                                     FastGUI.getInstance().getLogger().warning("保存展示物品时出错 (槽位 " + i + "): 物品数据无效");
                                     dos.writeInt(0);
@@ -383,40 +498,243 @@ public class UIManager {
                 
                 // 第二部分：UI实际数据（交互信息）
                 debugLog("保存UI实际数据（交互信息）...");
-                for (int i = 0; i < slotData.length; i++) {
-                    InventorySlotData slot = slotData[i];
-                    try {
-                        // 保存槽位类型
-                        dos.writeUTF(slot.getType());
-                        
-                        // 保存是否为按钮
-                        boolean isButton = slot.isButton();
-                        dos.writeBoolean(isButton);
-                        
-                        // 如果是按钮，保存按钮属性
-                        if (isButton) {
-                            dos.writeUTF(slot.getCommand() != null ? slot.getCommand() : "");
-                            dos.writeBoolean(slot.isCloseOnClick());
-                            dos.writeUTF(slot.getPermission() != null ? slot.getPermission() : "");
-                            debugLog("保存按钮交互数据 (槽位 " + i + "): 命令=" + slot.getCommand());
-                        }
-                    } catch (Exception e) {
-                        FastGUI.getInstance().getLogger().warning("保存交互数据时出错 (槽位 " + i + "): " + e.getMessage());
-                        try {
-                            dos.writeUTF("normal"); // 默认类型
-                            dos.writeBoolean(false); // 不是按钮
-                        } catch (Exception inner) {
-                            FastGUI.getInstance().getLogger().severe("保存交互数据标记时出错 (槽位 " + i + "): " + inner.getMessage());
-                        }
-                    }
+                writeInteractionData(dos, slotData);
+                
+                // 第三部分：附加页面（版本7新增），直接写入已序列化的物品数据
+                int pageCount = extraPages != null ? extraPages.size() : 0;
+                dos.writeInt(pageCount);
+                for (int p = 0; p < pageCount; p++) {
+                    writePageData(dos, extraPages.get(p));
+                    debugLog("保存附加页面: 第" + (p + 2) + "页");
+                }
+                
+                // 保存列表数据源ID（版本8新增）
+                boolean hasListProvider = listProvider != null && !listProvider.isEmpty();
+                dos.writeBoolean(hasListProvider);
+                if (hasListProvider) {
+                    dos.writeUTF(listProvider);
+                }
+                
+                // 保存槽位显示条件（版本9新增），只记录有条件的槽位：页面索引、槽位索引、条件
+                List<int[]> conditionSlots = new ArrayList<>();
+                List<String> conditions = new ArrayList<>();
+                collectVisibility(slotData, 0, conditionSlots, conditions);
+                for (int p = 0; p < pageCount; p++) {
+                    collectVisibility(extraPages.get(p).getInteractions(), p + 1, conditionSlots, conditions);
                 }
+                dos.writeInt(conditions.size());
+                for (int c = 0; c < conditions.size(); c++) {
+                    dos.writeInt(conditionSlots.get(c)[0]);
+                    dos.writeInt(conditionSlots.get(c)[1]);
+                    dos.writeUTF(conditions.get(c));
+                }
+                
+                bytesWritten = dos.size();
+                metrics.add(MetricsManager.Counter.DISK_BYTES_WRITTEN, bytesWritten);
             }
+            // 记录写入后的文件状态，文件监视收到插件自己写入的事件时直接使用这份数据，不重新读取和刷新界面
+            data.setSource(dataFile.lastModified(), dataFile.length());
+            metrics.recordSince(MetricsManager.Timer.UI_SAVE, start);
+            outcome = "saved";
             
             debugLog("UI数据保存成功: " + fileName);
             
         } catch (IOException e) {
             FastGUI.getInstance().getLogger().severe("保存UI数据失败: " + e.getMessage());
+        } finally {
+            saveEvent.complete(fileName, bytesWritten, outcome);
+        }
+    }
+    
+    /**
+     * 写入槽位交互信息
+     * @param dos 输出流
+     * @param slotData 槽位数据数组
+     */
+    private void writeInteractionData(DataOutputStream dos, InventorySlotData[] slotData) {
+        for (int i = 0; i < slotData.length; i++) {
+            InventorySlotData slot = slotData[i];
+            try {
+                // 保存槽位类型
+                dos.writeUTF(slot.getType());
+                
+                // 保存是否为按钮
+                boolean isButton = slot.isButton();
+                dos.writeBoolean(isButton);
+                
+                // 如果是按钮，保存按钮属性
+                if (isButton) {
+                    dos.writeUTF(slot.getCommand() != null ? slot.getCommand() : "");
+                    dos.writeBoolean(slot.isCloseOnClick());
+                    dos.writeUTF(slot.getPermission() != null ? slot.getPermission() : "");
+                    debugLog("保存按钮交互数据 (槽位 {}): 命令={}", i, slot.getCommand());
+                }
+            } catch (Exception e) {
+                FastGUI.getInstance().getLogger().warning("保存交互数据时出错 (槽位 " + i + "): " + e.getMessage());
+                try {
+                    dos.writeUTF("normal"); // 默认类型
+                    dos.writeBoolean(false); // 不是按钮
+                } catch (Exception inner) {
+                    FastGUI.getInstance().getLogger().severe("保存交互数据标记时出错 (槽位 " + i + "): " + inner.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * 收集页面中带有显示条件的槽位
+     */
+    private void collectVisibility(InventorySlotData[] slots, int page, List<int[]> conditionSlots, List<String> conditions) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && slots[i].getVisibility() != null) {
+                conditionSlots.add(new int[]{page, i});
+                conditions.add(slots[i].getVisibility());
+            }
+        }
+    }
+    
+    /**
+     * 写入一个附加页面
+     * <p>页面物品保持序列化后的字节形式写入，不需要反序列化。</p>
+     * @param dos 输出流
+     * @param page 页面数据
+     * @throws IOException 如果写入失败
+     */
+    void writePageData(DataOutputStream dos, UIPage page) throws IOException {
+        byte[][] itemData = page.getItemData();
+        dos.writeInt(itemData.length);
+        for (byte[] data : itemData) {
+            boolean isEmpty = data == null;
+            dos.writeBoolean(isEmpty);
+            if (!isEmpty) {
+                dos.writeInt(data.length);
+                dos.write(data);
+            }
+        }
+        writeInteractionData(dos, page.getInteractions());
+    }
+    
+    /**
+     * 读取一个附加页面
+     * <p>只读取物品的序列化字节，反序列化推迟到页面首次显示时进行。</p>
+     * @param dis 输入流
+     * @return 页面数据
+     * @throws IOException 如果读取失败
+     */
+    UIPage readPageData(DataInputStream dis) throws IOException {
+        int size = dis.readInt();
+        if (size <= 0 || size > 54) {
+            throw new IOException("附加页面大小不正确: " + size);
+        }
+        
+        byte[][] itemData = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            boolean isEmpty = dis.readBoolean();
+            if (!isEmpty) {
+                int length = dis.readInt();
+                if (length > 0 && length < 1024 * 1024) {
+                    itemData[i] = new byte[length];
+                    dis.readFully(itemData[i]);
+                } else {
+                    FastGUI.getInstance().getLogger().warning("加载附加页面物品时出错 (槽位 " + i + "): 无效的数据长度");
+                }
+            }
+        }
+        
+        InventorySlotData[] interactions = new InventorySlotData[size];
+        for (int i = 0; i < size; i++) {
+            String type = dis.readUTF();
+            String command = null;
+            boolean closeOnClick = false;
+            String permission = "";
+            if (dis.readBoolean()) {
+                command = dis.readUTF();
+                closeOnClick = dis.readBoolean();
+                permission = dis.readUTF();
+            }
+            interactions[i] = new InventorySlotData(itemData[i] == null, null, type, command, closeOnClick, permission);
         }
+        
+        return new UIPage(itemData, interactions);
+    }
+    
+    /**
+     * 根据物品数组创建附加页面
+     * @param contents 页面物品内容
+     * @return 页面数据
+     */
+    private UIPage createPage(ItemStack[] contents) {
+        ItemStack[] processedContents = processItemsForSave(contents);
+        InventorySlotData[] slotData = generateSlotData(processedContents);
+        
+        byte[][] itemData = new byte[processedContents.length][];
+        for (int i = 0; i < processedContents.length; i++) {
+            ItemStack item = processedContents[i];
+            if (item == null || item.getType() == null || item.getType().isAir()) {
+                continue;
+            }
+            try {
+                byte[] data = item.serializeAsBytes();
+                if (data != null && data.length > 0 && data.length < 1024 * 1024) {
+                    itemData[i] = data;
+                } else {
+                    FastGUI.getInstance().getLogger().warning("保存页面物品时出错 (槽位 " + i + "): 物品数据无效");
+                }
+            } catch (Exception e) {
+                FastGUI.getInstance().getLogger().warning("保存页面物品时出错 (槽位 " + i + "): " + e.getMessage());
+            }
+        }
+        
+        return new UIPage(itemData, slotData);
+    }
+    
+    /**
+     * 为UI添加一个附加页面
+     * @param uiId UI的ID
+     * @param contents 页面物品内容，大小必须与第一页一致
+     * @return 添加后的总页数，UI不存在时返回-1
+     * @throws IllegalArgumentException 如果页面大小与UI不一致
+     */
+    public int addPage(String uiId, ItemStack[] contents) {
+        InventoryData data = loadUI(uiId);
+        if (data == null) {
+            return -1;
+        }
+        
+        if (contents == null || contents.length != data.getContents().length) {
+            throw new IllegalArgumentException("页面大小与UI不一致: " + (contents != null ? contents.length : 0) + " != " + data.getContents().length);
+        }
+        
+        data.addPage(createPage(contents));
+        
+        String fileName = uiTable.get(uiId);
+        saveUIData(fileName, data);
+        loadedUIs.put(uiId, data);
+        
+        debugLog("成功添加UI页面: ID=" + uiId + ", 总页数=" + data.getPageCount());
+        return data.getPageCount();
+    }
+    
+    /**
+     * 删除UI的一个附加页面
+     * @param uiId UI的ID
+     * @param pageIndex 页面索引（从0开始，第一页不可删除）
+     * @return 是否删除成功
+     */
+    public boolean removePage(String uiId, int pageIndex) {
+        InventoryData data = loadUI(uiId);
+        if (data == null || pageIndex <= 0 || pageIndex >= data.getPageCount()) {
+            return false;
+        }
+        
+        data.removePage(pageIndex);
+        
+        String fileName = uiTable.get(uiId);
+        saveUIData(fileName, data);
+        loadedUIs.put(uiId, data);
+        
+        debugLog("成功删除UI页面: ID=" + uiId + ", 页码=" + (pageIndex + 1) + ", 剩余页数=" + data.getPageCount());
+        return true;
     }
     
     /**
@@ -453,7 +771,11 @@ public class UIManager {
                     Boolean isBorder = nbtManager.isBorderItem(item);
                     if (isBorder != null && isBorder) {
                         type = "border";
-                        debugLog("从NBT中识别到边框物品 (槽位 " + i + ")");
+                        debugLog("从NBT中识别到边框物品 (槽位 {})", i);
+                    } else if (nbtManager.isContentItem(item)) {
+                        // 内容槽位，列表UI会在这些槽位中渲染数据源条目
+                        type = "content";
+                        debugLog("从NBT中识别到内容槽位 (槽位 {})", i);
                     } else {
                         // 检查是否为按钮物品
                         String nbtCommand = nbtManager.getButtonCommand(item);
@@ -462,12 +784,15 @@ public class UIManager {
                             command = nbtCommand;
                             Boolean closeOnClickBoolean = nbtManager.getCloseOnClick(item);
                             closeOnClick = closeOnClickBoolean != null ? closeOnClickBoolean : false;
-                            debugLog("从NBT中识别到按钮 (槽位 " + i + "): 命令='" + command + "'");
+                            debugLog("从NBT中识别到按钮 (槽位 {}): 命令='{}'", i, command);
                         }
                     }
                 }
                 
-                slotData[i] = new InventorySlotData(false, item, type, command, closeOnClick, permission);
+                // 读取显示条件
+                String visibility = nbtManager != null ? nbtManager.getVisibilityCondition(item) : null;
+                
+                slotData[i] = new InventorySlotData(false, item, type, command, closeOnClick, permission, visibility);
                 
             } catch (Exception e) {
                 FastGUI.getInstance().getLogger().warning("生成槽位数据时出错 (" + i + "): " + e.getMessage());
@@ -489,7 +814,7 @@ public class UIManager {
             if (nbtManager != null) {
                 Boolean isBorder = nbtManager.isBorderItem(item);
                 if (isBorder != null && isBorder) {
-                    debugLog("从NBT中识别到边框物品: " + item.getType().name());
+                    debugLog("从NBT中识别到边框物品: {}", item.getType());
                     return true;
                 }
             }
@@ -575,7 +900,7 @@ public class UIManager {
                         boolean closeOnClick = closeOnClickBoolean != null ? closeOnClickBoolean : false;
                         
                         button = new UIButton("", command, closeOnClick);
-                        debugLog("从NBT中识别到按钮定义 (槽位 " + i + "): 命令='" + command + "', CloseOnClick=" + closeOnClick);
+                        logManager.debug("从NBT中识别到按钮定义 (槽位 {}): 命令='{}', CloseOnClick={}", i, command, closeOnClick);
                     }
                 }
                 
@@ -596,19 +921,18 @@ public class UIManager {
                 meta.setLore(nonButtonLore);
                     clone.setItemMeta(meta);
                     
-                    debugLog("成功保存按钮定义: 命令='" + button.getCommand() + "', CloseOnClick=" + button.shouldCloseOnClick());
+                    debugLog("成功保存按钮定义: 命令='{}', CloseOnClick={}", button.getCommand(), button.shouldCloseOnClick());
                 } else {
                     // 普通物品，确保保存完整元数据
                     if (meta.hasLore()) {
                         clone.setItemMeta(meta);
-                        debugLog("保存普通物品 (槽位 " + i + "): " + item.getType().name());
+                        debugLog("保存普通物品 (槽位 {}): {}", i, item.getType());
                     }
                 }
                 
                 processedItems[i] = clone;
             } catch (Exception e) {
-                logManager.warning("处理物品保存时出错 (槽位 " + i + "): " + e.getMessage());
-                e.printStackTrace();
+                reportError("处理物品保存时出错", "处理物品保存时出错 (槽位 " + i + ")", e);
                 processedItems[i] = item; // 出错时使用原始物品
             }
         }
@@ -669,126 +993,217 @@ public class UIManager {
      */
     // 不再需要findUIIdByName方法，因为直接使用UI名称作为ID
     
+    /**
+     * 获取UI数据，优先使用内存缓存
+     * <p>用于界面之间的导航，缓存命中时不访问磁盘；未命中时从文件加载。</p>
+     * @param uiName UI名称
+     * @return UI数据，如果不存在则返回null
+     */
+    public InventoryData getUI(String uiName) {
+        InventoryData data = loadedUIs.get(uiName);
+        if (data != null) {
+            metrics.increment(MetricsManager.Counter.CACHE_HITS);
+            debugLog("从缓存获取UI: {}", uiName);
+            return data;
+        }
+        metrics.increment(MetricsManager.Counter.CACHE_MISSES);
+        return loadUI(uiName);
+    }
+    
     public InventoryData loadUI(String uiName) {
-        debugLog("开始加载UI: " + uiName);
+        long start = System.nanoTime();
+        UILoadEvent loadEvent = new UILoadEvent();
+        loadEvent.begin();
+        String outcome = "error";
+        long bytesRead = 0;
+        debugLog("开始加载UI: {}", uiName);
         try {
             // 直接使用UI名称作为ID
             
-            // 每次都从文件加载最新UI数据，先移除旧缓存（如果存在）
-            loadedUIs.remove(uiName);
-            debugLog("准备从文件加载最新UI数据: " + uiName);
+            // 每次都检查UI文件，先移除旧缓存（如果存在），文件没有变化时再放回
+            InventoryData previous = loadedUIs.remove(uiName);
+            debugLog("准备从文件加载最新UI数据: {}", uiName);
             
             // 获取文件名
             String fileName = uiTable.get(uiName);
             if (fileName == null) {
                 logManager.warning("未找到UI: " + uiName);
+                outcome = "not_found";
                 return null;
             }
             
             // 构建文件路径
             File uiFolder = new File(fastGUIFolder, fileName.replace(".dat", ""));
             File dataFile = new File(uiFolder, fileName);
-            debugLog("UI文件路径: " + dataFile.getPath());
+            debugLog("UI文件路径: {}", dataFile);
             
             if (!dataFile.exists()) {
                 logManager.warning("UI文件不存在: " + dataFile.getPath());
                 // 从表中移除不存在的UI
                 uiTable.remove(uiName);
                 saveTable();
+                outcome = "missing_file";
                 return null;
             }
             
+            // 文件没有变化时直接使用缓存中的数据（上一次打开或启动预热时加载）
+            if (previous != null && previous.isSource(dataFile.lastModified(), dataFile.length())) {
+                loadedUIs.put(uiName, previous);
+                metrics.increment(MetricsManager.Counter.CACHE_HITS);
+                outcome = "unchanged";
+                debugLog("UI文件没有变化，使用缓存: {}", uiName);
+                return previous;
+            }
+            
             // 读取数据
-            try (DataInputStream dis = new DataInputStream(new FileInputStream(dataFile))) {
-                // 读取版本号
-                int version = dis.readInt();
-                debugLog("加载UI版本: " + version);
-                
-                String worldName = dis.readUTF();
-                
-                // 读取显示名称（版本4新增）
-                String displayName = null;
-                if (version >= 4) {
-                    boolean hasDisplayName = dis.readBoolean();
-                    if (hasDisplayName) {
-                        displayName = dis.readUTF();
-                    }
+            bytesRead = dataFile.length();
+            metrics.add(MetricsManager.Counter.DISK_BYTES_READ, bytesRead);
+            InventoryData data = readUIFile(uiName, dataFile);
+            if (data == null) {
+                outcome = "incompatible";
+                return null;
+            }
+            
+            loadedUIs.put(uiName, data);
+            metrics.recordSince(MetricsManager.Timer.UI_LOAD, start);
+            outcome = "loaded";
+            logManager.debug(() -> "UI已缓存: " + uiName + (data.getDisplayName() != null ? " (显示名称: " + data.getDisplayName() + ")" : ""));
+            return data;
+            
+        } catch (Exception e) {
+            // 损坏的UI文件每次打开都会失败，相同的异常只记录一次堆栈并限流
+            reportError("UIManager.loadUI", "加载UI数据失败 (名称: " + uiName + ")", e);
+            return null;
+        } finally {
+            loadEvent.complete(uiName, bytesRead, outcome);
+        }
+    }
+    
+    /**
+     * 读取并反序列化UI文件
+     * <p>只读取文件，不修改缓存和UI表，启动预热和文件热重载时在后台线程中调用。</p>
+     * @param uiName UI名称
+     * @param dataFile UI文件
+     * @return UI数据，版本不兼容时返回null
+     */
+    InventoryData readUIFile(String uiName, File dataFile) throws IOException {
+        // 先记录文件状态，读取期间文件被修改时下一次打开会重新读取
+        long modified = dataFile.lastModified();
+        long length = dataFile.length();
+        try (DataInputStream dis = new DataInputStream(new FileInputStream(dataFile))) {
+            // 读取版本号
+            int version = dis.readInt();
+            debugLog("加载UI版本: {}", version);
+            
+            String worldName = dis.readUTF();
+            
+            // 读取显示名称（版本4新增）
+            String displayName = null;
+            if (version >= 4) {
+                boolean hasDisplayName = dis.readBoolean();
+                if (hasDisplayName) {
+                    displayName = dis.readUTF();
                 }
-                
-                // 读取容器类型（版本5新增）
-                String containerType = "CHEST";
-                if (version >= 5) {
-                    boolean hasContainerType = dis.readBoolean();
-                    if (hasContainerType) {
-                        containerType = dis.readUTF();
-                    }
+            }
+            
+            // 读取容器类型（版本5新增）
+            String containerType = "CHEST";
+            if (version >= 5) {
+                boolean hasContainerType = dis.readBoolean();
+                if (hasContainerType) {
+                    containerType = dis.readUTF();
                 }
-                
-                // 读取权限节点（版本6新增）
-                String permission = "np";
-                if (version >= 6) {
-                    boolean hasPermission = dis.readBoolean();
-                    if (hasPermission) {
-                        permission = dis.readUTF();
-                    }
-                } else {
-                    // 对于旧版本，跳过权限节点读取
-                    if (version >= 5) {
-                        // 版本5有容器类型，但没有权限节点
-                        // 跳过权限节点读取
-                    }
+            }
+            
+            // 读取权限节点（版本6新增）
+            String permission = "np";
+            if (version >= 6) {
+                boolean hasPermission = dis.readBoolean();
+                if (hasPermission) {
+                    permission = dis.readUTF();
                 }
-                
-                int size = dis.readInt();
-                
-                debugLog("UI元数据: 世界=" + worldName + ", 大小=" + size);
-                
-                // 不再强制限制大小为54，支持不同容器的大小
-                if (size <= 0) {
-                    FastGUI.getInstance().getLogger().warning("UI大小不正确: " + size + ", 默认为54");
-                    size = 54;
+            } else {
+                // 对于旧版本，跳过权限节点读取
+                if (version >= 5) {
+                    // 版本5有容器类型，但没有权限节点
+                    // 跳过权限节点读取
                 }
-                
-                ItemStack[] contents = new ItemStack[size];
-                InventorySlotData[] slotData = new InventorySlotData[size];
-                
-                int itemsLoaded = 0;
-                int emptySlotsCount = 0;
-                int errorSlotsCount = 0;
-                
-                // 根据版本号选择不同的读取方式
-                if (version >= 5 && version <= 6) {
-                    debugLog("使用版本" + version + "格式读取UI数据（支持容器类型和权限节点）");
-                    // 版本5-6格式读取方式，支持容器类型和权限节点
-                    slotData = loadVersion3Data(dis, size, contents, itemsLoaded, emptySlotsCount, errorSlotsCount);
-                } else {
-                    // 版本不是5-6，返回null表示不兼容
-                    FastGUI.getInstance().getLogger().warning("UI '" + uiName + "' 的版本 (" + version + ") 太低，Fast GUI不兼容，请重新创建");
-                    return null;
+            }
+            
+            int size = dis.readInt();
+            
+            debugLog("UI元数据: 世界={}, 大小={}", worldName, size);
+            
+            // 不再强制限制大小为54，支持不同容器的大小
+            if (size <= 0) {
+                FastGUI.getInstance().getLogger().warning("UI大小不正确: " + size + ", 默认为54");
+                size = 54;
+            }
+            
+            ItemStack[] contents = new ItemStack[size];
+            InventorySlotData[] slotData = new InventorySlotData[size];
+            
+            int itemsLoaded = 0;
+            int emptySlotsCount = 0;
+            int errorSlotsCount = 0;
+            
+            // 根据版本号选择不同的读取方式
+            if (version >= 5 && version <= 9) {
+                debugLog("使用版本{}格式读取UI数据（支持容器类型和权限节点）", version);
+                // 版本5-9格式读取方式，支持容器类型和权限节点
+                slotData = loadVersion3Data(dis, size, contents, itemsLoaded, emptySlotsCount, errorSlotsCount);
+            } else {
+                // 版本不是5-9，返回null表示不兼容
+                FastGUI.getInstance().getLogger().warning("UI '" + uiName + "' 的版本 (" + version + ") 太低，Fast GUI不兼容，请重新创建");
+                return null;
+            }
+            
+            logManager.debug("UI加载成功: {}, 统计: 有效物品={}, 空槽位={}, 错误槽位={}", uiName, itemsLoaded, emptySlotsCount, errorSlotsCount);
+            
+            // 使用支持权限节点的构造函数创建InventoryData对象
+            InventoryData data = new InventoryData(worldName, contents, slotData, containerType, permission);
+            
+            // 如果有显示名称，设置它
+            if (displayName != null) {
+                data.setDisplayName(displayName);
+            }
+            
+            // 读取附加页面（版本7新增），物品只保留序列化数据，翻到该页时才反序列化
+            if (version >= 7) {
+                int pageCount = dis.readInt();
+                for (int p = 0; p < pageCount; p++) {
+                    data.addPage(readPageData(dis));
                 }
-                
-                debugLog("UI加载成功: " + uiName + ", 统计: 有效物品=" + itemsLoaded + ", 空槽位=" + emptySlotsCount + ", 错误槽位=" + errorSlotsCount);
-                
-                // 使用支持权限节点的构造函数创建InventoryData对象
-                InventoryData data = new InventoryData(worldName, contents, slotData, containerType, permission);
-                
-                // 如果有显示名称，设置它
-                if (displayName != null) {
-                    data.setDisplayName(displayName);
+                if (pageCount > 0) {
+                    debugLog("读取附加页面: {} 页", pageCount);
                 }
-                
-                loadedUIs.put(uiName, data);
-                debugLog("UI已缓存: " + uiName + (displayName != null ? " (显示名称: " + displayName + ")" : ""));
-                return data;
             }
             
-        } catch (Exception e) {
-            FastGUI.getInstance().getLogger().severe("加载UI数据失败 (名称: " + uiName + "): " + e.getMessage());
-            // 添加更详细的异常信息
-            if (e.getCause() != null) {
-                FastGUI.getInstance().getLogger().severe("原因: " + e.getCause().getMessage());
+            // 读取列表数据源ID（版本8新增）
+            if (version >= 8 && dis.readBoolean()) {
+                data.setListProvider(dis.readUTF());
+                debugLog("读取列表数据源: {}", data.getListProvider());
             }
-            return null;
+            
+            // 读取槽位显示条件（版本9新增）
+            if (version >= 9) {
+                int conditionCount = dis.readInt();
+                for (int c = 0; c < conditionCount; c++) {
+                    int page = dis.readInt();
+                    int slot = dis.readInt();
+                    String condition = dis.readUTF();
+                    InventorySlotData[] target = page == 0 ? data.getSlotData() 
+                            : page <= data.getExtraPages().size() ? data.getExtraPages().get(page - 1).getInteractions() : null;
+                    if (target != null && slot >= 0 && slot < target.length && target[slot] != null) {
+                        target[slot] = target[slot].withVisibility(condition);
+                    } else {
+                        FastGUI.getInstance().getLogger().warning("显示条件的槽位无效 (页面 " + (page + 1) + ", 槽位 " + slot + ")");
+                    }
+                }
+            }
+            
+            data.setSource(modified, length);
+            return data;
         }
     }
     
@@ -808,7 +1223,7 @@ public class UIManager {
     private InventorySlotData[] loadVersion3Data(DataInputStream dis, int size, ItemStack[] contents, 
                                                int itemsLoaded, int emptySlotsCount, int errorSlotsCount) throws IOException {
         InventorySlotData[] slotData = new InventorySlotData[size];
-        debugLog("开始加载UI版本3数据: 大小=" + size);
+        debugLog("开始加载UI版本3数据: 大小={}", size);
         
         // 第一部分：加载UI展示界面数据
         debugLog("加载UI展示界面数据...");
@@ -831,7 +1246,7 @@ public class UIManager {
                                 if (item != null && item.getType() != null && !item.getType().isAir()) {
                                     contents[i] = item;
                                     itemsLoaded++;
-                                    debugLog("成功加载展示物品 (槽位 " + i + "): " + item.getType().name());
+                                    debugLog("成功加载展示物品 (槽位 {}): {}", i, item.getType());
                                 } else {
                                     FastGUI.getInstance().getLogger().warning("加载展示物品时出错 (槽位 " + i + "): 反序列化后的物品无效");
                                     errorSlotsCount++;
@@ -890,7 +1305,7 @@ public class UIManager {
                         command = dis.readUTF();
                         closeOnClick = dis.readBoolean();
                         permission = dis.readUTF();
-                        debugLog("加载按钮交互数据 (槽位 " + i + "): 命令=" + command);
+                        debugLog("加载按钮交互数据 (槽位 {}): 命令={}", i, command);
                     }
                 } catch (Exception e) {
                     FastGUI.getInstance().getLogger().warning("读取交互数据时出错 (槽位 " + i + "): " + e.getMessage());
@@ -907,14 +1322,14 @@ public class UIManager {
                     permission
                 );
                 
-                debugLog("更新槽位交互数据 (" + i + "): 类型=" + type + ", 是按钮=" + isButton);
+                logManager.debug("更新槽位交互数据 ({}): 类型={}, 是按钮={}", i, type, isButton);
                 
             } catch (Exception e) {
                 FastGUI.getInstance().getLogger().warning("加载交互数据时出错 (槽位 " + i + "): " + e.getMessage());
             }
         }
         
-        debugLog("UI版本3数据加载完成: 有效物品=" + itemsLoaded + ", 空槽位=" + emptySlotsCount + ", 错误槽位=" + errorSlotsCount);
+        logManager.debug("UI版本3数据加载完成: 有效物品={}, 空槽位={}, 错误槽位={}", itemsLoaded, emptySlotsCount, errorSlotsCount);
         
         return slotData;
     }
@@ -966,7 +1381,7 @@ public class UIManager {
             
             // 重新保存UI数据
             String fileName = uiTable.get(uiId);
-            saveUIData(fileName, data.getContents(), data.getWorldName(), data.getDisplayName(), data.getContainerType(), data.getPermission());
+            saveUIData(fileName, data);
             
             debugLog("成功更新UI显示名称: ID=" + uiId);
             return true;
@@ -977,6 +1392,37 @@ public class UIManager {
         }
     }
     
+    /**
+     * 设置UI的列表数据源
+     * @param uiId UI的ID
+     * @param providerId 数据源ID，为null或"none"时取消列表模式
+     * @return 是否设置成功
+     */
+    public boolean setListProvider(String uiId, String providerId) {
+        try {
+            if (!uiTable.containsKey(uiId)) {
+                FastGUI.getInstance().getLogger().warning("未找到UI: " + uiId);
+                return false;
+            }
+            
+            InventoryData data = loadUI(uiId);
+            if (data == null) {
+                FastGUI.getInstance().getLogger().warning("加载UI失败: " + uiId);
+                return false;
+            }
+            
+            data.setListProvider(providerId == null || providerId.equalsIgnoreCase("none") ? null : providerId);
+            loadedUIs.put(uiId, data);
+            saveUIData(uiTable.get(uiId), data);
+            
+            debugLog("成功设置UI列表数据源: ID=" + uiId + ", 数据源=" + data.getListProvider());
+            return true;
+        } catch (Exception e) {
+            FastGUI.getInstance().getLogger().severe("设置UI列表数据源失败: " + e.getMessage());
+            return false;
+        }
+    }
+    
     public boolean renameUI(String oldName, String newName) {
         try {
             // 验证参数
@@ -1037,6 +1483,10 @@ public class UIManager {
                 InventoryData data = loadedUIs.remove(oldName);
                 loadedUIs.put(sanitizedNewName, data);
             }
+            LongAdder count = openCounts.remove(oldName);
+            if (count != null) {
+                openCounts.put(sanitizedNewName, count);
+            }
             
             // 删除旧文件
             if (oldDataFile.exists()) {
@@ -1050,8 +1500,7 @@ public class UIManager {
             return true;
             
         } catch (Exception e) {
-            FastGUI.getInstance().getLogger().severe("重命名UI时出错: " + e.getMessage());
-            e.printStackTrace();
+            reportError("重命名UI时出错", "重命名UI时出错", e);
             return false;
         }
     }
@@ -1213,12 +1662,13 @@ public class UIManager {
     }
 
     /**
-     * 获取所有已加载的UI名称列表
+     * 获取所有UI名称列表
+     * <p>缓存会按容量淘汰，所以这里返回UI表中的全部名称。</p>
      * 
      * @return UI名称列表
      */
     public List<String> getUIList() {
-        return new ArrayList<>(loadedUIs.keySet());
+        return new ArrayList<>(uiTable.keySet());
     }
     
     /**
@@ -1234,6 +1684,16 @@ public class UIManager {
      * 添加资源清理方法，在插件卸载时调用
      */
     public void cleanupResources() {
+        // 停止未完成的预热
+        if (warmup != null) {
+            warmup.cancel();
+            warmup = null;
+        }
+        // 停止监视UI文件
+        if (fileWatcher != null) {
+            fileWatcher.stop();
+            fileWatcher = null;
+        }
         // 清除缓存
         clearCache();
         // 清空UI表
@@ -1255,8 +1715,9 @@ public class UIManager {
      */
     public void saveAll() {
         try {
-            // 保存UI表
+            // 保存UI表和打开次数
             saveTable();
+            saveOpenCounts();
             
             // 保存所有已加载的UI数据
             for (Map.Entry<String, InventoryData> entry : loadedUIs.entrySet()) {
@@ -1266,7 +1727,7 @@ public class UIManager {
                 // 从UI表中获取文件名
             if (uiTable.containsKey(uiId)) {
                 String fileName = uiTable.get(uiId);
-                saveUIData(fileName, data.getContents(), data.getWorldName(), data.getDisplayName(), data.getContainerType(), data.getPermission());
+                saveUIData(fileName, data);
             }
             }
             
@@ -1276,6 +1737,299 @@ public class UIManager {
         }
     }
     
+    /**
+     * 记录一次UI打开，累计次数在关闭插件时保存，用于下次启动时的缓存预热
+     * @param uiName UI名称
+     */
+    public void recordOpen(String uiName) {
+        if (uiName != null) {
+            openCounts.computeIfAbsent(uiName, k -> new LongAdder()).increment();
+        }
+    }
+    
+    /**
+     * 获取UI的累计打开次数（包括之前保存的次数）
+     * @param uiName UI名称
+     * @return 打开次数
+     */
+    public long getOpenCount(String uiName) {
+        LongAdder count = openCounts.get(uiName);
+        return count != null ? count.sum() : 0;
+    }
+    
+    /**
+     * 读取保存的各UI打开次数
+     */
+    public void loadOpenCounts() {
+        if (!openCountsFile.exists()) {
+            return;
+        }
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(openCountsFile)))) {
+            int version = dis.readInt();
+            if (version != OPEN_COUNTS_VERSION) {
+                FastGUI.getInstance().getLogger().warning("无法识别的打开次数文件版本: " + version);
+                return;
+            }
+            int size = dis.readInt();
+            for (int i = 0; i < size; i++) {
+                String id = dis.readUTF();
+                long count = dis.readLong();
+                openCounts.computeIfAbsent(id, k -> new LongAdder()).add(count);
+            }
+            debugLog("已读取 " + size + " 个UI的打开次数");
+        } catch (IOException e) {
+            FastGUI.getInstance().getLogger().warning("读取UI打开次数失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 保存各UI的累计打开次数，已删除的UI不保存
+     */
+    public void saveOpenCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : openCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0 && uiTable.containsKey(entry.getKey())) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(openCountsFile)))) {
+            dos.writeInt(OPEN_COUNTS_VERSION);
+            dos.writeInt(counts.size());
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                dos.writeUTF(entry.getKey());
+                dos.writeLong(entry.getValue());
+            }
+        } catch (IOException e) {
+            FastGUI.getInstance().getLogger().warning("保存UI打开次数失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 按打开次数选出需要预热的UI
+     * @param counts UI ID -> 打开次数
+     * @param uiIds UI表中存在的UI
+     * @param limit 最多选出的数量
+     * @return 按打开次数降序排列的UI ID，次数相同时按名称排序，没有打开过的UI不预热
+     */
+    static List<String> rankForWarmup(Map<String, Long> counts, Collection<String> uiIds, int limit) {
+        List<String> ranked = new ArrayList<>();
+        for (String id : uiIds) {
+            if (counts.getOrDefault(id, 0L) > 0) {
+                ranked.add(id);
+            }
+        }
+        ranked.sort(Comparator.comparing((String id) -> counts.get(id)).reversed().thenComparing(id -> id));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+    
+    /**
+     * 按配置启动UI缓存预热，需要在读取UI表和打开次数之后、在主线程调用
+     * <p>最多预热缓存容量个UI，UI文件在后台线程中读取，主线程只负责把结果放入缓存。</p>
+     */
+    public void startWarmup() {
+        Settings.Warmup settings = configManager.getSettings().warmup();
+        if (!settings.enabled() || warmup != null) {
+            return;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        openCounts.forEach((id, count) -> counts.put(id, count.sum()));
+        List<String> ids = rankForWarmup(counts, uiTable.keySet(), getMaxCachedUIs());
+        if (ids.isEmpty()) {
+            debugLog("没有需要预热的UI");
+            return;
+        }
+        Map<String, File> files = new LinkedHashMap<>();
+        for (String id : ids) {
+            String fileName = uiTable.get(id);
+            files.put(id, getUIFile(fileName));
+        }
+        warmup = new UIWarmup(plugin, this, settings);
+        warmup.start(files);
+    }
+    
+    /**
+     * 把预热读取的UI放入缓存，在主线程调用
+     * @param uiName UI名称
+     * @param data 预热读取的UI数据
+     * @return 是否放入缓存，UI已被删除或已经加载时返回false
+     */
+    boolean cacheWarmedUI(String uiName, InventoryData data) {
+        if (!uiTable.containsKey(uiName) || loadedUIs.containsKey(uiName)) {
+            return false;
+        }
+        loadedUIs.put(uiName, data);
+        return true;
+    }
+    
+    /**
+     * 预热结束时调用
+     */
+    void warmupFinished(UIWarmup finished) {
+        if (warmup == finished) {
+            warmup = null;
+        }
+    }
+    
+    /**
+     * 获取UI文件的位置
+     * @param fileName UI表中的文件名
+     * @return Fast GUI 文件夹下同名子文件夹中的UI文件
+     */
+    private File getUIFile(String fileName) {
+        return new File(new File(fastGUIFolder, fileName.replace(".dat", "")), fileName);
+    }
+    
+    /**
+     * 按配置启动或停止UI文件热重载，启动时和重新加载配置后在主线程调用
+     */
+    public void applyHotReloadSettings() {
+        Settings.HotReload settings = configManager.getSettings().hotReload();
+        if (fileWatcher != null) {
+            if (settings.equals(fileWatcher.getSettings())) {
+                return;
+            }
+            fileWatcher.stop();
+            fileWatcher = null;
+        }
+        if (!settings.enabled()) {
+            return;
+        }
+        UIFileWatcher watcher = new UIFileWatcher(plugin, this, settings, tableFile, fastGUIFolder);
+        try {
+            watcher.start();
+            fileWatcher = watcher;
+        } catch (IOException e) {
+            plugin.getLogger().warning("无法监视UI文件变化: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 处理监视到的文件变化，在主线程调用
+     * <p>先应用 Table.dat 的变化，再找出文件有变化的UI。只有已缓存或正有玩家打开的UI需要重新加载，
+     * 其他UI下次打开时自然会读取新文件。文件没有变化的缓存直接推送给仍在使用旧数据的界面，
+     * 其余UI文件在后台线程中读取。</p>
+     * @param changes 监视线程收集的一批文件变化
+     */
+    void applyFileChanges(UIFileWatcher.Changes changes) {
+        Set<String> affected = new HashSet<>();
+        if (changes.table() != null) {
+            affected.addAll(applyTable(changes.table(), changes.tableModified(), changes.tableLength()));
+        }
+        for (Map.Entry<String, String> entry : uiTable.entrySet()) {
+            if (changes.all() || changes.files().contains(entry.getValue())) {
+                affected.add(entry.getKey());
+            }
+        }
+        
+        UIOpener uiOpener = plugin.getUIOpener();
+        Map<String, File> reload = new LinkedHashMap<>();
+        for (String id : affected) {
+            boolean open = uiOpener != null && uiOpener.isOpen(id);
+            String fileName = uiTable.get(id);
+            if (fileName == null) {
+                // UI已从表中删除
+                loadedUIs.remove(id);
+                if (open) {
+                    uiOpener.refreshOpenUI(id, null);
+                }
+                continue;
+            }
+            InventoryData cached = loadedUIs.get(id);
+            if (cached == null && !open) {
+                continue;
+            }
+            File dataFile = getUIFile(fileName);
+            if (cached != null && cached.isSource(dataFile.lastModified(), dataFile.length())) {
+                if (open) {
+                    uiOpener.refreshOpenUI(id, cached);
+                }
+                continue;
+            }
+            reload.put(id, dataFile);
+        }
+        if (reload.isEmpty()) {
+            return;
+        }
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Map<String, InventoryData> results = new HashMap<>();
+            for (Map.Entry<String, File> entry : reload.entrySet()) {
+                String id = entry.getKey();
+                try {
+                    File dataFile = entry.getValue();
+                    results.put(id, dataFile.exists() ? readUIFile(id, dataFile) : null);
+                } catch (Exception e) {
+                    // 通常是文件还在写入，写完后会再次触发
+                    plugin.getLogger().warning("重新加载UI失败 (名称: " + id + "): " + e.getMessage());
+                }
+            }
+            if (!results.isEmpty()) {
+                Bukkit.getScheduler().runTask(plugin, () -> applyReloadedUIs(reload, results));
+            }
+        });
+    }
+    
+    /**
+     * 把后台读取的UI放入缓存并推送给打开该UI的玩家，在主线程调用
+     * @param files 读取时使用的UI文件
+     * @param results UI ID -> 新的UI数据，文件已删除或版本不兼容时为null
+     */
+    private void applyReloadedUIs(Map<String, File> files, Map<String, InventoryData> results) {
+        UIOpener uiOpener = plugin.getUIOpener();
+        for (Map.Entry<String, InventoryData> entry : results.entrySet()) {
+            String id = entry.getKey();
+            String fileName = uiTable.get(id);
+            // 读取期间UI被删除或重命名
+            if (fileName == null || !getUIFile(fileName).equals(files.get(id))) {
+                continue;
+            }
+            InventoryData data = entry.getValue();
+            if (data != null) {
+                loadedUIs.put(id, data);
+            } else {
+                loadedUIs.remove(id);
+            }
+            if (uiOpener != null) {
+                uiOpener.refreshOpenUI(id, data);
+            }
+            logManager.info("UI文件已重新加载: " + id);
+        }
+    }
+    
+    /**
+     * 应用重新读取的UI表，在主线程调用
+     * <p>插件自己保存UI表时内容与内存中一致，不会产生变化。读取之后表文件又被修改时放弃这次结果，
+     * 等待下一次文件事件，避免用写到一半的表覆盖内存中的表。</p>
+     * @param table 重新读取的UI表
+     * @param modified 读取前表文件的修改时间
+     * @param length 读取前表文件的大小
+     * @return 被删除、新增或文件名改变的UI ID
+     */
+    private Set<String> applyTable(Map<String, String> table, long modified, long length) {
+        Set<String> affected = new HashSet<>();
+        if (tableFile.lastModified() != modified || tableFile.length() != length) {
+            return affected;
+        }
+        Iterator<Map.Entry<String, String>> iterator = uiTable.entrySet().iterator();
+        while (iterator.hasNext()) {
+            String id = iterator.next().getKey();
+            if (!table.containsKey(id)) {
+                iterator.remove();
+                affected.add(id);
+            }
+        }
+        for (Map.Entry<String, String> entry : table.entrySet()) {
+            if (!entry.getValue().equals(uiTable.put(entry.getKey(), entry.getValue()))) {
+                affected.add(entry.getKey());
+            }
+        }
+        if (!affected.isEmpty()) {
+            logManager.info("UI表已重新加载，" + affected.size() + " 个UI有变化");
+        }
+        return affected;
+    }
+    
     /**
      * 槽位数据类，表示UI中单个槽位的完整信息
      */
@@ -1286,17 +2040,28 @@ public class UIManager {
         private final String command; // 按钮命令（如果是按钮）
         private final boolean closeOnClick; // 点击后是否关闭界面
         private final String permission; // 所需权限
+        private final UIAction action; // 解析后的按钮动作（加载时解析一次）
+        private final String visibility; // 显示条件（为null时对所有玩家可见）
         
         /**
          * 构造函数
          */
         public InventorySlotData(boolean isEmpty, ItemStack item, String type, String command, boolean closeOnClick, String permission) {
+            this(isEmpty, item, type, command, closeOnClick, permission, null);
+        }
+        
+        /**
+         * 构造函数（支持显示条件）
+         */
+        public InventorySlotData(boolean isEmpty, ItemStack item, String type, String command, boolean closeOnClick, String permission, String visibility) {
+            this.visibility = visibility;
             this.isEmpty = isEmpty;
             this.item = item;
             this.type = type;
             this.command = command;
             this.closeOnClick = closeOnClick;
             this.permission = permission;
+            this.action = UIAction.parse(command);
         }
         
         public boolean isEmpty() { return isEmpty; }
@@ -1305,6 +2070,17 @@ public class UIManager {
         public String getCommand() { return command; }
         public boolean isCloseOnClick() { return closeOnClick; }
         public String getPermission() { return permission; }
+        public UIAction getAction() { return action; }
+        public String getVisibility() { return visibility; }
+        
+        /**
+         * 复制槽位数据并设置显示条件
+         * @param visibility 显示条件
+         * @return 新的槽位数据
+         */
+        public InventorySlotData withVisibility(String visibility) {
+            return new InventorySlotData(isEmpty, item, type, command, closeOnClick, permission, visibility);
+        }
         
         /**
          * 检查是否是按钮
@@ -1319,6 +2095,13 @@ public class UIManager {
         public boolean isBorder() {
             return "border".equals(type);
         }
+        
+        /**
+         * 检查是否为列表内容槽位
+         */
+        public boolean isContent() {
+            return "content".equals(type);
+        }
     }
     
     /**
@@ -1332,6 +2115,13 @@ public class UIManager {
         private String displayName; // UI显示名称（可以是自定义的，支持NBT格式）
         private String containerType; // UI对应的容器类型
         private String permission; // UI权限节点（op: 仅OP可打开, np: 所有玩家可打开）
+        private final List<UIPage> extraPages = new ArrayList<>(); // 附加页面（第2页起）
+        private String listProvider; // 列表数据源ID（为null时表示普通UI）
+        private SlotVisibility[] pageVisibility; // 每个页面编译后的显示条件（懒加载）
+        private Map<String, ItemStack[][]> localizedPages; // 语言 -> 每个页面本地化后的物品模板（懒加载）
+        private int localizedGeneration; // 本地化模板对应的物品文字版本
+        private long sourceModified = -1; // 加载时UI文件的修改时间
+        private long sourceLength = -1; // 加载时UI文件的大小
         
         /**
          * 构造函数（兼容旧版本）
@@ -1487,6 +2277,262 @@ public class UIManager {
         public void setPermission(String permission) {
             this.permission = permission;
         }
+        
+        /**
+         * 获取页面编译后的显示条件
+         * <p>每个页面只在第一次使用时编译一次。</p>
+         * @param page 页面索引（从0开始）
+         * @return 显示条件，索引无效时返回 {@link SlotVisibility#NONE}
+         */
+        public synchronized SlotVisibility getPageVisibility(int page) {
+            if (page < 0 || page >= getPageCount()) {
+                return SlotVisibility.NONE;
+            }
+            if (pageVisibility == null || pageVisibility.length != getPageCount()) {
+                pageVisibility = new SlotVisibility[getPageCount()];
+            }
+            if (pageVisibility[page] == null) {
+                InventorySlotData[] slots = page == 0 ? slotData : extraPages.get(page - 1).getInteractions();
+                pageVisibility[page] = SlotVisibility.compile(slots);
+            }
+            return pageVisibility[page];
+        }
+        
+        /**
+         * 获取页面按语言本地化后的物品模板
+         * <p>每种语言的每个页面只渲染一次，物品文字版本变化（语言文件重新加载）后全部丢弃。</p>
+         * @param language 语言文件名
+         * @param page 页面索引（从0开始）
+         * @param generation 当前的物品文字版本
+         * @param renderer 缓存中没有时渲染该页面
+         * @return 本地化后的物品模板（未克隆），索引无效时返回null
+         */
+        public synchronized ItemStack[] getLocalizedContents(String language, int page, int generation,
+                                                             Supplier<ItemStack[]> renderer) {
+            if (page < 0 || page >= getPageCount()) {
+                return null;
+            }
+            if (localizedPages == null || localizedGeneration != generation) {
+                localizedPages = new HashMap<>();
+                localizedGeneration = generation;
+            }
+            ItemStack[][] pages = localizedPages.get(language);
+            if (pages == null || pages.length != getPageCount()) {
+                pages = new ItemStack[getPageCount()][];
+                localizedPages.put(language, pages);
+            }
+            if (pages[page] == null) {
+                pages[page] = renderer.get();
+            }
+            return pages[page];
+        }
+        
+        /**
+         * 记录加载时UI文件的修改时间和大小
+         * @param modified 修改时间
+         * @param length 文件大小
+         */
+        public void setSource(long modified, long length) {
+            this.sourceModified = modified;
+            this.sourceLength = length;
+        }
+        
+        /**
+         * 是否从指定状态的UI文件加载
+         * <p>打开界面时会检查UI文件，文件没有变化时直接使用已加载的数据（包括已渲染的本地化模板和已反序列化的页面）。</p>
+         * @param modified 文件修改时间
+         * @param length 文件大小
+         */
+        public boolean isSource(long modified, long length) {
+            return sourceModified >= 0 && sourceModified == modified && sourceLength == length;
+        }
+        
+        /**
+         * 获取列表数据源ID
+         * @return 数据源ID，普通UI返回null
+         */
+        public String getListProvider() {
+            return listProvider;
+        }
+        
+        /**
+         * 设置列表数据源ID
+         * @param listProvider 数据源ID，为null时取消列表模式
+         */
+        public void setListProvider(String listProvider) {
+            this.listProvider = listProvider;
+        }
+        
+        /**
+         * 获取内容槽位索引（由NBT标记为Content的槽位）
+         * @return 按槽位顺序排列的内容槽位索引
+         */
+        public int[] getContentSlots() {
+            if (slotData == null) {
+                return new int[0];
+            }
+            int count = 0;
+            for (InventorySlotData slot : slotData) {
+                if (slot != null && slot.isContent()) {
+                    count++;
+                }
+            }
+            int[] slots = new int[count];
+            int index = 0;
+            for (int i = 0; i < slotData.length; i++) {
+                if (slotData[i] != null && slotData[i].isContent()) {
+                    slots[index++] = i;
+                }
+            }
+            return slots;
+        }
+        
+        /**
+         * 获取总页数（包括第一页）
+         * @return 页数
+         */
+        public int getPageCount() {
+            return 1 + extraPages.size();
+        }
+        
+        /**
+         * 获取指定页面的物品内容
+         * <p>第一页直接返回已加载的内容，其他页面在首次访问时才反序列化。</p>
+         * @param page 页面索引（从0开始）
+         * @return 物品数组，如果索引无效返回null
+         */
+        public ItemStack[] getPageContents(int page) {
+            if (page == 0) {
+                return contents;
+            }
+            if (page > 0 && page <= extraPages.size()) {
+                return extraPages.get(page - 1).getContents();
+            }
+            return null;
+        }
+        
+        /**
+         * 获取指定页面的槽位详细数据
+         * @param page 页面索引（从0开始）
+         * @return 槽位详细数据数组，如果索引无效返回null
+         */
+        public InventorySlotData[] getPageSlotData(int page) {
+            if (page == 0) {
+                return slotData;
+            }
+            if (page > 0 && page <= extraPages.size()) {
+                return extraPages.get(page - 1).getSlotData();
+            }
+            return null;
+        }
+        
+        /**
+         * 获取附加页面列表（第2页起）
+         * @return 附加页面列表
+         */
+        public List<UIPage> getExtraPages() {
+            return extraPages;
+        }
+        
+        /**
+         * 追加一个页面
+         * @param page 页面数据
+         */
+        public void addPage(UIPage page) {
+            extraPages.add(page);
+            pageVisibility = null;
+            localizedPages = null;
+        }
+        
+        /**
+         * 删除一个附加页面
+         * @param page 页面索引（从1开始，第一页不可删除）
+         */
+        public void removePage(int page) {
+            if (page > 0 && page <= extraPages.size()) {
+                extraPages.remove(page - 1);
+                pageVisibility = null;
+                localizedPages = null;
+            }
+        }
+    }
+    
+    /**
+     * 附加页面数据类
+     * <p>保存页面物品的序列化数据，只有在页面第一次显示时才反序列化为ItemStack。</p>
+     */
+    public static class UIPage {
+        private final byte[][] itemData; // 每个槽位的物品序列化数据（空槽位为null）
+        private final InventorySlotData[] interactions; // 槽位交互信息（不含物品）
+        private ItemStack[] contents; // 反序列化后的物品（懒加载）
+        private InventorySlotData[] slotData; // 包含物品的槽位数据（懒加载）
+        
+        /**
+         * 构造函数
+         * @param itemData 每个槽位的物品序列化数据
+         * @param interactions 槽位交互信息
+         */
+        public UIPage(byte[][] itemData, InventorySlotData[] interactions) {
+            this.itemData = itemData;
+            this.interactions = interactions;
+        }
+        
+        public byte[][] getItemData() { return itemData; }
+        public InventorySlotData[] getInteractions() { return interactions; }
+        public int getSize() { return itemData.length; }
+        
+        /**
+         * 页面物品是否已经反序列化
+         */
+        public synchronized boolean isMaterialized() {
+            return contents != null;
+        }
+        
+        /**
+         * 获取页面物品，首次调用时反序列化
+         */
+        public synchronized ItemStack[] getContents() {
+            materialize();
+            return contents;
+        }
+        
+        /**
+         * 获取包含物品的槽位数据，首次调用时反序列化
+         */
+        public synchronized InventorySlotData[] getSlotData() {
+            materialize();
+            return slotData;
+        }
+        
+        private void materialize() {
+            if (contents != null) {
+                return;
+            }
+            
+            ItemStack[] items = new ItemStack[itemData.length];
+            InventorySlotData[] slots = new InventorySlotData[itemData.length];
+            for (int i = 0; i < itemData.length; i++) {
+                ItemStack item = null;
+                if (itemData[i] != null) {
+                    try {
+                        item = ItemStack.deserializeBytes(itemData[i]);
+                        if (item != null && (item.getType() == null || item.getType().isAir())) {
+                            item = null;
+                        }
+                    } catch (Exception e) {
+                        FastGUI.getInstance().getLogger().warning("反序列化页面物品时出错 (槽位 " + i + "): " + e.getMessage());
+                    }
+                }
+                
+                InventorySlotData interaction = interactions[i];
+                items[i] = item;
+                slots[i] = new InventorySlotData(item == null, item, interaction.getType(), interaction.getCommand(),
+                        interaction.isCloseOnClick(), interaction.getPermission(), interaction.getVisibility());
+            }
+            
+            slotData = slots;
+            contents = items;
+        }
     }
     
     /**
@@ -1497,7 +2543,16 @@ public class UIManager {
      */
     public boolean hasUIPermission(Player player, String uiId) {
         // 加载UI数据
-        InventoryData data = loadUI(uiId);
+        return hasUIPermission(player, loadUI(uiId));
+    }
+    
+    /**
+     * 检查玩家是否有权限打开已加载的UI
+     * @param player 玩家
+     * @param data 已加载的UI数据
+     * @return 是否有权限
+     */
+    public boolean hasUIPermission(Player player, InventoryData data) {
         if (data == null) {
             return false; // UI不存在，无权限
         }
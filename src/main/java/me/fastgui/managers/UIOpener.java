@@ -1,6 +1,8 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.jfr.UIOpenEvent;
+import me.fastgui.trace.TraceRecorder;
 import me.fastgui.managers.UIManager.InventoryData;
 import me.fastgui.utils.UIItemParser;
 import org.bukkit.Bukkit;
@@ -10,8 +12,14 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import me.fastgui.managers.NBTManager;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.logging.Level;
 
 /**
@@ -24,9 +32,20 @@ public class UIOpener {
     private final LanguageManager languageManager;
     
     // 记录当前打开的UI，用于识别哪些界面是FastGUI的
-    private final Map<Inventory, String> openUIs = new HashMap<>();
+    private final Map<Inventory, UISession> openUIs = new HashMap<>();
     // 不再缓存Inventory对象，每个玩家打开时创建新实例
     
+    // 每个玩家的导航栈，open:动作压入当前UI，back动作弹出
+    private final Map<UUID, Deque<String>> history = new HashMap<>();
+    // 槽位显示条件的玩家掩码缓存
+    private final VisibilityManager visibilityManager = new VisibilityManager();
+    private final MetricsManager metrics = MetricsManager.getInstance();
+    private final TraceRecorder traceRecorder = TraceRecorder.getInstance();
+    // 导航栈最大深度，防止界面互相跳转时无限增长
+    private static final int MAX_NAVIGATION_DEPTH = 32;
+    // 正在通过动作切换界面的玩家，切换时旧界面的关闭事件不清除历史
+    private final Set<UUID> navigating = new HashSet<>();
+    
     public UIOpener(FastGUI plugin, UIManager uiManager, ConfigManager configManager, LanguageManager languageManager) {
         this.plugin = plugin;
         this.uiManager = uiManager;
@@ -41,82 +60,227 @@ public class UIOpener {
      * @return 是否成功打开
      */
     public boolean openUI(Player player, String uiName) {
+        // 加载UI数据（只加载一次，权限检查直接使用加载结果）
+        return openUI(player, uiName, uiManager.loadUI(uiName), true, true);
+    }
+    
+    /**
+     * 使用已加载的UI数据打开界面
+     * @param player 要打开界面的玩家
+     * @param uiName UI名称
+     * @param data 已加载的UI数据，为null时提示UI不存在
+     * @param countOpen 是否计入打开统计，文件热重载重新打开界面时为false
+     * @param traceOpen 是否记录到操作轨迹，按钮导航时为false（回放点击时会重新导航）
+     * @return 是否成功打开
+     */
+    private boolean openUI(Player player, String uiName, InventoryData data, boolean countOpen, boolean traceOpen) {
+        long start = System.nanoTime();
+        UIOpenEvent openEvent = new UIOpenEvent();
+        openEvent.begin();
+        String outcome = "error";
         try {
-            // 检查权限
-            if (!uiManager.hasUIPermission(player, uiName)) {
-                player.sendMessage(languageManager.getString("uiopener.no_permission", 
-                        java.util.Map.of("ui_name", uiName)));
-                plugin.getLogger().warning("玩家 " + player.getName() + " 没有权限打开UI: " + uiName);
+            if (data == null) {
+                outcome = "not_found";
+                languageManager.send(player, "uiopener.ui_not_found", "ui_name", uiName);
+                plugin.getLogger().warning("UI数据不存在或加载失败: " + uiName);
                 return false;
             }
             
-            // 加载UI数据
-            InventoryData data = uiManager.loadUI(uiName);
-            
-            if (data == null) {
-                player.sendMessage(languageManager.getString("uiopener.ui_not_found", 
-                        java.util.Map.of("ui_name", uiName)));
-                plugin.getLogger().warning("UI数据不存在或加载失败: " + uiName);
+            // 检查权限
+            if (!uiManager.hasUIPermission(player, data)) {
+                outcome = "no_permission";
+                languageManager.send(player, "uiopener.no_permission", "ui_name", uiName);
+                plugin.getLogger().warning("玩家 " + player.getName() + " 没有权限打开UI: " + uiName);
                 return false;
             }
             
             // 为每个玩家创建新的独立Inventory实例
             // 优先使用显示名称，如果没有则使用默认格式
-            String displayName = data.getDisplayName() != null ? data.getDisplayName() : "FastGUI - " + uiName;
+            String displayName = getTitle(uiName, data);
             
             // 根据容器类型创建对应的Inventory
-            Inventory inventory;
-            String containerType = data.getContainerType();
-            int size = data.getContents().length;
-            
-            // 根据容器类型创建不同的容器界面
             // 注意：Bukkit无法直接创建大型箱子，会自动合并两个相邻的小箱子
-            if (containerType != null) {
-                switch (containerType.toUpperCase()) {
-                    case "DISPENSER":
-                    case "DROPPER":
-                        // 发射器和投掷器都是3x3九宫格结构
-                        inventory = Bukkit.createInventory(null, 9, displayName);
-                        break;
-                    case "LARGE_CHEST":
-                        // 大型箱子需要54格
-                        inventory = Bukkit.createInventory(null, 54, displayName);
-                        break;
-                    case "CHEST":
-                    case "TRAPPED_CHEST":
-                    default:
-                        // 普通箱子默认27格，如果size是54则创建大型箱子
-                        inventory = Bukkit.createInventory(null, size, displayName);
-                        break;
-                }
-            } else {
-                // 默认创建普通箱子
-                inventory = Bukkit.createInventory(null, size, displayName);
-            }
+            Inventory inventory = Bukkit.createInventory(null, getInventorySize(data), displayName);
             
             // 填充物品
-            boolean hasValidItems = populateInventory(inventory, data.getContents());
+            boolean hasValidItems = populateInventory(inventory, getVisibleContents(player, uiName, data, 0));
             
             if (!hasValidItems) {
                 plugin.getLogger().warning("UI中没有有效的物品配置: " + uiName);
             }
             
-            // 记录打开的UI
-            openUIs.put(inventory, uiName);
+            // 记录打开的UI（包含页面状态，翻页时复用同一个Inventory）
+            openUIs.put(inventory, new UISession(uiName, data, player));
+            
+            // 列表UI：在内容槽位中渲染数据源的第一个窗口
+            ListUIManager listUIManager = plugin.getListUIManager();
+            if (data.getListProvider() != null && listUIManager != null) {
+                listUIManager.open(player, inventory, data);
+            }
             
             // 打开界面给玩家
             player.openInventory(inventory);
             
+            if (countOpen) {
+                recordOpen(uiName, start);
+            }
+            if (traceOpen) {
+                traceRecorder.recordOpen(player, uiName);
+            }
+            outcome = "opened";
+            
             // 仅在调试模式下记录玩家打开UI的信息
-            if (configManager.isDebugModeEnabled()) {
-                plugin.getLogger().info("玩家 " + player.getName() + " 打开了UI: " + uiName);
+            if (LogManager.isDebugFor(player.getName(), uiName)) {
+                writeDebugLog("玩家 " + player.getName() + " 打开了UI: " + uiName);
             }
             return true;
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "打开UI时出错 (名称: " + uiName + ", Player: " + player.getName() + ")", e);
-            player.sendMessage(languageManager.getString("uiopener.open_error"));
+            languageManager.send(player, "uiopener.open_error");
             return false;
+        } finally {
+            openEvent.complete(uiName, player.getName(), outcome);
+        }
+    }
+    
+    /**
+     * 记录一次UI打开，文件热重载刷新已打开的界面时不调用
+     * @param uiName UI名称
+     * @param start 开始打开的时间（System.nanoTime）
+     */
+    private void recordOpen(String uiName, long start) {
+        metrics.recordUIOpen(uiName);
+        uiManager.recordOpen(uiName);
+        metrics.recordSince(MetricsManager.Timer.UI_OPEN, start);
+    }
+    
+    /**
+     * 获取UI界面标题
+     * @param uiName UI名称
+     * @param data UI数据
+     * @return 显示名称，没有时使用默认格式
+     */
+    private String getTitle(String uiName, InventoryData data) {
+        return data.getDisplayName() != null ? data.getDisplayName() : "FastGUI - " + uiName;
+    }
+    
+    /**
+     * 根据容器类型计算界面大小
+     * @param data UI数据
+     * @return 界面格数
+     */
+    private int getInventorySize(InventoryData data) {
+        String containerType = data.getContainerType();
+        int size = data.getContents().length;
+        if (containerType == null) {
+            // 默认创建普通箱子
+            return size;
+        }
+        
+        switch (containerType.toUpperCase()) {
+            case "DISPENSER":
+            case "DROPPER":
+                // 发射器和投掷器都是3x3九宫格结构
+                return 9;
+            case "LARGE_CHEST":
+                // 大型箱子需要54格
+                return 54;
+            case "CHEST":
+            case "TRAPPED_CHEST":
+            default:
+                // 普通箱子默认27格，如果size是54则创建大型箱子
+                return size;
+        }
+    }
+    
+    /**
+     * 获取玩家可见的页面物品
+     * <p>先按玩家的语言取本地化的物品模板，再按页面的显示条件过滤，玩家的条件掩码会被缓存。</p>
+     * @param player 玩家，为null时不本地化也不过滤
+     * @param uiId UI名称
+     * @param data UI数据
+     * @param page 页面索引
+     * @return 过滤后的物品模板（未克隆）
+     */
+    private ItemStack[] getVisibleContents(Player player, String uiId, InventoryData data, int page) {
+        ItemStack[] contents = getLocalizedContents(player, uiId, data, page);
+        if (player == null) {
+            return contents;
+        }
+        return visibilityManager.filter(player, uiId, page, data.getPageVisibility(page), contents);
+    }
+    
+    /**
+     * 获取按玩家语言本地化的页面物品模板
+     * <p>语言文件中没有该UI的物品文字时直接返回原模板；否则每种语言只渲染一次，之后与原模板一样只需克隆。</p>
+     */
+    private ItemStack[] getLocalizedContents(Player player, String uiId, InventoryData data, int page) {
+        ItemStack[] template = data.getPageContents(page);
+        if (template == null || player == null) {
+            return template;
+        }
+        String language = languageManager.getLanguage(player);
+        if (!languageManager.hasItemText(language, uiId)) {
+            return template;
+        }
+        return data.getLocalizedContents(language, page, languageManager.getItemTextGeneration(),
+                () -> LocalizedItemText.render(template, uiId, page, language, languageManager));
+    }
+    
+    /**
+     * 获取显示条件缓存管理器
+     * @return 显示条件缓存管理器
+     */
+    public VisibilityManager getVisibilityManager() {
+        return visibilityManager;
+    }
+    
+    /**
+     * 克隆物品用于显示，数组大小与界面一致
+     * @param contents 模板物品
+     * @param size 界面大小
+     * @return 克隆后的物品数组
+     */
+    private ItemStack[] cloneContents(ItemStack[] contents, int size) {
+        ItemStack[] display = new ItemStack[size];
+        int maxSlots = Math.min(contents.length, size);
+        for (int i = 0; i < maxSlots; i++) {
+            ItemStack item = contents[i];
+            if (item != null && item.getType() != null && !item.getType().isAir()) {
+                display[i] = item.clone();
+            }
+        }
+        return display;
+    }
+    
+    /**
+     * 参数化调试日志，调试模式关闭时不会拼接字符串
+     * @param pattern 消息模板，{} 按顺序替换为参数
+     * @param arg 参数
+     */
+    private void debugLog(String pattern, Object arg) {
+        if (LogManager.isDebug()) {
+            writeDebugLog(LogManager.format(pattern, arg));
+        }
+    }
+    
+    /**
+     * 参数化调试日志
+     * @param pattern 消息模板，{} 按顺序替换为参数
+     * @param arg1 第一个参数
+     * @param arg2 第二个参数
+     */
+    private void debugLog(String pattern, Object arg1, Object arg2) {
+        if (LogManager.isDebug()) {
+            writeDebugLog(LogManager.format(pattern, arg1, arg2));
+        }
+    }
+    
+    private void writeDebugLog(String message) {
+        LogManager logManager = plugin.getLogManager();
+        if (logManager != null) {
+            logManager.debugLog("[UIOpener] " + message);
         }
     }
     
@@ -157,31 +321,340 @@ public class UIOpener {
                 
                 // 将任何非空物品都视为有效物品
                 hasValidItems = true;
-                plugin.getLogger().fine("UIOpener: 正在处理物品 (槽位 " + i + "): " + clonedItem.getType().name() + ", 数量: " + clonedItem.getAmount());
                 
-                try {
-                    // 确保NBT属性在UI渲染过程中被正确保留
-                    // NBTManager已经在保存时添加了相关属性，这里确保它们在渲染时被保留
-                    if (nbtManager != null) {
-                        // 验证并确保NBT数据完整性
-                        if (nbtManager.isButtonItem(clonedItem)) {
-                            plugin.getLogger().fine("UIOpener: 确认物品为按钮 (槽位 " + i + ")");
-                        } else if (nbtManager.isBorderItem(clonedItem)) {
-                            plugin.getLogger().fine("UIOpener: 确认物品为边框 (槽位 " + i + ")");
+                // 逐槽位的NBT检查只用于调试输出，调试模式关闭时跳过
+                if (LogManager.isDebug()) {
+                    debugLog("正在处理物品 (槽位 {}): {}", i, clonedItem.getType());
+                    try {
+                        if (nbtManager != null) {
+                            if (nbtManager.isButtonItem(clonedItem)) {
+                                debugLog("确认物品为按钮 (槽位 {})", i);
+                            } else if (nbtManager.isBorderItem(clonedItem)) {
+                                debugLog("确认物品为边框 (槽位 {})", i);
+                            }
                         }
+                    } catch (Exception e) {
+                        plugin.getLogger().warning("UIOpener: 处理物品NBT数据时出错 (槽位 " + i + "): " + e.getMessage());
                     }
-                } catch (Exception e) {
-                    plugin.getLogger().warning("UIOpener: 处理物品NBT数据时出错 (槽位 " + i + "): " + e.getMessage());
                 }
                 
                 inventory.setItem(i, clonedItem);
-                plugin.getLogger().fine("UIOpener: 物品已设置到槽位 " + i);
             }
         }
         
         return hasValidItems;
     }
     
+    /**
+     * 在已打开的界面中切换到指定页面
+     * <p>直接替换现有Inventory的内容，不重新创建界面，页面物品在首次显示时才反序列化。
+     * 列表UI翻页后从第一个窗口重新渲染列表。</p>
+     * @param inventory 已打开的FastGUI容器
+     * @param page 目标页面索引（从0开始）
+     * @return 是否切换成功
+     */
+    public boolean showPage(Inventory inventory, int page) {
+        UISession session = openUIs.get(inventory);
+        if (session == null) {
+            return false;
+        }
+        
+        InventoryData data = session.getData();
+        if (page < 0 || page >= data.getPageCount()) {
+            return false;
+        }
+        if (page == session.getPage()) {
+            return true;
+        }
+        
+        ItemStack[] pageContents = getVisibleContents(session.getPlayer(), session.getUIId(), data, page);
+        if (pageContents == null) {
+            return false;
+        }
+        
+        // 克隆页面物品并一次性写入容器
+        inventory.setContents(cloneContents(pageContents, inventory.getSize()));
+        session.setPage(page);
+        
+        // 列表UI：页面物品覆盖了内容槽位，重新渲染列表窗口，点击的条目与显示的一致
+        ListUIManager listUIManager = plugin.getListUIManager();
+        if (data.getListProvider() != null && listUIManager != null) {
+            listUIManager.open(session.getPlayer(), inventory, data);
+        }
+        
+        debugLog("UI翻页: {} -> 第{}页", session.getUIId(), page + 1);
+        return true;
+    }
+    
+    /**
+     * 根据翻页参数切换页面
+     * @param inventory 已打开的FastGUI容器
+     * @param target 翻页参数：next（下一页）、prev（上一页）或页码（从1开始）
+     * @return 是否切换成功
+     */
+    public boolean turnPage(Inventory inventory, String target) {
+        UISession session = openUIs.get(inventory);
+        if (session == null || target == null) {
+            return false;
+        }
+        
+        int page;
+        String arg = target.trim().toLowerCase();
+        switch (arg) {
+            case "next":
+                page = session.getPage() + 1;
+                break;
+            case "prev":
+            case "previous":
+                page = session.getPage() - 1;
+                break;
+            case "first":
+                page = 0;
+                break;
+            case "last":
+                page = session.getData().getPageCount() - 1;
+                break;
+            default:
+                try {
+                    page = Integer.parseInt(arg) - 1;
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("无效的翻页参数: " + target);
+                    return false;
+                }
+                break;
+        }
+        
+        return showPage(inventory, page);
+    }
+    
+    /**
+     * 执行按钮的内置动作
+     * <p>内置动作直接在插件内完成，不经过命令系统。普通命令动作不在这里处理。</p>
+     * @param player 点击按钮的玩家
+     * @param inventory 当前打开的FastGUI容器
+     * @param action 按钮动作
+     * @return 是否已处理（普通命令返回false，由调用者交给控制台执行）
+     */
+    public boolean executeAction(Player player, Inventory inventory, UIAction action) {
+        if (action == null || !action.isNative()) {
+            return false;
+        }
+        
+        switch (action.getType()) {
+            case OPEN:
+                UISession session = openUIs.get(inventory);
+                String target = action.getArgument();
+                // 在点击事件中不能直接切换界面，延迟到下一tick执行
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    // 切换成功后才记录返回历史，目标不存在或没有权限时仍停留在当前界面
+                    if (navigateTo(player, target) && session != null) {
+                        Deque<String> stack = history.computeIfAbsent(player.getUniqueId(), k -> new ArrayDeque<>());
+                        stack.push(session.getUIId());
+                        if (stack.size() > MAX_NAVIGATION_DEPTH) {
+                            stack.removeLast();
+                        }
+                    }
+                });
+                break;
+            case CLOSE:
+                player.closeInventory();
+                break;
+            case BACK:
+                Bukkit.getScheduler().runTask(plugin, () -> goBack(player));
+                break;
+            case PAGE:
+                if (!turnPage(inventory, action.getArgument())) {
+                    debugLog("翻页失败: {}", action.getArgument());
+                }
+                break;
+            case SCROLL:
+                ListUIManager listUIManager = plugin.getListUIManager();
+                if (listUIManager == null || !listUIManager.scroll(inventory, action.getArgument())) {
+                    debugLog("列表滚动失败: {}", action.getArgument());
+                }
+                break;
+            case SOUND:
+                try {
+                    player.playSound(player.getLocation(), action.getArgument(), 1.0f, 1.0f);
+                } catch (Exception e) {
+                    plugin.getLogger().warning("播放音效失败: " + action.getArgument() + " - " + e.getMessage());
+                }
+                break;
+            default:
+                return false;
+        }
+        return true;
+    }
+    
+    /**
+     * 返回玩家上一个打开的UI，没有历史时关闭界面
+     * @param player 玩家
+     */
+    public void goBack(Player player) {
+        Deque<String> stack = history.get(player.getUniqueId());
+        String previous = stack != null ? stack.poll() : null;
+        if (previous == null) {
+            player.closeInventory();
+            return;
+        }
+        navigateTo(player, previous);
+    }
+    
+    /**
+     * 在保留导航栈的情况下切换到另一个UI
+     * <p>优先使用缓存的UI数据。如果玩家当前打开的FastGUI界面与目标UI大小相同，
+     * 直接在原界面中替换内容和标题，不关闭再打开界面。</p>
+     * @param player 玩家
+     * @param uiName 目标UI名称
+     * @return 是否切换成功
+     */
+    public boolean navigateTo(Player player, String uiName) {
+        InventoryData data = uiManager.getUI(uiName);
+        if (data != null && uiManager.hasUIPermission(player, data)) {
+            Inventory current = player.getOpenInventory().getTopInventory();
+            if (isFastGUI(current)) {
+                long start = System.nanoTime();
+                UIOpenEvent openEvent = new UIOpenEvent();
+                openEvent.begin();
+                if (swapInPlace(player, current, uiName, data, 0)) {
+                    // 原地切换也是一次打开，计入统计和预热使用的打开次数
+                    recordOpen(uiName, start);
+                    openEvent.complete(uiName, player.getName(), "swapped");
+                    return true;
+                }
+            }
+        }
+        
+        return reopen(player, uiName, data, true);
+    }
+    
+    /**
+     * 关闭当前界面并打开新的界面，保留玩家的导航栈
+     * <p>与原地切换一样不记录到操作轨迹：导航由轨迹中的点击触发，回放点击时会重新导航。</p>
+     */
+    private boolean reopen(Player player, String uiName, InventoryData data, boolean countOpen) {
+        UUID uuid = player.getUniqueId();
+        navigating.add(uuid);
+        try {
+            return openUI(player, uiName, data, countOpen, false);
+        } finally {
+            navigating.remove(uuid);
+        }
+    }
+    
+    /**
+     * 在已打开的界面中直接替换为另一个UI
+     * @param player 玩家
+     * @param inventory 玩家当前打开的FastGUI容器
+     * @param uiName 目标UI名称
+     * @param data 目标UI数据
+     * @param page 显示的页面索引
+     * @return 是否替换成功，大小不同时返回false
+     */
+    private boolean swapInPlace(Player player, Inventory inventory, String uiName, InventoryData data, int page) {
+        if (getInventorySize(data) != inventory.getSize()) {
+            return false;
+        }
+        
+        ListUIManager listUIManager = plugin.getListUIManager();
+        if (listUIManager != null) {
+            listUIManager.close(inventory);
+        }
+        
+        UISession session = new UISession(uiName, data, player);
+        session.setPage(page);
+        openUIs.put(inventory, session);
+        inventory.setContents(cloneContents(getVisibleContents(player, uiName, data, page), inventory.getSize()));
+        
+        // 更新标题，服务器不支持时保留原标题
+        try {
+            player.getOpenInventory().setTitle(getTitle(uiName, data));
+        } catch (Throwable e) {
+            plugin.getLogger().fine("当前服务器不支持更新界面标题: " + e.getMessage());
+        }
+        
+        if (data.getListProvider() != null && listUIManager != null) {
+            listUIManager.open(player, inventory, data);
+        }
+        
+        debugLog("界面原地切换: {} (玩家: {})", uiName, player.getName());
+        return true;
+    }
+    
+    /**
+     * 检查是否有玩家正在查看指定UI
+     * @param uiId UI ID
+     * @return 是否有打开的界面
+     */
+    public boolean isOpen(String uiId) {
+        for (UISession session : openUIs.values()) {
+            if (session.getUIId().equals(uiId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 把重新加载的UI数据推送给正在查看该UI的玩家
+     * <p>界面大小不变时在原界面中替换内容并保留当前页面，大小改变时重新打开界面；
+     * UI被删除或玩家不再有权限时关闭界面。</p>
+     * @param uiId UI ID
+     * @param data 新的UI数据，UI已删除时为null
+     * @return 更新的界面数量
+     */
+    public int refreshOpenUI(String uiId, InventoryData data) {
+        int refreshed = 0;
+        for (Map.Entry<Inventory, UISession> entry : new ArrayList<>(openUIs.entrySet())) {
+            UISession session = entry.getValue();
+            if (!session.getUIId().equals(uiId) || session.getData() == data) {
+                continue;
+            }
+            Player player = session.getPlayer();
+            if (data == null || !uiManager.hasUIPermission(player, data)) {
+                player.closeInventory();
+            } else {
+                int page = Math.min(session.getPage(), data.getPageCount() - 1);
+                if (!swapInPlace(player, entry.getKey(), uiId, data, page)) {
+                    reopen(player, uiId, data, false);
+                }
+            }
+            refreshed++;
+        }
+        if (refreshed > 0) {
+            debugLog("UI文件变化，已更新 {} 个打开的界面: {}", refreshed, uiId);
+        }
+        return refreshed;
+    }
+    
+    /**
+     * 获取界面当前显示的页面索引
+     * @param inventory 容器
+     * @return 页面索引（从0开始），如果不是FastGUI则返回-1
+     */
+    public int getCurrentPage(Inventory inventory) {
+        UISession session = openUIs.get(inventory);
+        return session != null ? session.getPage() : -1;
+    }
+    
+    /**
+     * 获取界面当前页面的槽位数据
+     * @param inventory 容器
+     * @param slot 槽位索引
+     * @return 槽位数据，如果不存在则返回null
+     */
+    public UIManager.InventorySlotData getSlotData(Inventory inventory, int slot) {
+        UISession session = openUIs.get(inventory);
+        if (session == null) {
+            return null;
+        }
+        UIManager.InventorySlotData[] slotData = session.getData().getPageSlotData(session.getPage());
+        if (slotData == null || slot < 0 || slot >= slotData.length) {
+            return null;
+        }
+        return slotData[slot];
+    }
+    
     /**
      * 获取UI的显示名称
      * @param uiId UI的ID（现在直接是UI名称）
@@ -207,7 +680,21 @@ public class UIOpener {
      * @return UI ID，如果不是FastGUI则返回null
      */
     public String getUIId(Inventory inventory) {
-        return openUIs.get(inventory);
+        UISession session = openUIs.get(inventory);
+        return session != null ? session.getUIId() : null;
+    }
+    
+    /**
+     * 当玩家关闭容器时调用，清理记录和返回历史
+     * @param player 关闭容器的玩家
+     * @param inventory 关闭的容器
+     */
+    public void onInventoryClose(Player player, Inventory inventory) {
+        // 玩家主动关闭界面时清除返回历史，通过动作切换界面时保留
+        if (player != null && !navigating.contains(player.getUniqueId())) {
+            history.remove(player.getUniqueId());
+        }
+        onInventoryClose(inventory);
     }
     
     /**
@@ -215,9 +702,13 @@ public class UIOpener {
      * @param inventory 关闭的容器
      */
     public void onInventoryClose(Inventory inventory) {
-        String uiId = openUIs.remove(inventory);
-        if (uiId != null) {
-            plugin.getLogger().fine("UI关闭: " + uiId);
+        UISession session = openUIs.remove(inventory);
+        if (session != null) {
+            ListUIManager listUIManager = plugin.getListUIManager();
+            if (listUIManager != null) {
+                listUIManager.close(inventory);
+            }
+            debugLog("UI关闭: {}", session.getUIId());
         }
     }
     
@@ -235,7 +726,7 @@ public class UIOpener {
     public void cleanupResources() {
         clearAllOpenUIs();
         clearInventoryCache();
-        if (configManager.isDebugModeEnabled()) {
+        if (configManager.getSettings().debugModeEnabled()) {
             plugin.getLogger().info("UIOpener资源已清理");
         }
     }
@@ -246,7 +737,13 @@ public class UIOpener {
      */
     public void clearAllOpenUIs() {
         openUIs.clear();
-        if (configManager.isDebugModeEnabled()) {
+        history.clear();
+        visibilityManager.invalidateAll();
+        ListUIManager listUIManager = plugin.getListUIManager();
+        if (listUIManager != null) {
+            listUIManager.clearAll();
+        }
+        if (configManager.getSettings().debugModeEnabled()) {
             plugin.getLogger().info("已清除所有打开的UI记录");
         }
     }
@@ -271,8 +768,13 @@ public class UIOpener {
         
         // 清除所有打开的UI记录
         openUIs.clear();
+        history.clear();
+        ListUIManager listUIManager = plugin.getListUIManager();
+        if (listUIManager != null) {
+            listUIManager.clearAll();
+        }
         
-        if (configManager.isDebugModeEnabled()) {
+        if (configManager.getSettings().debugModeEnabled()) {
             plugin.getLogger().info("已关闭 " + closedCount + " 个FastGUI界面");
         }
     }
@@ -284,4 +786,27 @@ public class UIOpener {
     public int getOpenUICount() {
         return openUIs.size();
     }
+    
+    /**
+     * 打开的UI会话，记录UI数据和当前页面
+     */
+    private static class UISession {
+        private final String uiId;
+        private final InventoryData data;
+        private final Player player;
+        private int page;
+        
+        UISession(String uiId, InventoryData data, Player player) {
+            this.uiId = uiId;
+            this.data = data;
+            this.player = player;
+            this.page = 0;
+        }
+        
+        String getUIId() { return uiId; }
+        InventoryData getData() { return data; }
+        Player getPlayer() { return player; }
+        int getPage() { return page; }
+        void setPage(int page) { this.page = page; }
+    }
 }
\ No newline at end of file
@@ -25,10 +25,18 @@ public class UISerializer {
      * @param configManager 配置管理器
      */
     public UISerializer(FastGUI plugin, ConfigManager configManager, LogManager logManager) {
+        this(plugin, configManager, logManager, FastGUI.getInstance().getDataFolder());
+    }
+    
+    /**
+     * 使用指定的数据目录创建序列化器，基准测试在没有运行中服务器的情况下使用
+     * @param dataFolder 插件数据目录
+     */
+    UISerializer(FastGUI plugin, ConfigManager configManager, LogManager logManager, File dataFolder) {
         this.plugin = plugin;
         this.configManager = configManager;
         this.logManager = logManager;
-        this.fastGUIFolder = new File(FastGUI.getInstance().getDataFolder(), "Fast GUI");
+        this.fastGUIFolder = new File(dataFolder, "Fast GUI");
     }
     
     /**
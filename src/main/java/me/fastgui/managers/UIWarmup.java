@@ -0,0 +1,125 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import me.fastgui.managers.UIManager.InventoryData;
+import me.fastgui.managers.UIManager.UIPage;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动时的UI缓存预热
+ * <p>重启后大量玩家同时重新连接时，每个UI第一次打开都要读取文件并反序列化物品。预热在读取UI表后，
+ * 按上次保存的打开次数从高到低选出最多缓存容量个UI，在 {@link ForkJoinPool} 中并行读取和反序列化（包括附加页面的物品），
+ * 结果放入队列；主线程每tick最多取出 per-tick 个放入缓存，不会因为一次放入大量UI而卡顿。
+ * 预热期间已经被玩家打开而加载的UI不会被覆盖。</p>
+ */
+final class UIWarmup {
+
+    private final FastGUI plugin;
+    private final UIManager uiManager;
+    private final Settings.Warmup settings;
+    private final Queue<Map.Entry<String, InventoryData>> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private ForkJoinPool pool;
+    private BukkitTask task;
+    private long startedAt;
+    private int cached;
+
+    UIWarmup(FastGUI plugin, UIManager uiManager, Settings.Warmup settings) {
+        this.plugin = plugin;
+        this.uiManager = uiManager;
+        this.settings = settings;
+    }
+
+    /**
+     * 开始预热
+     * @param files 按优先级排列的 UI ID -> UI文件
+     */
+    void start(Map<String, File> files) {
+        startedAt = System.nanoTime();
+        pending.set(files.size());
+        pool = new ForkJoinPool(settings.parallelism(), UIWarmup::newWorker, null, false);
+        for (Map.Entry<String, File> entry : files.entrySet()) {
+            pool.execute(() -> read(entry.getKey(), entry.getValue()));
+        }
+        // 已提交的UI继续读取，读完后线程退出
+        pool.shutdown();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        plugin.getLogger().info("开始预热UI缓存: " + files.size() + " 个UI，" + settings.parallelism() + " 个线程");
+    }
+
+    /**
+     * 在线程池中读取一个UI
+     */
+    private void read(String uiName, File file) {
+        try {
+            if (!file.exists()) {
+                return;
+            }
+            InventoryData data = uiManager.readUIFile(uiName, file);
+            if (data == null) {
+                failed.incrementAndGet();
+                return;
+            }
+            // 附加页面的物品也在这里反序列化，翻页时不再需要
+            for (UIPage page : data.getExtraPages()) {
+                page.getContents();
+            }
+            ready.add(Map.entry(uiName, data));
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            plugin.getLogger().warning("预热UI失败 (名称: " + uiName + "): " + e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * 主线程每tick调用，把最多 per-tick 个已读取的UI放入缓存
+     */
+    private void drain() {
+        for (int i = 0; i < settings.perTick(); i++) {
+            Map.Entry<String, InventoryData> entry = ready.poll();
+            if (entry == null) {
+                break;
+            }
+            if (uiManager.cacheWarmedUI(entry.getKey(), entry.getValue())) {
+                cached++;
+            }
+        }
+        if (pending.get() == 0 && ready.isEmpty()) {
+            task.cancel();
+            uiManager.warmupFinished(this);
+            long millis = (System.nanoTime() - startedAt) / 1_000_000;
+            plugin.getLogger().info("UI缓存预热完成: 已缓存 " + cached + " 个UI，失败 " + failed.get() + " 个，耗时 " + millis + "ms");
+        }
+    }
+
+    /**
+     * 停止预热，丢弃还没有放入缓存的结果
+     */
+    void cancel() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+        if (task != null) {
+            task.cancel();
+        }
+        ready.clear();
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("FastGUI-Warmup-" + thread.getPoolIndex());
+        return thread;
+    }
+}
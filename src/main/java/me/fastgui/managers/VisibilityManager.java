@@ -0,0 +1,85 @@
+package me.fastgui.managers;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 显示条件缓存管理器
+ * <p>缓存每个玩家对每个页面显示条件的掩码。玩家切换世界、退出或权限变化时清除该玩家的缓存。</p>
+ * <p>缓存按 UI ID 和页面索引保存，同时记录计算掩码时的显示条件实例。UI重新加载后显示条件是新的实例，
+ * 下一次打开时直接替换该页面的旧掩码，旧的显示条件不会一直留在在线玩家的缓存中。</p>
+ */
+public class VisibilityManager {
+
+    // 玩家UUID -> (页面 -> 条件掩码)，只在主线程访问
+    private final Map<UUID, Map<PageKey, CachedMask>> masks = new HashMap<>();
+
+    /**
+     * 获取玩家对页面显示条件的掩码
+     * @param player 玩家
+     * @param uiId UI ID
+     * @param page 页面索引
+     * @param visibility 页面显示条件
+     * @return 条件掩码
+     */
+    public long getMask(Player player, String uiId, int page, SlotVisibility visibility) {
+        if (visibility == null || visibility.isEmpty()) {
+            return 0L;
+        }
+        Map<PageKey, CachedMask> playerMasks = masks.computeIfAbsent(player.getUniqueId(), k -> new HashMap<>());
+        PageKey key = new PageKey(uiId, page);
+        CachedMask cached = playerMasks.get(key);
+        if (cached == null || cached.visibility() != visibility) {
+            cached = new CachedMask(visibility, visibility.evaluate(player));
+            playerMasks.put(key, cached);
+        }
+        return cached.mask();
+    }
+
+    /**
+     * 按玩家的显示条件过滤页面物品
+     * @param player 玩家
+     * @param uiId UI ID
+     * @param page 页面索引
+     * @param visibility 页面显示条件
+     * @param template 页面物品模板
+     * @return 过滤后的物品数组，没有显示条件时直接返回模板
+     */
+    public ItemStack[] filter(Player player, String uiId, int page, SlotVisibility visibility, ItemStack[] template) {
+        if (visibility == null || visibility.isEmpty()) {
+            return template;
+        }
+        return visibility.filter(template, getMask(player, uiId, page, visibility));
+    }
+
+    /**
+     * 清除玩家的掩码缓存
+     * @param uuid 玩家UUID
+     */
+    public void invalidate(UUID uuid) {
+        masks.remove(uuid);
+    }
+
+    /**
+     * 清除所有玩家的掩码缓存
+     */
+    public void invalidateAll() {
+        masks.clear();
+    }
+
+    /**
+     * 掩码缓存的键
+     */
+    private record PageKey(String uiId, int page) {
+    }
+
+    /**
+     * 缓存的掩码和计算时使用的显示条件
+     */
+    private record CachedMask(SlotVisibility visibility, long mask) {
+    }
+}
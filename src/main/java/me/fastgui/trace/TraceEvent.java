@@ -0,0 +1,67 @@
+package me.fastgui.trace;
+
+import java.util.UUID;
+
+/**
+ * 交互记录中的一个事件
+ * <p>由 {@link TraceReader} 读出，字段按事件类型使用，不适用的字段为null或-1。</p>
+ *
+ * @param type 事件类型
+ * @param nanos 距记录开始的时间（纳秒）
+ * @param player 触发事件的玩家
+ * @param uiId UI ID（打开和点击）
+ * @param slot 点击的原始槽位（点击），其他事件为-1
+ * @param clickType 点击类型，{@code ClickType} 的名称（点击）
+ * @param npc 被点击的实体（NPC交互）
+ * @param world 进入的世界名称（进入世界）
+ */
+public record TraceEvent(
+        Type type,
+        long nanos,
+        PlayerRef player,
+        String uiId,
+        int slot,
+        String clickType,
+        NPC npc,
+        String world) {
+
+    /**
+     * 事件类型，code是写入文件的类型字节
+     */
+    public enum Type {
+        OPEN(TraceFormat.OPEN),
+        CLICK(TraceFormat.CLICK),
+        NPC(TraceFormat.NPC),
+        WORLD_JOIN(TraceFormat.WORLD_JOIN);
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public int getCode() { return code; }
+    }
+
+    /**
+     * 记录中的玩家
+     *
+     * @param id 玩家UUID
+     * @param name 玩家名称
+     */
+    public record PlayerRef(UUID id, String name) {
+    }
+
+    /**
+     * 记录中的NPC实体及其第一次出现时的属性
+     *
+     * @param id 实体UUID
+     * @param entityType {@code EntityType} 的名称
+     * @param command NPC命令，没有时为null
+     * @param permission 权限属性，没有时为null
+     * @param executeMode 执行模式属性，没有时为null
+     * @param executor 执行体属性，没有时为null
+     */
+    public record NPC(UUID id, String entityType, String command, String permission, String executeMode, String executor) {
+    }
+}
@@ -0,0 +1,69 @@
+package me.fastgui.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 交互记录文件（.fgtrace）的格式常量和变长整数编码
+ * <p>文件以魔数 {@code FGTR}、格式版本和记录开始的时间戳（毫秒）开头，之后是一条条记录，每条以类型字节开头。
+ * 玩家、字符串和NPC第一次出现时先写入定义记录分配编号，事件记录只引用编号；
+ * 事件的时间用与上一个事件的纳秒差值表示，编号和差值都以变长整数写入，一个点击事件通常只占5到7个字节。</p>
+ */
+final class TraceFormat {
+
+    /** 文件魔数 "FGTR" */
+    static final int MAGIC = 0x46475452;
+    /** 格式版本 */
+    static final int VERSION = 1;
+    /** 文件扩展名 */
+    static final String EXTENSION = ".fgtrace";
+
+    // 定义记录
+    static final int DEFINE_PLAYER = 1;
+    static final int DEFINE_STRING = 2;
+    static final int DEFINE_NPC = 3;
+    // 事件记录
+    static final int OPEN = 10;
+    static final int CLICK = 11;
+    static final int NPC = 12;
+    static final int WORLD_JOIN = 13;
+
+    private TraceFormat() {
+    }
+
+    /**
+     * 写入无符号变长整数，每字节7位，最高位表示后面还有字节
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("变长整数过长");
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("变长整数超出int范围");
+        }
+        return (int) value;
+    }
+}
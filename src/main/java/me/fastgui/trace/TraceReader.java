@@ -0,0 +1,165 @@
+package me.fastgui.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 交互记录的解码器
+ * <p>按顺序读出 {@link TraceWriter} 写入的事件，定义记录在读取时消化，只返回事件。
+ * 记录在服务器崩溃时可能以半条记录结尾，这种情况按文件结束处理。</p>
+ */
+public final class TraceReader implements Closeable {
+
+    private final DataInputStream in;
+    private final long startedAt;
+    private final List<TraceEvent.PlayerRef> players = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+    private final List<TraceEvent.NPC> npcs = new ArrayList<>();
+    private long nanos;
+    private boolean truncated;
+
+    /**
+     * 创建解码器并读取文件头
+     * @param in 输入流
+     * @throws IOException 不是交互记录文件或版本不支持时抛出
+     */
+    public TraceReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        if (this.in.readInt() != TraceFormat.MAGIC) {
+            throw new IOException("不是FastGUI交互记录文件");
+        }
+        int version = this.in.readShort();
+        if (version != TraceFormat.VERSION) {
+            throw new IOException("不支持的交互记录版本: " + version);
+        }
+        this.startedAt = this.in.readLong();
+        strings.add(null);
+    }
+
+    /**
+     * 读取整个记录文件
+     * @param file 记录文件
+     * @return 按时间顺序排列的事件
+     */
+    public static List<TraceEvent> readAll(File file) throws IOException {
+        try (TraceReader reader = new TraceReader(new BufferedInputStream(new FileInputStream(file)))) {
+            List<TraceEvent> events = new ArrayList<>();
+            TraceEvent event;
+            while ((event = reader.next()) != null) {
+                events.add(event);
+            }
+            return events;
+        }
+    }
+
+    /**
+     * 读取下一个事件
+     * @return 事件，已到文件末尾时返回null
+     */
+    public TraceEvent next() throws IOException {
+        while (true) {
+            int type = in.read();
+            if (type < 0) {
+                return null;
+            }
+            try {
+                TraceEvent event = readRecord(type);
+                if (event != null) {
+                    return event;
+                }
+            } catch (EOFException e) {
+                truncated = true;
+                return null;
+            }
+        }
+    }
+
+    private TraceEvent readRecord(int type) throws IOException {
+        switch (type) {
+            case TraceFormat.DEFINE_PLAYER:
+                players.add(new TraceEvent.PlayerRef(readUUID(), in.readUTF()));
+                return null;
+            case TraceFormat.DEFINE_STRING:
+                strings.add(in.readUTF());
+                return null;
+            case TraceFormat.DEFINE_NPC:
+                npcs.add(new TraceEvent.NPC(readUUID(), readString(), readString(), readString(), readString(), readString()));
+                return null;
+            case TraceFormat.OPEN: {
+                long time = readTime();
+                return new TraceEvent(TraceEvent.Type.OPEN, time, readPlayer(), readString(), -1, null, null, null);
+            }
+            case TraceFormat.CLICK: {
+                long time = readTime();
+                TraceEvent.PlayerRef player = readPlayer();
+                String uiId = readString();
+                int slot = TraceFormat.readVarInt(in) - 1;
+                return new TraceEvent(TraceEvent.Type.CLICK, time, player, uiId, slot, readString(), null, null);
+            }
+            case TraceFormat.NPC: {
+                long time = readTime();
+                TraceEvent.PlayerRef player = readPlayer();
+                return new TraceEvent(TraceEvent.Type.NPC, time, player, null, -1, null, npcs.get(readIndex(npcs.size())), null);
+            }
+            case TraceFormat.WORLD_JOIN: {
+                long time = readTime();
+                return new TraceEvent(TraceEvent.Type.WORLD_JOIN, time, readPlayer(), null, -1, null, null, readString());
+            }
+            default:
+                throw new IOException("未知的记录类型: " + type);
+        }
+    }
+
+    private long readTime() throws IOException {
+        nanos += TraceFormat.readVarLong(in);
+        return nanos;
+    }
+
+    private TraceEvent.PlayerRef readPlayer() throws IOException {
+        return players.get(readIndex(players.size()));
+    }
+
+    private String readString() throws IOException {
+        return strings.get(readIndex(strings.size()));
+    }
+
+    private int readIndex(int size) throws IOException {
+        int index = TraceFormat.readVarInt(in);
+        if (index < 0 || index >= size) {
+            throw new IOException("引用了未定义的编号: " + index);
+        }
+        return index;
+    }
+
+    private UUID readUUID() throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * 记录开始的时间戳（毫秒）
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * 文件是否以不完整的记录结尾
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
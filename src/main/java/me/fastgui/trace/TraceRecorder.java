@@ -0,0 +1,284 @@
+package me.fastgui.trace;
+
+import me.fastgui.FastGUI;
+import me.fastgui.managers.NBTManager;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * 交互记录器
+ * <p>通过 /fg trace start 开启后，把打开UI、点击、NPC交互和进入世界事件以 {@link TraceFormat} 格式记录到
+ * {@code traces/<名称>.fgtrace}，可由负载测试中的回放工具按原来的节奏重放。未开启时每个钩子只读取一次volatile字段。</p>
+ * <p>事件在主线程编码到内存缓冲区，后台任务每秒把缓冲区交换出来写入文件，主线程不等待磁盘IO。
+ * 文件超过 {@link #MAX_TRACE_BYTES} 时自动停止记录。</p>
+ * <p>由点击、NPC或进入世界引起的打开UI（按钮命令、NPC命令、世界命令）不单独记录，回放时会由原事件再次引起。
+ * 监听器处理事件前后调用 {@link #beginCause()} 和 {@link #endCause()} 标记这一范围。</p>
+ */
+public class TraceRecorder {
+
+    private static final TraceRecorder INSTANCE = new TraceRecorder();
+
+    /** 单个记录文件的大小上限 */
+    static final long MAX_TRACE_BYTES = 256L * 1024 * 1024;
+    // 后台写入间隔（tick）
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+
+    private volatile boolean recording;
+    // 只在主线程读写：当前是否在处理会引起打开UI的事件
+    private int causeDepth;
+
+    private BukkitTask flushTask;
+    private ByteArrayOutputStream pending;
+    private TraceWriter writer;
+    private File file;
+    private long startNanos;
+    private long startedAt;
+    private long bytes;
+
+    private final Object fileLock = new Object();
+    private OutputStream fileOut;
+
+    TraceRecorder() {
+    }
+
+    /**
+     * 获取记录器实例
+     */
+    public static TraceRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 是否正在记录
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * 开始记录
+     * @param plugin 插件实例
+     * @param name 记录名称，为null时使用当前时间
+     * @return 记录文件
+     * @throws IOException 创建文件失败时抛出
+     * @throws IllegalStateException 已经在记录时抛出
+     */
+    public synchronized File start(FastGUI plugin, String name) throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("已经在记录: " + file.getName());
+        }
+        File directory = new File(plugin.getDataFolder(), "traces");
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("无法创建记录目录: " + directory.getPath());
+        }
+        String baseName = name != null ? name.replaceAll("[^A-Za-z0-9_.-]", "_")
+                : new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date());
+        File target = new File(directory, baseName + TraceFormat.EXTENSION);
+
+        this.file = target;
+        this.fileOut = new FileOutputStream(target);
+        this.pending = new ByteArrayOutputStream(64 * 1024);
+        this.startedAt = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.writer = new TraceWriter(pending, startedAt);
+        this.bytes = 0;
+        this.flushTask = plugin.getServer().getScheduler()
+                .runTaskTimerAsynchronously(plugin, this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+        recording = true;
+        return target;
+    }
+
+    /**
+     * 停止记录，写入剩余的事件并关闭文件
+     * @return 记录概况，没有在记录时返回null
+     */
+    public Status stop() {
+        Status status;
+        synchronized (this) {
+            // 写入出错时recording已经为false，但文件仍需关闭
+            if (writer == null) {
+                return null;
+            }
+            recording = false;
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+            status = getStatus();
+            writer = null;
+        }
+        flush();
+        synchronized (fileLock) {
+            try {
+                fileOut.close();
+            } catch (IOException e) {
+                FastGUI.getInstance().getLogger().warning("关闭交互记录文件时出错: " + e.getMessage());
+            }
+            fileOut = null;
+        }
+        return status;
+    }
+
+    /**
+     * 获取当前记录的概况
+     * @return 记录概况，没有在记录时返回null
+     */
+    public synchronized Status getStatus() {
+        if (writer == null) {
+            return null;
+        }
+        return new Status(file, writer.getEvents(), bytes + pending.size(),
+                System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 标记开始处理可能引起打开UI的事件，必须与 {@link #endCause()} 成对调用
+     */
+    public void beginCause() {
+        causeDepth++;
+    }
+
+    public void endCause() {
+        causeDepth--;
+    }
+
+    /**
+     * 记录打开UI
+     */
+    public void recordOpen(Player player, String uiId) {
+        if (!recording || causeDepth > 0) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.open(now(), player.getUniqueId(), player.getName(), uiId);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录点击
+     * @param slot 原始槽位
+     */
+    public void recordClick(Player player, String uiId, int slot, ClickType click) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.click(now(), player.getUniqueId(), player.getName(), uiId, slot, click != null ? click.name() : null);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录NPC交互，实体第一次出现时同时记录它的NPC属性
+     */
+    public void recordNPC(Player player, Entity entity, NBTManager nbtManager) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.npc(now(), player.getUniqueId(), player.getName(), entity.getUniqueId(), () -> new TraceEvent.NPC(
+                            entity.getUniqueId(), entity.getType().name(),
+                            nbtManager.getNPCCommand(entity), nbtManager.getNPCPermission(entity),
+                            nbtManager.getNPCExecuteMode(entity), nbtManager.getNPCExecutor(entity)));
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录进入世界
+     */
+    public void recordWorldJoin(Player player, String world) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.worldJoin(now(), player.getUniqueId(), player.getName(), world);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    private long now() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 把内存缓冲区中的事件写入文件，在后台线程执行
+     */
+    private void flush() {
+        byte[] chunk;
+        synchronized (this) {
+            if (pending == null || pending.size() == 0) {
+                return;
+            }
+            chunk = pending.toByteArray();
+            pending.reset();
+            bytes += chunk.length;
+        }
+        synchronized (fileLock) {
+            if (fileOut == null) {
+                return;
+            }
+            try {
+                fileOut.write(chunk);
+                fileOut.flush();
+            } catch (IOException e) {
+                FastGUI.getInstance().getLogger().warning("写入交互记录文件时出错，记录已停止: " + e.getMessage());
+                recording = false;
+                return;
+            }
+        }
+        if (bytes >= MAX_TRACE_BYTES && writer != null) {
+            FastGUI.getInstance().getLogger().warning("交互记录文件超过 " + (MAX_TRACE_BYTES >> 20) + "MB，已自动停止记录");
+            stop();
+        }
+    }
+
+    private void fail(IOException e) {
+        // 写入内存缓冲区不会出错，这里只是为了满足DataOutput的签名
+        recording = false;
+        FastGUI.getInstance().getLogger().warning("编码交互记录时出错，记录已停止: " + e.getMessage());
+    }
+
+    /**
+     * 记录概况
+     *
+     * @param file 记录文件
+     * @param events 已记录的事件数
+     * @param bytes 已编码的字节数
+     * @param durationMillis 已记录的时长（毫秒）
+     */
+    public record Status(File file, long events, long bytes, long durationMillis) {
+    }
+}
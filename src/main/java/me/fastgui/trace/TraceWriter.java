@@ -0,0 +1,153 @@
+package me.fastgui.trace;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 交互记录的编码器
+ * <p>按 {@link TraceFormat} 把事件写入输出流，玩家、字符串和NPC第一次出现时自动写入定义记录。
+ * 不是线程安全的，由 {@link TraceRecorder} 加锁调用。</p>
+ */
+final class TraceWriter {
+
+    private final DataOutputStream out;
+    private final Map<UUID, Integer> players = new HashMap<>();
+    // 字符串编号从1开始，0表示null
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<UUID, Integer> npcs = new HashMap<>();
+    private long lastNanos;
+    private long events;
+
+    /**
+     * 创建编码器并写入文件头
+     * @param out 输出流
+     * @param startedAt 记录开始的时间戳（毫秒）
+     */
+    TraceWriter(OutputStream out, long startedAt) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.writeInt(TraceFormat.MAGIC);
+        this.out.writeShort(TraceFormat.VERSION);
+        this.out.writeLong(startedAt);
+    }
+
+    /**
+     * 写入打开UI事件
+     * @param nanos 距记录开始的时间（纳秒）
+     */
+    void open(long nanos, UUID playerId, String playerName, String uiId) throws IOException {
+        int player = player(playerId, playerName);
+        int ui = string(uiId);
+        event(TraceFormat.OPEN, nanos);
+        TraceFormat.writeVarInt(out, player);
+        TraceFormat.writeVarInt(out, ui);
+    }
+
+    /**
+     * 写入点击事件
+     * @param nanos 距记录开始的时间（纳秒）
+     * @param slot 原始槽位，点击容器外时为负数，写入时加1
+     */
+    void click(long nanos, UUID playerId, String playerName, String uiId, int slot, String clickType) throws IOException {
+        int player = player(playerId, playerName);
+        int ui = string(uiId);
+        int click = string(clickType);
+        event(TraceFormat.CLICK, nanos);
+        TraceFormat.writeVarInt(out, player);
+        TraceFormat.writeVarInt(out, ui);
+        TraceFormat.writeVarInt(out, Math.max(0, slot + 1));
+        TraceFormat.writeVarInt(out, click);
+    }
+
+    /**
+     * 写入NPC交互事件
+     * @param nanos 距记录开始的时间（纳秒）
+     * @param definition 实体第一次出现时调用，读取实体的类型和NPC属性
+     */
+    void npc(long nanos, UUID playerId, String playerName, UUID entityId, Supplier<TraceEvent.NPC> definition) throws IOException {
+        int player = player(playerId, playerName);
+        Integer npc = npcs.get(entityId);
+        if (npc == null) {
+            npc = defineNPC(definition.get());
+        }
+        event(TraceFormat.NPC, nanos);
+        TraceFormat.writeVarInt(out, player);
+        TraceFormat.writeVarInt(out, npc);
+    }
+
+    /**
+     * 写入进入世界事件
+     * @param nanos 距记录开始的时间（纳秒）
+     */
+    void worldJoin(long nanos, UUID playerId, String playerName, String world) throws IOException {
+        int player = player(playerId, playerName);
+        int worldName = string(world);
+        event(TraceFormat.WORLD_JOIN, nanos);
+        TraceFormat.writeVarInt(out, player);
+        TraceFormat.writeVarInt(out, worldName);
+    }
+
+    /**
+     * 已写入的事件数
+     */
+    long getEvents() {
+        return events;
+    }
+
+    private void event(int type, long nanos) throws IOException {
+        out.writeByte(type);
+        TraceFormat.writeVarLong(out, Math.max(0, nanos - lastNanos));
+        lastNanos = Math.max(lastNanos, nanos);
+        events++;
+    }
+
+    private int player(UUID id, String name) throws IOException {
+        Integer index = players.get(id);
+        if (index == null) {
+            index = players.size();
+            players.put(id, index);
+            out.writeByte(TraceFormat.DEFINE_PLAYER);
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+            out.writeUTF(name);
+        }
+        return index;
+    }
+
+    private int string(String value) throws IOException {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size() + 1;
+            strings.put(value, index);
+            out.writeByte(TraceFormat.DEFINE_STRING);
+            out.writeUTF(value);
+        }
+        return index;
+    }
+
+    private int defineNPC(TraceEvent.NPC npc) throws IOException {
+        int type = string(npc.entityType());
+        int command = string(npc.command());
+        int permission = string(npc.permission());
+        int executeMode = string(npc.executeMode());
+        int executor = string(npc.executor());
+        int index = npcs.size();
+        npcs.put(npc.id(), index);
+        out.writeByte(TraceFormat.DEFINE_NPC);
+        out.writeLong(npc.id().getMostSignificantBits());
+        out.writeLong(npc.id().getLeastSignificantBits());
+        TraceFormat.writeVarInt(out, type);
+        TraceFormat.writeVarInt(out, command);
+        TraceFormat.writeVarInt(out, permission);
+        TraceFormat.writeVarInt(out, executeMode);
+        TraceFormat.writeVarInt(out, executor);
+        return index;
+    }
+}
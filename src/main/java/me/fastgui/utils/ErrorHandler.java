@@ -4,15 +4,28 @@ import me.fastgui.FastGUI;
 import me.fastgui.managers.LogManager;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
  * 错误处理器，负责统一管理错误处理和异常报告
+ * <p>异常日志按出错位置和异常类型去重限流：同一个错误第一次出现时记录完整堆栈，之后只记录消息，
+ * 超过限额后只计数，每分钟输出一次被抑制的数量。UI文件损坏或NBT后端失败时，不会再因为每次点击都输出堆栈而拖慢服务器。</p>
  */
 public class ErrorHandler {
     
+    // 每个错误指纹最多连续记录的次数，之后每10秒恢复一次
+    private static final int ERROR_BURST = 5;
+    private static final long ERROR_REFILL_SECONDS = 10;
+    // 抑制汇总的输出间隔（tick）
+    private static final long SUMMARY_INTERVAL_TICKS = 20L * 60;
+    
     private final FastGUI plugin;
     private final LogManager logManager;
+    private final ErrorThrottle throttle = new ErrorThrottle(ERROR_BURST, ERROR_REFILL_SECONDS, TimeUnit.SECONDS);
+    private BukkitTask summaryTask;
     
     /**
      * 构造函数
@@ -23,6 +36,67 @@ public class ErrorHandler {
         this.logManager = logManager;
     }
     
+    /**
+     * 启动定期输出抑制汇总的任务
+     */
+    public void startSummaryTask() {
+        if (summaryTask == null) {
+            summaryTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+                    plugin, this::logSuppressedSummary, SUMMARY_INTERVAL_TICKS, SUMMARY_INTERVAL_TICKS);
+        }
+    }
+    
+    /**
+     * 停止汇总任务并输出剩余的抑制汇总
+     */
+    public void shutdown() {
+        if (summaryTask != null) {
+            summaryTask.cancel();
+            summaryTask = null;
+        }
+        logSuppressedSummary();
+        throttle.clear();
+    }
+    
+    /**
+     * 报告异常，按出错位置和异常类型去重限流
+     * @param site 出错位置，相同位置的相同异常视为同一个错误
+     * @param message 日志消息
+     * @param ex 异常对象，可以为null
+     */
+    public void report(String site, String message, Throwable ex) {
+        String fingerprint = ErrorThrottle.fingerprint(site, ex);
+        String logMessage = ex != null ? message + ": " + ex.getMessage() : message;
+        switch (throttle.tryAcquire(fingerprint, logMessage)) {
+            case FIRST:
+                plugin.getLogger().log(Level.SEVERE, message, ex);
+                break;
+            case REPEATED:
+                plugin.getLogger().severe(logMessage + " (重复错误，堆栈已省略)");
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * 报告异常，以日志消息作为出错位置
+     * @param message 日志消息
+     * @param ex 异常对象
+     */
+    public void report(String message, Throwable ex) {
+        report(message, message, ex);
+    }
+    
+    /**
+     * 输出被抑制的错误汇总
+     */
+    private void logSuppressedSummary() {
+        for (ErrorThrottle.Summary summary : throttle.drainSuppressed()) {
+            plugin.getLogger().warning("已抑制 " + summary.getCount() + " 条相同错误: " + summary.getMessage());
+        }
+    }
+    
     /**
      * 处理一般错误，记录日志并向发送者显示消息
      * @param sender 命令发送者
@@ -62,8 +136,8 @@ public class ErrorHandler {
             sender.sendMessage("§c" + userMessage);
         }
         
-        // 记录异常到日志
-        logManager.severe("发生错误: " + userMessage + ": " + ex.getMessage());
+        // 记录异常到日志，相同错误会被限流
+        report(userMessage, "发生错误: " + userMessage, ex);
     }
     
     /**
@@ -100,7 +174,7 @@ public class ErrorHandler {
      * @param ex 异常对象
      */
     public void severe(String message, Exception ex) {
-        plugin.getLogger().log(Level.SEVERE, message, ex);
+        report(message, message, ex);
     }
     
     /**
@@ -0,0 +1,146 @@
+package me.fastgui.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 错误日志限流器
+ * <p>按错误指纹（出错位置 + 异常类型）去重，每个指纹使用一个令牌桶：最多连续记录 {@code burst} 次，
+ * 之后每隔 {@code refillNanos} 恢复一次记录机会。被限流的错误只计数，由 {@link #drainSuppressed()} 定期汇总输出。</p>
+ */
+public class ErrorThrottle {
+
+    private final int burst;
+    private final long refillNanos;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param burst 每个指纹允许连续记录的次数
+     * @param refillInterval 恢复一次记录机会的间隔
+     * @param unit 间隔单位
+     */
+    public ErrorThrottle(int burst, long refillInterval, TimeUnit unit) {
+        this(burst, unit.toNanos(refillInterval), System::nanoTime);
+    }
+
+    ErrorThrottle(int burst, long refillNanos, LongSupplier clock) {
+        this.burst = Math.max(1, burst);
+        this.refillNanos = Math.max(1, refillNanos);
+        this.clock = clock;
+    }
+
+    /**
+     * 生成错误指纹
+     * @param site 出错位置
+     * @param ex 异常对象，可以为null
+     * @return 错误指纹
+     */
+    public static String fingerprint(String site, Throwable ex) {
+        return (site != null ? site : "unknown") + "|" + (ex != null ? ex.getClass().getName() : "-");
+    }
+
+    /**
+     * 尝试获取一次记录机会
+     * @param fingerprint 错误指纹
+     * @param message 错误消息，用于汇总输出
+     * @return 记录结果
+     */
+    public Result tryAcquire(String fingerprint, String message) {
+        Bucket bucket = buckets.computeIfAbsent(fingerprint, k -> new Bucket(burst, clock.getAsLong()));
+        synchronized (bucket) {
+            bucket.message = message;
+            long now = clock.getAsLong();
+            long refills = (now - bucket.lastRefill) / refillNanos;
+            if (refills > 0) {
+                bucket.tokens = (int) Math.min(burst, bucket.tokens + refills);
+                bucket.lastRefill += refills * refillNanos;
+            }
+            if (bucket.tokens <= 0) {
+                bucket.suppressed++;
+                return Result.SUPPRESSED;
+            }
+            bucket.tokens--;
+            boolean first = !bucket.reported;
+            bucket.reported = true;
+            return first ? Result.FIRST : Result.REPEATED;
+        }
+    }
+
+    /**
+     * 取出并清零所有指纹的抑制计数
+     * @return 被抑制过的错误汇总
+     */
+    public List<Summary> drainSuppressed() {
+        List<Summary> summaries = new ArrayList<>();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            synchronized (bucket) {
+                if (bucket.suppressed > 0) {
+                    summaries.add(new Summary(entry.getKey(), bucket.message, bucket.suppressed));
+                    bucket.suppressed = 0;
+                }
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 清除所有限流状态
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * 记录结果
+     */
+    public enum Result {
+        /** 该指纹第一次出现，应记录完整堆栈 */
+        FIRST,
+        /** 重复出现但未超过限额，只记录消息 */
+        REPEATED,
+        /** 超过限额，不记录 */
+        SUPPRESSED
+    }
+
+    /**
+     * 抑制汇总
+     */
+    public static class Summary {
+        private final String fingerprint;
+        private final String message;
+        private final long count;
+
+        public Summary(String fingerprint, String message, long count) {
+            this.fingerprint = fingerprint;
+            this.message = message;
+            this.count = count;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+        public String getMessage() { return message; }
+        public long getCount() { return count; }
+    }
+
+    /**
+     * 单个指纹的令牌桶
+     */
+    private static class Bucket {
+        private int tokens;
+        private long lastRefill;
+        private long suppressed;
+        private boolean reported;
+        private String message;
+
+        Bucket(int tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package me.fastgui.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 插件启动阶段计时
+ * <p>记录 onEnable 中每个阶段的耗时。互不依赖的阶段（语言文件解析、UI表和FGCD命令表读取）提交到启动线程池，
+ * 与主线程上的阶段并行执行，使用结果前再等待。启动完成后按阶段开始的顺序输出耗时，并行阶段单独标记，
+ * 便于在不同版本之间比较启动时间。</p>
+ */
+public final class StartupTimer {
+
+    // 并行阶段最多同时运行的数量
+    private static final int POOL_SIZE = 3;
+
+    private final long start = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private ExecutorService pool;
+    private long totalNanos = -1;
+
+    /**
+     * 在当前线程执行一个阶段
+     * @param name 阶段名称
+     * @param task 阶段内容
+     */
+    public void run(String name, Runnable task) {
+        Phase phase = begin(name, false);
+        long phaseStart = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            phase.nanos = System.nanoTime() - phaseStart;
+        }
+    }
+
+    /**
+     * 在启动线程池中执行一个阶段
+     * @param name 阶段名称
+     * @param task 阶段内容
+     * @return 阶段完成时结束的Future，用 {@link #await} 等待
+     */
+    public CompletableFuture<Void> runAsync(String name, Runnable task) {
+        return supplyAsync(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 在启动线程池中执行一个有结果的阶段
+     * @param name 阶段名称
+     * @param task 阶段内容
+     * @return 阶段结果，用 {@link #await} 等待
+     */
+    public <T> CompletableFuture<T> supplyAsync(String name, Supplier<T> task) {
+        Phase phase = begin(name, true);
+        return CompletableFuture.supplyAsync(() -> {
+            long phaseStart = System.nanoTime();
+            try {
+                return task.get();
+            } finally {
+                phase.nanos = System.nanoTime() - phaseStart;
+            }
+        }, pool());
+    }
+
+    /**
+     * 等待并行阶段完成
+     * @param future 阶段的Future
+     * @return 阶段结果
+     * @throws RuntimeException 阶段抛出的异常原样抛出
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 结束计时并关闭启动线程池
+     * @return 从创建到结束的总耗时（纳秒）
+     */
+    public synchronized long finish() {
+        if (totalNanos < 0) {
+            totalNanos = System.nanoTime() - start;
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return totalNanos;
+    }
+
+    /**
+     * 按阶段开始的顺序输出耗时
+     * @return 每个阶段一行，如 "语言文件 12.3ms (并行)"
+     */
+    public synchronized List<String> format() {
+        int width = 0;
+        for (Phase phase : phases) {
+            width = Math.max(width, displayWidth(phase.name));
+        }
+        List<String> lines = new ArrayList<>(phases.size());
+        for (Phase phase : phases) {
+            StringBuilder line = new StringBuilder(phase.name);
+            for (int i = displayWidth(phase.name); i < width; i++) {
+                line.append(' ');
+            }
+            long nanos = phase.nanos;
+            line.append(' ').append(nanos >= 0 ? millis(nanos) : "未完成");
+            if (phase.parallel) {
+                line.append(" (并行)");
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * 格式化为毫秒
+     */
+    public static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+    }
+
+    private synchronized Phase begin(String name, boolean parallel) {
+        Phase phase = new Phase(name, parallel);
+        phases.add(phase);
+        return phase;
+    }
+
+    private synchronized ExecutorService pool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(POOL_SIZE, task -> {
+                Thread thread = new Thread(task, "FastGUI-Startup");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pool;
+    }
+
+    /**
+     * 控制台中中文字符占两列
+     */
+    private static int displayWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) > 0x2E80 ? 2 : 1;
+        }
+        return width;
+    }
+
+    private static final class Phase {
+        final String name;
+        final boolean parallel;
+        // 阶段耗时，未完成时为-1
+        volatile long nanos = -1;
+
+        Phase(String name, boolean parallel) {
+            this.name = name;
+            this.parallel = parallel;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package me.fastgui.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastGUIEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testNotFilledWithoutRecording() {
+        // 测试没有录制时不会填充事件字段
+        UILoadEvent event = new UILoadEvent();
+        event.begin();
+        event.complete("shop", 128, "loaded");
+
+        assertNull(event.uiId, "没有录制时不应填充UI ID");
+        assertEquals(0, event.bytes, "没有录制时不应填充字节数");
+    }
+
+    @Test
+    void testEventsRecorded() throws Exception {
+        // 测试录制开启时事件被提交并带有字段
+        Path file = tempDir.resolve("fastgui.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(UILoadEvent.class);
+            recording.enable(UIClickEvent.class);
+            recording.enable(CommandDispatchEvent.class);
+            recording.start();
+
+            UILoadEvent load = new UILoadEvent();
+            load.begin();
+            load.complete("shop", 2048, "loaded");
+
+            UIClickEvent click = new UIClickEvent();
+            click.begin();
+            click.complete("shop", 13, "slot");
+
+            CommandDispatchEvent dispatch = new CommandDispatchEvent();
+            dispatch.begin();
+            dispatch.complete("say hi", "button", true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent load = find(events, "me.fastgui.UILoad");
+        assertEquals("shop", load.getString("uiId"), "加载事件应记录UI ID");
+        assertEquals(2048, load.getLong("bytes"), "加载事件应记录字节数");
+        assertEquals("loaded", load.getString("outcome"), "加载事件应记录结果");
+
+        RecordedEvent click = find(events, "me.fastgui.UIClick");
+        assertEquals(13, click.getInt("slot"), "点击事件应记录槽位");
+
+        RecordedEvent dispatch = find(events, "me.fastgui.CommandDispatch");
+        assertEquals("button", dispatch.getString("source"), "命令事件应记录来源");
+        assertTrue(dispatch.getBoolean("success"), "命令事件应记录执行结果");
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("未找到事件: " + name));
+    }
+}
@@ -0,0 +1,47 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogAppenderTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void testAppendWritesFileOnClose() throws Exception {
+        // 关闭时应写完缓冲区中的所有日志
+        AsyncLogAppender appender = new AsyncLogAppender(directory, 64, 1024 * 1024, 3, Logger.getLogger("AsyncLogAppenderTest"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(appender.append("消息 " + i), "缓冲区未满时应写入成功");
+        }
+        appender.close();
+
+        List<String> lines = Files.readAllLines(new File(directory, "fastgui-debug.log").toPath(), StandardCharsets.UTF_8);
+        assertEquals(10, lines.size(), "所有日志都应写入文件");
+        assertTrue(lines.get(9).endsWith("消息 9"), "日志应按写入顺序输出");
+        assertFalse(appender.append("关闭后"), "关闭后不应再接受日志");
+    }
+
+    @Test
+    void testRotate() throws Exception {
+        // 超过大小上限时应滚动日志文件
+        AsyncLogAppender appender = new AsyncLogAppender(directory, 256, 1024, 3, Logger.getLogger("AsyncLogAppenderTest"));
+        for (int i = 0; i < 200; i++) {
+            appender.append("滚动测试消息 " + i);
+        }
+        appender.close();
+
+        assertTrue(new File(directory, "fastgui-debug.1.log").exists(), "应生成滚动后的日志文件");
+        assertFalse(new File(directory, "fastgui-debug.3.log").exists(), "不应保留超过数量上限的日志文件");
+        assertTrue(new File(directory, "fastgui-debug.log").length() <= 1024, "当前日志文件不应超过大小上限");
+    }
+}
@@ -36,6 +36,7 @@ class BookUIParserTest {
         when(plugin.getLogManager()).thenReturn(logManager);
         when(plugin.getConfigManager()).thenReturn(configManager);
         when(configManager.isDebugModeEnabled()).thenReturn(false);
+        when(configManager.getSettings()).thenReturn(Settings.DEFAULTS);
         
         // 初始化BookUIParser
         bookUIParser = new BookUIParser(plugin);
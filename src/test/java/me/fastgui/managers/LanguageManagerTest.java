@@ -0,0 +1,37 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LanguageManagerTest {
+
+    @Test
+    void testMergeTableFallback() {
+        // 测试合并后的消息表先使用该语言的消息，缺失的键回退到默认语言
+        Map<String, MessageTemplate> zh = LanguageManager.compile(Map.of("greeting", "你好", "only.zh", "中文"));
+        Map<String, MessageTemplate> en = LanguageManager.mergeTable(
+                LanguageManager.compile(Map.of("greeting", "Hello", "only.en", "English")), zh);
+
+        assertEquals("Hello", en.get("greeting").text(), "当前语言的消息优先");
+        assertEquals("中文", en.get("only.zh").text(), "缺失的键应回退到默认语言");
+        assertEquals("English", en.get("only.en").text(), "只有当前语言有的键应保留");
+        assertSame(zh.get("only.zh"), en.get("only.zh"), "回退的键应共用同一个模板");
+        assertNull(en.get("missing"), "所有语言都没有的键不应出现在表中");
+        assertEquals(2, LanguageManager.mergeTable(zh, zh).size(), "默认语言不应与自身重复合并");
+    }
+
+    @Test
+    void testMatchLocale() {
+        // 测试客户端语言先匹配完整语言文件，再匹配语言部分
+        Set<String> available = Set.of("zh.yml", "en.yml", "zh_tw.yml");
+        assertEquals("zh_tw.yml", LanguageManager.matchLocale("zh_TW", available), "应优先匹配完整语言");
+        assertEquals("zh.yml", LanguageManager.matchLocale("zh_cn", available), "没有完整匹配时应匹配语言部分");
+        assertEquals("en.yml", LanguageManager.matchLocale("en-US", available), "应支持连字符分隔的语言标签");
+        assertNull(LanguageManager.matchLocale("fr_fr", available), "没有匹配的语言文件时应返回null");
+        assertNull(LanguageManager.matchLocale("", available), "空语言应返回null");
+    }
+}
@@ -0,0 +1,249 @@
+package me.fastgui.managers;
+
+import me.fastgui.FastGUI;
+import me.fastgui.managers.ListDataProvider.ListEntry;
+import me.fastgui.managers.UIManager.InventoryData;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ListUIManagerTest {
+
+    private static final int[] SLOTS = {10, 11, 12};
+
+    private ListUIManager listUIManager;
+    private Player player;
+    private Inventory inventory;
+    private InventoryData data;
+    private BukkitScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // 预取使用Bukkit调度器，ItemStack读取物品信息需要ItemFactory
+        TestServer.install();
+
+        FastGUI plugin = mock(FastGUI.class);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("ListUIManagerTest"));
+        listUIManager = new ListUIManager(plugin);
+
+        // 默认不执行异步任务，预取不会完成
+        scheduler = Bukkit.getScheduler();
+        reset(scheduler);
+
+        player = mock(Player.class);
+        inventory = mock(Inventory.class);
+        data = mock(InventoryData.class);
+        when(data.getListProvider()).thenReturn("test");
+        when(data.getContentSlots()).thenReturn(SLOTS);
+    }
+
+    /**
+     * 打开列表并返回数据源
+     */
+    private FakeProvider open(int size) {
+        FakeProvider provider = new FakeProvider(size);
+        listUIManager.registerProvider("test", provider);
+        assertTrue(listUIManager.open(player, inventory, data), "列表应成功打开");
+        return provider;
+    }
+
+    /**
+     * 让异步任务在当前线程立即执行
+     */
+    private void runAsyncTasksImmediately() {
+        when(scheduler.runTaskAsynchronously(any(Plugin.class), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+    }
+
+    @Test
+    void testRenderFirstWindow() {
+        // 打开时渲染第一个窗口，条目不足时清空剩余槽位
+        open(2);
+
+        assertEquals("entry-0", listUIManager.getEntryAction(inventory, 10), "第一个槽位应显示第一个条目");
+        assertEquals("entry-1", listUIManager.getEntryAction(inventory, 11), "第二个槽位应显示第二个条目");
+        assertNull(listUIManager.getEntryAction(inventory, 12), "没有条目的槽位不应有动作");
+        assertNull(listUIManager.getEntryAction(inventory, 13), "非内容槽位不应有动作");
+        verify(inventory).setItem(eq(12), isNull());
+    }
+
+    @Test
+    void testRenderClampsAndAlignsOffset() {
+        // 7个条目、每个窗口3个槽位，最后一个窗口从偏移6开始
+        FakeProvider provider = open(7);
+
+        assertTrue(listUIManager.scroll(inventory, "99"), "超出范围的窗口序号应被限制而不是失败");
+        assertEquals(6, provider.lastOffset, "偏移量应限制到最后一个窗口并对齐到窗口边界");
+        assertEquals("entry-6", listUIManager.getEntryAction(inventory, 10), "最后一个窗口应显示最后一个条目");
+        assertNull(listUIManager.getEntryAction(inventory, 11), "最后一个窗口中没有条目的槽位应清空");
+
+        assertTrue(listUIManager.scroll(inventory, "0"), "小于1的窗口序号应被限制到第一个窗口");
+        assertEquals(0, provider.lastOffset, "负偏移量应限制为0");
+    }
+
+    @Test
+    void testRenderEmptyProvider() {
+        // 没有条目时偏移量为0，所有内容槽位清空
+        FakeProvider provider = open(0);
+
+        assertEquals(0, provider.lastOffset, "没有条目时应请求偏移0");
+        for (int slot : SLOTS) {
+            verify(inventory).setItem(eq(slot), isNull());
+        }
+        assertTrue(listUIManager.scroll(inventory, "next"), "没有条目时也应能滚动");
+        assertEquals(0, provider.lastOffset, "没有条目时下一窗口仍为第一个窗口");
+    }
+
+    @Test
+    void testScrollTargets() {
+        // 10个条目、每个窗口3个槽位，共4个窗口
+        FakeProvider provider = open(10);
+
+        assertTrue(listUIManager.scroll(inventory, "next"));
+        assertEquals(3, provider.lastOffset, "next应前进一个窗口");
+
+        assertTrue(listUIManager.scroll(inventory, "Prev"));
+        assertEquals(0, provider.lastOffset, "prev应后退一个窗口，且不区分大小写");
+
+        assertTrue(listUIManager.scroll(inventory, "previous"));
+        assertEquals(0, provider.lastOffset, "第一个窗口不能继续后退");
+
+        assertTrue(listUIManager.scroll(inventory, "last"));
+        assertEquals(9, provider.lastOffset, "last应跳到最后一个窗口");
+
+        assertTrue(listUIManager.scroll(inventory, "next"));
+        assertEquals(9, provider.lastOffset, "最后一个窗口不能继续前进");
+
+        assertTrue(listUIManager.scroll(inventory, "first"));
+        assertEquals(0, provider.lastOffset, "first应回到第一个窗口");
+
+        assertTrue(listUIManager.scroll(inventory, " 2 "));
+        assertEquals(3, provider.lastOffset, "窗口序号从1开始");
+
+        assertFalse(listUIManager.scroll(inventory, "abc"), "无效的滚动参数应返回false");
+        assertFalse(listUIManager.scroll(inventory, null), "空滚动参数应返回false");
+    }
+
+    @Test
+    void testItemStackReusedAcrossWindows() {
+        // 同一个界面在滚动时每个槽位复用同一个ItemStack，只更新材质
+        open(6);
+        ArgumentCaptor<ItemStack> first = ArgumentCaptor.forClass(ItemStack.class);
+        verify(inventory).setItem(eq(10), first.capture());
+        assertEquals(Material.STONE, first.getValue().getType(), "偶数条目应使用STONE");
+
+        clearInvocations(inventory);
+        listUIManager.scroll(inventory, "next");
+        ArgumentCaptor<ItemStack> second = ArgumentCaptor.forClass(ItemStack.class);
+        verify(inventory).setItem(eq(10), second.capture());
+        assertSame(first.getValue(), second.getValue(), "滚动后同一槽位应复用ItemStack实例");
+        assertEquals(Material.DIRT, second.getValue().getType(), "复用的ItemStack应更新为新条目的材质");
+    }
+
+    @Test
+    void testPrefetchUsedForMatchingOffset() {
+        // 渲染后在后台预取下一个窗口，滚动到该窗口时直接使用预取结果
+        runAsyncTasksImmediately();
+        FakeProvider provider = open(9);
+        assertEquals(List.of(0, 3), provider.offsets, "打开时应请求第一个窗口并预取第二个窗口");
+
+        listUIManager.scroll(inventory, "next");
+        assertEquals(List.of(0, 3, 6), provider.offsets, "滚动到预取的窗口时不应再次请求该窗口，只预取下一个");
+        assertEquals("entry-3", listUIManager.getEntryAction(inventory, 10), "应显示预取的条目");
+    }
+
+    @Test
+    void testPrefetchIgnoredForOtherOffset() {
+        // 预取的窗口与目标窗口不同时应重新请求
+        runAsyncTasksImmediately();
+        FakeProvider provider = open(9);
+
+        listUIManager.scroll(inventory, "last");
+        assertEquals(List.of(0, 3, 6), provider.offsets, "目标窗口不是预取的窗口时应直接请求");
+        assertEquals("entry-6", listUIManager.getEntryAction(inventory, 10), "应显示目标窗口的条目");
+    }
+
+    @Test
+    void testPendingPrefetchNotUsed() {
+        // 预取尚未完成时应直接请求当前窗口
+        FakeProvider provider = open(9);
+        verify(scheduler).runTaskAsynchronously(any(Plugin.class), any(Runnable.class));
+
+        listUIManager.scroll(inventory, "next");
+        assertEquals(List.of(0, 3), provider.offsets, "预取未完成时应在主线程请求窗口");
+        assertEquals("entry-3", listUIManager.getEntryAction(inventory, 10));
+    }
+
+    @Test
+    void testRegisterProviderIgnoresCase() {
+        ListDataProvider provider = mock(ListDataProvider.class);
+        listUIManager.registerProvider("Warps", provider);
+
+        assertSame(provider, listUIManager.getProvider("warps"), "数据源ID应不区分大小写");
+        assertTrue(listUIManager.getProviderIds().contains("warps"), "数据源ID列表应包含已注册的数据源");
+
+        listUIManager.unregisterProvider("WARPS");
+        assertNull(listUIManager.getProvider("warps"), "注销后不应再能获取数据源");
+    }
+
+    @Test
+    void testRegisterProviderRejectsEmptyId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> listUIManager.registerProvider(" ", mock(ListDataProvider.class)),
+                "空数据源ID应被拒绝");
+    }
+
+    @Test
+    void testUnknownInventory() {
+        Inventory inventory = mock(Inventory.class);
+
+        assertFalse(listUIManager.isListView(inventory), "未打开的界面不应是列表界面");
+        assertNull(listUIManager.getEntryAction(inventory, 0), "未打开的界面不应有条目动作");
+        assertFalse(listUIManager.scroll(inventory, "next"), "未打开的界面不能滚动");
+    }
+
+    /**
+     * 测试用数据源，偶数条目使用STONE、奇数条目使用DIRT，并记录请求的偏移量
+     */
+    private static class FakeProvider implements ListDataProvider {
+        private final int size;
+        private final List<Integer> offsets = new ArrayList<>();
+        private int lastOffset = -1;
+
+        FakeProvider(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size(Player viewer) {
+            return size;
+        }
+
+        @Override
+        public List<ListEntry> getEntries(Player viewer, int offset, int limit) {
+            offsets.add(offset);
+            lastOffset = offset;
+            List<ListEntry> entries = new ArrayList<>();
+            for (int i = offset; i < Math.min(size, offset + limit); i++) {
+                entries.add(new ListEntry(i % 2 == 0 ? Material.STONE : Material.DIRT, "条目 " + i, null, "entry-" + i));
+            }
+            return entries;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalizedItemTextTest {
+
+    @Test
+    void testSlotKey() {
+        // 测试第一页省略页码，其他页面使用从2开始的页码
+        assertEquals("ui.shop.13", LocalizedItemText.slotKey("shop", 0, 13), "第一页的键不应包含页码");
+        assertEquals("ui.shop.page2.0", LocalizedItemText.slotKey("shop", 1, 0), "第二页的键应为page2");
+    }
+
+    @Test
+    void testCollectUIs() {
+        // 测试只收集带有名称或描述覆盖的UI
+        Set<String> uis = LocalizedItemText.collectUIs(List.of(
+                "ui.shop.13.name", "general.player_only", "ui.menu.page2.4.lore", "ui.other.title"));
+        assertEquals(Set.of("shop", "menu"), uis, "应收集有物品文字的UI名称");
+    }
+}
@@ -0,0 +1,44 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LogManagerTest {
+
+    @AfterEach
+    void tearDown() {
+        LogManager.setDebugEnabled(false);
+    }
+
+    @Test
+    void testFormat() {
+        // 测试消息模板格式化
+        assertEquals("槽位 3: STONE", LogManager.format("槽位 {}: {}", 3, "STONE"), "{}应按顺序替换为参数");
+        assertEquals("缺少参数 {}", LogManager.format("缺少参数 {}"), "没有参数时应原样返回");
+        assertEquals("a=1, b={}", LogManager.format("a={}, b={}", 1), "多余的{}应原样保留");
+        assertEquals("值: null", LogManager.format("值: {}", (Object) null), "null参数应输出为null");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSupplierNotCalledWhenDebugDisabled() {
+        // 调试模式关闭时不应构建日志消息
+        LogManager logManager = new LogManager(Logger.getLogger("LogManagerTest"));
+        Supplier<String> supplier = mock(Supplier.class);
+
+        LogManager.setDebugEnabled(false);
+        logManager.debug(supplier);
+        verify(supplier, never()).get();
+
+        LogManager.setDebugEnabled(true);
+        when(supplier.get()).thenReturn("消息");
+        logManager.debug(supplier);
+        verify(supplier).get();
+    }
+}
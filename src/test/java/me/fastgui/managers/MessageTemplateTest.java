@@ -0,0 +1,47 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    @Test
+    void testStaticMessage() {
+        // 测试没有变量的消息直接返回原字符串
+        String text = "§c你没有权限！";
+        MessageTemplate template = MessageTemplate.compile(text);
+        assertFalse(template.hasVariables(), "不应识别出变量");
+        assertSame(text, template.render(Map.of("player", "Steve")), "没有变量时应返回原字符串");
+        assertSame(text, template.render("player", "Steve"), "没有变量时应返回原字符串");
+    }
+
+    @Test
+    void testRenderVariables() {
+        // 测试按片段顺序渲染变量，重复的变量都被替换
+        MessageTemplate template = MessageTemplate.compile("{player} 打开了 {ui_name}，{player} 的第 {count} 次");
+        assertArrayEquals(new String[]{"player", "ui_name", "player", "count"}, template.names(), "应按出现顺序识别变量");
+        assertEquals("Steve 打开了 shop，Steve 的第 3 次",
+                template.render(Map.of("player", "Steve", "ui_name", "shop", "count", "3")), "应替换所有变量");
+        assertEquals("Steve 打开了 shop，Steve 的第 {count} 次",
+                template.render("player", "Steve", "ui_name", "shop"), "没有值的变量应原样保留");
+    }
+
+    @Test
+    void testValuesAreNotReparsed() {
+        // 测试变量值中的花括号不会被再次替换
+        MessageTemplate template = MessageTemplate.compile("UI {ui_name} 不存在 ({reason})");
+        assertEquals("UI {reason} 不存在 (x)",
+                template.render(Map.of("ui_name", "{reason}", "reason", "x")), "变量值应按原样插入");
+    }
+
+    @Test
+    void testBracesThatAreNotVariables() {
+        // 测试不构成变量的花括号按文字处理
+        MessageTemplate template = MessageTemplate.compile("用法: {} 或 { x } 或 {未闭合");
+        assertFalse(template.hasVariables(), "空名称、含空白和未闭合的花括号不是变量");
+        assertEquals("用法: {} 或 { x } 或 {未闭合", template.render("x", "1"), "文字应原样输出");
+    }
+}
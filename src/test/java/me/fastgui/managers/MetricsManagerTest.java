@@ -0,0 +1,89 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsManagerTest {
+
+    @Test
+    void testCounters() {
+        // 测试计数器累加
+        MetricsManager metrics = new MetricsManager();
+        metrics.increment(MetricsManager.Counter.CLICKS);
+        metrics.increment(MetricsManager.Counter.CLICKS);
+        metrics.add(MetricsManager.Counter.DISK_BYTES_READ, 1024);
+
+        assertEquals(2, metrics.get(MetricsManager.Counter.CLICKS), "点击计数应为2");
+        assertEquals(1024, metrics.get(MetricsManager.Counter.DISK_BYTES_READ), "读取字节数应为1024");
+        assertEquals(0, metrics.get(MetricsManager.Counter.CACHE_HITS), "未记录的计数器应为0");
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        // 测试直方图的百分位数取所在桶的上限
+        MetricsManager.Histogram histogram = new MetricsManager.Histogram();
+        assertEquals(0, histogram.percentileMicros(0.5), "没有记录时百分位数应为0");
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(30));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(100, histogram.getCount(), "应记录100次");
+        assertEquals(50, histogram.percentileMicros(0.5), "p50应落在50微秒的桶");
+        assertEquals(50, histogram.percentileMicros(0.99), "p99应落在50微秒的桶");
+        assertEquals(5_000, histogram.percentileMicros(1.0), "p100应落在5毫秒的桶");
+        assertEquals(3_000, histogram.getMaxMicros(), "最大值应为3毫秒");
+    }
+
+    @Test
+    void testHistogramOverflowBucket() {
+        // 测试超过最大上限的耗时落在最后一个桶，百分位数返回最大值
+        MetricsManager.Histogram histogram = new MetricsManager.Histogram();
+        histogram.record(TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(1, histogram.getBucketCount(MetricsManager.Histogram.BOUNDS_MICROS.length), "应落在没有上限的桶");
+        assertEquals(3_000_000, histogram.percentileMicros(0.5), "应返回记录的最大值");
+    }
+
+    @Test
+    void testTopUIs() {
+        // 测试按打开次数排序的UI列表
+        MetricsManager metrics = new MetricsManager();
+        for (int i = 0; i < 3; i++) {
+            metrics.recordUIOpen("shop");
+        }
+        metrics.recordUIOpen("menu");
+        for (int i = 0; i < 2; i++) {
+            metrics.recordUIOpen("warp");
+        }
+
+        List<Map.Entry<String, Long>> top = metrics.getTopUIs(2);
+        assertEquals(2, top.size(), "应只返回前2个UI");
+        assertEquals("shop", top.get(0).getKey(), "打开最多的应为shop");
+        assertEquals(3L, top.get(0).getValue(), "shop应打开3次");
+        assertEquals("warp", top.get(1).getKey(), "第二应为warp");
+        assertEquals(6, metrics.get(MetricsManager.Counter.UI_OPENS), "UI打开总数应为6");
+    }
+
+    @Test
+    void testReset() {
+        // 测试清零所有指标
+        MetricsManager metrics = new MetricsManager();
+        metrics.recordUIOpen("shop");
+        metrics.increment(MetricsManager.Counter.NBT_CALLS);
+        metrics.recordSince(MetricsManager.Timer.CLICK, System.nanoTime());
+
+        metrics.reset();
+
+        assertEquals(0, metrics.get(MetricsManager.Counter.UI_OPENS), "重置后UI打开数应为0");
+        assertEquals(0, metrics.get(MetricsManager.Counter.NBT_CALLS), "重置后NBT调用数应为0");
+        assertEquals(0, metrics.getHistogram(MetricsManager.Timer.CLICK).getCount(), "重置后直方图应为空");
+        assertTrue(metrics.getTopUIs(5).isEmpty(), "重置后不应有UI记录");
+    }
+}
@@ -1,6 +1,7 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +35,9 @@ class PermissionManagerTest {
         languageManager = mock(LanguageManager.class);
         when(languageManager.getString(anyString())).thenReturn("Test message");
         when(languageManager.getString(anyString(), any())).thenReturn("Test message");
+        when(languageManager.getString(anyString(), anyString(), anyString())).thenReturn("Test message");
+        when(languageManager.getString(any(CommandSender.class), anyString())).thenReturn("Test message");
+        when(languageManager.getString(any(CommandSender.class), anyString(), anyString(), anyString())).thenReturn("Test message");
         
         // 创建权限管理器
         permissionManager = new PermissionManager(plugin, nbtManager, languageManager);
@@ -0,0 +1,88 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusExporterTest {
+
+    private static String render(PrometheusExporter exporter) {
+        int size = exporter.render();
+        return new String(exporter.getBuffer(), 0, size, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testRenderCounters() {
+        // 测试计数器以counter类型输出
+        MetricsManager metrics = new MetricsManager();
+        metrics.add(MetricsManager.Counter.DISK_BYTES_READ, 12345);
+        metrics.increment(MetricsManager.Counter.CLICKS);
+
+        String text = render(new PrometheusExporter(metrics));
+
+        assertTrue(text.contains("# TYPE fastgui_clicks_total counter\nfastgui_clicks_total 1\n"), "应输出点击计数");
+        assertTrue(text.contains("fastgui_disk_bytes_read_total 12345\n"), "应输出读取字节数");
+        assertTrue(text.contains("fastgui_cache_hits_total 0\n"), "未记录的计数器应输出0");
+    }
+
+    @Test
+    void testRenderHistogram() {
+        // 测试直方图的桶为累计计数，sum以秒为单位
+        MetricsManager metrics = new MetricsManager();
+        MetricsManager.Histogram histogram = metrics.getHistogram(MetricsManager.Timer.UI_LOAD);
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(30));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.SECONDS.toNanos(2));
+
+        String text = render(new PrometheusExporter(metrics));
+
+        assertTrue(text.contains("# TYPE fastgui_ui_load_seconds histogram\n"), "应声明histogram类型");
+        assertTrue(text.contains("fastgui_ui_load_seconds_bucket{le=\"0.00005\"} 1\n"), "50微秒的桶应包含1次");
+        assertTrue(text.contains("fastgui_ui_load_seconds_bucket{le=\"0.005\"} 2\n"), "5毫秒的桶应累计2次");
+        assertTrue(text.contains("fastgui_ui_load_seconds_bucket{le=\"1\"} 2\n"), "1秒的桶应累计2次");
+        assertTrue(text.contains("fastgui_ui_load_seconds_bucket{le=\"+Inf\"} 3\n"), "+Inf桶应包含所有记录");
+        assertTrue(text.contains("fastgui_ui_load_seconds_sum 2.003030000\n"), "sum应以秒为单位");
+        assertTrue(text.contains("fastgui_ui_load_seconds_count 3\n"), "count应为3");
+    }
+
+    @Test
+    void testRenderReusesBuffer() {
+        // 测试重复抓取时复用响应缓冲区
+        PrometheusExporter exporter = new PrometheusExporter(new MetricsManager());
+        exporter.render();
+        byte[] first = exporter.getBuffer();
+        exporter.render();
+        assertSame(first, exporter.getBuffer(), "缓冲区足够时不应重新分配");
+    }
+
+    @Test
+    void testServeOverHttp() throws Exception {
+        // 测试通过HTTP抓取指标
+        MetricsManager metrics = new MetricsManager();
+        metrics.recordUIOpen("shop");
+        PrometheusExporter exporter = new PrometheusExporter(metrics);
+        exporter.start("127.0.0.1", 0);
+        try {
+            URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode(), "应返回200");
+            assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"), "应使用Prometheus文本格式");
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("fastgui_ui_opens_total 1\n"), "响应应包含UI打开计数");
+            }
+
+            HttpURLConnection post = (HttpURLConnection) url.openConnection();
+            post.setRequestMethod("POST");
+            assertEquals(405, post.getResponseCode(), "不支持的请求方法应返回405");
+        } finally {
+            exporter.stop();
+        }
+    }
+}
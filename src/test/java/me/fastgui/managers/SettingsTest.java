@@ -0,0 +1,77 @@
+package me.fastgui.managers;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SettingsTest {
+
+    @Test
+    void testFromEmptyConfigUsesDefaults() {
+        // 空配置应使用默认值
+        Settings settings = Settings.from(new YamlConfiguration());
+
+        assertEquals(Settings.DEFAULTS, settings, "空配置应得到默认设置");
+        assertEquals(Settings.DEFAULTS, Settings.from(null), "null配置应得到默认设置");
+    }
+
+    @Test
+    void testFromConfig() {
+        // 测试从配置读取设置
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("settings.debug-mode-enabled", true);
+        config.set("settings.inventory-cache-size", 10);
+        config.set("settings.disallowed-commands", "op,stop");
+        config.set("nbt.use_persistent_data", false);
+
+        Settings settings = Settings.from(config);
+        assertTrue(settings.debugModeEnabled(), "应读取调试模式设置");
+        assertEquals(10, settings.inventoryCacheSize(), "应读取缓存大小设置");
+        assertEquals(List.of("op", "stop"), settings.disallowedCommands(), "应按逗号拆分禁止命令");
+        assertFalse(settings.usePersistentData(), "应读取NBT方案设置");
+
+        // 快照不受之后配置修改的影响
+        config.set("settings.debug-mode-enabled", false);
+        assertTrue(settings.debugModeEnabled(), "配置快照不应随配置文件变化");
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        // 测试快照不可修改
+        Settings settings = Settings.DEFAULTS;
+        assertThrows(UnsupportedOperationException.class, () -> settings.disallowedCommands().add("kill"),
+                "禁止命令列表应不可修改");
+
+        Settings debug = settings.withDebugModeEnabled(true);
+        assertTrue(debug.debugModeEnabled(), "副本应启用调试模式");
+        assertFalse(settings.debugModeEnabled(), "原快照不应被修改");
+    }
+
+    @Test
+    void testHotReloadSettings() {
+        // 测试读取热重载设置，无效的等待时间使用默认值
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("settings.hot-reload.enabled", true);
+        config.set("settings.hot-reload.debounce-ms", -1);
+        Settings.HotReload hotReload = Settings.from(config).hotReload();
+
+        assertTrue(hotReload.enabled(), "应读取热重载开关");
+        assertEquals(ConfigManager.DEFAULT_HOT_RELOAD_DEBOUNCE_MS, hotReload.debounceMs(), "负数等待时间应使用默认值");
+        assertFalse(Settings.DEFAULTS.hotReload().enabled(), "热重载默认应关闭");
+    }
+
+    @Test
+    void testDebugLogSampling() {
+        // 测试调试日志采样
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("settings.debug-log.sample-players", "Steve, Alex");
+        Settings.DebugLog debugLog = Settings.from(config).debugLog();
+
+        assertTrue(debugLog.isSampled("steve", "shop"), "采样玩家应不区分大小写");
+        assertFalse(debugLog.isSampled("Notch", "shop"), "不在采样列表中的玩家不应记录");
+        assertTrue(Settings.DEFAULTS.debugLog().isSampled(null, null), "未配置采样时应记录所有事件");
+    }
+}
@@ -0,0 +1,48 @@
+package me.fastgui.managers;
+
+import me.fastgui.managers.UIManager.InventorySlotData;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlotVisibilityTest {
+
+    private InventorySlotData slot(String visibility) {
+        return new InventorySlotData(false, null, "normal", null, false, "", visibility);
+    }
+
+    @Test
+    void testNoConditions() {
+        // 没有显示条件时应返回NONE，过滤直接返回模板
+        SlotVisibility visibility = SlotVisibility.compile(new InventorySlotData[]{slot(null), slot(null)});
+        assertSame(SlotVisibility.NONE, visibility, "没有条件时应返回NONE");
+
+        ItemStack[] template = new ItemStack[2];
+        assertSame(template, visibility.filter(template, 0L), "没有条件时不应复制数组");
+    }
+
+    @Test
+    void testMaskEvaluation() {
+        // 测试条件掩码的计算和槽位可见性
+        SlotVisibility visibility = SlotVisibility.compile(new InventorySlotData[]{
+                slot(null), slot("op"), slot("perm:shop.vip, world:world"), slot("!op")
+        });
+
+        Player player = mock(Player.class);
+        World world = mock(World.class);
+        when(world.getName()).thenReturn("world");
+        when(player.getWorld()).thenReturn(world);
+        when(player.isOp()).thenReturn(false);
+        when(player.hasPermission("shop.vip")).thenReturn(true);
+
+        long mask = visibility.evaluate(player);
+        assertTrue(visibility.isVisible(0, mask), "没有条件的槽位应始终可见");
+        assertFalse(visibility.isVisible(1, mask), "非OP玩家不应看到OP槽位");
+        assertTrue(visibility.isVisible(2, mask), "满足全部条件的槽位应可见");
+        assertTrue(visibility.isVisible(3, mask), "取反条件应对非OP玩家可见");
+    }
+}
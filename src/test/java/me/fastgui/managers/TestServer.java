@@ -0,0 +1,38 @@
+package me.fastgui.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * 测试用的Bukkit服务器
+ * <p>Bukkit的服务器实例只能设置一次，所有测试共用同一个模拟对象。调度器、ItemFactory和UnsafeValues
+ * 也是模拟对象，测试可以通过 {@link Bukkit} 的静态方法取得并设置行为。</p>
+ */
+final class TestServer {
+
+    private TestServer() {
+    }
+
+    /**
+     * 安装模拟服务器，已安装时直接返回
+     * @return 模拟服务器
+     */
+    static synchronized Server install() {
+        if (Bukkit.getServer() == null) {
+            Server server = mock(Server.class);
+            when(server.getLogger()).thenReturn(Logger.getLogger("FastGUITest"));
+            when(server.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+            when(server.getItemFactory()).thenReturn(mock(ItemFactory.class));
+            when(server.getUnsafe()).thenReturn(mock(UnsafeValues.class));
+            Bukkit.setServer(server);
+        }
+        return Bukkit.getServer();
+    }
+}
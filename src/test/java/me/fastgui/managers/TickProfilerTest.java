@@ -0,0 +1,75 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickProfilerTest {
+
+    private static TickProfiler profiler(double budgetMs) {
+        TickProfiler profiler = new TickProfiler();
+        profiler.applySettings(new Settings.Profiler(true, budgetMs, false));
+        return profiler;
+    }
+
+    @Test
+    void testAverageAndWorst() {
+        // 测试滑动平均值和最差tick
+        TickProfiler profiler = profiler(10);
+        profiler.recordNanos(TickProfiler.Source.INVENTORY_CLICK, 1_000_000);
+        profiler.recordNanos(TickProfiler.Source.INVENTORY_CLICK, 2_000_000);
+        profiler.endTick();
+        profiler.recordNanos(TickProfiler.Source.INVENTORY_CLICK, 1_000_000);
+        profiler.recordNanos(TickProfiler.Source.NPC_CLICK, 500_000);
+        profiler.endTick();
+
+        TickProfiler.Stats click = profiler.getStats(TickProfiler.Source.INVENTORY_CLICK);
+        assertEquals(2_000_000, click.averageNanos(), "点击监听器每tick平均应为2ms");
+        assertEquals(3_000_000, click.windowWorstNanos(), "同一tick内的调用应累加");
+        assertEquals(3_000_000, click.worstNanos(), "历史最差应为3ms");
+
+        TickProfiler.Stats total = profiler.getTotalStats();
+        assertEquals(2_250_000, total.averageNanos(), "合计平均应包含所有监听器");
+        assertEquals(2, profiler.getTicks(), "应统计2个tick");
+    }
+
+    @Test
+    void testSlowTicks() {
+        // 测试超过预算的tick被计为慢tick
+        TickProfiler profiler = profiler(2);
+        profiler.recordNanos(TickProfiler.Source.PLAYER_INTERACT, 1_000_000);
+        profiler.endTick();
+        profiler.recordNanos(TickProfiler.Source.PLAYER_INTERACT, 1_500_000);
+        profiler.recordNanos(TickProfiler.Source.ENTITY_SPAWN, 1_000_000);
+        profiler.endTick();
+
+        assertEquals(1, profiler.getSlowTicks(), "只有合计超过预算的tick计为慢tick");
+    }
+
+    @Test
+    void testWindowEvictsOldTicks() {
+        // 测试滑动窗口只保留最近的tick
+        TickProfiler profiler = profiler(100);
+        profiler.recordNanos(TickProfiler.Source.INVENTORY_CLICK, 50_000_000);
+        profiler.endTick();
+        for (int i = 0; i < TickProfiler.WINDOW_TICKS; i++) {
+            profiler.endTick();
+        }
+
+        TickProfiler.Stats stats = profiler.getStats(TickProfiler.Source.INVENTORY_CLICK);
+        assertEquals(0, stats.averageNanos(), "移出窗口的tick不应计入平均值");
+        assertEquals(0, stats.windowWorstNanos(), "移出窗口的tick不应计入窗口最差值");
+        assertEquals(50_000_000, stats.worstNanos(), "历史最差值应保留");
+    }
+
+    @Test
+    void testDisabled() {
+        // 测试关闭后不记录
+        TickProfiler profiler = new TickProfiler();
+        profiler.applySettings(new Settings.Profiler(false, 2, false));
+        profiler.record(TickProfiler.Source.INVENTORY_CLICK, System.nanoTime() - 5_000_000);
+        profiler.endTick();
+
+        assertEquals(0, profiler.getTicks(), "关闭时不应统计tick");
+    }
+}
@@ -0,0 +1,42 @@
+package me.fastgui.managers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UIActionTest {
+
+    @Test
+    void testParseNativeActions() {
+        // 测试内置动作的解析
+        UIAction open = UIAction.parse("open:shop");
+        assertEquals(UIAction.Type.OPEN, open.getType(), "open:应解析为打开动作");
+        assertEquals("shop", open.getArgument(), "打开动作的参数应为UI名称");
+
+        assertEquals(UIAction.Type.CLOSE, UIAction.parse("close").getType(), "close应解析为关闭动作");
+        assertEquals(UIAction.Type.BACK, UIAction.parse("BACK").getType(), "动作名称应不区分大小写");
+        assertEquals("next", UIAction.parse("page:next").getArgument(), "翻页动作的参数应正确");
+        assertEquals(UIAction.Type.SOUND, UIAction.parse("sound:ui.button.click").getType(), "sound:应解析为音效动作");
+        assertTrue(UIAction.parse("scroll:prev").isNative(), "滚动动作应为内置动作");
+    }
+
+    @Test
+    void testParseCommand() {
+        // 测试普通命令的解析
+        UIAction command = UIAction.parse("/say 你好");
+        assertEquals(UIAction.Type.COMMAND, command.getType(), "普通命令应解析为命令动作");
+        assertEquals("say 你好", command.getArgument(), "命令前的斜杠应被移除");
+        assertFalse(command.isNative(), "命令动作不应为内置动作");
+
+        // 带命名空间的命令不应被误认为内置动作
+        assertEquals(UIAction.Type.COMMAND, UIAction.parse("minecraft:give {player} diamond").getType(),
+                "带命名空间的命令应解析为命令动作");
+    }
+
+    @Test
+    void testParseEmpty() {
+        // 测试空命令
+        assertNull(UIAction.parse(null), "null命令应返回null");
+        assertNull(UIAction.parse("  "), "空白命令应返回null");
+    }
+}
@@ -1,6 +1,9 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.managers.UIManager.InventoryData;
+import me.fastgui.managers.UIManager.InventorySlotData;
+import me.fastgui.managers.UIManager.UIPage;
 import me.fastgui.utils.ErrorHandler;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
@@ -9,9 +12,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -116,6 +125,81 @@ class UIManagerTest {
         assertTrue(uiTable.containsKey(id2), "加载的UI表应包含第二个UI ID");
     }
     
+    @Test
+    void testRankForWarmup() {
+        // 测试按打开次数从高到低排序，次数相同时按名称排序，跳过未打开和已删除的UI
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("shop", 12L);
+        counts.put("menu", 30L);
+        counts.put("warp", 12L);
+        counts.put("deleted", 50L);
+        counts.put("never", 0L);
+        List<String> uiIds = List.of("shop", "menu", "warp", "never", "bank");
+
+        assertEquals(List.of("menu", "shop", "warp"), UIManager.rankForWarmup(counts, uiIds, 10),
+                "应只包含打开过的现有UI并按次数排序");
+        assertEquals(List.of("menu", "shop"), UIManager.rankForWarmup(counts, uiIds, 2),
+                "结果数量不应超过上限");
+    }
+    
+    @Test
+    void testPageDataRoundTrip() throws IOException {
+        // 测试附加页面（版本7格式）写入后读取，物品保持序列化数据且不反序列化
+        byte[][] itemData = {new byte[]{1, 2, 3}, null, new byte[]{4}};
+        InventorySlotData[] interactions = {
+                new InventorySlotData(false, null, "button", "spawn", true, "shop.use"),
+                new InventorySlotData(true, null, "normal", null, false, ""),
+                new InventorySlotData(false, null, "border", null, false, "")
+        };
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bytes)) {
+            uiManager.writePageData(dos, new UIPage(itemData, interactions));
+        }
+        
+        UIPage page;
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            page = uiManager.readPageData(dis);
+            assertEquals(-1, dis.read(), "读取后不应有剩余数据");
+        }
+        
+        assertEquals(3, page.getSize(), "页面大小应保持不变");
+        assertArrayEquals(new byte[]{1, 2, 3}, page.getItemData()[0], "物品序列化数据应保持不变");
+        assertNull(page.getItemData()[1], "空槽位应保持为空");
+        assertArrayEquals(new byte[]{4}, page.getItemData()[2], "物品序列化数据应保持不变");
+        assertFalse(page.isMaterialized(), "读取页面时不应反序列化物品");
+        
+        InventorySlotData button = page.getInteractions()[0];
+        assertTrue(button.isButton(), "按钮槽位应保持为按钮");
+        assertEquals("spawn", button.getCommand(), "按钮命令应保持不变");
+        assertTrue(button.isCloseOnClick(), "点击关闭设置应保持不变");
+        assertEquals("shop.use", button.getPermission(), "按钮权限应保持不变");
+        assertTrue(page.getInteractions()[1].isEmpty(), "没有物品的槽位应标记为空");
+        assertTrue(page.getInteractions()[2].isBorder(), "边框槽位类型应保持不变");
+    }
+    
+    @Test
+    void testReadPageDataRejectsInvalidSize() {
+        // 页面大小不正确时应抛出异常，而不是分配任意大小的数组
+        byte[] data = ByteBuffer.allocate(4).putInt(1000).array();
+        assertThrows(IOException.class,
+                () -> uiManager.readPageData(new DataInputStream(new ByteArrayInputStream(data))),
+                "附加页面大小超过54时应拒绝读取");
+    }
+    
+    @Test
+    void testSaveStampsSource() {
+        // 保存后记录写入的文件状态，文件监视收到插件自己写入的事件时不重新读取
+        UIManager manager = new UIManager(plugin, configManager, nbtManager, logManager, dataFolder);
+        InventoryData data = new InventoryData("world", new ItemStack[9]);
+        
+        manager.saveUIData("shop.dat", data);
+        
+        File dataFile = new File(dataFolder, "Fast GUI/shop/shop.dat");
+        assertTrue(dataFile.exists(), "UI文件应已写入");
+        assertTrue(data.isSource(dataFile.lastModified(), dataFile.length()), "保存后UI数据应对应写入的文件");
+    }
+    
     @AfterEach
     void tearDown() {
         // 清理测试文件
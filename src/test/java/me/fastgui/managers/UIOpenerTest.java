@@ -1,15 +1,23 @@
 package me.fastgui.managers;
 
 import me.fastgui.FastGUI;
+import me.fastgui.managers.UIManager.InventoryData;
+import me.fastgui.managers.UIManager.InventorySlotData;
+import me.fastgui.managers.UIManager.UIPage;
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.UnsafeValues;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.logging.Logger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -38,11 +46,14 @@ class UIOpenerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(configManager.getSettings()).thenReturn(Settings.DEFAULTS);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("UIOpenerTest"));
         
         // 创建UIOpener，匹配实际构造函数
         uiOpener = new UIOpener(plugin, uiManager, configManager, languageManager);
         
         // 模拟Bukkit创建库存
+        TestServer.install();
         when(Bukkit.createInventory(player, 54, "测试界面")).thenReturn(inventory);
         
         // 模拟玩家打开库存
@@ -60,4 +71,95 @@ class UIOpenerTest {
         // 普通库存没有UI ID
         assertNull(uiOpener.getUIId(inventory), "未打开的库存不应有关联的UI ID");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testTurnPageOnUnknownInventory() {
+        // 未打开的库存不能翻页
+        assertFalse(uiOpener.turnPage(inventory, "next"), "未打开的库存不应能翻页");
+        assertEquals(-1, uiOpener.getCurrentPage(inventory), "未打开的库存不应有当前页面");
+        verify(inventory, never()).setContents(any());
+    }
+    
+    /**
+     * 创建一个9格、两页的UI并让UIManager返回它，第二页第一个槽位有物品
+     */
+    private InventoryData twoPageUI() {
+        ItemStack[] contents = new ItemStack[9];
+        contents[0] = new ItemStack(Material.STONE);
+        InventorySlotData[] slotData = new InventorySlotData[9];
+        InventorySlotData[] interactions = new InventorySlotData[9];
+        byte[][] itemData = new byte[9][];
+        for (int i = 0; i < 9; i++) {
+            slotData[i] = new InventorySlotData(i != 0, contents[i], "normal", null, false, "");
+            interactions[i] = new InventorySlotData(i != 0, null, "normal", null, false, "");
+        }
+        itemData[0] = new byte[]{1};
+        InventoryData data = new InventoryData("world", contents, slotData);
+        data.addPage(new UIPage(itemData, interactions));
+        
+        when(uiManager.loadUI("shop")).thenReturn(data);
+        when(uiManager.hasUIPermission(player, data)).thenReturn(true);
+        return data;
+    }
+    
+    /**
+     * 让Bukkit创建的9格界面返回指定的模拟容器
+     */
+    private Inventory mockCreatedInventory() {
+        Inventory opened = mock(Inventory.class);
+        when(opened.getSize()).thenReturn(9);
+        when(Bukkit.getServer().createInventory(isNull(), eq(9), anyString())).thenReturn(opened);
+        return opened;
+    }
+    
+    /**
+     * 附加页面反序列化时返回DIRT
+     */
+    private UnsafeValues mockDeserialization() {
+        UnsafeValues unsafe = Bukkit.getUnsafe();
+        reset(unsafe);
+        when(unsafe.deserializeItem(any(byte[].class))).thenAnswer(invocation -> new ItemStack(Material.DIRT));
+        return unsafe;
+    }
+    
+    @Test
+    void testPageMaterializedOnFirstShow() {
+        // 附加页面的物品在第一次显示时才反序列化，之后直接复用
+        UnsafeValues unsafe = mockDeserialization();
+        InventoryData data = twoPageUI();
+        UIPage page = data.getExtraPages().get(0);
+        Inventory opened = mockCreatedInventory();
+        
+        assertTrue(uiOpener.openUI(player, "shop"), "UI应成功打开");
+        assertFalse(page.isMaterialized(), "打开第一页时不应反序列化附加页面");
+        verify(unsafe, never()).deserializeItem(any(byte[].class));
+        
+        assertTrue(uiOpener.showPage(opened, 1), "应能切换到第二页");
+        assertTrue(page.isMaterialized(), "第一次显示附加页面时应反序列化");
+        assertEquals(Material.DIRT, page.getContents()[0].getType(), "应显示反序列化后的物品");
+        
+        assertTrue(uiOpener.showPage(opened, 0));
+        assertTrue(uiOpener.showPage(opened, 1));
+        verify(unsafe, times(1)).deserializeItem(any(byte[].class));
+    }
+    
+    @Test
+    void testPageTurnRerendersList() {
+        // 列表UI翻页后页面物品覆盖了内容槽位，应重新渲染列表窗口
+        mockDeserialization();
+        InventoryData data = twoPageUI();
+        data.setListProvider("warps");
+        Inventory opened = mockCreatedInventory();
+        ListUIManager listUIManager = mock(ListUIManager.class);
+        when(plugin.getListUIManager()).thenReturn(listUIManager);
+        
+        assertTrue(uiOpener.openUI(player, "shop"), "UI应成功打开");
+        verify(listUIManager, times(1)).open(player, opened, data);
+        
+        assertTrue(uiOpener.turnPage(opened, "next"), "列表UI应能翻页");
+        InOrder order = inOrder(opened, listUIManager);
+        order.verify(opened).setContents(any());
+        order.verify(listUIManager).open(player, opened, data);
+        assertEquals(1, uiOpener.getCurrentPage(opened), "翻页后应在第二页");
+    }
+}
@@ -0,0 +1,38 @@
+package me.fastgui.managers;
+
+import me.fastgui.managers.UIManager.InventorySlotData;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VisibilityManagerTest {
+
+    private SlotVisibility compileOp() {
+        return SlotVisibility.compile(new InventorySlotData[]{
+                new InventorySlotData(false, null, "normal", null, false, "", "op")
+        });
+    }
+
+    @Test
+    void testReloadReplacesCachedMask() {
+        // UI重新加载后显示条件是新实例，应重新计算并替换该页面的旧掩码
+        VisibilityManager manager = new VisibilityManager();
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.isOp()).thenReturn(true);
+
+        SlotVisibility first = compileOp();
+        long mask = manager.getMask(player, "shop", 0, first);
+        assertEquals(mask, manager.getMask(player, "shop", 0, first), "同一实例应使用缓存");
+        verify(player, times(1)).isOp();
+
+        when(player.isOp()).thenReturn(false);
+        SlotVisibility reloaded = compileOp();
+        assertNotEquals(mask, manager.getMask(player, "shop", 0, reloaded), "新实例应重新计算掩码");
+        verify(player, times(2)).isOp();
+    }
+}
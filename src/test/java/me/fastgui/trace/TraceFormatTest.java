@@ -0,0 +1,98 @@
+package me.fastgui.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceFormatTest {
+
+    private static final UUID STEVE = UUID.nameUUIDFromBytes("Steve".getBytes());
+    private static final UUID ALEX = UUID.nameUUIDFromBytes("Alex".getBytes());
+    private static final UUID ZOMBIE = UUID.nameUUIDFromBytes("zombie".getBytes());
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // 测试写入的事件按顺序读回，时间和引用的玩家、字符串、NPC一致
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TraceWriter writer = new TraceWriter(out, 1_700_000_000_000L);
+        writer.open(1_000, STEVE, "Steve", "shop");
+        writer.click(51_000_000, STEVE, "Steve", "shop", 13, "LEFT");
+        writer.click(51_000_500, ALEX, "Alex", "menu", -999, null);
+        writer.npc(60_000_000, ALEX, "Alex", ZOMBIE,
+                () -> new TraceEvent.NPC(ZOMBIE, "ZOMBIE", "warp spawn", "np", null, "console"));
+        writer.npc(70_000_000, STEVE, "Steve", ZOMBIE, () -> fail("已定义的NPC不应再次读取属性"));
+        writer.worldJoin(5_000_000_000L, STEVE, "Steve", "world_nether");
+        assertEquals(6, writer.getEvents(), "应写入6个事件");
+
+        TraceReader reader = new TraceReader(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(1_700_000_000_000L, reader.getStartedAt(), "应读回开始时间");
+
+        TraceEvent open = reader.next();
+        assertEquals(TraceEvent.Type.OPEN, open.type(), "第一个事件应为打开UI");
+        assertEquals(1_000, open.nanos(), "应读回事件时间");
+        assertEquals(new TraceEvent.PlayerRef(STEVE, "Steve"), open.player(), "应读回玩家");
+        assertEquals("shop", open.uiId(), "应读回UI ID");
+
+        TraceEvent click = reader.next();
+        assertEquals(TraceEvent.Type.CLICK, click.type(), "第二个事件应为点击");
+        assertEquals(51_000_000, click.nanos(), "时间应由差值累加得到");
+        assertEquals(13, click.slot(), "应读回槽位");
+        assertEquals("LEFT", click.clickType(), "应读回点击类型");
+
+        TraceEvent outside = reader.next();
+        assertEquals("Alex", outside.player().name(), "新玩家应被定义");
+        assertEquals(-1, outside.slot(), "容器外的点击应读回-1");
+        assertNull(outside.clickType(), "null字符串应读回null");
+
+        TraceEvent npc = reader.next();
+        assertEquals(ZOMBIE, npc.npc().id(), "应读回实体UUID");
+        assertEquals("warp spawn", npc.npc().command(), "应读回NPC命令");
+        assertNull(npc.npc().executeMode(), "缺失的属性应读回null");
+        assertSame(npc.npc(), reader.next().npc(), "同一实体应引用同一个定义");
+
+        TraceEvent join = reader.next();
+        assertEquals(TraceEvent.Type.WORLD_JOIN, join.type(), "最后一个事件应为进入世界");
+        assertEquals("world_nether", join.world(), "应读回世界名称");
+        assertNull(reader.next(), "读完后应返回null");
+        assertFalse(reader.isTruncated(), "完整的记录不应标记为截断");
+    }
+
+    @Test
+    void testCompactEncoding() throws IOException {
+        // 测试已定义玩家和UI后，一个点击事件只占几个字节
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TraceWriter writer = new TraceWriter(out, 0);
+        writer.click(0, STEVE, "Steve", "shop", 13, "LEFT");
+        int before = out.size();
+        writer.click(50_000_000, STEVE, "Steve", "shop", 14, "LEFT");
+        assertTrue(out.size() - before <= 9, "点击事件不应超过9个字节，实际: " + (out.size() - before));
+    }
+
+    @Test
+    void testTruncatedTrace() throws IOException {
+        // 测试服务器崩溃时留下的半条记录按文件结束处理
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TraceWriter writer = new TraceWriter(out, 0);
+        writer.open(10, STEVE, "Steve", "shop");
+        writer.open(20, STEVE, "Steve", "shop");
+        byte[] data = out.toByteArray();
+
+        TraceReader reader = new TraceReader(new ByteArrayInputStream(Arrays.copyOf(data, data.length - 1)));
+        assertNotNull(reader.next(), "完整的事件应能读出");
+        assertNull(reader.next(), "不完整的事件应视为文件结束");
+        assertTrue(reader.isTruncated(), "应标记为截断");
+    }
+
+    @Test
+    void testRejectsOtherFiles() {
+        // 测试不是交互记录的文件被拒绝
+        byte[] data = "not a trace file".getBytes();
+        assertThrows(IOException.class, () -> new TraceReader(new ByteArrayInputStream(data)), "魔数不符时应抛出IOException");
+    }
+}
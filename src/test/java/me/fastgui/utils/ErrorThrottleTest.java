@@ -0,0 +1,52 @@
+package me.fastgui.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ErrorThrottle throttle = new ErrorThrottle(2, TimeUnit.SECONDS.toNanos(10), now::get);
+
+    @Test
+    void testDeduplicateAndSuppress() {
+        // 测试相同错误的去重和限流
+        String fingerprint = ErrorThrottle.fingerprint("加载UI时出错", new IllegalStateException());
+
+        assertEquals(ErrorThrottle.Result.FIRST, throttle.tryAcquire(fingerprint, "错误"), "第一次出现应记录完整堆栈");
+        assertEquals(ErrorThrottle.Result.REPEATED, throttle.tryAcquire(fingerprint, "错误"), "限额内的重复错误应只记录消息");
+        assertEquals(ErrorThrottle.Result.SUPPRESSED, throttle.tryAcquire(fingerprint, "错误"), "超过限额的错误应被抑制");
+        assertEquals(ErrorThrottle.Result.SUPPRESSED, throttle.tryAcquire(fingerprint, "错误"), "超过限额的错误应被抑制");
+
+        List<ErrorThrottle.Summary> summaries = throttle.drainSuppressed();
+        assertEquals(1, summaries.size(), "应汇总一个被抑制的错误");
+        assertEquals(2, summaries.get(0).getCount(), "抑制数量应正确");
+        assertTrue(throttle.drainSuppressed().isEmpty(), "汇总后抑制计数应清零");
+    }
+
+    @Test
+    void testRefill() {
+        // 测试令牌恢复
+        String fingerprint = ErrorThrottle.fingerprint("点击", new RuntimeException());
+        throttle.tryAcquire(fingerprint, "错误");
+        throttle.tryAcquire(fingerprint, "错误");
+        assertEquals(ErrorThrottle.Result.SUPPRESSED, throttle.tryAcquire(fingerprint, "错误"), "令牌用完后应被抑制");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(ErrorThrottle.Result.REPEATED, throttle.tryAcquire(fingerprint, "错误"), "间隔后应恢复一次记录机会");
+    }
+
+    @Test
+    void testFingerprintIncludesType() {
+        // 不同异常类型应视为不同错误
+        assertNotEquals(ErrorThrottle.fingerprint("点击", new RuntimeException()),
+                ErrorThrottle.fingerprint("点击", new IllegalStateException()), "不同异常类型的指纹应不同");
+        String other = ErrorThrottle.fingerprint("打开", new RuntimeException());
+        assertEquals(ErrorThrottle.Result.FIRST, throttle.tryAcquire(other, "错误"), "不同位置的错误应单独计算");
+    }
+}
@@ -0,0 +1,41 @@
+package me.fastgui.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimerTest {
+
+    @Test
+    void testPhasesInStartOrder() {
+        // 测试阶段按开始顺序输出，并行阶段带有标记
+        StartupTimer timer = new StartupTimer();
+        timer.run("配置", () -> { });
+        CompletableFuture<String> languages = timer.supplyAsync("语言文件", () -> "zh.yml");
+        timer.run("NBT", () -> { });
+        assertEquals("zh.yml", timer.await(languages), "应返回并行阶段的结果");
+        assertTrue(timer.finish() >= 0, "总耗时不应为负数");
+
+        List<String> lines = timer.format();
+        assertEquals(3, lines.size(), "每个阶段应输出一行");
+        assertTrue(lines.get(0).startsWith("配置"), "第一行应为最先开始的阶段");
+        assertTrue(lines.get(1).endsWith("(并行)"), "并行阶段应带有标记");
+        assertFalse(lines.get(2).endsWith("(并行)"), "主线程阶段不应带有并行标记");
+    }
+
+    @Test
+    void testAwaitRethrowsCause() {
+        // 测试并行阶段的异常在等待时原样抛出
+        StartupTimer timer = new StartupTimer();
+        CompletableFuture<Void> table = timer.runAsync("UI表", () -> {
+            throw new IllegalStateException("表文件损坏");
+        });
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> timer.await(table),
+                "应抛出阶段中的原始异常");
+        assertEquals("表文件损坏", e.getMessage(), "应保留异常消息");
+        timer.finish();
+    }
+}